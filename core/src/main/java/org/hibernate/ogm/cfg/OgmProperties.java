@@ -96,6 +96,14 @@ public interface OgmProperties {
 	 */
 	String CREATE_DATABASE = "hibernate.ogm.datastore.create_database";
 
+	/**
+	 * Property for setting the maximum number of operations queued for a batch before a partial batch is executed
+	 * against the datastore. Only applies to dialects executing the operations of a flush in batch. Accepts a
+	 * non-negative integer; {@code 0}, the default, means that the queued operations are only executed at the end of
+	 * the flush.
+	 */
+	String BATCH_FLUSH_THRESHOLD = "hibernate.ogm.datastore.batch_flush_threshold";
+
 	/**
 	 * Property for setting a {@link ErrorHandler} which will receive applied and failed grid dialect operations upon
 	 * failures. Supported value types are:
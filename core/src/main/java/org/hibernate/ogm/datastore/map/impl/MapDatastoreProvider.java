@@ -9,17 +9,15 @@
 import static org.hibernate.ogm.util.impl.CollectionHelper.newConcurrentHashMap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.persistence.PessimisticLockException;
 
@@ -42,8 +40,9 @@
  * contents to other storage. Most important, it must be considered that different sessions won't be isolated
  * unless they avoid flushing.
  *
- * Oh and while we lock data when Hibernate ORM acquires locks, we never unlock as ORM expects locks
- * to be released by the transaction commit / rollback which does not happen here.
+ * Locks acquired on behalf of Hibernate ORM belong to the transaction rather than to a thread, they are released
+ * by the locking strategies at the end of the transaction. The keys share a fixed number of locks, so two keys might
+ * be locked together.
  *
  * @author Sanne Grinovero &lt;sanne@hibernate.org&gt; (C) 2011 Red Hat Inc.
  */
@@ -51,19 +50,21 @@ public final class MapDatastoreProvider extends BaseDatastoreProvider implements
 
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
+	/**
+	 * The number of locks shared by the keys, it must be a power of two.
+	 */
+	private static final int LOCK_STRIPES = 1024;
+
 	private final ConcurrentMap<EntityKey, Map<String, Object>> entitiesKeyValueStorage = newConcurrentHashMap();
-	private final ConcurrentMap<AssociationKey, Map<RowKey, Map<String, Object>>> associationsKeyValueStorage = newConcurrentHashMap();
-	private final ConcurrentMap<IdSourceKey, AtomicInteger> sequencesStorage = newConcurrentHashMap();
-	private final ConcurrentMap<Object, ReadWriteLock> dataLocks = newConcurrentHashMap();
 
 	/**
-	 * This simplistic data store only supports thread-bound transactions:
+	 * The keys of the entities, grouped by table; it allows to iterate over the entities of a single table without
+	 * having to scan all the entities.
 	 */
-	private final ThreadLocal<Set<Lock>> acquiredLocksPerThread = new ThreadLocal<Set<Lock>>() {
-		@Override protected Set<Lock> initialValue() {
-			return new HashSet<Lock>();
-		}
-	};
+	private final ConcurrentMap<String, Set<EntityKey>> entityKeysPerTable = newConcurrentHashMap();
+	private final ConcurrentMap<AssociationKey, Map<RowKey, Map<String, Object>>> associationsKeyValueStorage = newConcurrentHashMap();
+	private final ConcurrentMap<IdSourceKey, AtomicInteger> sequencesStorage = newConcurrentHashMap();
+	private final EntityLock[] dataLocks = newLocks();
 
 	@Override
 	public Class<? extends GridDialect> getDefaultDialect() {
@@ -73,11 +74,12 @@ public Class<? extends GridDialect> getDefaultDialect() {
 	@Override
 	public void stop() {
 		entitiesKeyValueStorage.clear();
+		entityKeysPerTable.clear();
 		associationsKeyValueStorage.clear();
 		sequencesStorage.clear();
-		dataLocks.clear();
-		//not nice but that's the best we can do
-		acquiredLocksPerThread.remove();
+		for ( EntityLock lock : dataLocks ) {
+			lock.reset();
+		}
 		log.debug( "Stopped and cleared MapDatastoreProvider" );
 	}
 
@@ -87,56 +89,92 @@ public void start() {
 	}
 
 	/**
-	 * Acquires a write lock on a specific key.
+	 * Acquires a write lock on a specific key on behalf of the given owner.
+	 * <p>
+	 * An owner can acquire the same lock several times, and can upgrade its read lock to a write lock as long as
+	 * no other owner holds a read lock on the key or on a key sharing the same lock. Each acquisition must be released with
+	 * {@link #unlockWrite(EntityKey, Object)}, possibly from another thread.
+	 *
 	 * @param key The key to lock
 	 * @param timeout in milliseconds; -1 means wait indefinitely, 0 means no wait.
+	 * @param owner the owner of the lock, typically representing the current transaction
 	 */
-	public void writeLock(EntityKey key, int timeout) {
-		ReadWriteLock lock = getLock( key );
-		Lock writeLock = lock.writeLock();
-		acquireLock( key, timeout, writeLock );
+	public void writeLock(EntityKey key, int timeout, Object owner) {
+		acquireLock( key, timeout, owner, true );
 	}
 
 	/**
-	 * Acquires a read lock on a specific key.
+	 * Acquires a read lock on a specific key on behalf of the given owner.
+	 * <p>
+	 * Each acquisition must be released with {@link #unlockRead(EntityKey, Object)}, possibly from another thread.
+	 *
 	 * @param key The key to lock
 	 * @param timeout in milliseconds; -1 means wait indefinitely, 0 means no wait.
+	 * @param owner the owner of the lock, typically representing the current transaction
 	 */
-	public void readLock(EntityKey key, int timeout) {
-		ReadWriteLock lock = getLock( key );
-		Lock readLock = lock.readLock();
-		acquireLock( key, timeout, readLock );
+	public void readLock(EntityKey key, int timeout, Object owner) {
+		acquireLock( key, timeout, owner, false );
 	}
 
-	private ReadWriteLock getLock(EntityKey key) {
-		ReadWriteLock newLock = new ReentrantReadWriteLock();
-		ReadWriteLock previous = dataLocks.putIfAbsent( key, newLock );
-		return previous != null ? previous : newLock;
+	/**
+	 * Releases a write lock acquired with {@link #writeLock(EntityKey, int, Object)}.
+	 *
+	 * @param key The locked key
+	 * @param owner the owner of the lock
+	 */
+	public void unlockWrite(EntityKey key, Object owner) {
+		releaseLock( key, owner, true );
+	}
+
+	/**
+	 * Releases a read lock acquired with {@link #readLock(EntityKey, int, Object)}.
+	 *
+	 * @param key The locked key
+	 * @param owner the owner of the lock
+	 */
+	public void unlockRead(EntityKey key, Object owner) {
+		releaseLock( key, owner, false );
 	}
 
-	private void acquireLock(EntityKey key, int timeout, Lock writeLock) {
+	private void acquireLock(EntityKey key, int timeout, Object owner, boolean write) {
 		try {
-			if ( timeout == -1 ) {
-				writeLock.lockInterruptibly();
-			}
-			else if ( timeout == 0 ) {
-				boolean locked = writeLock.tryLock();
-				if ( ! locked ) {
+			if ( !getLock( key ).acquire( owner, write, timeout ) ) {
+				if ( timeout == 0 ) {
 					throw new PessimisticLockException( "lock on key " + key + " was not available" );
 				}
-			}
-			else {
-				writeLock.tryLock( timeout, TimeUnit.MILLISECONDS );
+				throw new PessimisticLockException( "timed out waiting for lock on key " + key );
 			}
 		}
 		catch ( InterruptedException e ) {
-			throw new PessimisticLockException( "timed out waiting for lock on key " + key, e );
+			Thread.currentThread().interrupt();
+			throw new PessimisticLockException( "interrupted while waiting for lock on key " + key, e );
 		}
-		acquiredLocksPerThread.get().add( writeLock );
+	}
+
+	private void releaseLock(EntityKey key, Object owner, boolean write) {
+		getLock( key ).release( owner, write );
+	}
+
+	private EntityLock getLock(EntityKey key) {
+		int hash = key.hashCode();
+		// Spread the high bits, as the stripe only depends on the low ones
+		return dataLocks[( hash ^ ( hash >>> 16 ) ) & ( LOCK_STRIPES - 1 )];
+	}
+
+	private static EntityLock[] newLocks() {
+		EntityLock[] locks = new EntityLock[LOCK_STRIPES];
+		for ( int i = 0; i < locks.length; i++ ) {
+			locks[i] = new EntityLock();
+		}
+		return locks;
 	}
 
 	public void putEntity(EntityKey key, Map<String, Object> tuple) {
-		entitiesKeyValueStorage.put( key, tuple );
+		// The index is updated while holding the entry, so that it is never out of sync with the entities
+		entitiesKeyValueStorage.compute( key, (k, previous) -> {
+			tableKeys( k.getTable() ).add( k );
+			return tuple;
+		} );
 	}
 
 	public Map<String, Object> getEntityTuple(EntityKey key) {
@@ -152,7 +190,42 @@ public List<Map<String, Object>> getEntityTuples(EntityKey... keys) {
 	}
 
 	public void removeEntityTuple(EntityKey key) {
-		entitiesKeyValueStorage.remove( key );
+		entitiesKeyValueStorage.computeIfPresent( key, (k, previous) -> {
+			Set<EntityKey> tableKeys = entityKeysPerTable.get( k.getTable() );
+			if ( tableKeys != null ) {
+				tableKeys.remove( k );
+			}
+			return null;
+		} );
+	}
+
+	/**
+	 * Returns the keys of the entities stored in a table.
+	 * <p>
+	 * The returned set is a weakly consistent view: entities added or removed while iterating over it might or might
+	 * not be visible, so the corresponding tuple must be checked for {@code null} when reading it.
+	 *
+	 * @param table the name of the table
+	 * @return a read-only view of the keys of the entities in the table
+	 */
+	public Set<EntityKey> getEntityKeys(String table) {
+		Set<EntityKey> tableKeys = entityKeysPerTable.get( table );
+		if ( tableKeys == null ) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet( tableKeys );
+	}
+
+	private Set<EntityKey> tableKeys(String table) {
+		Set<EntityKey> tableKeys = entityKeysPerTable.get( table );
+		if ( tableKeys == null ) {
+			Set<EntityKey> newTableKeys = ConcurrentHashMap.newKeySet();
+			tableKeys = entityKeysPerTable.putIfAbsent( table, newTableKeys );
+			if ( tableKeys == null ) {
+				tableKeys = newTableKeys;
+			}
+		}
+		return tableKeys;
 	}
 
 	public void putAssociation(AssociationKey key, Map<RowKey, Map<String, Object>> associationMap) {
@@ -193,4 +266,118 @@ public Map<AssociationKey, Map<RowKey, Map<String, Object>>> getAssociationsMap(
 	public boolean allowsTransactionEmulation() {
 		return true;
 	}
+
+	/**
+	 * A read-write lock shared by the keys of a stripe, held by owners instead of threads.
+	 */
+	private static final class EntityLock {
+
+		private static final int INITIAL_READERS = 2;
+
+		private Object writer;
+		private int writeHolds;
+
+		/*
+		 * The owners holding a read lock and the number of read locks each of them holds are in the first readersCount
+		 * slots; the arrays never shrink, so that acquiring the lock does not allocate once the stripe has been used
+		 */
+		private Object[] readers = new Object[INITIAL_READERS];
+		private int[] readHolds = new int[INITIAL_READERS];
+		private int readersCount;
+
+		/**
+		 * @return {@code true} if the lock has been acquired, {@code false} if the timeout elapsed
+		 */
+		synchronized boolean acquire(Object owner, boolean write, int timeout) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( Math.max( timeout, 0 ) );
+			while ( !isAvailable( owner, write ) ) {
+				if ( timeout == -1 ) {
+					wait();
+				}
+				else {
+					long remaining = deadline - System.nanoTime();
+					if ( remaining <= 0 ) {
+						return false;
+					}
+					TimeUnit.NANOSECONDS.timedWait( this, remaining );
+				}
+			}
+			if ( write ) {
+				writer = owner;
+				writeHolds++;
+			}
+			else {
+				addReadHold( owner );
+			}
+			return true;
+		}
+
+		private boolean isAvailable(Object owner, boolean write) {
+			if ( writer != null && writer != owner ) {
+				return false;
+			}
+			if ( !write ) {
+				return true;
+			}
+			// The read locks of the owner itself don't prevent it from writing
+			return readersCount == 0 || ( readersCount == 1 && readers[0] == owner );
+		}
+
+		private void addReadHold(Object owner) {
+			int index = indexOfReader( owner );
+			if ( index >= 0 ) {
+				readHolds[index]++;
+				return;
+			}
+			if ( readersCount == readers.length ) {
+				readers = Arrays.copyOf( readers, readersCount * 2 );
+				readHolds = Arrays.copyOf( readHolds, readersCount * 2 );
+			}
+			readers[readersCount] = owner;
+			readHolds[readersCount] = 1;
+			readersCount++;
+		}
+
+		private int indexOfReader(Object owner) {
+			for ( int i = 0; i < readersCount; i++ ) {
+				if ( readers[i] == owner ) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		synchronized void release(Object owner, boolean write) {
+			if ( write ) {
+				if ( writer != owner ) {
+					return;
+				}
+				if ( --writeHolds == 0 ) {
+					writer = null;
+				}
+			}
+			else {
+				int index = indexOfReader( owner );
+				if ( index < 0 ) {
+					return;
+				}
+				if ( --readHolds[index] == 0 ) {
+					// Move the last reader to the free slot
+					int last = --readersCount;
+					readers[index] = readers[last];
+					readHolds[index] = readHolds[last];
+					readers[last] = null;
+				}
+			}
+			notifyAll();
+		}
+
+		synchronized void reset() {
+			writer = null;
+			writeHolds = 0;
+			Arrays.fill( readers, null );
+			readersCount = 0;
+			notifyAll();
+		}
+	}
 }
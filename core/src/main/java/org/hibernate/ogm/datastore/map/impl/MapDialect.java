@@ -12,13 +12,17 @@
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.hibernate.LockMode;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.dialect.lock.OptimisticForceIncrementLockingStrategy;
 import org.hibernate.dialect.lock.OptimisticLockingStrategy;
 import org.hibernate.dialect.lock.PessimisticForceIncrementLockingStrategy;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetAssociationGridDialect;
 import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.PartitionAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.spi.AssociationContext;
 import org.hibernate.ogm.dialect.spi.AssociationTypeContext;
@@ -46,7 +50,7 @@
  *
  * @author Sanne Grinovero &lt;sanne@hibernate.org&gt; (C) 2011 Red Hat Inc.
  */
-public class MapDialect extends BaseGridDialect implements MultigetGridDialect {
+public class MapDialect extends BaseGridDialect implements MultigetGridDialect, MultigetAssociationGridDialect, PartitionAwareGridDialect {
 
 	private final MapDatastoreProvider provider;
 
@@ -121,6 +125,15 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return associationMap == null ? null : new Association( new MapAssociationSnapshot( associationMap ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext[] associationContexts) {
+		List<Association> results = new ArrayList<>( keys.length );
+		for ( int i = 0; i < keys.length; i++ ) {
+			results.add( getAssociation( keys[i], associationContexts[i] ) );
+		}
+		return results;
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 		Map<RowKey, Map<String, Object>> associationMap = new HashMap<RowKey, Map<String,Object>>();
@@ -152,70 +165,103 @@ public Number nextValue(NextValueRequest request) {
 
 	@Override
 	public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata metadata) {
-		Map<EntityKey, Map<String, Object>> entityMap = provider.getEntityMap();
-		consumer.consume( new MapTuplesSupplier( entityMap, metadata ) );
+		consumer.consume( new MapTuplesSupplier( provider, metadata, null ) );
+	}
+
+	@Override
+	public List<TuplePartition> getTuplePartitions(TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, int maxPartitions) {
+		int partitionCount = Math.max( 1, Math.min( maxPartitions, provider.getEntityKeys( entityKeyMetadata.getTable() ).size() ) );
+		List<TuplePartition> partitions = new ArrayList<>( partitionCount );
+		for ( int i = 0; i < partitionCount; i++ ) {
+			partitions.add( new MapTuplePartition( i, partitionCount ) );
+		}
+		return partitions;
+	}
+
+	@Override
+	public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, TuplePartition partition) {
+		consumer.consume( new MapTuplesSupplier( provider, entityKeyMetadata, (MapTuplePartition) partition ) );
 	}
 
 	private static class MapTuplesSupplier implements TuplesSupplier {
 
-		private final Map<EntityKey, Map<String, Object>> entityMap;
+		private final MapDatastoreProvider provider;
 		private final EntityKeyMetadata metadata;
+		private final MapTuplePartition partition;
 
-		public MapTuplesSupplier(Map<EntityKey, Map<String, Object>> entityMap, EntityKeyMetadata metadata) {
-			this.entityMap = entityMap;
+		public MapTuplesSupplier(MapDatastoreProvider provider, EntityKeyMetadata metadata, MapTuplePartition partition) {
+			this.provider = provider;
 			this.metadata = metadata;
+			this.partition = partition;
 		}
 
 		@Override
 		public ClosableIterator<Tuple> get(TransactionContext transactionContext) {
-			return new MapTupleIterator( entityMap, metadata );
+			Set<EntityKey> entityKeys = provider.getEntityKeys( metadata.getTable() );
+			if ( partition == null ) {
+				return new MapTupleIterator( provider, entityKeys.iterator() );
+			}
+			return new MapTupleIterator( provider, entityKeys.stream().filter( partition::contains ).iterator() );
+		}
+	}
+
+	/**
+	 * The keys of a table whose hash code falls into the given slot, out of {@code count} slots.
+	 */
+	private static class MapTuplePartition implements TuplePartition {
+
+		private final int index;
+		private final int count;
+
+		public MapTuplePartition(int index, int count) {
+			this.index = index;
+			this.count = count;
+		}
+
+		public boolean contains(EntityKey key) {
+			return Math.floorMod( key.hashCode(), count ) == index;
+		}
+
+		@Override
+		public String toString() {
+			return "MapTuplePartition [" + index + "/" + count + "]";
 		}
 	}
 
+	/**
+	 * Iterates over the entities of a single table; entities removed after the creation of the iterator are skipped.
+	 */
 	private static class MapTupleIterator implements ClosableIterator<Tuple> {
 
-		private final EntityKeyMetadata metadata;
-		private final Map<EntityKey, Map<String, Object>> entityMap;
+		private final MapDatastoreProvider provider;
 		private final Iterator<EntityKey> iterator;
-		private EntityKey next;
-		private boolean hasNext = false;
+		private Map<String, Object> next;
 
-		public MapTupleIterator(Map<EntityKey, Map<String, Object>> entityMap, EntityKeyMetadata metadata) {
-			this.entityMap = entityMap;
-			this.metadata = metadata;
-			this.iterator = entityMap.keySet().iterator();
+		public MapTupleIterator(MapDatastoreProvider provider, Iterator<EntityKey> entityKeys) {
+			this.provider = provider;
+			this.iterator = entityKeys;
 			this.next = next( this.iterator );
 		}
 
-		private EntityKey next(Iterator<EntityKey> iterator) {
-			EntityKey next = null;
-			hasNext = false;
+		private Map<String, Object> next(Iterator<EntityKey> iterator) {
 			while ( iterator.hasNext() ) {
-				next = iterator.next();
-				if ( isValidKey( next ) ) {
-					hasNext = true;
-					break;
+				Map<String, Object> entity = provider.getEntityTuple( iterator.next() );
+				if ( entity != null ) {
+					return entity;
 				}
 			}
-			if ( hasNext ) {
-				return next;
-			}
 			return null;
 		}
 
-		public boolean isValidKey(EntityKey key) {
-			return key.getTable().equals( metadata.getTable() );
-		}
-
 		@Override
 		public boolean hasNext() {
-			return hasNext;
+			return next != null;
 		}
 
 		@Override
 		public Tuple next() {
-			if ( hasNext ) {
-				Tuple current = createTuple( entityMap, next );
+			if ( next != null ) {
+				Tuple current = new Tuple( new MapTupleSnapshot( next ), SnapshotType.UPDATE );
 				next = next( iterator );
 				return current;
 			}
@@ -227,8 +273,4 @@ public Tuple next() {
 		public void close() {
 		}
 	}
-
-	private static Tuple createTuple(Map<EntityKey, Map<String, Object>> entityMap, EntityKey key) {
-		return new Tuple( new MapTupleSnapshot( entityMap.get( key ) ), SnapshotType.UPDATE );
-	}
 }
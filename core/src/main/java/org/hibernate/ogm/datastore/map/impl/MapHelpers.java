@@ -14,7 +14,6 @@
 import org.hibernate.ogm.model.spi.Association;
 import org.hibernate.ogm.model.spi.AssociationOperation;
 import org.hibernate.ogm.model.spi.Tuple;
-import org.hibernate.ogm.model.spi.TupleOperation;
 import org.hibernate.ogm.model.spi.TupleSnapshot;
 
 /**
@@ -27,17 +26,17 @@ private MapHelpers() {
 	}
 
 	public static void applyTupleOpsOnMap(Tuple tuple, Map<String, Object> map) {
-		for ( TupleOperation action : tuple.getOperations() ) {
-			switch ( action.getType() ) {
+		tuple.forEachOperation( ( column, value, type ) -> {
+			switch ( type ) {
 				case PUT:
-					map.put( action.getColumn(), action.getValue() );
+					map.put( column, value );
 					break;
 				case REMOVE:
 				case PUT_NULL:
-					map.remove( action.getColumn() );
+					map.remove( column );
 					break;
 			}
-		}
+		} );
 	}
 
 	public static Map<String, Object> associationRowToMap(Tuple associationRow) {
@@ -13,9 +13,6 @@
 import org.hibernate.StaleObjectStateException;
 import org.hibernate.dialect.lock.LockingStrategy;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
-import org.hibernate.ogm.model.impl.EntityKeyBuilder;
-import org.hibernate.ogm.model.key.spi.EntityKey;
-import org.hibernate.ogm.persister.impl.OgmEntityPersister;
 import org.hibernate.persister.entity.Lockable;
 
 /**
@@ -31,12 +28,6 @@ public MapPessimisticReadLockingStrategy(Lockable lockable, LockMode lockMode) {
 	@Override
 	public void lock(Serializable id, Object version, Object object, int timeout, SharedSessionContractImplementor session)
 			throws StaleObjectStateException, JDBCException {
-		MapDatastoreProvider dataStore = getProvider( session );
-		EntityKey key = EntityKeyBuilder.fromData(
-				( (OgmEntityPersister) lockable ).getRootEntityKeyMetadata(),
-				identifierGridType,
-				id,
-				session );
-		dataStore.readLock( key, timeout );
+		lock( id, timeout, session, false );
 	}
 }
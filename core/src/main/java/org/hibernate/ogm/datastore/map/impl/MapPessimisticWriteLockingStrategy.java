@@ -8,6 +8,8 @@
 
 import java.io.Serializable;
 
+import javax.transaction.Synchronization;
+
 import org.hibernate.JDBCException;
 import org.hibernate.LockMode;
 import org.hibernate.StaleObjectStateException;
@@ -17,8 +19,6 @@
 import org.hibernate.ogm.model.impl.EntityKeyBuilder;
 import org.hibernate.ogm.model.key.spi.EntityKey;
 import org.hibernate.ogm.persister.impl.OgmEntityPersister;
-import org.hibernate.ogm.type.spi.GridType;
-import org.hibernate.ogm.type.spi.TypeTranslator;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -34,31 +34,46 @@ public class MapPessimisticWriteLockingStrategy implements LockingStrategy {
 
 	protected final Lockable lockable;
 	protected final LockMode lockMode;
-	protected final GridType identifierGridType;
-
 	private volatile MapDatastoreProvider provider;
 
 	public MapPessimisticWriteLockingStrategy(Lockable lockable, LockMode lockMode) {
 		this.lockable = lockable;
 		this.lockMode = lockMode;
-		TypeTranslator typeTranslator = lockable.getFactory().getServiceRegistry().getService( TypeTranslator.class );
-		this.identifierGridType = typeTranslator.getType( lockable.getIdentifierType() );
 	}
 
 	@Override
 	public void lock(Serializable id, Object version, Object object, int timeout, SharedSessionContractImplementor session)
 			throws StaleObjectStateException, JDBCException {
-		MapDatastoreProvider dataStore = getProvider( session );
-		EntityKey key = EntityKeyBuilder.fromData(
-				( (OgmEntityPersister) lockable ).getRootEntityKeyMetadata(),
-				identifierGridType,
-				id,
-				session );
-		dataStore.writeLock( key, timeout );
+		lock( id, timeout, session, true );
 		// FIXME check the version number as well and raise an optimistic lock exception if there is an issue JPA 2 spec: 3.4.4.2
 		// (Comment by Emmanuel)
 	}
 
+	/**
+	 * Acquires the lock on behalf of the current transaction and releases it when the transaction completes; without
+	 * a transaction the lock is released right away, as nothing else would release it.
+	 */
+	protected final void lock(Serializable id, int timeout, SharedSessionContractImplementor session, boolean write) {
+		MapDatastoreProvider dataStore = getProvider( session );
+		EntityKey key = EntityKeyBuilder.lockKeyFromPersister( (OgmEntityPersister) lockable, id, session );
+		// The transaction coordinator outlives the transactions of the session, but the locks never do
+		Object owner = session.getTransactionCoordinator();
+		if ( write ) {
+			dataStore.writeLock( key, timeout, owner );
+		}
+		else {
+			dataStore.readLock( key, timeout, owner );
+		}
+
+		LockRelease release = new LockRelease( dataStore, key, owner, write );
+		if ( session.isTransactionInProgress() ) {
+			session.getTransactionCoordinator().getLocalSynchronizations().registerSynchronization( release );
+		}
+		else {
+			release.release();
+		}
+	}
+
 	protected final MapDatastoreProvider getProvider(SharedSessionContractImplementor session) {
 		if ( provider == null ) {
 			DatastoreProvider service = session.getFactory().getServiceRegistry().getService( DatastoreProvider.class );
@@ -72,4 +87,39 @@ protected final MapDatastoreProvider getProvider(SharedSessionContractImplemento
 		return provider;
 	}
 
+	/**
+	 * Releases a lock, the transaction might complete in a thread other than the one which acquired it.
+	 */
+	private static final class LockRelease implements Synchronization {
+
+		private final MapDatastoreProvider dataStore;
+		private final EntityKey key;
+		private final Object owner;
+		private final boolean write;
+
+		LockRelease(MapDatastoreProvider dataStore, EntityKey key, Object owner, boolean write) {
+			this.dataStore = dataStore;
+			this.key = key;
+			this.owner = owner;
+			this.write = write;
+		}
+
+		@Override
+		public void beforeCompletion() {
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			release();
+		}
+
+		void release() {
+			if ( write ) {
+				dataStore.unlockWrite( key, owner );
+			}
+			else {
+				dataStore.unlockRead( key, owner );
+			}
+		}
+	}
 }
@@ -6,7 +6,7 @@
  */
 package org.hibernate.ogm.dialect.batch.spi;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Queue;
 
 import org.hibernate.ogm.model.key.spi.EntityKey;
@@ -20,7 +20,7 @@ public class GroupedChangesToEntityOperation implements Operation {
 
 	private final EntityKey entityKey;
 
-	private final Queue<Operation> operations = new LinkedList<>();
+	private final Queue<Operation> operations = new ArrayDeque<>();
 
 	public GroupedChangesToEntityOperation(EntityKey entityKey) {
 		this.entityKey = entityKey;
@@ -6,12 +6,10 @@
  */
 package org.hibernate.ogm.dialect.batch.spi;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
-import java.util.Set;
 
 import org.hibernate.ogm.model.key.spi.EntityKey;
 import org.hibernate.ogm.util.impl.Log;
@@ -21,7 +19,8 @@
 /**
  * A queue for {@link Operation}s.
  * <p>
- * It keeps track of the elements that are going to be affected by an {@link InsertOrUpdateTupleOperation}.
+ * It keeps track of the elements that are going to be affected by an {@link InsertOrUpdateTupleOperation} or
+ * by a {@link RemoveTupleOperation}, the corresponding lookups don't depend on the length of the queue.
  * The queue can be closed, in that case it will throw an exception when trying to add or poll an operation.
  *
  * @author Guillaume Scheibel &lt;guillaume.scheibel@gmail.com&gt;
@@ -42,11 +41,11 @@ public boolean isClosed() {
 
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
-	private final Queue<Operation> operations = new LinkedList<Operation>();
+	private final Deque<Operation> operations = new ArrayDeque<Operation>();
 
-	private final Map<EntityKey, GroupedChangesToEntityOperation> groupedOperations = new HashMap<>();
+	private final Map<EntityKey, EntityState> entityStates = new HashMap<>();
 
-	private final Set<EntityKey> insertionQueue = new HashSet<>();
+	private int pendingOperations = 0;
 
 	private boolean closed = false;
 
@@ -64,34 +63,58 @@ public void add(Operation operation) {
 		else if ( operation instanceof GroupableEntityOperation ) {
 			addGroupableEntityOperation( (GroupableEntityOperation) operation );
 		}
+		else if ( operation instanceof GroupedChangesToEntityOperation ) {
+			addGroupedChangesToEntityOperation( (GroupedChangesToEntityOperation) operation );
+		}
+		else if ( operation instanceof RemoveTupleOperation ) {
+			addRemoveTupleOperation( (RemoveTupleOperation) operation );
+		}
 		else {
 			addOperation( operation );
+			pendingOperations++;
 		}
 	}
 
 	private void addInsertOrUpdateTupleOperation(InsertOrUpdateTupleOperation operation) {
 		addGroupableEntityOperation( operation );
-		insertionQueue.add( operation.getEntityKey() );
+		entityState( operation.getEntityKey() ).inserted = true;
 	}
 
 	private void addGroupableEntityOperation(GroupableEntityOperation operation) {
 		validate();
-		GroupedChangesToEntityOperation groupedOperation = getOrCreateGroupedChangesOnEntityOperation( operation.getEntityKey() );
-		groupedOperation.addOperation( operation );
+		EntityState state = entityState( operation.getEntityKey() );
+		if ( state.groupedOperation == null ) {
+			state.groupedOperation = new GroupedChangesToEntityOperation( operation.getEntityKey() );
+			addOperation( state.groupedOperation );
+		}
+		state.groupedOperation.addOperation( operation );
+		pendingOperations++;
+	}
+
+	private void addGroupedChangesToEntityOperation(GroupedChangesToEntityOperation operation) {
+		// Used when the operations of a queue are moved to another one
+		entityState( operation.getEntityKey() ).groupedOperation = operation;
+		addOperation( operation );
+		pendingOperations += operation.getOperations().size();
+	}
+
+	private void addRemoveTupleOperation(RemoveTupleOperation operation) {
+		addOperation( operation );
+		entityState( operation.getEntityKey() ).pendingRemovals++;
+		pendingOperations++;
 	}
 
 	private void addOperation(Operation operation) {
 		operations.add( operation );
 	}
 
-	private GroupedChangesToEntityOperation getOrCreateGroupedChangesOnEntityOperation(EntityKey entityKey) {
-		GroupedChangesToEntityOperation groupedOperation = groupedOperations.get( entityKey );
-		if ( groupedOperation == null ) {
-			groupedOperation = new GroupedChangesToEntityOperation( entityKey );
-			groupedOperations.put( entityKey, groupedOperation );
-			addOperation( groupedOperation );
+	private EntityState entityState(EntityKey entityKey) {
+		EntityState state = entityStates.get( entityKey );
+		if ( state == null ) {
+			state = new EntityState();
+			entityStates.put( entityKey, state );
 		}
-		return groupedOperations.get( entityKey );
+		return state;
 	}
 
 	private void validate() {
@@ -102,13 +125,43 @@ private void validate() {
 
 	public Operation poll() {
 		validate();
-		return operations.poll();
+		Operation operation = operations.poll();
+		if ( operation instanceof GroupedChangesToEntityOperation ) {
+			GroupedChangesToEntityOperation groupedOperation = (GroupedChangesToEntityOperation) operation;
+			EntityState state = entityStates.get( groupedOperation.getEntityKey() );
+			if ( state.groupedOperation == groupedOperation ) {
+				// The following operations on the same entity will be part of a new group
+				state.groupedOperation = null;
+			}
+			removeIfUnused( groupedOperation.getEntityKey(), state );
+			pendingOperations -= groupedOperation.getOperations().size();
+		}
+		else if ( operation instanceof RemoveTupleOperation ) {
+			EntityKey entityKey = ( (RemoveTupleOperation) operation ).getEntityKey();
+			EntityState state = entityStates.get( entityKey );
+			state.pendingRemovals--;
+			removeIfUnused( entityKey, state );
+			pendingOperations--;
+		}
+		else if ( operation != null ) {
+			pendingOperations--;
+		}
+		return operation;
+	}
+
+	/*
+	 * The state of an inserted entity is kept until the queue is cleared, see isInTheInsertionQueue()
+	 */
+	private void removeIfUnused(EntityKey entityKey, EntityState state) {
+		if ( !state.inserted && state.pendingRemovals == 0 && state.groupedOperation == null ) {
+			entityStates.remove( entityKey );
+		}
 	}
 
 	public void clear() {
-		groupedOperations.clear();
 		operations.clear();
-		insertionQueue.clear();
+		entityStates.clear();
+		pendingOperations = 0;
 	}
 
 	public void close() {
@@ -125,7 +178,8 @@ public boolean isClosed() {
 	 * @return true if an {@link InsertOrUpdateTupleOperation} is bound to the key, false otherwise
 	 */
 	public boolean isInTheInsertionQueue(EntityKey key) {
-		return insertionQueue.contains( key );
+		EntityState state = entityStates.get( key );
+		return state != null && state.inserted;
 	}
 
 	/**
@@ -135,15 +189,32 @@ public int size() {
 		return operations.size();
 	}
 
+	/**
+	 * @return the number of operations added to the queue and not polled yet, the operations grouped by entity are
+	 * counted individually
+	 */
+	public int getPendingOperationsCount() {
+		return pendingOperations;
+	}
+
+	/**
+	 * @param entityKey the {@link EntityKey} that identify the element
+	 * @return true if a {@link RemoveTupleOperation} bound to the key is still in the queue, false otherwise
+	 */
 	public boolean isMarkedForRemoval(EntityKey entityKey) {
-		for ( Operation operation: operations ) {
-			if ( !( operation instanceof RemoveTupleOperation ) ) {
-				continue;
-			}
-			if ( ( (RemoveTupleOperation) operation ).getEntityKey().equals( entityKey ) ) {
-				return true;
-			}
-		}
-		return false;
+		EntityState state = entityStates.get( entityKey );
+		return state != null && state.pendingRemovals > 0;
+	}
+
+	/**
+	 * What the queue knows about the operations affecting an entity.
+	 */
+	private static class EntityState {
+
+		private boolean inserted;
+
+		private int pendingRemovals;
+
+		private GroupedChangesToEntityOperation groupedOperation;
 	}
 }
@@ -0,0 +1,24 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.dialect.batch.spi;
+
+import org.hibernate.ogm.model.key.spi.EntityKey;
+
+/**
+ * Callback invoked by a dialect when a batched operation guarded by an optimistic lock could not be applied because the
+ * tuple has been updated or removed in the datastore in the meantime.
+ */
+@FunctionalInterface
+public interface OptimisticLockFailureHandler {
+
+	/**
+	 * Usually raises a {@link org.hibernate.StaleObjectStateException}.
+	 *
+	 * @param entityKey the key of the tuple which could not be updated or removed
+	 */
+	void onOptimisticLockFailure(EntityKey entityKey);
+}
@@ -0,0 +1,55 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.dialect.batch.spi;
+
+import org.hibernate.ogm.dialect.spi.TupleContext;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.spi.Tuple;
+
+/**
+ * Contains the data required to remove a tuple only if it still has the given lock state in the datastore.
+ *
+ * @see org.hibernate.ogm.dialect.optimisticlock.spi.OptimisticLockingAwareGridDialect#removeTupleWithOptimisticLock(EntityKey, Tuple, TupleContext)
+ */
+public class RemoveTupleWithOptimisticLockOperation extends RemoveTupleOperation {
+
+	private final Tuple oldLockState;
+	private final OptimisticLockFailureHandler failureHandler;
+
+	public RemoveTupleWithOptimisticLockOperation(EntityKey entityKey, Tuple oldLockState, TupleContext tupleContext,
+			OptimisticLockFailureHandler failureHandler) {
+		super( entityKey, tupleContext );
+		this.oldLockState = oldLockState;
+		this.failureHandler = failureHandler;
+	}
+
+	/**
+	 * @return the column values identifying the version of the tuple expected in the datastore
+	 */
+	public Tuple getOldLockState() {
+		return oldLockState;
+	}
+
+	/**
+	 * To be invoked by the dialect if the tuple in the datastore doesn't match the old lock state.
+	 */
+	public void onOptimisticLockFailure() {
+		failureHandler.onOptimisticLockFailure( getEntityKey() );
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append( getClass().getSimpleName() );
+		sb.append( "[" );
+		sb.append( getEntityKey() );
+		sb.append( ", " );
+		sb.append( oldLockState );
+		sb.append( "]" );
+		return sb.toString();
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.dialect.batch.spi;
+
+import org.hibernate.ogm.dialect.spi.TupleContext;
+import org.hibernate.ogm.entityentry.impl.TuplePointer;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.spi.Tuple;
+
+/**
+ * Contains the data required to update a tuple only if it still has the given lock state in the datastore.
+ *
+ * @see org.hibernate.ogm.dialect.optimisticlock.spi.OptimisticLockingAwareGridDialect#updateTupleWithOptimisticLock(EntityKey, Tuple, Tuple, TupleContext)
+ */
+public class UpdateTupleWithOptimisticLockOperation implements GroupableEntityOperation {
+
+	private final TuplePointer tuplePointer;
+	private final EntityKey entityKey;
+	private final Tuple oldLockState;
+	private final TupleContext tupleContext;
+	private final OptimisticLockFailureHandler failureHandler;
+
+	public UpdateTupleWithOptimisticLockOperation(TuplePointer tuplePointer, EntityKey entityKey, Tuple oldLockState, TupleContext tupleContext,
+			OptimisticLockFailureHandler failureHandler) {
+		this.tuplePointer = tuplePointer;
+		this.entityKey = entityKey;
+		this.oldLockState = oldLockState;
+		this.tupleContext = tupleContext;
+		this.failureHandler = failureHandler;
+	}
+
+	public TuplePointer getTuplePointer() {
+		return tuplePointer;
+	}
+
+	@Override
+	public EntityKey getEntityKey() {
+		return entityKey;
+	}
+
+	/**
+	 * @return the column values identifying the version of the tuple expected in the datastore
+	 */
+	public Tuple getOldLockState() {
+		return oldLockState;
+	}
+
+	public TupleContext getTupleContext() {
+		return tupleContext;
+	}
+
+	/**
+	 * To be invoked by the dialect if the tuple in the datastore doesn't match the old lock state.
+	 */
+	public void onOptimisticLockFailure() {
+		failureHandler.onOptimisticLockFailure( entityKey );
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append( getClass().getSimpleName() );
+		sb.append( "[" );
+		sb.append( entityKey );
+		sb.append( ", " );
+		sb.append( oldLockState );
+		sb.append( "]" );
+		return sb.toString();
+	}
+}
@@ -19,7 +19,9 @@
 import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
 import org.hibernate.ogm.dialect.impl.BatchOperationsDelegator;
 import org.hibernate.ogm.dialect.impl.GridDialects;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
 import org.hibernate.ogm.dialect.spi.GridDialect;
+import org.hibernate.ogm.persister.impl.FreshTupleCache;
 import org.hibernate.ogm.util.impl.Immutable;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
 
@@ -40,6 +42,7 @@ private EventStateLifecycles() {
 
 		lifecycles.put( OperationCollector.class, OperationCollectorLifecycle.INSTANCE );
 		lifecycles.put( OperationsQueue.class, OperationsQueueLifecycle.INSTANCE );
+		lifecycles.put( FreshTupleCache.class, FreshTupleCacheLifecycle.INSTANCE );
 
 		this.lifecycles = Collections.unmodifiableMap( lifecycles );
 	}
@@ -114,4 +117,28 @@ public void onFinish(OperationsQueue operationsQueue, SessionImplementor session
 			operationsQueue.close();
 		}
 	}
+
+	/**
+	 * Initializes the {@link FreshTupleCache} used to read the tuples of the versioned entities at once, if the dialect
+	 * can read several tuples with a single call.
+	 */
+	private static class FreshTupleCacheLifecycle implements EventStateLifecycle<FreshTupleCache> {
+
+		private static EventStateLifecycle<?> INSTANCE = new FreshTupleCacheLifecycle();
+
+		@Override
+		public boolean mustBeEnabled(ServiceRegistryImplementor serviceRegistry) {
+			return GridDialects.hasFacet( serviceRegistry.getService( GridDialect.class ), MultigetGridDialect.class );
+		}
+
+		@Override
+		public FreshTupleCache create(SessionImplementor session) {
+			return new FreshTupleCache();
+		}
+
+		@Override
+		public void onFinish(FreshTupleCache state, SessionImplementor session) {
+			// nothing to do
+		}
+	}
 }
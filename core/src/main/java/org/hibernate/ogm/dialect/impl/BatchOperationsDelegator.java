@@ -13,9 +13,13 @@
 import org.hibernate.ogm.dialect.batch.spi.GroupingByEntityDialect;
 import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateAssociationOperation;
 import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateTupleOperation;
+import org.hibernate.ogm.dialect.batch.spi.Operation;
 import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.spi.OptimisticLockFailureHandler;
 import org.hibernate.ogm.dialect.batch.spi.RemoveAssociationOperation;
 import org.hibernate.ogm.dialect.batch.spi.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.spi.RemoveTupleWithOptimisticLockOperation;
+import org.hibernate.ogm.dialect.batch.spi.UpdateTupleWithOptimisticLockOperation;
 import org.hibernate.ogm.dialect.eventstate.impl.EventContextManager;
 import org.hibernate.ogm.dialect.spi.AssociationContext;
 import org.hibernate.ogm.dialect.spi.GridDialect;
@@ -37,6 +41,13 @@
  * The {@link TupleContext} and {@link AssociationContext} are also populated with the {@link OperationsQueue}
  * before looking for element in the db. This way the underlying datastore can make assumptions about elements
  * that are in the queue but not in the db.
+ * <p>
+ * When a threshold is set with {@link org.hibernate.ogm.cfg.OgmProperties#BATCH_FLUSH_THRESHOLD}, the queued
+ * operations are executed as soon as their number reaches it, instead of waiting for the end of the flush.
+ * <p>
+ * If the delegate is a {@link org.hibernate.ogm.dialect.optimisticlock.spi.BatchableOptimisticLockingAwareGridDialect},
+ * the updates and removals guarded by an optimistic lock can be queued as well; the failures are reported to the
+ * given {@link OptimisticLockFailureHandler} when the batch is executed.
  *
  * @author Davide D'Alto &lt;davide@hibernate.org&gt;
  */
@@ -45,10 +56,12 @@ public class BatchOperationsDelegator extends ForwardingGridDialect<Serializable
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
 	private final EventContextManager eventContext;
+	private final int batchFlushThreshold;
 
-	public BatchOperationsDelegator(GridDialect dialect, EventContextManager eventContext) {
+	public BatchOperationsDelegator(GridDialect dialect, EventContextManager eventContext, int batchFlushThreshold) {
 		super( dialect );
 		this.eventContext = eventContext;
+		this.batchFlushThreshold = batchFlushThreshold;
 	}
 
 	private boolean isBatchDisabled() {
@@ -88,6 +101,15 @@ public void executeBatch(OperationsQueue operationsQueue) {
 		}
 	}
 
+	private void addToQueue(Operation operation) {
+		OperationsQueue operationsQueue = getOperationQueue();
+		operationsQueue.add( operation );
+		if ( batchFlushThreshold > 0 && operationsQueue.getPendingOperationsCount() >= batchFlushThreshold ) {
+			log.tracef( "Executing partial batch of %1$s operations", operationsQueue.getPendingOperationsCount() );
+			executeBatch( operationsQueue );
+		}
+	}
+
 	@Override
 	public Tuple getTuple(EntityKey key, OperationContext operationContext) {
 		OperationContext contextWithQueue;
@@ -107,7 +129,7 @@ public void insertOrUpdateTuple(EntityKey key, TuplePointer tuplePointer, TupleC
 			super.insertOrUpdateTuple( key, tuplePointer, tupleContext );
 		}
 		else {
-			getOperationQueue().add( new InsertOrUpdateTupleOperation( tuplePointer, key, tupleContext ) );
+			addToQueue( new InsertOrUpdateTupleOperation( tuplePointer, key, tupleContext ) );
 		}
 	}
 
@@ -117,7 +139,49 @@ public void removeTuple(EntityKey key, TupleContext tupleContext) {
 			super.removeTuple( key, tupleContext );
 		}
 		else {
-			getOperationQueue().add( new RemoveTupleOperation( key, tupleContext ) );
+			addToQueue( new RemoveTupleOperation( key, tupleContext ) );
+		}
+	}
+
+	/**
+	 * Updates the tuple only if it has the given lock state in the datastore, the update is queued if the batch is
+	 * enabled.
+	 *
+	 * @param key the key of the entity to update
+	 * @param oldLockState the column values identifying the expected version of the tuple in the datastore
+	 * @param tuplePointer the tuple to save
+	 * @param tupleContext the context of the tuple
+	 * @param failureHandler invoked if the tuple has been updated or removed in the meantime
+	 */
+	public void updateTupleWithOptimisticLock(EntityKey key, Tuple oldLockState, TuplePointer tuplePointer, TupleContext tupleContext,
+			OptimisticLockFailureHandler failureHandler) {
+		if ( isBatchDisabled() ) {
+			if ( !super.updateTupleWithOptimisticLock( key, oldLockState, tuplePointer.getTuple(), tupleContext ) ) {
+				failureHandler.onOptimisticLockFailure( key );
+			}
+		}
+		else {
+			addToQueue( new UpdateTupleWithOptimisticLockOperation( tuplePointer, key, oldLockState, tupleContext, failureHandler ) );
+		}
+	}
+
+	/**
+	 * Removes the tuple only if it has the given lock state in the datastore, the removal is queued if the batch is
+	 * enabled.
+	 *
+	 * @param key the key of the entity to remove
+	 * @param oldLockState the column values identifying the expected version of the tuple in the datastore
+	 * @param tupleContext the context of the tuple
+	 * @param failureHandler invoked if the tuple has been updated or removed in the meantime
+	 */
+	public void removeTupleWithOptimisticLock(EntityKey key, Tuple oldLockState, TupleContext tupleContext, OptimisticLockFailureHandler failureHandler) {
+		if ( isBatchDisabled() ) {
+			if ( !super.removeTupleWithOptimisticLock( key, oldLockState, tupleContext ) ) {
+				failureHandler.onOptimisticLockFailure( key );
+			}
+		}
+		else {
+			addToQueue( new RemoveTupleWithOptimisticLockOperation( key, oldLockState, tupleContext, failureHandler ) );
 		}
 	}
 
@@ -137,7 +201,7 @@ public void insertOrUpdateAssociation(AssociationKey key, Association associatio
 			super.insertOrUpdateAssociation( key, association, withQueue( associationContext ) );
 		}
 		else {
-			getOperationQueue().add( new InsertOrUpdateAssociationOperation( association, key, withQueue( associationContext ) ) );
+			addToQueue( new InsertOrUpdateAssociationOperation( association, key, withQueue( associationContext ) ) );
 		}
 	}
 
@@ -147,7 +211,7 @@ public void removeAssociation(AssociationKey key, AssociationContext association
 			super.removeAssociation( key, withQueue( associationContext ) );
 		}
 		else {
-			getOperationQueue().add( new RemoveAssociationOperation( key, withQueue( associationContext ) ) );
+			addToQueue( new RemoveAssociationOperation( key, withQueue( associationContext ) ) );
 		}
 	}
 
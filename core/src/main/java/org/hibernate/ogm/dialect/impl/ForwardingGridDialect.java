@@ -17,8 +17,11 @@
 import org.hibernate.ogm.dialect.batch.spi.GroupingByEntityDialect;
 import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
 import org.hibernate.ogm.dialect.identity.spi.IdentityColumnAwareGridDialect;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetAssociationGridDialect;
 import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
 import org.hibernate.ogm.dialect.optimisticlock.spi.OptimisticLockingAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.PartitionAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
 import org.hibernate.ogm.dialect.query.spi.BackendQuery;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.query.spi.ParameterMetadataBuilder;
@@ -62,7 +65,7 @@
  *
  * @author Gunnar Morling
  */
-public class ForwardingGridDialect<T extends Serializable> implements GridDialect, BatchableGridDialect, SessionFactoryLifecycleAwareDialect, IdentityColumnAwareGridDialect, QueryableGridDialect<T>, OptimisticLockingAwareGridDialect, Configurable, ServiceRegistryAwareService, MultigetGridDialect, GroupingByEntityDialect, StoredProcedureAwareGridDialect {
+public class ForwardingGridDialect<T extends Serializable> implements GridDialect, BatchableGridDialect, SessionFactoryLifecycleAwareDialect, IdentityColumnAwareGridDialect, QueryableGridDialect<T>, OptimisticLockingAwareGridDialect, Configurable, ServiceRegistryAwareService, MultigetGridDialect, MultigetAssociationGridDialect, GroupingByEntityDialect, StoredProcedureAwareGridDialect, PartitionAwareGridDialect {
 
 	private final GridDialect gridDialect;
 	private final BatchableGridDialect batchableGridDialect;
@@ -72,7 +75,9 @@
 	private final IdentityColumnAwareGridDialect identityColumnAwareGridDialect;
 	private final OptimisticLockingAwareGridDialect optimisticLockingAwareGridDialect;
 	private final MultigetGridDialect multigetGridDialect;
+	private final MultigetAssociationGridDialect multigetAssociationGridDialect;
 	private final StoredProcedureAwareGridDialect storedProcedureAwareGridDialect;
+	private final PartitionAwareGridDialect partitionAwareGridDialect;
 
 	@SuppressWarnings("unchecked")
 	public ForwardingGridDialect(GridDialect gridDialect) {
@@ -86,7 +91,9 @@ public ForwardingGridDialect(GridDialect gridDialect) {
 		this.identityColumnAwareGridDialect = GridDialects.getDialectFacetOrNull( gridDialect, IdentityColumnAwareGridDialect.class );
 		this.optimisticLockingAwareGridDialect = GridDialects.getDialectFacetOrNull( gridDialect, OptimisticLockingAwareGridDialect.class );
 		this.multigetGridDialect = GridDialects.getDialectFacetOrNull( gridDialect, MultigetGridDialect.class );
+		this.multigetAssociationGridDialect = GridDialects.getDialectFacetOrNull( gridDialect, MultigetAssociationGridDialect.class );
 		this.storedProcedureAwareGridDialect = GridDialects.getDialectFacetOrNull( gridDialect, StoredProcedureAwareGridDialect.class );
+		this.partitionAwareGridDialect = GridDialects.getDialectFacetOrNull( gridDialect, PartitionAwareGridDialect.class );
 	}
 
 	/**
@@ -262,6 +269,29 @@ public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
 		return multigetGridDialect.getTuples( keys, tupleContext );
 	}
 
+	/*
+	 * @see org.hibernate.ogm.dialect.multiget.spi.MultigetAssociationGridDialect
+	 */
+
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext[] associationContexts) {
+		return multigetAssociationGridDialect.getAssociations( keys, associationContexts );
+	}
+
+	/*
+	 * @see org.hibernate.ogm.dialect.partition.spi.PartitionAwareGridDialect
+	 */
+
+	@Override
+	public List<TuplePartition> getTuplePartitions(TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, int maxPartitions) {
+		return partitionAwareGridDialect.getTuplePartitions( tupleTypeContext, entityKeyMetadata, maxPartitions );
+	}
+
+	@Override
+	public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, TuplePartition partition) {
+		partitionAwareGridDialect.forEachTuple( consumer, tupleTypeContext, entityKeyMetadata, partition );
+	}
+
 	/*
 	 * @see org.hibernate.service.spi.ServiceRegistryAwareService
 	 */
@@ -20,6 +20,7 @@
 import org.hibernate.ogm.dialect.spi.GridDialect;
 import org.hibernate.ogm.util.configurationreader.impl.DefaultClassPropertyReaderContext;
 import org.hibernate.ogm.util.configurationreader.impl.Instantiator;
+import org.hibernate.ogm.util.configurationreader.impl.Validators;
 import org.hibernate.ogm.util.configurationreader.spi.ConfigurationPropertyReader;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
@@ -59,7 +60,14 @@ public GridDialect initiateService(Map configurationValues, ServiceRegistryImple
 		return ( (DefaultClassPropertyReaderContext<GridDialect>) propertyReader.property( OgmProperties.GRID_DIALECT, GridDialect.class )
 				.instantiate() )
 				.withDefaultImplementation( registry.getService( DatastoreProvider.class ).getDefaultDialect() )
-				.withInstantiator( new GridDialectInstantiator( datastore, errorHandlerConfigured, eventContext ) )
+				.withInstantiator( new GridDialectInstantiator( datastore, errorHandlerConfigured, eventContext, batchFlushThreshold( propertyReader ) ) )
+				.getValue();
+	}
+
+	private static int batchFlushThreshold(ConfigurationPropertyReader propertyReader) {
+		return propertyReader.property( OgmProperties.BATCH_FLUSH_THRESHOLD, int.class )
+				.withDefault( 0 )
+				.withValidator( Validators.BATCH_FLUSH_THRESHOLD )
 				.getValue();
 	}
 
@@ -68,11 +76,13 @@ private static class GridDialectInstantiator implements Instantiator<GridDialect
 		private final DatastoreProvider datastore;
 		private final boolean errorHandlerConfigured;
 		private final EventContextManager eventContext;
+		private final int batchFlushThreshold;
 
-		public GridDialectInstantiator(DatastoreProvider datastore, boolean errorHandlerConfigured, EventContextManager eventContext) {
+		public GridDialectInstantiator(DatastoreProvider datastore, boolean errorHandlerConfigured, EventContextManager eventContext, int batchFlushThreshold) {
 			this.datastore = datastore;
 			this.errorHandlerConfigured = errorHandlerConfigured;
 			this.eventContext = eventContext;
+			this.batchFlushThreshold = batchFlushThreshold;
 		}
 
 		@Override
@@ -100,7 +110,7 @@ public GridDialect newInstance(Class<? extends GridDialect> clazz) {
 
 				if ( GridDialects.hasFacet( gridDialect, BatchableGridDialect.class ) ||
 						GridDialects.hasFacet( gridDialect, GroupingByEntityDialect.class ) ) {
-					gridDialect = new BatchOperationsDelegator( gridDialect, eventContext );
+					gridDialect = new BatchOperationsDelegator( gridDialect, eventContext, batchFlushThreshold );
 				}
 
 				log.useGridDialect( gridDialect.getClass() );
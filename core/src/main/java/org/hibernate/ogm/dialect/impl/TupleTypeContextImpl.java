@@ -13,6 +13,7 @@
 
 import org.hibernate.ogm.dialect.spi.TupleTypeContext;
 import org.hibernate.ogm.model.key.spi.AssociatedEntityKeyMetadata;
+import org.hibernate.ogm.model.spi.ColumnSlots;
 import org.hibernate.ogm.options.spi.OptionsContext;
 import org.hibernate.ogm.util.impl.StringHelper;
 
@@ -37,6 +38,7 @@ public class TupleTypeContextImpl implements TupleTypeContext {
 
 	private final Map<String, String> roles;
 	private final Set<String> polymorphicEntityColumns;
+	private final ColumnSlots columnSlots;
 
 	public TupleTypeContextImpl(List<String> selectableColumns,
 			Set<String> polymorphicEntityColumns,
@@ -45,6 +47,18 @@ public TupleTypeContextImpl(List<String> selectableColumns,
 			OptionsContext optionsContext,
 			String discriminatorColumn,
 			Object discriminatorValue) {
+		this( selectableColumns, polymorphicEntityColumns, associatedEntityMetadata, roles, optionsContext, discriminatorColumn, discriminatorValue,
+				new ColumnSlots( selectableColumns ) );
+	}
+
+	public TupleTypeContextImpl(List<String> selectableColumns,
+			Set<String> polymorphicEntityColumns,
+			Map<String, AssociatedEntityKeyMetadata> associatedEntityMetadata,
+			Map<String, String> roles,
+			OptionsContext optionsContext,
+			String discriminatorColumn,
+			Object discriminatorValue,
+			ColumnSlots columnSlots) {
 
 		this.polymorphicEntityColumns = Collections.unmodifiableSet( polymorphicEntityColumns );
 		this.selectableColumns = Collections.unmodifiableList( selectableColumns );
@@ -53,6 +67,7 @@ public TupleTypeContextImpl(List<String> selectableColumns,
 		this.optionsContext = optionsContext;
 		this.discriminatorColumn = discriminatorColumn;
 		this.discriminatorValue = discriminatorValue;
+		this.columnSlots = columnSlots;
 	}
 
 	@Override
@@ -105,6 +120,11 @@ public Object getDiscriminatorValue() {
 		return discriminatorValue;
 	}
 
+	@Override
+	public ColumnSlots getColumnSlots() {
+		return columnSlots;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder builder = new StringBuilder( "Tuple Context {" );
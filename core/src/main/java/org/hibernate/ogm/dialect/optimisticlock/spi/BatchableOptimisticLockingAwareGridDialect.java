@@ -0,0 +1,24 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.dialect.optimisticlock.spi;
+
+import org.hibernate.ogm.dialect.batch.spi.BatchableGridDialect;
+import org.hibernate.ogm.dialect.spi.GridDialect;
+
+/**
+ * A {@link GridDialect} facet to be implemented by those stores which can apply the updates and removals guarded by an
+ * optimistic lock as part of a batch.
+ * <p>
+ * When the dialect implements this facet, the versioned updates and removals are added to the
+ * {@link org.hibernate.ogm.dialect.batch.spi.OperationsQueue} as
+ * {@link org.hibernate.ogm.dialect.batch.spi.UpdateTupleWithOptimisticLockOperation} and
+ * {@link org.hibernate.ogm.dialect.batch.spi.RemoveTupleWithOptimisticLockOperation} instead of being executed right
+ * away. {@link #executeBatch(org.hibernate.ogm.dialect.batch.spi.OperationsQueue)} must invoke
+ * {@code onOptimisticLockFailure()} on each of those operations which could not be applied.
+ */
+public interface BatchableOptimisticLockingAwareGridDialect extends OptimisticLockingAwareGridDialect, BatchableGridDialect {
+}
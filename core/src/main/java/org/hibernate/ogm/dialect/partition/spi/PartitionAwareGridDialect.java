@@ -0,0 +1,45 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.dialect.partition.spi;
+
+import java.util.List;
+
+import org.hibernate.ogm.dialect.spi.GridDialect;
+import org.hibernate.ogm.dialect.spi.ModelConsumer;
+import org.hibernate.ogm.dialect.spi.TupleTypeContext;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+
+/**
+ * A {@link GridDialect} facet representing dialects that can split the tuples of an entity type into disjoint
+ * partitions which can be iterated independently, e.g. by several threads of the mass indexer.
+ */
+public interface PartitionAwareGridDialect extends GridDialect {
+
+	/**
+	 * Splits the tuples of the given table into partitions. Each tuple existing when this method is invoked must belong
+	 * to exactly one of the returned partitions.
+	 *
+	 * @param tupleTypeContext the context of the entity type
+	 * @param entityKeyMetadata the key metadata of the table to split
+	 * @param maxPartitions the maximum number of partitions to return, at least 1
+	 * @return the partitions of the table, never {@code null}; can contain less than {@code maxPartitions} elements,
+	 * for example when the table doesn't have enough entries
+	 */
+	List<TuplePartition> getTuplePartitions(TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, int maxPartitions);
+
+	/**
+	 * Like {@link GridDialect#forEachTuple(ModelConsumer, TupleTypeContext, EntityKeyMetadata)} but limited to the tuples
+	 * of the given partition.
+	 *
+	 * @param consumer the instance that is going to be called for every {@link org.hibernate.ogm.model.spi.Tuple}
+	 * @param tupleTypeContext the context of the entity type
+	 * @param entityKeyMetadata the key metadata of the table
+	 * @param partition one of the partitions returned by
+	 * {@link #getTuplePartitions(TupleTypeContext, EntityKeyMetadata, int)} for the same table
+	 */
+	void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, TuplePartition partition);
+}
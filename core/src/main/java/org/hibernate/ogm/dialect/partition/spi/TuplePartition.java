@@ -0,0 +1,16 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.dialect.partition.spi;
+
+/**
+ * A subset of the tuples of a table, as returned by {@link PartitionAwareGridDialect}.
+ * <p>
+ * The content is specific to the dialect which created the partition, e.g. a range of keys or a set of segments;
+ * implementations should be immutable and provide a meaningful {@code toString()} for logging.
+ */
+public interface TuplePartition {
+}
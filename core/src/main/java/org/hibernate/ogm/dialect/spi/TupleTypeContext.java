@@ -11,6 +11,7 @@
 import java.util.Set;
 
 import org.hibernate.ogm.model.key.spi.AssociatedEntityKeyMetadata;
+import org.hibernate.ogm.model.spi.ColumnSlots;
 import org.hibernate.ogm.model.spi.Tuple;
 import org.hibernate.ogm.options.spi.OptionsContext;
 
@@ -103,4 +104,14 @@ public interface TupleTypeContext {
 	 * @return the value of the discriminator. It can return {@code null}.
 	 */
 	Object getDiscriminatorValue();
+
+	/**
+	 * The slot table of the tuples of the given entity; the core uses it to keep the changes applied to a tuple in
+	 * a compact form, see {@link Tuple#useColumnSlots(ColumnSlots)}.
+	 *
+	 * @return the slot table of the columns of the entity, {@code null} if the changes are not kept by slot
+	 */
+	default ColumnSlots getColumnSlots() {
+		return null;
+	}
 }
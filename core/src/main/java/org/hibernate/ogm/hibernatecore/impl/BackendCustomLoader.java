@@ -29,9 +29,12 @@
 import org.hibernate.ogm.dialect.spi.TupleContext;
 import org.hibernate.ogm.loader.nativeloader.impl.BackendCustomQuery;
 import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.query.impl.OgmScrollableResults;
 import org.hibernate.ogm.type.spi.GridType;
 import org.hibernate.ogm.type.spi.TypeTranslator;
 import org.hibernate.ogm.util.impl.CustomLoaderHelper;
+import org.hibernate.persister.entity.Loadable;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
 import org.hibernate.type.Type;
 
 /**
@@ -99,6 +102,30 @@ protected List<?> list(SharedSessionContractImplementor session, org.hibernate.e
 		}
 	}
 
+	@Override
+	public ScrollableResultsImplementor scroll(org.hibernate.engine.spi.QueryParameters queryParameters, SharedSessionContractImplementor session) throws HibernateException {
+		ClosableIterator<Tuple> tuples = loaderContext.executeQuery( session,
+				QueryParameters.fromOrmQueryParameters( queryParameters, typeTranslator, session.getFactory() ) );
+		if ( isEntityQuery() ) {
+			Loadable persister = getEntityPersisters()[0];
+			Class<?> returnedClass = persister.getMappedClass();
+			Type[] types = new Type[] { persister.getEntityMetamodel().getEntityType() };
+			return new OgmScrollableResults( tuples, chunk -> CustomLoaderHelper.listOfEntities( session, returnedClass, chunk ), types, queryParameters );
+		}
+		else {
+			return new OgmScrollableResults( tuples, chunk -> listOfArrays( session, chunk.iterator() ), getScalarTypes(), queryParameters );
+		}
+	}
+
+	private Type[] getScalarTypes() {
+		Type[] types = new Type[customQuery.getCustomQueryReturns().size()];
+		int i = 0;
+		for ( Return queryReturn : customQuery.getCustomQueryReturns() ) {
+			types[i++] = ( (ScalarReturn) queryReturn ).getType();
+		}
+		return types;
+	}
+
 	private List<Object> listOfArrays(SharedSessionContractImplementor session, Iterator<Tuple> tuples) {
 		List<Object> results = new ArrayList<Object>();
 		while ( tuples.hasNext() ) {
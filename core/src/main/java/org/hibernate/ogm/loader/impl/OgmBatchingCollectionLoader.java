@@ -0,0 +1,51 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.loader.impl;
+
+import java.io.Serializable;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.ogm.persister.impl.OgmCollectionPersister;
+
+/**
+ * Initializes, together with the requested one, the other uninitialized collections of the same role waiting in the
+ * batch fetch queue of the session.
+ * <p>
+ * Used when the grid dialect can read the associations of several owners at once.
+ */
+public class OgmBatchingCollectionLoader extends OgmBasicCollectionLoader {
+
+	private final int batchSize;
+
+	public OgmBatchingCollectionLoader(OgmCollectionPersister collectionPersister, int batchSize) {
+		super( collectionPersister );
+		this.batchSize = batchSize;
+	}
+
+	@Override
+	public void initialize(Serializable id, SharedSessionContractImplementor session) throws HibernateException {
+		Serializable[] batch = session.getPersistenceContext()
+				.getBatchFetchQueue()
+				.getCollectionBatch( getCollectionPersisters()[0], id, batchSize );
+
+		// The batch is padded with null values when there are not enough collections to initialize
+		int numberOfIds = 0;
+		while ( numberOfIds < batch.length && batch[numberOfIds] != null ) {
+			numberOfIds++;
+		}
+
+		if ( numberOfIds <= 1 ) {
+			loadCollection( session, id, getKeyType() );
+		}
+		else {
+			Serializable[] ids = new Serializable[numberOfIds];
+			System.arraycopy( batch, 0, ids, 0, numberOfIds );
+			loadCollectionBatch( session, ids, getKeyType() );
+		}
+	}
+}
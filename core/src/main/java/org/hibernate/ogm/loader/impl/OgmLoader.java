@@ -32,12 +32,15 @@
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.loader.CollectionAliases;
 import org.hibernate.loader.entity.UniqueEntityLoader;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetAssociationGridDialect;
 import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
+import org.hibernate.ogm.dialect.spi.AssociationContext;
 import org.hibernate.ogm.dialect.spi.GridDialect;
 import org.hibernate.ogm.entityentry.impl.OgmEntityEntryState;
 import org.hibernate.ogm.jdbc.impl.TupleAsMapResultSet;
 import org.hibernate.ogm.loader.entity.impl.BatchableEntityLoader;
 import org.hibernate.ogm.model.impl.EntityKeyBuilder;
+import org.hibernate.ogm.model.key.spi.AssociationKey;
 import org.hibernate.ogm.model.key.spi.EntityKey;
 import org.hibernate.ogm.model.key.spi.RowKey;
 import org.hibernate.ogm.model.spi.Association;
@@ -77,6 +80,7 @@ public class OgmLoader implements UniqueEntityLoader, BatchableEntityLoader, Tup
 	private final CollectionAliases[] collectionAliases;
 	private final GridDialect gridDialect;
 	private final MultigetGridDialect multigetGridDialect;
+	private final MultigetAssociationGridDialect multigetAssociationGridDialect;
 	private final int batchSize;
 
 	/**
@@ -94,6 +98,7 @@ public OgmLoader(OgmCollectionPersister[] collectionPersisters) {
 		ServiceRegistryImplementor serviceRegistry = this.factory.getServiceRegistry();
 		this.gridDialect = serviceRegistry.getService( GridDialect.class );
 		this.multigetGridDialect = serviceRegistry.getService( MultigetGridDialect.class );
+		this.multigetAssociationGridDialect = serviceRegistry.getService( MultigetAssociationGridDialect.class );
 
 		//NONE, because its the requested lock mode, not the actual!
 		final int fromSize = 1;
@@ -121,6 +126,7 @@ public OgmLoader(OgmEntityPersister[] entityPersisters, int batchSize) {
 		ServiceRegistryImplementor serviceRegistry = this.factory.getServiceRegistry();
 		this.gridDialect = serviceRegistry.getService( GridDialect.class );
 		this.multigetGridDialect = serviceRegistry.getService( MultigetGridDialect.class );
+		this.multigetAssociationGridDialect = serviceRegistry.getService( MultigetAssociationGridDialect.class );
 
 		// NONE, because its the requested lock mode, not the actual!
 		final int fromSize = 1;
@@ -254,6 +260,40 @@ public final void loadCollection(
 
 	}
 
+	/**
+	 * Called by subclasses that batch-initialize collections
+	 *
+	 * @param session the session
+	 * @param ids the collection identifiers
+	 * @param type collection type
+	 * @throws HibernateException if an error occurs
+	 */
+	public final void loadCollectionBatch(
+		final SharedSessionContractImplementor session,
+		final Serializable[] ids,
+		final Type type) throws HibernateException {
+
+		if ( log.isDebugEnabled() ) {
+			log.debug(
+					"batch loading collection: " +
+					MessageHelper.collectionInfoString( getCollectionPersisters()[0], ids, getFactory() )
+				);
+		}
+
+		Type[] idTypes = new Type[ids.length];
+		Arrays.fill( idTypes, type );
+		QueryParameters qp = new QueryParameters( idTypes, ids, ids );
+		doQueryAndInitializeNonLazyCollections(
+				session,
+				qp,
+				OgmLoadingContext.EMPTY_CONTEXT,
+				true
+			);
+
+		log.debug( "done batch load" );
+
+	}
+
 	OgmEntityPersister[] getEntityPersisters() {
 		return entityPersisters;
 	}
@@ -428,7 +468,8 @@ private void preLoadBatchFetchingQueue(SharedSessionContractImplementor session,
 	}
 
 	private boolean loadSeveralIds(QueryParameters qp) {
-		return qp.getPositionalParameterValues().length > 1;
+		// several collections of the same role are loaded using the collection keys
+		return entityPersisters.length > 0 && qp.getPositionalParameterValues().length > 1;
 	}
 
 	/**
@@ -593,29 +634,70 @@ private TupleAsMapResultSet getResultSet(Serializable id, QueryParameters qp, Og
 				throw new AssertionFailure( "Found an unexpected number of collection persisters: " + getCollectionPersisters().length );
 			}
 			final OgmCollectionPersister persister = (OgmCollectionPersister) getCollectionPersisters()[0];
-			Object owner = session.getPersistenceContext().getCollectionOwner( id, persister );
-
-			AssociationPersister associationPersister = new AssociationPersister.Builder(
-					persister.getOwnerEntityPersister().getMappedClass()
-				)
-				.gridDialect( gridDialect )
-				.key( id, persister.getKeyGridType() )
-				.associationKeyMetadata( persister.getAssociationKeyMetadata() )
-				.associationTypeContext( persister.getAssociationTypeContext() )
-				.hostingEntity( owner )
-				.session( session )
-				.build();
-
-			Association assoc = associationPersister.getAssociationOrNull();
-			if ( assoc != null ) {
-				for ( RowKey rowKey : assoc.getKeys() ) {
-					resultset.addTuple( assoc.get( rowKey ) );
+			final Serializable[] ids = qp.getCollectionKeys();
+			final AssociationPersister[] associationPersisters = new AssociationPersister[ids.length];
+			for ( int index = 0; index < ids.length; index++ ) {
+				associationPersisters[index] = getAssociationPersister( persister, ids[index], session );
+			}
+
+			if ( ids.length > 1 && multigetAssociationGridDialect != null ) {
+				loadAssociations( associationPersisters );
+			}
+
+			for ( AssociationPersister associationPersister : associationPersisters ) {
+				Association assoc = associationPersister.getAssociationOrNull();
+				if ( assoc != null ) {
+					for ( RowKey rowKey : assoc.getKeys() ) {
+						resultset.addTuple( assoc.get( rowKey ) );
+					}
 				}
 			}
 		}
 		return resultset;
 	}
 
+	private AssociationPersister getAssociationPersister(OgmCollectionPersister persister, Serializable id, SharedSessionContractImplementor session) {
+		Object owner = session.getPersistenceContext().getCollectionOwner( id, persister );
+
+		return new AssociationPersister.Builder(
+				persister.getOwnerEntityPersister().getMappedClass()
+			)
+			.gridDialect( gridDialect )
+			.key( id, persister.getKeyColumnValuesExtractor() )
+			.associationKeyMetadata( persister.getAssociationKeyMetadata() )
+			.associationTypeContext( persister.getAssociationTypeContext() )
+			.hostingEntity( owner )
+			.session( session )
+			.build();
+	}
+
+	/**
+	 * Reads the associations which have not been read yet within the session with a single datastore operation.
+	 */
+	private void loadAssociations(AssociationPersister[] associationPersisters) {
+		List<AssociationPersister> toLoad = new ArrayList<>( associationPersisters.length );
+		for ( AssociationPersister associationPersister : associationPersisters ) {
+			if ( !associationPersister.isAssociationLoaded() ) {
+				toLoad.add( associationPersister );
+			}
+		}
+		if ( toLoad.size() < 2 ) {
+			return;
+		}
+
+		AssociationKey[] keys = new AssociationKey[toLoad.size()];
+		AssociationContext[] associationContexts = new AssociationContext[toLoad.size()];
+		for ( int index = 0; index < keys.length; index++ ) {
+			keys[index] = toLoad.get( index ).getAssociationKey();
+			associationContexts[index] = toLoad.get( index ).getAssociationContext();
+		}
+
+		List<Association> associations = multigetAssociationGridDialect.getAssociations( keys, associationContexts );
+		for ( int index = 0; index < keys.length; index++ ) {
+			toLoad.get( index ).setLoadedAssociation( associations.get( index ) );
+		}
+	}
+
 	private Object getResultColumnOrRow(Object[] row) {
 		//getResultColumnOrRow
 		//today we don't use this to apply the result transformer and we don't have operations to do like other loaders
@@ -39,6 +39,8 @@ public class BatchCoordinator implements Runnable {
 	private final ExtendedSearchIntegrator searchFactoryImplementor;
 	private final SessionFactoryImplementor sessionFactory;
 	private final int typesToIndexInParallel;
+	private final int threadsToLoadObjects;
+	private final int batchSizeToLoadObjects;
 	private final CacheMode cacheMode;
 	private final boolean optimizeAtEnd;
 	private final boolean purgeAtStart;
@@ -51,14 +53,16 @@ public class BatchCoordinator implements Runnable {
 	private final GridDialect gridDialect;
 
 	public BatchCoordinator(GridDialect gridDialect, IndexedTypeSet rootEntities, ExtendedSearchIntegrator searchFactoryImplementor,
-			SessionFactoryImplementor sessionFactory, int typesToIndexInParallel, CacheMode cacheMode, boolean optimizeAtEnd, boolean purgeAtStart,
-			boolean optimizeAfterPurge, MassIndexerProgressMonitor monitor, String tenantId) {
+			SessionFactoryImplementor sessionFactory, int typesToIndexInParallel, int threadsToLoadObjects, int batchSizeToLoadObjects, CacheMode cacheMode,
+			boolean optimizeAtEnd, boolean purgeAtStart, boolean optimizeAfterPurge, MassIndexerProgressMonitor monitor, String tenantId) {
 		this.gridDialect = gridDialect;
 		this.tenantId = tenantId;
 		this.rootIndexedTypes = rootEntities;
 		this.searchFactoryImplementor = searchFactoryImplementor;
 		this.sessionFactory = sessionFactory;
 		this.typesToIndexInParallel = typesToIndexInParallel;
+		this.threadsToLoadObjects = threadsToLoadObjects;
+		this.batchSizeToLoadObjects = batchSizeToLoadObjects;
 		this.cacheMode = cacheMode;
 		this.optimizeAtEnd = optimizeAtEnd;
 		this.purgeAtStart = purgeAtStart;
@@ -106,7 +110,7 @@ private void doBatchWork(BatchBackend backend) throws InterruptedException {
 		ExecutorService executor = Executors.newFixedThreadPool( typesToIndexInParallel, "BatchIndexingWorkspace" );
 		for ( IndexedTypeIdentifier indexedTypeIdentifier : rootIndexedTypes ) {
 			executor.execute( new BatchIndexingWorkspace( gridDialect, searchFactoryImplementor, sessionFactory, indexedTypeIdentifier,
-					cacheMode, endAllSignal, monitor, backend, tenantId ) );
+					threadsToLoadObjects, batchSizeToLoadObjects, cacheMode, endAllSignal, monitor, backend, tenantId ) );
 		}
 		executor.shutdown();
 		endAllSignal.await(); // waits for the executor to finish
@@ -6,11 +6,20 @@
  */
 package org.hibernate.ogm.massindex.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.hibernate.CacheMode;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.ogm.dialect.impl.GridDialects;
+import org.hibernate.ogm.dialect.partition.spi.PartitionAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
 import org.hibernate.ogm.dialect.spi.GridDialect;
+import org.hibernate.ogm.dialect.spi.TupleTypeContext;
 import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
 import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
 import org.hibernate.ogm.persister.impl.OgmEntityPersister;
@@ -27,6 +36,9 @@
 /**
  * This runnable will prepare a pipeline for batch indexing
  * of entities, managing the lifecycle of several ThreadPools.
+ * <p>
+ * If more than one thread to load objects is requested and the dialect is a {@link PartitionAwareGridDialect}, the
+ * tuples of the indexed type are split into partitions, each one being loaded and indexed by its own thread.
  *
  * @author Sanne Grinovero
  * @author Davide D'Alto &lt;davide@hibernate.org&gt;
@@ -45,6 +57,8 @@ public class BatchIndexingWorkspace implements Runnable {
 
 	// loading options
 	private final CacheMode cacheMode;
+	private final int threadsToLoadObjects;
+	private final int batchSizeToLoadObjects;
 
 	private final BatchBackend batchBackend;
 
@@ -55,13 +69,15 @@ public class BatchIndexingWorkspace implements Runnable {
 	private final String tenantId;
 
 	public BatchIndexingWorkspace(GridDialect gridDialect, SearchIntegrator search,
-			SessionFactoryImplementor sessionFactory, IndexedTypeIdentifier indexedTypeIdentifier, CacheMode cacheMode, CountDownLatch endAllSignal,
-			MassIndexerProgressMonitor monitor, BatchBackend backend, String tenantId) {
+			SessionFactoryImplementor sessionFactory, IndexedTypeIdentifier indexedTypeIdentifier, int threadsToLoadObjects, int batchSizeToLoadObjects,
+			CacheMode cacheMode, CountDownLatch endAllSignal, MassIndexerProgressMonitor monitor, BatchBackend backend, String tenantId) {
 		this.gridDialect = gridDialect;
 		this.indexedTypeIdentifier = indexedTypeIdentifier;
 		this.tenantId = tenantId;
 		this.searchIntegrator = search.unwrap( ExtendedSearchIntegrator.class );
 		this.sessionFactory = sessionFactory;
+		this.threadsToLoadObjects = threadsToLoadObjects;
+		this.batchSizeToLoadObjects = batchSizeToLoadObjects;
 		this.cacheMode = cacheMode;
 		this.endAllSignal = endAllSignal;
 		this.batchBackend = backend;
@@ -76,7 +92,12 @@ public void run() {
 			final EntityKeyMetadata keyMetadata = new DefaultEntityKeyMetadata( persister.getTableName(), persister.getRootTableIdentifierColumnNames() );
 
 			final SessionAwareRunnable consumer = new TupleIndexer( indexedTypeIdentifier, monitor, sessionFactory, searchIntegrator, cacheMode, batchBackend, errorHandler, tenantId );
-			gridDialect.forEachTuple( new OptionallyWrapInJTATransaction( sessionFactory, errorHandler, consumer ), persister.getTupleTypeContext(), keyMetadata );
+			if ( threadsToLoadObjects > 1 && GridDialects.hasFacet( gridDialect, PartitionAwareGridDialect.class ) ) {
+				indexPartitions( (PartitionAwareGridDialect) gridDialect, consumer, errorHandler, persister.getTupleTypeContext(), keyMetadata );
+			}
+			else {
+				gridDialect.forEachTuple( new OptionallyWrapInJTATransaction( sessionFactory, errorHandler, consumer, batchSizeToLoadObjects ), persister.getTupleTypeContext(), keyMetadata );
+			}
 		}
 		catch ( RuntimeException re ) {
 			// being this an async thread we want to make sure everything is somehow reported
@@ -86,4 +107,39 @@ public void run() {
 			endAllSignal.countDown();
 		}
 	}
+
+	/*
+	 * Indexes each partition of the tuples in a separate thread and waits until all of them are done
+	 */
+	private void indexPartitions(PartitionAwareGridDialect partitionAwareGridDialect, SessionAwareRunnable consumer, ErrorHandler errorHandler,
+			TupleTypeContext tupleTypeContext, EntityKeyMetadata keyMetadata) {
+		List<TuplePartition> partitions = partitionAwareGridDialect.getTuplePartitions( tupleTypeContext, keyMetadata, threadsToLoadObjects );
+		if ( partitions.isEmpty() ) {
+			return;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool( Math.min( threadsToLoadObjects, partitions.size() ), "TupleLoader" );
+		try {
+			List<Future<?>> futures = new ArrayList<>( partitions.size() );
+			for ( TuplePartition partition : partitions ) {
+				OptionallyWrapInJTATransaction partitionConsumer = new OptionallyWrapInJTATransaction( sessionFactory, errorHandler, consumer, batchSizeToLoadObjects );
+				futures.add( executor.submit( () -> partitionAwareGridDialect.forEachTuple( partitionConsumer, tupleTypeContext, keyMetadata, partition ) ) );
+			}
+			for ( Future<?> future : futures ) {
+				try {
+					future.get();
+				}
+				catch ( ExecutionException e ) {
+					errorHandler.handleException( log.massIndexerUnexpectedErrorMessage(), e.getCause() );
+				}
+			}
+		}
+		catch ( InterruptedException e ) {
+			log.interruptedBatchIndexing();
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
 }
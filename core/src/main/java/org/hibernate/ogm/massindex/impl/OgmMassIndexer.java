@@ -48,6 +48,8 @@ public class OgmMassIndexer implements MassIndexerWithTenant {
 	private boolean purgeAllOnStart = true;
 	private String tenantId;
 	private int typesToIndexInParallel = 1;
+	private int threadsToLoadObjects = 1;
+	private int batchSizeToLoadObjects = 10;
 
 	private final IndexedTypeSet rootEntities;
 
@@ -65,7 +67,8 @@ private MassIndexerProgressMonitor createMonitor(ExtendedSearchIntegrator search
 
 	@Override
 	public MassIndexer threadsToLoadObjects(int numberOfThreads) {
-		log.unsupportedIndexerConfigurationOption( "threadsToLoadObjects" );
+		atLeastOneValidation( "numberOfThreads", numberOfThreads );
+		this.threadsToLoadObjects = numberOfThreads;
 		return this;
 	}
 
@@ -77,7 +80,8 @@ public MassIndexerWithTenant tenantIdentifier(String tenantIdentifier) {
 
 	@Override
 	public MassIndexer batchSizeToLoadObjects(int batchSize) {
-		log.unsupportedIndexerConfigurationOption( "batchSizeToLoadObjects" );
+		atLeastOneValidation( "batchSize", batchSize );
+		this.batchSizeToLoadObjects = batchSize;
 		return this;
 	}
 
@@ -137,7 +141,7 @@ public MassIndexer transactionTimeout(int timeoutInSeconds) {
 
 	@Override
 	public MassIndexer typesToIndexInParallel(int threadsToIndexObjects) {
-		atLeastOneValidation( threadsToIndexObjects );
+		atLeastOneValidation( "numberOfThreads", threadsToIndexObjects );
 		this.typesToIndexInParallel = Math.min( threadsToIndexObjects, rootEntities.size() );
 		return this;
 	}
@@ -160,13 +164,13 @@ public void startAndWait() throws InterruptedException {
 	}
 
 	protected BatchCoordinator createCoordinator() {
-		return new BatchCoordinator( gridDialect, rootEntities, searchIntegrator, sessionFactory, typesToIndexInParallel, cacheMode, optimizeOnFinish,
-				purgeAllOnStart, optimizeAfterPurge, monitor, tenantId );
+		return new BatchCoordinator( gridDialect, rootEntities, searchIntegrator, sessionFactory, typesToIndexInParallel, threadsToLoadObjects,
+				batchSizeToLoadObjects, cacheMode, optimizeOnFinish, purgeAllOnStart, optimizeAfterPurge, monitor, tenantId );
 	}
 
-	private void atLeastOneValidation(int numberOfThreads) {
-		if ( numberOfThreads < 1 ) {
-			throw new IllegalArgumentException( "numberOfThreads must be at least 1" );
+	private void atLeastOneValidation(String parameterName, int value) {
+		if ( value < 1 ) {
+			throw new IllegalArgumentException( parameterName + " must be at least 1" );
 		}
 	}
 
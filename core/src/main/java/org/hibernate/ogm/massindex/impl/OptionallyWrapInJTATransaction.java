@@ -6,6 +6,9 @@
  */
 package org.hibernate.ogm.massindex.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.transaction.Status;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
@@ -33,6 +36,8 @@
  *
  * Unfortunately at this time we need to have access to SessionFactoryImplementor
  *
+ * The tuples are passed to the Runnable in batches of the configured size.
+ *
  * @author Emmanuel Bernard
  */
 public class OptionallyWrapInJTATransaction implements ModelConsumer {
@@ -42,9 +47,10 @@ public class OptionallyWrapInJTATransaction implements ModelConsumer {
 	private final SessionFactoryImplementor factory;
 	private final SessionAwareRunnable delegate;
 	private final ErrorHandler errorHandler;
+	private final int batchSize;
 
 	public OptionallyWrapInJTATransaction(SessionFactory factory, ErrorHandler errorHandler,
-			SessionAwareRunnable sessionAwareRunnable) {
+			SessionAwareRunnable sessionAwareRunnable, int batchSize) {
 		/*
 		 * Unfortunately we need to access SessionFactoryImplementor to detect:
 		 * - whether or not we need to start the JTA transaction
@@ -56,6 +62,7 @@ public OptionallyWrapInJTATransaction(SessionFactory factory, ErrorHandler error
 		this.factory = (SessionFactoryImplementor) factory;
 		this.delegate = sessionAwareRunnable;
 		this.errorHandler = errorHandler;
+		this.batchSize = batchSize;
 	}
 
 	private TransactionManager getTransactionManager() {
@@ -100,10 +107,7 @@ public void consume(TuplesSupplier supplier) {
 			else {
 				ClosableIterator<Tuple> tuples = supplier.get( null );
 				try {
-					while ( tuples.hasNext() ) {
-						Tuple tuple = tuples.next();
-						delegate.run( null, tuple );
-					}
+					runInBatches( null, tuples );
 				}
 				finally {
 					tuples.close();
@@ -124,10 +128,7 @@ private void consumeInTransaction(TuplesSupplier supplier) {
 				TransactionContext transactionContext = TransactionContextHelper.transactionContext( session );
 				ClosableIterator<Tuple> tuples = supplier.get( transactionContext );
 				try {
-					while ( tuples.hasNext() ) {
-						Tuple tuple = tuples.next();
-						delegate.run( session, tuple );
-					}
+					runInBatches( session, tuples );
 					transactionManager.commit();
 				}
 				finally {
@@ -144,6 +145,20 @@ private void consumeInTransaction(TuplesSupplier supplier) {
 		}
 	}
 
+	private void runInBatches(Session session, ClosableIterator<Tuple> tuples) {
+		List<Tuple> batch = new ArrayList<>( batchSize );
+		while ( tuples.hasNext() ) {
+			batch.add( tuples.next() );
+			if ( batch.size() == batchSize ) {
+				delegate.run( session, batch );
+				batch = new ArrayList<>( batchSize );
+			}
+		}
+		if ( !batch.isEmpty() ) {
+			delegate.run( session, batch );
+		}
+	}
+
 	private void rollback(TransactionManager transactionManager, Throwable e) {
 		try {
 			transactionManager.rollback();
@@ -8,7 +8,6 @@
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Collections;
 import java.util.List;
 
 import org.hibernate.CacheMode;
@@ -46,8 +45,8 @@
 /**
  * Component of batch-indexing pipeline, using chained producer-consumers.
  * <p>
- * This Runnable will consume {@link Tuple} objects taken one-by-one and it will create an {@link AddLuceneWork} for the
- * corresponding entity.
+ * This Runnable will consume batches of {@link Tuple} objects, load the corresponding entities at once and it will
+ * create an {@link AddLuceneWork} for each one of them.
  *
  * @author Sanne Grinovero
  * @author Davide D'Alto
@@ -80,16 +79,18 @@ public TupleIndexer(IndexedTypeIdentifier indexedTypeIdentifier, MassIndexerProg
 		serviceManager = searchIntegrator.getServiceManager();
 	}
 
-	private void index(Session session, Object entity) {
+	private void index(Session session, List<Object> entities) {
 		try {
 			final InstanceInitializer sessionInitializer = new HibernateSessionLoadingInitializer(
 					(SessionImplementor) session );
 			final ConversionContext contextualBridge = new ContextualExceptionBridgeHelper();
 
-			// trick to attach the objects to session:
-			session.buildLockRequest( LockOptions.NONE ).lock( entity );
-			index( entity, session, sessionInitializer, contextualBridge );
-			monitor.documentsBuilt( 1 );
+			for ( Object entity : entities ) {
+				// trick to attach the objects to session:
+				session.buildLockRequest( LockOptions.NONE ).lock( entity );
+				index( entity, session, sessionInitializer, contextualBridge );
+			}
+			monitor.documentsBuilt( entities.size() );
 			session.clear();
 		}
 		catch ( InterruptedException e ) {
@@ -186,22 +187,22 @@ private void close(Session upperSession, Session session) {
 	}
 
 	@Override
-	public void run(Session upperSession, Tuple tuple) {
+	public void run(Session upperSession, List<Tuple> tuples) {
 		if ( upperSession == null ) {
-			runInNewTransaction( upperSession, tuple );
+			runInNewTransaction( upperSession, tuples );
 		}
 		else {
-			runIndexing( upperSession, tuple );
+			runIndexing( upperSession, tuples );
 		}
 	}
 
 	/*
 	 * Index using the existing session without opening new transactions
 	 */
-	private void runIndexing(Session upperSession, Tuple tuple) {
+	private void runIndexing(Session upperSession, List<Tuple> tuples) {
 		initSession( upperSession );
 		try {
-			index( upperSession, entity( upperSession, tuple ) );
+			index( upperSession, entities( upperSession, tuples ) );
 		}
 		catch (Throwable e) {
 			errorHandler.handleException( log.massIndexerUnexpectedErrorMessage(), e );
@@ -211,11 +212,11 @@ private void runIndexing(Session upperSession, Tuple tuple) {
 		}
 	}
 
-	private void runInNewTransaction(Session upperSession, Tuple tuple) {
+	private void runInNewTransaction(Session upperSession, List<Tuple> tuples) {
 		Session session = openSession( upperSession );
 		try {
 			Transaction transaction = beginTransaction( session );
-			index( session, entity( session, tuple ) );
+			index( session, entities( session, tuples ) );
 			transaction.commit();
 		}
 		catch ( Throwable e ) {
@@ -227,16 +228,17 @@ private void runInNewTransaction(Session upperSession, Tuple tuple) {
 		}
 	}
 
-	private Object entity(Session session, Tuple tuple) {
+	private List<Object> entities(Session session, List<Tuple> tuples) {
 		SessionImplementor sessionImplementor = (SessionImplementor) session;
 		OgmEntityPersister persister = (OgmEntityPersister) sessionFactory.getMetamodel().entityPersister( indexedTypeIdentifier.getPojoType() );
 
 		TupleBasedEntityLoader loader = (TupleBasedEntityLoader) persister.getAppropriateLoader( LockOptions.READ, sessionImplementor );
 
 		OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
-		ogmLoadingContext.setTuples( Collections.singletonList( tuple ) );
+		ogmLoadingContext.setTuples( tuples );
 		List<Object> entities = loader.loadEntitiesFromTuples( sessionImplementor, LockOptions.NONE, ogmLoadingContext );
+		monitor.entitiesLoaded( entities.size() );
 
-		return entities.get( 0 );
+		return entities;
 	}
 }
@@ -10,10 +10,7 @@
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.ogm.model.key.spi.EntityKey;
-import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
 import org.hibernate.ogm.persister.impl.OgmEntityPersister;
-import org.hibernate.ogm.type.spi.GridType;
-import org.hibernate.ogm.util.impl.LogicalPhysicalConverterHelper;
 
 /**
  * @author Emmanuel Bernard &lt;emmanuel@hibernate.org&gt;
@@ -28,26 +25,19 @@ public static EntityKey fromPersister(
 			final OgmEntityPersister persister,
 			final Serializable id,
 			SharedSessionContractImplementor session) {
-		return fromData(
-				persister.getEntityKeyMetadata(),
-				persister.getGridIdentifierType(),
-				id,
-				session );
+		Object[] values = persister.getIdentifierColumnValuesExtractor().extract( id, session );
+		return new EntityKey( persister.getEntityKeyMetadata(), values );
 	}
 
-	//static method because the builder pattern version was showing up during profiling
-	public static EntityKey fromData(
-			EntityKeyMetadata entityKeyMetadata,
-			GridType identifierGridType,
+	/**
+	 * Creates the key of an entity based on {@link OgmEntityPersister#getRootEntityKeyMetadata()}, as used to lock it.
+	 */
+	public static EntityKey lockKeyFromPersister(
+			final OgmEntityPersister persister,
 			final Serializable id,
 			SharedSessionContractImplementor session) {
-		Object[] values = LogicalPhysicalConverterHelper.getColumnsValuesFromObjectValue(
-				id,
-				identifierGridType,
-				entityKeyMetadata.getColumnNames(),
-				session
-		);
-		return new EntityKey( entityKeyMetadata, values );
+		Object[] values = persister.getIdentifierColumnValuesExtractor().extract( id, session );
+		return new EntityKey( persister.getRootEntityKeyMetadata(), values );
 	}
 
 }
@@ -0,0 +1,70 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.model.spi;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns a fixed position, a slot, to each of the known columns of a type of tuple.
+ * <p>
+ * A {@link Tuple} using a slot table keeps the changes applied to the known columns in arrays indexed by slot
+ * instead of creating an operation object for each change. Instances are immutable and meant to be shared by all
+ * the tuples of the same type.
+ */
+public final class ColumnSlots {
+
+	/**
+	 * A table without columns; tuples using it keep all their changes in the generic representation.
+	 */
+	public static final ColumnSlots EMPTY = new ColumnSlots( new String[0] );
+
+	private final String[] columns;
+	private final Map<String, Integer> slots;
+
+	public ColumnSlots(Collection<String> columns) {
+		this( columns.toArray( new String[columns.size()] ) );
+	}
+
+	private ColumnSlots(String[] columns) {
+		this.columns = columns;
+		this.slots = new HashMap<>( columns.length * 2 );
+		for ( int i = 0; i < columns.length; i++ ) {
+			slots.put( columns[i], i );
+		}
+	}
+
+	/**
+	 * @param column the name of the column
+	 * @return the slot of the column or -1 if the column is not part of this table
+	 */
+	public int slot(String column) {
+		Integer slot = slots.get( column );
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * @param slot the slot of the column
+	 * @return the name of the column at the given slot
+	 */
+	public String column(int slot) {
+		return columns[slot];
+	}
+
+	/**
+	 * @return the number of slots
+	 */
+	public int size() {
+		return columns.length;
+	}
+
+	@Override
+	public String toString() {
+		return "ColumnSlots" + slots.keySet();
+	}
+}
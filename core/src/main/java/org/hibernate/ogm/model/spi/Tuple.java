@@ -10,9 +10,12 @@
 import static org.hibernate.ogm.model.spi.TupleOperationType.PUT_NULL;
 import static org.hibernate.ogm.model.spi.TupleOperationType.REMOVE;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -29,6 +32,9 @@
  * list of TupleOperation. It is intended that GridDialects retrieve to these actions and
  * reproduce them to the datastore. The list of changes is computed based off the snapshot.
  *
+ * When a {@link ColumnSlots} table is set, the changes to the columns it contains are kept
+ * in arrays indexed by slot and can be visited with {@link #forEachOperation(TupleOperationConsumer)}.
+ *
  * @author Emmanuel Bernard &lt;emmanuel@hibernate.org&gt;
  * @author Sanne Grinovero  &lt;sanne@hibernate.org&gt;
  */
@@ -50,6 +56,20 @@ public enum SnapshotType {
 	private Map<String, TupleOperation> currentState = null; //lazy initialize the Map as it costs quite some memory
 	private SnapshotType snapshotType;
 
+	/*
+	 * When a slot table is used, the changes to the columns it contains are kept in the following arrays, the
+	 * other columns are still kept in currentState. The arrays are lazily initialized as well.
+	 */
+	private ColumnSlots columnSlots;
+	private Object[] slotValues;
+	private TupleOperationType[] slotOperations;
+	private BitSet dirtySlots;
+
+	/*
+	 * The operations built from the slots by getOperations(), until the next change
+	 */
+	private Set<TupleOperation> slotOperationsView;
+
 	public Tuple() {
 		this.snapshot = EmptyTupleSnapshot.INSTANCE;
 		this.snapshotType = SnapshotType.INSERT;
@@ -60,7 +80,49 @@ public Tuple(TupleSnapshot snapshot, SnapshotType snapshotType) {
 		this.snapshotType = snapshotType;
 	}
 
+	/**
+	 * Keeps the changes to the columns of the given slot table in arrays indexed by slot, instead of creating an
+	 * operation for each change. Changes already applied to the tuple are preserved.
+	 *
+	 * @param columnSlots the slot table of the type of the tuple
+	 */
+	public void useColumnSlots(ColumnSlots columnSlots) {
+		if ( this.columnSlots == columnSlots ) {
+			return;
+		}
+		ColumnSlots previousSlots = this.columnSlots;
+		Object[] previousValues = slotValues;
+		TupleOperationType[] previousOperations = slotOperations;
+		BitSet previousDirtySlots = dirtySlots;
+		Map<String, TupleOperation> previousState = currentState;
+
+		this.columnSlots = columnSlots;
+		this.slotValues = null;
+		this.slotOperations = null;
+		this.dirtySlots = null;
+		this.currentState = null;
+		this.slotOperationsView = null;
+
+		if ( previousDirtySlots != null ) {
+			for ( int slot = previousDirtySlots.nextSetBit( 0 ); slot >= 0; slot = previousDirtySlots.nextSetBit( slot + 1 ) ) {
+				apply( previousSlots.column( slot ), previousValues[slot], previousOperations[slot] );
+			}
+		}
+		if ( previousState != null ) {
+			for ( TupleOperation operation : previousState.values() ) {
+				apply( operation.getColumn(), operation.getValue(), operation.getType() );
+			}
+		}
+	}
+
 	public Object get(String column) {
+		int slot = slot( column );
+		if ( slot >= 0 ) {
+			if ( dirtySlots != null && dirtySlots.get( slot ) ) {
+				return slotOperations[slot] == PUT ? slotValues[slot] : null;
+			}
+			return snapshot.get( column );
+		}
 		if ( currentState == null ) {
 			return snapshot.get( column );
 		}
@@ -77,37 +139,92 @@ else if ( result.getType() == PUT_NULL || result.getType() == REMOVE ) {
 	}
 
 	public void put(String column, Object value) {
-		if ( currentState == null ) {
-			currentState = new HashMap<String, TupleOperation>();
-		}
 		if ( value == null ) {
-			currentState.put( column, new TupleOperation( column, null, PUT_NULL ) );
+			apply( column, null, PUT_NULL );
 		}
 		else {
-			currentState.put( column, new TupleOperation( column, value, PUT ) );
+			apply( column, value, PUT );
 		}
 	}
 
 	public void remove(String column) {
-		if ( currentState == null ) {
-			currentState = new HashMap<String, TupleOperation>();
+		apply( column, null, REMOVE );
+	}
+
+	private void apply(String column, Object value, TupleOperationType type) {
+		slotOperationsView = null;
+		int slot = slot( column );
+		if ( slot >= 0 ) {
+			if ( dirtySlots == null ) {
+				slotValues = new Object[columnSlots.size()];
+				slotOperations = new TupleOperationType[columnSlots.size()];
+				dirtySlots = new BitSet( columnSlots.size() );
+			}
+			slotValues[slot] = value;
+			slotOperations[slot] = type;
+			dirtySlots.set( slot );
+		}
+		else {
+			if ( currentState == null ) {
+				currentState = new HashMap<String, TupleOperation>();
+			}
+			currentState.put( column, new TupleOperation( column, value, type ) );
 		}
-		currentState.put( column, new TupleOperation( column, null, REMOVE ) );
+	}
+
+	private int slot(String column) {
+		return columnSlots == null ? -1 : columnSlots.slot( column );
+	}
+
+	private boolean hasOperations() {
+		return ( dirtySlots != null && !dirtySlots.isEmpty() ) || ( currentState != null && !currentState.isEmpty() );
 	}
 
 	/**
 	 * Return the list of actions on the tuple.
 	 * Inherently deduplicated operations
+	 * <p>
+	 * When a slot table is used, the operations are created on the first call and returned again until the
+	 * tuple changes.
 	 *
 	 * @return the operations to execute on the Tuple
+	 * @see #forEachOperation(TupleOperationConsumer)
 	 */
 	public Set<TupleOperation> getOperations() {
-		if ( currentState == null ) {
-			return Collections.emptySet();
-		}
-		else {
+		if ( dirtySlots == null ) {
+			if ( currentState == null ) {
+				return Collections.emptySet();
+			}
 			return new SetFromCollection<TupleOperation>( currentState.values() );
 		}
+		if ( slotOperationsView == null ) {
+			int mapSize = currentState == null ? 0 : currentState.size();
+			List<TupleOperation> operations = new ArrayList<>( dirtySlots.cardinality() + mapSize );
+			forEachOperation( ( column, value, type ) -> operations.add( new TupleOperation( column, value, type ) ) );
+			slotOperationsView = Collections.unmodifiableSet( new SetFromCollection<TupleOperation>( operations ) );
+		}
+		return slotOperationsView;
+	}
+
+	/**
+	 * Passes each operation applied to the tuple to the given consumer.
+	 * <p>
+	 * Unlike {@link #getOperations()}, it does not create any object for the changes to the columns of the slot table
+	 * of the tuple.
+	 *
+	 * @param consumer the consumer of the operations
+	 */
+	public void forEachOperation(TupleOperationConsumer consumer) {
+		if ( dirtySlots != null ) {
+			for ( int slot = dirtySlots.nextSetBit( 0 ); slot >= 0; slot = dirtySlots.nextSetBit( slot + 1 ) ) {
+				consumer.accept( columnSlots.column( slot ), slotValues[slot], slotOperations[slot] );
+			}
+		}
+		if ( currentState != null ) {
+			for ( TupleOperation operation : currentState.values() ) {
+				consumer.accept( operation.getColumn(), operation.getValue(), operation.getType() );
+			}
+		}
 	}
 
 	public TupleSnapshot getSnapshot() {
@@ -123,32 +240,33 @@ public void setSnapshotType(SnapshotType snapshotType) {
 	}
 
 	public Set<String> getColumnNames() {
-		if ( currentState == null ) {
+		if ( !hasOperations() ) {
 			return snapshot.getColumnNames();
 		}
 		Set<String> columnNames = new HashSet<String>( snapshot.getColumnNames() );
-		for ( TupleOperation op : currentState.values() ) {
-			switch ( op.getType() ) {
+		forEachOperation( ( column, value, type ) -> {
+			switch ( type ) {
 				case PUT :
 				case PUT_NULL :
-					columnNames.add( op.getColumn() );
+					columnNames.add( column );
 					break;
 				case REMOVE:
-					columnNames.remove( op.getColumn() );
+					columnNames.remove( column );
 					break;
 			}
-		}
+		} );
 		return columnNames;
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder( "Tuple[" );
+		Set<String> columnNames = getColumnNames();
 		int i = 0;
-		for ( String column : getColumnNames() ) {
+		for ( String column : columnNames ) {
 			sb.append( column ).append( "=" ).append( get( column ) );
 			i++;
-			if ( i < getColumnNames().size() ) {
+			if ( i < columnNames.size() ) {
 				sb.append( ", " );
 			}
 		}
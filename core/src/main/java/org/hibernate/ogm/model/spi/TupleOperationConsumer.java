@@ -0,0 +1,22 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.model.spi;
+
+/**
+ * Receives the operations applied to a {@link Tuple}, see {@link Tuple#forEachOperation(TupleOperationConsumer)}.
+ */
+@FunctionalInterface
+public interface TupleOperationConsumer {
+
+	/**
+	 * @param column the name of the column
+	 * @param value the new value of the column, {@code null} for {@link TupleOperationType#PUT_NULL} and
+	 * {@link TupleOperationType#REMOVE}
+	 * @param type the type of the operation
+	 */
+	void accept(String column, Object value, TupleOperationType type);
+}
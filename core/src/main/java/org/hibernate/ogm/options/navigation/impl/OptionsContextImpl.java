@@ -12,6 +12,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.hibernate.ogm.options.container.impl.OptionsContainer;
 import org.hibernate.ogm.options.navigation.source.impl.OptionValueSource;
@@ -36,12 +37,23 @@ public class OptionsContextImpl implements OptionsContext {
 	 */
 	private final ConcurrentMap<Class<? extends Option<?, ?>>, OptionsContainer> optionCache;
 
+	/**
+	 * Caches the snapshots created for this context per snapshot type.
+	 */
+	private final ConcurrentMap<Class<?>, Object> snapshotCache;
+
+	/**
+	 * The most recently requested snapshot; usually there is only one snapshot type, the one of the current dialect.
+	 */
+	private volatile Object lastSnapshot;
+
 	private OptionsContextImpl(List<OptionValueSource> sources, Class<?> entityType, String propertyName) {
 		this.sources = sources;
 		this.entityType = entityType;
 		this.propertyName = propertyName;
 		this.hierarchy = getClassHierarchy( entityType );
 		this.optionCache = newConcurrentHashMap();
+		this.snapshotCache = newConcurrentHashMap();
 	}
 
 	public static OptionsContext forGlobal(List<OptionValueSource> sources) {
@@ -89,6 +101,28 @@ public <I, V, O extends Option<I, V>> Map<I, V> getAll(Class<O> optionType) {
 		return optionsContainer.getAll( optionType );
 	}
 
+	@Override
+	public <S> S getSnapshot(Class<S> snapshotType, Function<OptionsContext, S> snapshotFactory) {
+		Object snapshot = lastSnapshot;
+
+		if ( !snapshotType.isInstance( snapshot ) ) {
+			snapshot = snapshotCache.get( snapshotType );
+
+			if ( snapshot == null ) {
+				snapshot = snapshotFactory.apply( this );
+
+				Object cachedSnapshot = snapshotCache.putIfAbsent( snapshotType, snapshot );
+				if ( cachedSnapshot != null ) {
+					snapshot = cachedSnapshot;
+				}
+			}
+
+			lastSnapshot = snapshot;
+		}
+
+		return snapshotType.cast( snapshot );
+	}
+
 	private <I, V, O extends Option<I, V>> OptionsContainer getAndCacheOptionsContainer(Class<O> optionType) {
 		OptionsContainer container = getMostSpecificContainer( optionType );
 
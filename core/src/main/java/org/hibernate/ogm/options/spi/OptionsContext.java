@@ -7,6 +7,7 @@
 package org.hibernate.ogm.options.spi;
 
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Provides access to the options effectively applying for a given element (e.g. a property or entity type). The
@@ -77,4 +78,19 @@ public interface OptionsContext {
 	 * @return a map with all values of the specified option, keyed by identifier. May be empty but never {@code null}
 	 */
 	<I, V, O extends Option<I, V>> Map<I, V> getAll(Class<O> optionType);
+
+	/**
+	 * Returns a snapshot of the options of this context, as created by the given factory. Option values don't change
+	 * once the session factory has been built, so implementations may create the snapshot once and return the same
+	 * instance on subsequent invocations for the same snapshot type. This allows grid dialects to resolve all the
+	 * options they need on the write path in one go and read them from plain fields afterwards.
+	 *
+	 * @param snapshotType the type of the snapshot
+	 * @param snapshotFactory creates the snapshot from this context; should be a constant, not a capturing lambda
+	 * @param <S> the type of the snapshot
+	 * @return the snapshot of the options of this context, never {@code null}
+	 */
+	default <S> S getSnapshot(Class<S> snapshotType, Function<OptionsContext, S> snapshotFactory) {
+		return snapshotFactory.apply( this );
+	}
 }
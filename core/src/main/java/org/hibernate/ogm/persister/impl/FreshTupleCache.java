@@ -0,0 +1,56 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.persister.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.spi.Tuple;
+
+/**
+ * The tuples read from the datastore at once at the beginning of a flush in order to check the version of the entities
+ * updated or deleted by this flush, instead of reading them one by one.
+ * <p>
+ * The keys of these entities are collected while the flush checks the entities for changes, see
+ * {@link FreshTupleCollectingFlushEntityEventListener}.
+ * <p>
+ * Scoped to a single flush event cycle, a tuple can only be obtained once as the datastore is updated right after it
+ * has been checked.
+ */
+public class FreshTupleCache {
+
+	private final Map<OgmEntityPersister, List<EntityKey>> keysToPrefetch = new HashMap<>();
+	private final Map<EntityKey, Tuple> tuples = new HashMap<>();
+
+	void addKeyToPrefetch(OgmEntityPersister persister, EntityKey key) {
+		keysToPrefetch.computeIfAbsent( persister, p -> new ArrayList<>() ).add( key );
+	}
+
+	/**
+	 * @param persister the persister of the entities to prefetch
+	 * @return the keys of the entities of the given persister to prefetch, {@code null} if there are none or if they
+	 * have already been returned during this flush
+	 */
+	List<EntityKey> pollKeysToPrefetch(OgmEntityPersister persister) {
+		return keysToPrefetch.remove( persister );
+	}
+
+	void put(EntityKey key, Tuple tuple) {
+		tuples.put( key, tuple );
+	}
+
+	/**
+	 * @param key the key of the entity
+	 * @return the prefetched tuple, {@code null} if it has not been prefetched or already been obtained
+	 */
+	Tuple remove(EntityKey key) {
+		return tuples.remove( key );
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.persister.impl;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.event.spi.FlushEntityEventListener;
+import org.hibernate.ogm.dialect.eventstate.impl.EventContextManager;
+import org.hibernate.ogm.model.impl.EntityKeyBuilder;
+
+/**
+ * Collects in the {@link FreshTupleCache} the keys of the entities whose version will be checked by the flush.
+ * <p>
+ * Invoked after the default listener, it relies on the outcome of its dirty check: the interceptor and the
+ * bytecode-enhanced dirty tracking are taken into account and the entities are not checked twice.
+ */
+public class FreshTupleCollectingFlushEntityEventListener implements FlushEntityEventListener {
+
+	private final EventContextManager eventContextManager;
+
+	public FreshTupleCollectingFlushEntityEventListener(EventContextManager eventContextManager) {
+		this.eventContextManager = eventContextManager;
+	}
+
+	@Override
+	public void onFlushEntity(FlushEntityEvent event) throws HibernateException {
+		EntityEntry entry = event.getEntityEntry();
+		if ( !( entry.getPersister() instanceof OgmEntityPersister ) || !eventContextManager.isActive() ) {
+			return;
+		}
+
+		OgmEntityPersister persister = (OgmEntityPersister) entry.getPersister();
+		if ( persister.prefetchesFreshTuples() && isDueToBeChecked( event, entry ) ) {
+			eventContextManager.get( FreshTupleCache.class )
+					.addKeyToPrefetch( persister, EntityKeyBuilder.fromPersister( persister, entry.getId(), event.getSession() ) );
+		}
+	}
+
+	private boolean isDueToBeChecked(FlushEntityEvent event, EntityEntry entry) {
+		if ( entry.getStatus() == Status.DELETED ) {
+			return true;
+		}
+		return entry.getStatus() == Status.MANAGED && ( event.getDirtyProperties() != null || event.hasDirtyCollection() );
+	}
+}
@@ -31,6 +31,8 @@
 import org.hibernate.loader.collection.CollectionInitializer;
 import org.hibernate.mapping.Collection;
 import org.hibernate.ogm.dialect.impl.AssociationTypeContextImpl;
+import org.hibernate.ogm.dialect.impl.GridDialects;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetAssociationGridDialect;
 import org.hibernate.ogm.dialect.spi.AssociationContext;
 import org.hibernate.ogm.dialect.spi.AssociationTypeContext;
 import org.hibernate.ogm.dialect.spi.GridDialect;
@@ -39,6 +41,7 @@
 import org.hibernate.ogm.entityentry.impl.TuplePointer;
 import org.hibernate.ogm.jdbc.impl.TupleAsMapResultSet;
 import org.hibernate.ogm.loader.impl.OgmBasicCollectionLoader;
+import org.hibernate.ogm.loader.impl.OgmBatchingCollectionLoader;
 import org.hibernate.ogm.model.impl.DefaultAssociatedEntityKeyMetadata;
 import org.hibernate.ogm.model.impl.DefaultAssociationKeyMetadata;
 import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
@@ -59,6 +62,7 @@
 import org.hibernate.ogm.type.spi.GridType;
 import org.hibernate.ogm.type.spi.TypeTranslator;
 import org.hibernate.ogm.util.impl.AssociationPersister;
+import org.hibernate.ogm.util.impl.ColumnValuesExtractor;
 import org.hibernate.ogm.util.impl.Contracts;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
@@ -89,6 +93,7 @@ public class OgmCollectionPersister extends AbstractCollectionPersister implemen
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
 	private final GridType keyGridType;
+	private final ColumnValuesExtractor keyColumnValuesExtractor;
 	private final GridType elementGridType;
 	private final GridType indexGridType;
 	private final GridType identifierGridType;
@@ -126,6 +131,7 @@ public OgmCollectionPersister(final Collection collection, final CollectionDataA
 		this.gridDialect = registry.getService( GridDialect.class );
 
 		keyGridType = typeTranslator.getType( getKeyType() );
+		keyColumnValuesExtractor = ColumnValuesExtractor.create( keyGridType, getKeyColumnNames() );
 		elementGridType = typeTranslator.getType( getElementType() );
 		indexGridType = typeTranslator.getType( getIndexType() );
 		identifierGridType = typeTranslator.getType( getIdentifierType() );
@@ -279,6 +285,9 @@ protected CollectionInitializer createSubselectInitializer(SubselectFetch subsel
 	protected CollectionInitializer createCollectionInitializer(LoadQueryInfluencers loadQueryInfluencers)
 			throws MappingException {
 		// TODO pass constructor
+		if ( batchSize > 1 && GridDialects.hasFacet( gridDialect, MultigetAssociationGridDialect.class ) ) {
+			return new OgmBatchingCollectionLoader( this, batchSize );
+		}
 		return new OgmBasicCollectionLoader( this );
 	}
 
@@ -287,6 +296,13 @@ public GridType getKeyGridType() {
 		return keyGridType;
 	}
 
+	/**
+	 * @return converts the key of this collection, the identifier of its owner, into the values of its key columns
+	 */
+	public ColumnValuesExtractor getKeyColumnValuesExtractor() {
+		return keyColumnValuesExtractor;
+	}
+
 	@Override
 	public GridType getElementGridType() {
 		return elementGridType;
@@ -893,7 +909,7 @@ private AssociationPersister getAssociationPersister(Object collectionOwner, Ser
 			)
 			.hostingEntity( collectionOwner )
 			.gridDialect( gridDialect )
-			.key( id, getKeyGridType() )
+			.key( id, keyColumnValuesExtractor )
 			.associationKeyMetadata( associationKeyMetadata )
 			.associationTypeContext( associationTypeContext )
 			.session( session )
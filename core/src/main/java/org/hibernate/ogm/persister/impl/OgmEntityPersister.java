@@ -14,6 +14,7 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -49,12 +50,15 @@
 import org.hibernate.ogm.compensation.impl.InvocationCollectingGridDialect;
 import org.hibernate.ogm.dialect.batch.spi.GroupingByEntityDialect;
 import org.hibernate.ogm.dialect.identity.spi.IdentityColumnAwareGridDialect;
+import org.hibernate.ogm.dialect.eventstate.impl.EventContextManager;
 import org.hibernate.ogm.dialect.impl.AssociationTypeContextImpl;
+import org.hibernate.ogm.dialect.impl.BatchOperationsDelegator;
 import org.hibernate.ogm.dialect.impl.ExceptionThrowingLockingStrategy;
 import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.dialect.impl.TupleContextImpl;
 import org.hibernate.ogm.dialect.impl.TupleTypeContextImpl;
 import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
+import org.hibernate.ogm.dialect.optimisticlock.spi.BatchableOptimisticLockingAwareGridDialect;
 import org.hibernate.ogm.dialect.optimisticlock.spi.OptimisticLockingAwareGridDialect;
 import org.hibernate.ogm.dialect.spi.AssociationTypeContext;
 import org.hibernate.ogm.dialect.spi.DuplicateInsertPreventionStrategy;
@@ -78,6 +82,7 @@
 import org.hibernate.ogm.model.key.spi.EntityKey;
 import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
 import org.hibernate.ogm.model.spi.Association;
+import org.hibernate.ogm.model.spi.ColumnSlots;
 import org.hibernate.ogm.model.spi.Tuple;
 import org.hibernate.ogm.model.spi.Tuple.SnapshotType;
 import org.hibernate.ogm.options.spi.OptionsService;
@@ -86,6 +91,7 @@
 import org.hibernate.ogm.type.spi.TypeTranslator;
 import org.hibernate.ogm.util.impl.ArrayHelper;
 import org.hibernate.ogm.util.impl.AssociationPersister;
+import org.hibernate.ogm.util.impl.ColumnValuesExtractor;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -138,6 +144,7 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 	private final GridType[] gridPropertyTypes;
 	private final GridType gridVersionType;
 	private final GridType gridIdentifierType;
+	private final ColumnValuesExtractor identifierColumnValuesExtractor;
 	private final String jpaEntityName;
 
 	// Copy from AbstractEntityPersister
@@ -150,6 +157,8 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 	private final IdentityColumnAwareGridDialect identityColumnAwareGridDialect;
 	private final OptimisticLockingAwareGridDialect optimisticLockingAwareGridDialect;
 	private final boolean canGridDialectDoMultiget;
+	private final MultigetGridDialect multigetGridDialect;
+	private final EventContextManager eventContextManager;
 	private final OptionsService optionsService;
 
 	/**
@@ -159,6 +168,13 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 	 */
 	private final InvocationCollectingGridDialect invocationCollectingGridDialect;
 
+	/**
+	 * Used to add the updates and removals guarded by an optimistic lock to the operations queue, {@code null} if the
+	 * dialect cannot execute them as part of a batch. Also {@code null} if the dialect is wrapped by another forwarding
+	 * dialect (e.g. when an error handler is configured), as the wrapper expects to be invoked for each operation.
+	 */
+	private final BatchOperationsDelegator optimisticLockingBatchDelegator;
+
 	private final EntityKeyMetadata entityKeyMetadata;
 	private final DuplicateInsertPreventionStrategy duplicateInsertPreventionStrategy;
 	/**
@@ -244,6 +260,13 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 				InvocationCollectingGridDialect.class
 		);
 		this.canGridDialectDoMultiget = GridDialects.hasFacet( gridDialect, MultigetGridDialect.class );
+		this.multigetGridDialect = serviceRegistry.getService( MultigetGridDialect.class );
+		this.eventContextManager = serviceRegistry.getService( EventContextManager.class );
+		BatchOperationsDelegator batchOperationsDelegator = GridDialects.getDelegateOrNull( gridDialect, BatchOperationsDelegator.class );
+		this.optimisticLockingBatchDelegator = batchOperationsDelegator != null
+				&& batchOperationsDelegator.getGridDialect() instanceof BatchableOptimisticLockingAwareGridDialect
+						? batchOperationsDelegator
+						: null;
 
 		if ( factory.getIdentifierGenerator( getEntityName() ) instanceof OgmIdentityGenerator && identityColumnAwareGridDialect == null ) {
 			throw log.getIdentityGenerationStrategyNotSupportedException( getEntityName() );
@@ -332,6 +355,7 @@ public abstract class OgmEntityPersister extends AbstractEntityPersister impleme
 		}
 		gridVersionType = typeTranslator.getType( getVersionType() );
 		gridIdentifierType = typeTranslator.getType( getIdentifierType() );
+		identifierColumnValuesExtractor = ColumnValuesExtractor.create( gridIdentifierType, getIdentifierColumnNames() );
 		jpaEntityName = persistentClass.getJpaEntityName();
 		entityKeyMetadata = new DefaultEntityKeyMetadata( getTableName(), getIdentifierColumnNames() );
 		duplicateInsertPreventionStrategy = gridDialect.getDuplicateInsertPreventionStrategy( entityKeyMetadata );
@@ -619,14 +643,28 @@ private TupleTypeContextImpl createTupleTypeContext() {
 				roles,
 				optionsService.context().getEntityOptions( getMappedClass() ),
 				getDiscriminatorColumnName(),
-				getDiscriminatorValue()
+				getDiscriminatorValue(),
+				columnSlots( selectableColumnNames )
 		);
 	}
 
+	private ColumnSlots columnSlots(List<String> selectableColumnNames) {
+		Set<String> columns = new LinkedHashSet<>( selectableColumnNames );
+		Collections.addAll( columns, getIdentifierColumnNames() );
+		return new ColumnSlots( columns );
+	}
+
 	public GridType getGridIdentifierType() {
 		return gridIdentifierType;
 	}
 
+	/**
+	 * @return converts an identifier of this entity into the values of the columns of its {@link EntityKey}
+	 */
+	public ColumnValuesExtractor getIdentifierColumnValuesExtractor() {
+		return identifierColumnValuesExtractor;
+	}
+
 	public EntityKeyMetadata getEntityKeyMetadata() {
 		return entityKeyMetadata;
 	}
@@ -1196,7 +1234,7 @@ else if ( ! isModifiableEntity( entry ) ) {
 				final boolean useVersion = j == 0 && isVersioned();
 
 				if ( usesNonAtomicOptimisticLocking ) {
-					final Tuple tupleInDatastore = getFreshTuple( key, session );
+					final Tuple tupleInDatastore = getFreshTupleForLockCheck( key, session );
 					final EntityMetamodel entityMetamodel = getEntityMetamodel();
 
 					// Write any appropriate versioning conditional parameters
@@ -1246,7 +1284,14 @@ tupleInDatastore, getPropertyColumnNames( i ), session, object
 				dehydrate( resultset, fields, propsToUpdate, j, id, session );
 
 				// TODO OGM-616 Also use this facet for "all columns" optimistic locking strategy
-				if ( isVersioned() && optimisticLockingAwareGridDialect != null ) {
+				if ( isVersioned() && optimisticLockingBatchDelegator != null ) {
+					Tuple oldVersionTuple = new Tuple();
+					oldVersionTuple.put( getVersionColumnName(), oldVersion );
+
+					optimisticLockingBatchDelegator.updateTupleWithOptimisticLock( key, oldVersionTuple, tuplePointer, getTupleContext( session ),
+							staleKey -> raiseStaleObjectStateException( id ) );
+				}
+				else if ( isVersioned() && optimisticLockingAwareGridDialect != null ) {
 					Tuple oldVersionTuple = new Tuple();
 					oldVersionTuple.put( getVersionColumnName(), oldVersion );
 
@@ -1385,6 +1430,7 @@ public Serializable insert(Object[] fields, Object object, SharedSessionContract
 		boolean[] propertiesToInsert = getPropertiesToInsert( fields );
 
 		Tuple tuple = identityColumnAwareGridDialect.createTuple( entityKeyMetadata, getTupleContext( session ) );
+		tuple.useColumnSlots( tupleTypeContext.getColumnSlots() );
 
 		// add the discriminator
 		if ( discriminator.isNeeded() ) {
@@ -1494,8 +1540,12 @@ private Tuple createNewResultSetIfNull(
 			SharedSessionContractImplementor session) {
 		if ( resultset == null ) {
 			resultset = gridDialect.createTuple( key, getTupleContext( session ) );
+			resultset.useColumnSlots( tupleTypeContext.getColumnSlots() );
 			gridIdentifierType.nullSafeSet( resultset, id, getIdentifierColumnNames(), session );
 		}
+		else {
+			resultset.useColumnSlots( tupleTypeContext.getColumnSlots() );
+		}
 		return resultset;
 	}
 
@@ -1511,7 +1561,10 @@ public void delete(Serializable id, Object version, Object object, SharedSession
 		Object[] loadedState = getLoadedState( id, session );
 		Tuple currentState = null;
 
-		if ( mightManageInverseAssociations || usesNonAtomicOptimisticLocking ) {
+		if ( usesNonAtomicOptimisticLocking ) {
+			currentState = getFreshTupleForLockCheck( key, session );
+		}
+		else if ( mightManageInverseAssociations ) {
 			currentState = gridDialect.getTuple( key, getTupleContext( session ) );
 		}
 
@@ -1548,7 +1601,14 @@ public void delete(Serializable id, Object version, Object object, SharedSession
 				}
 			}
 
-			if ( optimisticLockingAwareGridDialect != null && isVersioned() ) {
+			if ( optimisticLockingBatchDelegator != null && isVersioned() ) {
+				Tuple versionTuple = new Tuple();
+				versionTuple.put( getVersionColumnName(), version );
+
+				optimisticLockingBatchDelegator.removeTupleWithOptimisticLock( key, versionTuple, getTupleContext( session ),
+						staleKey -> raiseStaleObjectStateException( id ) );
+			}
+			else if ( optimisticLockingAwareGridDialect != null && isVersioned() ) {
 				Tuple versionTuple = new Tuple();
 				versionTuple.put( getVersionColumnName(), version );
 
@@ -1590,7 +1650,7 @@ private void removeNavigationInformation(Serializable id, Object entity, SharedS
 				AssociationPersister associationPersister = new AssociationPersister.Builder( collectionPersister.getOwnerEntityPersister().getMappedClass() )
 						.hostingEntity( entity )
 						.gridDialect( gridDialect )
-						.key( id, collectionPersister.getKeyGridType() )
+						.key( id, collectionPersister.getKeyColumnValuesExtractor() )
 						.associationKeyMetadata( collectionPersister.getAssociationKeyMetadata() )
 						.associationTypeContext( collectionPersister.getAssociationTypeContext() )
 						.session( session )
@@ -1950,4 +2010,44 @@ private Tuple getFreshTuple(EntityKey key, SharedSessionContractImplementor sess
 		TupleContext tupleContext = getTupleContext( session );
 		return gridDialect.getTuple( key, tupleContext );
 	}
+
+	/**
+	 * Whether the version of the entities is checked against their tuple read from the datastore and these tuples can
+	 * be read at once at the beginning of the flush.
+	 */
+	boolean prefetchesFreshTuples() {
+		return usesNonAtomicOptimisticLocking && canGridDialectDoMultiget;
+	}
+
+	/**
+	 * Returns the tuple to check the version of an entity against. Within a flush, the tuples of all the entities of this
+	 * type found dirty or deleted by the flush are read with a single {@link MultigetGridDialect#getTuples} call the
+	 * first time this method is invoked.
+	 */
+	private Tuple getFreshTupleForLockCheck(EntityKey key, SharedSessionContractImplementor session) {
+		if ( canGridDialectDoMultiget && eventContextManager.isActive() ) {
+			FreshTupleCache freshTuples = eventContextManager.get( FreshTupleCache.class );
+			List<EntityKey> keysToPrefetch = freshTuples.pollKeysToPrefetch( this );
+			// Nothing to gain for a single entity
+			if ( keysToPrefetch != null && keysToPrefetch.size() > 1 ) {
+				prefetchFreshTuples( freshTuples, keysToPrefetch, session );
+			}
+			Tuple tuple = freshTuples.remove( key );
+			if ( tuple != null ) {
+				return tuple;
+			}
+		}
+		return getFreshTuple( key, session );
+	}
+
+	private void prefetchFreshTuples(FreshTupleCache freshTuples, List<EntityKey> keys, SharedSessionContractImplementor session) {
+		EntityKey[] keysToFetch = keys.toArray( new EntityKey[keys.size()] );
+		List<Tuple> tuples = multigetGridDialect.getTuples( keysToFetch, getTupleContext( session ) );
+		for ( int i = 0; i < keysToFetch.length; i++ ) {
+			// A missing tuple is looked up again on its own, the entity might be queued for insertion
+			if ( tuples.get( i ) != null ) {
+				freshTuples.put( keysToFetch[i], tuples.get( i ) );
+			}
+		}
+	}
 }
@@ -70,6 +70,10 @@ public void doCompile(Map replacements, boolean shallow) throws QueryException,
 
 	@Override
 	public List<?> list(SharedSessionContractImplementor session, QueryParameters queryParameters) throws HibernateException {
+		return createFullTextQuery( session, queryParameters ).list();
+	}
+
+	private FullTextQuery createFullTextQuery(SharedSessionContractImplementor session, QueryParameters queryParameters) {
 		FullTextSession fullTextSession = Search.getFullTextSession( (Session) session );
 
 		LuceneQueryParsingResult parsingResult = getLuceneQuery( queryParameters, fullTextSession );
@@ -89,7 +93,7 @@ public List<?> list(SharedSessionContractImplementor session, QueryParameters qu
 			fullTextQuery.setMaxResults( queryParameters.getRowSelection().getMaxRows() );
 		}
 
-		return fullTextQuery.list();
+		return fullTextQuery;
 	}
 
 	private LuceneQueryParsingResult getLuceneQuery(QueryParameters queryParameters, FullTextSession fullTextSession) {
@@ -113,12 +117,12 @@ private LuceneQueryParsingResult getLuceneQuery(QueryParameters queryParameters,
 
 	@Override
 	public Iterator<?> iterate(QueryParameters queryParameters, EventSource session) throws HibernateException {
-		throw new UnsupportedOperationException( "Not yet implemented" );
+		return createFullTextQuery( session, queryParameters ).iterate();
 	}
 
 	@Override
 	public ScrollableResultsImplementor scroll(QueryParameters queryParameters, SharedSessionContractImplementor session) throws HibernateException {
-		throw new UnsupportedOperationException( "Not yet implemented" );
+		return (ScrollableResultsImplementor) createFullTextQuery( session, queryParameters ).scroll();
 	}
 
 	@Override
@@ -31,6 +31,7 @@
 import org.hibernate.ogm.persister.impl.OgmEntityPersister;
 import org.hibernate.ogm.type.spi.GridType;
 import org.hibernate.ogm.type.spi.TypeTranslator;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
 import org.hibernate.type.Type;
 
 /**
@@ -83,12 +84,28 @@ protected List<?> list(SharedSessionContractImplementor session, org.hibernate.e
 		}
 	}
 
+	@Override
+	public ScrollableResultsImplementor scroll(org.hibernate.engine.spi.QueryParameters queryParameters, SharedSessionContractImplementor session) throws HibernateException {
+		ClosableIterator<Tuple> tuples = loaderContext.executeQuery( session, QueryParameters.fromOrmQueryParameters( queryParameters, typeTranslator, session.getFactory() ) );
+		if ( hasScalars ) {
+			return new OgmScrollableResults( tuples, chunk -> listOfArrays( session, chunk.iterator() ), queryReturnTypes, queryParameters );
+		}
+		else {
+			Class<?> returnedClass = queryReturnTypes[0].getReturnedClass();
+			return new OgmScrollableResults( tuples, chunk -> loadEntities( session, returnedClass, chunk ), queryReturnTypes, queryParameters );
+		}
+	}
+
 	// At the moment we only support the case where one entity type is returned
 	private List<Object> listOfEntities(SharedSessionContractImplementor session, Type[] resultTypes, ClosableIterator<Tuple> tuples) {
 		Class<?> returnedClass = resultTypes[0].getReturnedClass();
+		return loadEntities( session, returnedClass, getTuplesAsList( tuples ) );
+	}
+
+	private List<Object> loadEntities(SharedSessionContractImplementor session, Class<?> returnedClass, List<Tuple> tuples) {
 		TupleBasedEntityLoader loader = getLoader( session, returnedClass );
 		OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
-		ogmLoadingContext.setTuples( getTuplesAsList( tuples ) );
+		ogmLoadingContext.setTuples( tuples );
 		return loader.loadEntitiesFromTuples( session, LockOptions.NONE, ogmLoadingContext );
 	}
 
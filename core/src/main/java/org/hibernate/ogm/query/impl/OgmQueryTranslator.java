@@ -197,12 +197,13 @@ private Map<String, Object> getNamedParameterValuesConvertedByGridType(QueryPara
 
 	@Override
 	public Iterator<?> iterate(QueryParameters queryParameters, EventSource session) throws HibernateException {
-		throw new UnsupportedOperationException( "Not yet implemented" );
+		return new OgmScrollableResultsIterator( scroll( queryParameters, session ) );
 	}
 
 	@Override
 	public ScrollableResultsImplementor scroll(QueryParameters queryParameters, SharedSessionContractImplementor session) throws HibernateException {
-		throw new UnsupportedOperationException( "Not yet implemented" );
+		OgmQueryLoader loaderToUse = loader != null ? loader : getLoader( queryParameters );
+		return loaderToUse.scroll( queryParameters, session );
 	}
 
 	@Override
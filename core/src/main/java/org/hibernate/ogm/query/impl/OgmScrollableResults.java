@@ -0,0 +1,332 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.query.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.function.Function;
+
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+import org.hibernate.type.Type;
+
+/**
+ * Forward-only {@link ScrollableResultsImplementor} on top of the {@link ClosableIterator} returned by the grid dialect
+ * for a query.
+ * <p>
+ * The tuples are read from the datastore cursor in chunks, each chunk being converted into result rows at once (e.g.
+ * by hydrating the entities of the chunk); at any time only the rows of the current chunk are kept by this object.
+ * The cursor is closed as soon as it is exhausted or when this object is closed.
+ */
+public class OgmScrollableResults implements ScrollableResultsImplementor {
+
+	/**
+	 * The number of tuples converted at once if no fetch size is set on the query.
+	 */
+	private static final int DEFAULT_CHUNK_SIZE = 100;
+
+	private final ClosableIterator<Tuple> tuples;
+	private final Function<List<Tuple>, List<?>> rowsLoader;
+	private final Type[] types;
+	private final int chunkSize;
+
+	private List<?> chunk = Collections.emptyList();
+	private int positionInChunk = -1;
+	private int rowNumber = -1;
+	private boolean afterLast;
+	private boolean cursorClosed;
+	private boolean closed;
+
+	/**
+	 * @param tuples the tuples returned by the datastore
+	 * @param rowsLoader converts a chunk of tuples into the corresponding rows, in the same order; a row is either the
+	 * single value of the row or an array with the values of the row
+	 * @param types the types of the values of a row
+	 * @param queryParameters the parameters of the query, used to get the fetch size
+	 */
+	public OgmScrollableResults(ClosableIterator<Tuple> tuples, Function<List<Tuple>, List<?>> rowsLoader, Type[] types, QueryParameters queryParameters) {
+		this.tuples = tuples;
+		this.rowsLoader = rowsLoader;
+		this.types = types;
+		this.chunkSize = chunkSize( queryParameters );
+	}
+
+	private static int chunkSize(QueryParameters queryParameters) {
+		Integer fetchSize = queryParameters.getRowSelection().getFetchSize();
+		return fetchSize != null && fetchSize > 0 ? fetchSize : DEFAULT_CHUNK_SIZE;
+	}
+
+	@Override
+	public boolean next() {
+		if ( closed || afterLast ) {
+			return false;
+		}
+		if ( positionInChunk + 1 >= chunk.size() && !loadNextChunk() ) {
+			afterLast = true;
+			return false;
+		}
+		positionInChunk++;
+		rowNumber++;
+		return true;
+	}
+
+	private boolean loadNextChunk() {
+		List<Tuple> tuplesOfChunk = new ArrayList<>( chunkSize );
+		while ( tuplesOfChunk.size() < chunkSize && !cursorClosed && tuples.hasNext() ) {
+			tuplesOfChunk.add( tuples.next() );
+		}
+		if ( tuplesOfChunk.isEmpty() ) {
+			closeCursor();
+			chunk = Collections.emptyList();
+			positionInChunk = -1;
+			return false;
+		}
+		chunk = rowsLoader.apply( tuplesOfChunk );
+		positionInChunk = -1;
+		return !chunk.isEmpty();
+	}
+
+	private void closeCursor() {
+		if ( !cursorClosed ) {
+			cursorClosed = true;
+			tuples.close();
+		}
+	}
+
+	@Override
+	public void close() {
+		if ( !closed ) {
+			closed = true;
+			chunk = Collections.emptyList();
+			closeCursor();
+		}
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public int getNumberOfTypes() {
+		return types.length;
+	}
+
+	@Override
+	public boolean scroll(int positions) {
+		if ( positions < 0 ) {
+			throw forwardOnly( "scroll(" + positions + ")" );
+		}
+		boolean onRow = isOnRow();
+		for ( int i = 0; i < positions; i++ ) {
+			onRow = next();
+		}
+		return onRow;
+	}
+
+	@Override
+	public boolean setRowNumber(int rowNumber) {
+		if ( rowNumber < this.rowNumber || rowNumber < 0 ) {
+			throw forwardOnly( "setRowNumber(" + rowNumber + ")" );
+		}
+		return scroll( rowNumber - this.rowNumber );
+	}
+
+	@Override
+	public boolean first() {
+		if ( rowNumber > 0 ) {
+			throw forwardOnly( "first()" );
+		}
+		return rowNumber == 0 || next();
+	}
+
+	@Override
+	public void beforeFirst() {
+		if ( rowNumber >= 0 ) {
+			throw forwardOnly( "beforeFirst()" );
+		}
+	}
+
+	@Override
+	public boolean last() {
+		while ( !isLast() ) {
+			if ( !next() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void afterLast() {
+		while ( next() ) {
+			// Nothing to do, the rows are skipped
+		}
+	}
+
+	@Override
+	public boolean previous() {
+		throw forwardOnly( "previous()" );
+	}
+
+	@Override
+	public boolean isFirst() {
+		return rowNumber == 0 && !afterLast;
+	}
+
+	@Override
+	public boolean isLast() {
+		if ( !isOnRow() ) {
+			return false;
+		}
+		if ( positionInChunk + 1 < chunk.size() ) {
+			return false;
+		}
+		return cursorClosed || !tuples.hasNext();
+	}
+
+	@Override
+	public int getRowNumber() {
+		return isOnRow() ? rowNumber : -1;
+	}
+
+	@Override
+	public Object[] get() {
+		if ( !isOnRow() ) {
+			return null;
+		}
+		Object row = chunk.get( positionInChunk );
+		if ( row instanceof Object[] && types.length != 1 ) {
+			return (Object[]) row;
+		}
+		return new Object[] { row };
+	}
+
+	@Override
+	public Object get(int col) {
+		return get()[col];
+	}
+
+	@Override
+	public Type getType(int i) {
+		return types[i];
+	}
+
+	@Override
+	public Integer getInteger(int col) {
+		return (Integer) get( col );
+	}
+
+	@Override
+	public Long getLong(int col) {
+		return (Long) get( col );
+	}
+
+	@Override
+	public Float getFloat(int col) {
+		return (Float) get( col );
+	}
+
+	@Override
+	public Boolean getBoolean(int col) {
+		return (Boolean) get( col );
+	}
+
+	@Override
+	public Double getDouble(int col) {
+		return (Double) get( col );
+	}
+
+	@Override
+	public Short getShort(int col) {
+		return (Short) get( col );
+	}
+
+	@Override
+	public Byte getByte(int col) {
+		return (Byte) get( col );
+	}
+
+	@Override
+	public Character getCharacter(int col) {
+		return (Character) get( col );
+	}
+
+	@Override
+	public byte[] getBinary(int col) {
+		return (byte[]) get( col );
+	}
+
+	@Override
+	public String getText(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public Blob getBlob(int col) {
+		return (Blob) get( col );
+	}
+
+	@Override
+	public Clob getClob(int col) {
+		return (Clob) get( col );
+	}
+
+	@Override
+	public String getString(int col) {
+		return (String) get( col );
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int col) {
+		return (BigDecimal) get( col );
+	}
+
+	@Override
+	public BigInteger getBigInteger(int col) {
+		return (BigInteger) get( col );
+	}
+
+	@Override
+	public Date getDate(int col) {
+		return (Date) get( col );
+	}
+
+	@Override
+	public Locale getLocale(int col) {
+		return (Locale) get( col );
+	}
+
+	@Override
+	public Calendar getCalendar(int col) {
+		return (Calendar) get( col );
+	}
+
+	@Override
+	public TimeZone getTimeZone(int col) {
+		return (TimeZone) get( col );
+	}
+
+	private boolean isOnRow() {
+		return !closed && !afterLast && positionInChunk >= 0 && positionInChunk < chunk.size();
+	}
+
+	private static UnsupportedOperationException forwardOnly(String operation) {
+		return new UnsupportedOperationException( "The results of the query can only be scrolled forward, " + operation + " is not supported" );
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.query.impl;
+
+import java.util.NoSuchElementException;
+
+import org.hibernate.engine.HibernateIterator;
+import org.hibernate.query.spi.ScrollableResultsImplementor;
+
+/**
+ * The {@link java.util.Iterator} returned by {@code Query#iterate()}, reading the results of the query from a
+ * {@link ScrollableResultsImplementor}.
+ * <p>
+ * The underlying results are closed once the last row has been read or when {@link #close()} is invoked.
+ */
+public class OgmScrollableResultsIterator implements HibernateIterator {
+
+	private final ScrollableResultsImplementor results;
+	private boolean hasNext;
+
+	public OgmScrollableResultsIterator(ScrollableResultsImplementor results) {
+		this.results = results;
+		this.hasNext = advance();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	@Override
+	public Object next() {
+		if ( !hasNext ) {
+			throw new NoSuchElementException( "No more results" );
+		}
+		Object[] row = results.get();
+		hasNext = advance();
+		return row.length == 1 ? row[0] : row;
+	}
+
+	private boolean advance() {
+		if ( results.next() ) {
+			return true;
+		}
+		results.close();
+		return false;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException( "Removing entities while iterating over the results of a query is not supported" );
+	}
+
+	@Override
+	public void close() {
+		hasNext = false;
+		results.close();
+	}
+}
@@ -19,7 +19,11 @@
 import org.hibernate.ogm.dialect.eventstate.impl.EventContextManagingFlushEventListener.EventContextManagingFlushEventListenerDuplicationStrategy;
 import org.hibernate.ogm.dialect.eventstate.impl.EventContextManagingPersistEventListener;
 import org.hibernate.ogm.dialect.eventstate.impl.EventContextManagingPersistEventListener.EventContextManagingPersistEventListenerDuplicationStrategy;
+import org.hibernate.ogm.dialect.impl.GridDialects;
 import org.hibernate.ogm.dialect.impl.SessionFactoryLifecycleAwareDialectInitializer;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
+import org.hibernate.ogm.dialect.spi.GridDialect;
+import org.hibernate.ogm.persister.impl.FreshTupleCollectingFlushEntityEventListener;
 import org.hibernate.service.spi.SessionFactoryServiceRegistry;
 
 /**
@@ -68,6 +72,10 @@ private void attachEventContextManagingListenersIfRequired(SessionFactoryService
 
 		eventListenerRegistry.addDuplicationStrategy( EventContextManagingPersistEventListenerDuplicationStrategy.INSTANCE );
 		eventListenerRegistry.getEventListenerGroup( EventType.PERSIST ).appendListener( new EventContextManagingPersistEventListener( stateManager ) );
+
+		if ( GridDialects.hasFacet( serviceRegistry.getService( GridDialect.class ), MultigetGridDialect.class ) ) {
+			eventListenerRegistry.getEventListenerGroup( EventType.FLUSH_ENTITY ).appendListener( new FreshTupleCollectingFlushEntityEventListener( stateManager ) );
+		}
 	}
 
 }
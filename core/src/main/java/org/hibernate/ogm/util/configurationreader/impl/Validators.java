@@ -35,6 +35,22 @@ public void validate(Integer value) throws HibernateException {
 		}
 	};
 
+	/**
+	 * A {@link PropertyValidator} which asserts that a given number is a valid batch flush threshold.
+	 */
+	public static final PropertyValidator<Integer> BATCH_FLUSH_THRESHOLD = new PropertyValidator<Integer>() {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value == null ) {
+				return;
+			}
+			if ( value < 0 ) {
+				throw log.illegalBatchFlushThresholdValue( value );
+			}
+		}
+	};
+
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
 	private Validators() {
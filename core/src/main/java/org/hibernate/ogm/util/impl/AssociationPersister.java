@@ -41,6 +41,7 @@
  */
 public class AssociationPersister {
 	private GridType keyGridType;
+	private ColumnValuesExtractor keyColumnValuesExtractor;
 	private Object key;
 	private SharedSessionContractImplementor session;
 	private AssociationKey associationKey;
@@ -67,6 +68,7 @@ private AssociationPersister(Builder builder) {
 		this.session = builder.session;
 		this.key = builder.key;
 		this.keyGridType = builder.keyGridType;
+		this.keyColumnValuesExtractor = builder.keyColumnValuesExtractor;
 		this.associationTypeContext = builder.associationTypeContext;
 		this.associationKeyMetadata = builder.associationKeyMetadata;
 		this.columnValues = builder.keyColumnValues;
@@ -85,6 +87,7 @@ public static class Builder {
 		public GridDialect gridDialect;
 		public Object hostingEntity;
 
+		private ColumnValuesExtractor keyColumnValuesExtractor;
 		private Object[] keyColumnValues;
 
 		public Builder(Class<?> targetEntityType) {
@@ -101,7 +104,7 @@ public Builder session(SharedSessionContractImplementor session) {
 			return this;
 		}
 
-		// one of the following two methods is to be invoked, not both
+		// one of the following three methods is to be invoked, not several
 
 		public Builder key(Object key, GridType keyGridType) {
 			this.key = key;
@@ -109,6 +112,16 @@ public Builder key(Object key, GridType keyGridType) {
 			return this;
 		}
 
+		/**
+		 * @param key the key of the association
+		 * @param keyColumnValuesExtractor converts the key into the values of the columns of the association key
+		 */
+		public Builder key(Object key, ColumnValuesExtractor keyColumnValuesExtractor) {
+			this.key = key;
+			this.keyColumnValuesExtractor = keyColumnValuesExtractor;
+			return this;
+		}
+
 		public Builder keyColumnValues(Object[] columnValues) {
 			this.keyColumnValues = columnValues;
 			return this;
@@ -162,9 +175,14 @@ public AssociationKey getAssociationKey() {
 
 	private Object[] getKeyColumnValues() {
 		if ( columnValues == null ) {
-			columnValues = LogicalPhysicalConverterHelper.getColumnsValuesFromObjectValue(
-					key, keyGridType, associationKeyMetadata.getColumnNames(), session
-			);
+			if ( keyColumnValuesExtractor != null ) {
+				columnValues = keyColumnValuesExtractor.extract( key, session );
+			}
+			else {
+				columnValues = LogicalPhysicalConverterHelper.getColumnsValuesFromObjectValue(
+						key, keyGridType, associationKeyMetadata.getColumnNames(), session
+				);
+			}
 		}
 		return columnValues;
 	}
@@ -226,6 +244,34 @@ public Association getAssociationOrNull() {
 		return association;
 	}
 
+	/**
+	 * Whether the association has already been read from the datastore, either by this persister or earlier within the
+	 * current session.
+	 *
+	 * @return {@code true} if the association does not need to be read from the datastore, {@code false} otherwise
+	 */
+	public boolean isAssociationLoaded() {
+		if ( association != null ) {
+			return true;
+		}
+		return hostingEntity != null
+				&& OgmEntityEntryState.getStateFor( session, hostingEntity ).hasAssociation( associationKeyMetadata.getCollectionRole() );
+	}
+
+	/**
+	 * Sets the association read from the datastore on behalf of this persister, e.g. when the associations of several
+	 * owners are read at once.
+	 *
+	 * @param association the association read from the datastore, {@code null} if it does not exist
+	 */
+	public void setLoadedAssociation(Association association) {
+		this.association = association;
+		if ( hostingEntity != null ) {
+			OgmEntityEntryState.getStateFor( session, hostingEntity )
+					.setAssociation( associationKeyMetadata.getCollectionRole(), association );
+		}
+	}
+
 	/**
 	 * Writes out the changes gathered in the {@link Association} managed by this persister to the datastore.
 	 */
@@ -0,0 +1,123 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.util.impl;
+
+import java.util.Arrays;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.ogm.model.spi.ColumnSlots;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.type.impl.IntegerType;
+import org.hibernate.ogm.type.impl.LongType;
+import org.hibernate.ogm.type.impl.StringType;
+import org.hibernate.ogm.type.spi.GridType;
+
+/**
+ * Converts an object value, typically an identifier, into the values of its columns.
+ * <p>
+ * It is the equivalent of {@link LogicalPhysicalConverterHelper#getColumnsValuesFromObjectValue} for a given type
+ * and set of columns, meant to be created once and reused: the values are written directly in the resulting array
+ * instead of going through a temporary {@link Tuple} and reading them back by name.
+ */
+public abstract class ColumnValuesExtractor {
+
+	/**
+	 * @param gridType the type of the value
+	 * @param columnNames the names of the columns the value is mapped to
+	 * @return the extractor for the given type and columns
+	 */
+	public static ColumnValuesExtractor create(GridType gridType, String[] columnNames) {
+		if ( columnNames.length == 1 && isPassThrough( gridType ) ) {
+			return PassThroughExtractor.INSTANCE;
+		}
+		return new GridTypeExtractor( gridType, columnNames );
+	}
+
+	/*
+	 * The types whose values are stored as they are, these are the most common types of identifier.
+	 */
+	private static boolean isPassThrough(GridType gridType) {
+		return gridType == LongType.INSTANCE || gridType == IntegerType.INSTANCE || gridType == StringType.INSTANCE;
+	}
+
+	/**
+	 * @param value the value to convert
+	 * @param session the current session
+	 * @return the values of the columns, in the order of the column names used to create the extractor
+	 */
+	public abstract Object[] extract(Object value, SharedSessionContractImplementor session);
+
+	/**
+	 * A single column containing the value itself.
+	 */
+	private static final class PassThroughExtractor extends ColumnValuesExtractor {
+
+		private static final PassThroughExtractor INSTANCE = new PassThroughExtractor();
+
+		@Override
+		public Object[] extract(Object value, SharedSessionContractImplementor session) {
+			return new Object[] { value };
+		}
+	}
+
+	/**
+	 * Lets the {@link GridType} write the values of the columns in a {@link ColumnValuesWriter}.
+	 */
+	private static final class GridTypeExtractor extends ColumnValuesExtractor {
+
+		private final GridType gridType;
+		private final String[] columnNames;
+		private final ColumnSlots columnSlots;
+
+		private GridTypeExtractor(GridType gridType, String[] columnNames) {
+			this.gridType = gridType;
+			this.columnNames = columnNames;
+			this.columnSlots = new ColumnSlots( Arrays.asList( columnNames ) );
+		}
+
+		@Override
+		public Object[] extract(Object value, SharedSessionContractImplementor session) {
+			ColumnValuesWriter writer = new ColumnValuesWriter( columnSlots );
+			gridType.nullSafeSet( writer, value, columnNames, session );
+			return writer.values;
+		}
+	}
+
+	/**
+	 * A {@link Tuple} storing the values of the known columns in an array indexed by slot; the other columns are
+	 * ignored, as they would be when reading the values back from a tuple by column name.
+	 */
+	private static final class ColumnValuesWriter extends Tuple {
+
+		private final ColumnSlots columnSlots;
+		private final Object[] values;
+
+		private ColumnValuesWriter(ColumnSlots columnSlots) {
+			this.columnSlots = columnSlots;
+			this.values = new Object[columnSlots.size()];
+		}
+
+		@Override
+		public Object get(String column) {
+			int slot = columnSlots.slot( column );
+			return slot < 0 ? null : values[slot];
+		}
+
+		@Override
+		public void put(String column, Object value) {
+			int slot = columnSlots.slot( column );
+			if ( slot >= 0 ) {
+				values[slot] = value;
+			}
+		}
+
+		@Override
+		public void remove(String column) {
+			put( column, null );
+		}
+	}
+}
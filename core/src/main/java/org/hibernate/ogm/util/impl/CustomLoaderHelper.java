@@ -35,9 +35,13 @@ public static List<Object> listOfEntities(SharedSessionContractImplementor sessi
 	}
 
 	public static List<Object> listOfEntities(SharedSessionContractImplementor session, Class<?> returnedClass, ClosableIterator<Tuple> tuples) {
+		return listOfEntities( session, returnedClass, getTuplesAsList( tuples ) );
+	}
+
+	public static List<Object> listOfEntities(SharedSessionContractImplementor session, Class<?> returnedClass, List<Tuple> tuples) {
 		TupleBasedEntityLoader loader = getLoader( session, returnedClass );
 		OgmLoadingContext ogmLoadingContext = new OgmLoadingContext();
-		ogmLoadingContext.setTuples( getTuplesAsList( tuples ) );
+		ogmLoadingContext.setTuples( tuples );
 		return loader.loadEntitiesFromTuples( session, LockOptions.NONE, ogmLoadingContext );
 	}
 
@@ -340,4 +340,7 @@ public interface Log extends BasicLogger {
 
 	@Message(id = 101, value = "Error introspecting an object instance.")
 	HibernateException errorIntrospectingObject(@Cause Exception e);
+
+	@Message(id = 102, value = "The value set for the configuration property '" + OgmProperties.BATCH_FLUSH_THRESHOLD + "' must be a non-negative number. Found '%s'.")
+	HibernateException illegalBatchFlushThresholdValue(int value);
 }
@@ -11,6 +11,7 @@
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +20,7 @@
 import org.hibernate.Session;
 import org.hibernate.ogm.cfg.OgmProperties;
 import org.hibernate.ogm.dialect.impl.GridDialects;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetAssociationGridDialect;
 import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
 import org.hibernate.ogm.dialect.spi.GridDialect;
 import org.hibernate.ogm.utils.InvokedOperationsLoggingDialect;
@@ -34,7 +36,7 @@
 public class BatchFetchingTest extends OgmTestCase {
 	@Override
 	protected Class<?>[] getAnnotatedClasses() {
-		return new Class<?>[] { Tower.class, Floor.class, CondominiumBuilding.class, Condominium.class };
+		return new Class<?>[] { Tower.class, Skyscraper.class, Floor.class, CondominiumBuilding.class, Condominium.class };
 	}
 
 	@Test
@@ -123,6 +125,40 @@ public void testLoadSeveralFloorsFromTower() throws Exception {
 		session.close();
 	}
 
+	@Test
+	public void testLoadFloorsOfSeveralSkyscrapersByBatch() throws Exception {
+		Session session = openSession();
+		Skyscraper shard = prepareSkyscraper( session, "The Shard" );
+		Skyscraper gherkin = prepareSkyscraper( session, "The Gherkin" );
+		session.clear();
+
+		session.beginTransaction();
+		Skyscraper first = session.get( Skyscraper.class, shard.getId() );
+		Skyscraper second = session.get( Skyscraper.class, gherkin.getId() );
+
+		getOperationsLogger().reset();
+		assertThat( first.getFloors() ).hasSize( 2 );
+		assertThat( second.getFloors() ).hasSize( 2 );
+		session.getTransaction().commit();
+
+		// if a multiget, we load the floors of both skyscrapers in one go, otherwise we don't
+		if ( isMultigetAssociationDialect() ) {
+			assertThat( getAssociationOperations() ).containsExactly(
+					"getAssociations"
+			);
+		}
+		else {
+			assertThat( getAssociationOperations() ).containsExactly(
+					"getAssociation",
+					"getAssociation"
+			);
+		}
+
+		cleanSkyscraper( session, shard );
+		cleanSkyscraper( session, gherkin );
+		session.close();
+	}
+
 	@Test
 	@TestForIssue(jiraKey = "OGM-945")
 	public void testMultigetIsAppliedWithoutExplicitBatchSizeGiven() throws Exception {
@@ -195,6 +231,34 @@ private Tower prepareTower(Session session) {
 		return tower;
 	}
 
+	private void cleanSkyscraper(Session session, Skyscraper skyscraper) {
+		session.beginTransaction();
+		session.delete( session.get( Skyscraper.class, skyscraper.getId() ) );
+		for ( Floor currentFloor : skyscraper.getFloors() ) {
+			session.delete( session.get( Floor.class, currentFloor.getId() ) );
+		}
+		session.getTransaction().commit();
+	}
+
+	private Skyscraper prepareSkyscraper(Session session, String name) {
+		session.beginTransaction();
+		Skyscraper skyscraper = new Skyscraper();
+		skyscraper.setName( name );
+
+		Floor floor = new Floor();
+		floor.setLevel( 0 );
+		skyscraper.getFloors().add( floor );
+
+		floor = new Floor();
+		floor.setLevel( 1 );
+		skyscraper.getFloors().add( floor );
+
+		session.persist( skyscraper );
+		session.getTransaction().commit();
+
+		return skyscraper;
+	}
+
 	private void cleanCondoBuilding(Session session) {
 		session.beginTransaction();
 		session.delete( session.get( CondominiumBuilding.class, "cb-1" ) );
@@ -222,6 +286,11 @@ private boolean isMultigetDialect() {
 		return GridDialects.hasFacet( gridDialect, MultigetGridDialect.class );
 	}
 
+	private boolean isMultigetAssociationDialect() {
+		GridDialect gridDialect = getSessionFactory().getServiceRegistry().getService( GridDialect.class );
+		return GridDialects.hasFacet( gridDialect, MultigetAssociationGridDialect.class );
+	}
+
 	@Override
 	protected void configure(Map<String, Object> cfg) {
 		cfg.put( OgmProperties.GRID_DIALECT, InvokedOperationsLoggingDialect.class );
@@ -241,4 +310,14 @@ private InvokedOperationsLoggingDialect getOperationsLogger() {
 	private List<String> getOperations() {
 		return getOperationsLogger().getOperations();
 	}
+
+	private List<String> getAssociationOperations() {
+		List<String> operations = new ArrayList<>();
+		for ( String operation : getOperations() ) {
+			if ( operation.startsWith( "getAssociation" ) ) {
+				operations.add( operation );
+			}
+		}
+		return operations;
+	}
 }
@@ -0,0 +1,58 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.backendtck.batchfetching;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.CascadeType;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinTable;
+import javax.persistence.OneToMany;
+
+import org.hibernate.annotations.BatchSize;
+
+/**
+ * A building whose floors are loaded by batch.
+ */
+@Entity
+public class Skyscraper {
+	@Id @GeneratedValue
+	private Long id;
+
+	private String name;
+
+	@OneToMany(cascade = CascadeType.PERSIST)
+	@JoinTable(name = "skyscraper_floor")
+	@BatchSize(size = 10)
+	private Set<Floor> floors = new HashSet<>();
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Set<Floor> getFloors() {
+		return floors;
+	}
+
+	public void setFloors(Set<Floor> floors) {
+		this.floors = floors;
+	}
+}
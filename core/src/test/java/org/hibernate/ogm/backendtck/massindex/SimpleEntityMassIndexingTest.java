@@ -99,6 +99,45 @@ public void testEntityWithCompositeIdMassIndexing() throws Exception {
 		}
 	}
 
+	@Test
+	public void testPartitionedMassIndexing() throws Exception {
+		final int numberOfInsurances = 25;
+		{
+			Session session = openSession();
+			Transaction transaction = session.beginTransaction();
+			for ( int i = 0; i < numberOfInsurances; i++ ) {
+				Insurance insurance = new Insurance();
+				insurance.setName( "Partitioned" + i );
+				session.persist( insurance );
+			}
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+		{
+			purgeAll( Insurance.class );
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			session.createIndexer( Insurance.class )
+					.threadsToLoadObjects( 4 )
+					.batchSizeToLoadObjects( 3 )
+					.purgeAllOnStart( true )
+					.startAndWait();
+			session.close();
+		}
+		{
+			FullTextSession session = Search.getFullTextSession( openSession() );
+			QueryBuilder queryBuilder = session.getSearchFactory().buildQueryBuilder().forEntity( Insurance.class ).get();
+			Query luceneQuery = queryBuilder.keyword().wildcard().onField( "name" ).matching( "partitioned*" ).createQuery();
+			Transaction transaction = session.beginTransaction();
+			@SuppressWarnings("unchecked")
+			List<Insurance> list = session.createFullTextQuery( luceneQuery ).list();
+			assertThat( list ).hasSize( numberOfInsurances );
+			transaction.commit();
+			session.clear();
+			session.close();
+		}
+	}
+
 	private void startAndWaitMassIndexing(Class<?> entityType) throws InterruptedException, IOException {
 		FullTextSession session = Search.getFullTextSession( openSession() );
 		session.createIndexer( entityType ).purgeAllOnStart( true ).startAndWait();
@@ -20,8 +20,10 @@
 import java.util.Calendar;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.stream.Stream;
 
 import javax.persistence.PersistenceException;
 import javax.persistence.TemporalType;
@@ -30,6 +32,8 @@
 import org.hamcrest.core.IsInstanceOf;
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
@@ -97,6 +101,51 @@ public void testSimpleQueries() throws Exception {
 				"from Helicopter" ) );
 	}
 
+	@Test
+	public void testScrollQuery() throws Exception {
+		List<String> expectedIds = new ArrayList<String>();
+		for ( Object hypothesis : session.createQuery( "from Hypothesis" ).list() ) {
+			expectedIds.add( ( (Hypothesis) hypothesis ).getId() );
+		}
+
+		List<String> ids = new ArrayList<String>();
+		try ( ScrollableResults results = session.createQuery( "from Hypothesis" ).setFetchSize( 3 ).scroll( ScrollMode.FORWARD_ONLY ) ) {
+			while ( results.next() ) {
+				assertThat( results.get() ).hasSize( 1 );
+				ids.add( ( (Hypothesis) results.get()[0] ).getId() );
+			}
+		}
+		assertThat( ids ).hasSize( 8 );
+		assertThat( ids ).containsOnly( expectedIds.toArray() );
+	}
+
+	@Test
+	public void testScrollProjectionQuery() throws Exception {
+		try ( ScrollableResults results = session.createQuery( "select h.id, h.description from Hypothesis h where h.id = 16" ).scroll( ScrollMode.FORWARD_ONLY ) ) {
+			assertThat( results.next() ).isTrue();
+			assertThat( results.get() ).containsOnly( "16", "stuff works" );
+			assertThat( results.next() ).isFalse();
+		}
+	}
+
+	@Test
+	public void testStreamQuery() throws Exception {
+		try ( Stream<Helicopter> helicopters = session.createQuery( "from Helicopter", Helicopter.class ).setFetchSize( 2 ).stream() ) {
+			assertThat( helicopters.filter( helicopter -> "Lama".equals( helicopter.getMake() ) ).count() ).isEqualTo( 2 );
+		}
+	}
+
+	@Test
+	public void testIterateQuery() throws Exception {
+		int count = 0;
+		Iterator<?> hypotheses = session.createQuery( "from Hypothesis" ).iterate();
+		while ( hypotheses.hasNext() ) {
+			assertThat( hypotheses.next() ).isInstanceOf( Hypothesis.class );
+			count++;
+		}
+		assertThat( count ).isEqualTo( 8 );
+	}
+
 	@Test
 	public void testSimpleQueryOnUnindexedSuperType() throws Exception {
 		assertQuery( session, 17, session.createQuery(
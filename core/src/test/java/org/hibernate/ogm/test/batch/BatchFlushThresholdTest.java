@@ -0,0 +1,85 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.test.batch;
+
+import java.util.Map;
+
+import org.fest.assertions.Assertions;
+import org.hibernate.Session;
+import org.hibernate.ogm.backendtck.simpleentity.Hypothesis;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
+import org.hibernate.ogm.dialect.spi.GridDialect;
+import org.hibernate.ogm.test.batch.BatchExecutionTest.SampleBatchableDatastoreProvider;
+import org.hibernate.ogm.test.batch.BatchExecutionTest.SampleBatchableDialect;
+import org.hibernate.ogm.utils.OgmTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the queued operations are executed in partial batches when {@link OgmProperties#BATCH_FLUSH_THRESHOLD}
+ * is set.
+ */
+public class BatchFlushThresholdTest extends OgmTestCase {
+
+	static int executedBatches = 0;
+	static int executedOperations = 0;
+
+	@Before
+	public void before() {
+		executedBatches = 0;
+		executedOperations = 0;
+	}
+
+	@Test
+	public void testPartialBatchesAreExecutedWhenTheThresholdIsReached() throws Exception {
+		final Session session = openSession();
+		session.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			session.persist( new Hypothesis( "hypo-" + i ) );
+		}
+		session.getTransaction().commit();
+		session.close();
+
+		Assertions.assertThat( executedOperations ).isEqualTo( 5 );
+		Assertions.assertThat( executedBatches ).as( "Two partial batches and the final one should be executed" ).isEqualTo( 3 );
+	}
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( OgmProperties.DATASTORE_PROVIDER, CountingDatastoreProvider.class.getName() );
+		settings.put( OgmProperties.BATCH_FLUSH_THRESHOLD, 2 );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { Hypothesis.class };
+	}
+
+	public static class CountingDatastoreProvider extends SampleBatchableDatastoreProvider {
+
+		@Override
+		public Class<? extends GridDialect> getDefaultDialect() {
+			return CountingDialect.class;
+		}
+	}
+
+	public static class CountingDialect extends SampleBatchableDialect {
+
+		public CountingDialect(CountingDatastoreProvider provider) {
+			super( provider );
+		}
+
+		@Override
+		public void executeBatch(OperationsQueue queue) {
+			executedBatches++;
+			while ( queue.poll() != null ) {
+				executedOperations++;
+			}
+		}
+	}
+}
@@ -141,6 +141,93 @@ public void testQueueSizeWhenAddingRemoveTupleOperation() throws Exception {
 		Assertions.assertThat( queue.size() ).isEqualTo( 1 );
 	}
 
+	@Test
+	public void testIsMarkedForRemovalUntilTheRemoveTupleOperationIsPolled() throws Exception {
+		EntityKey key = entityKey();
+		Assertions.assertThat( queue.isMarkedForRemoval( key ) ).isFalse();
+
+		queue.add( new RemoveTupleOperation( key, emptyTupleContext() ) );
+		Assertions.assertThat( queue.isMarkedForRemoval( key ) ).isTrue();
+
+		queue.poll();
+		Assertions.assertThat( queue.isMarkedForRemoval( key ) ).isFalse();
+	}
+
+	@Test
+	public void testPendingOperationsCount() throws Exception {
+		EntityKey key = entityKey();
+		queue.add( new InsertOrUpdateTupleOperation( null, key, emptyTupleContext() ) );
+		queue.add( new InsertOrUpdateAssociationOperation( null, getAssociationKey( key ), emptyAssociationContext() ) );
+		queue.add( new RemoveTupleOperation( key, emptyTupleContext() ) );
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 2 );
+		Assertions.assertThat( queue.getPendingOperationsCount() ).isEqualTo( 3 );
+
+		queue.poll();
+		Assertions.assertThat( queue.getPendingOperationsCount() ).isEqualTo( 1 );
+
+		queue.poll();
+		Assertions.assertThat( queue.getPendingOperationsCount() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testOperationsAddedAfterPollingTheGroupAreGroupedAgain() throws Exception {
+		EntityKey key = entityKey();
+		queue.add( new InsertOrUpdateTupleOperation( null, key, emptyTupleContext() ) );
+		GroupedChangesToEntityOperation first = (GroupedChangesToEntityOperation) queue.poll();
+
+		InsertOrUpdateAssociationOperation insertOrUpdateAssociation = new InsertOrUpdateAssociationOperation( null, getAssociationKey( key ),
+				emptyAssociationContext() );
+		queue.add( insertOrUpdateAssociation );
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 1 );
+		Assertions.assertThat( queue.isInTheInsertionQueue( key ) ).isTrue();
+
+		GroupedChangesToEntityOperation second = (GroupedChangesToEntityOperation) queue.poll();
+		Assertions.assertThat( second ).isNotSameAs( first );
+		Assertions.assertThat( second.getOperations() ).containsOnly( insertOrUpdateAssociation );
+	}
+
+	@Test
+	public void testEntityIsForgottenOnceItsRemovalIsPolled() throws Exception {
+		EntityKey key = entityKey();
+		queue.add( new RemoveTupleOperation( key, emptyTupleContext() ) );
+		queue.add( new RemoveTupleOperation( key, emptyTupleContext() ) );
+
+		queue.poll();
+		Assertions.assertThat( queue.isMarkedForRemoval( key ) ).isTrue();
+
+		queue.poll();
+		Assertions.assertThat( queue.isMarkedForRemoval( key ) ).isFalse();
+		Assertions.assertThat( queue.isInTheInsertionQueue( key ) ).isFalse();
+
+		InsertOrUpdateAssociationOperation insertOrUpdateAssociation = new InsertOrUpdateAssociationOperation( null, getAssociationKey( key ),
+				emptyAssociationContext() );
+		queue.add( insertOrUpdateAssociation );
+
+		GroupedChangesToEntityOperation grouped = (GroupedChangesToEntityOperation) queue.poll();
+		Assertions.assertThat( grouped.getOperations() ).containsOnly( insertOrUpdateAssociation );
+		Assertions.assertThat( queue.isMarkedForRemoval( key ) ).isFalse();
+		Assertions.assertThat( queue.isInTheInsertionQueue( key ) ).isFalse();
+	}
+
+	@Test
+	public void testInsertedEntityStaysInTheInsertionQueueAfterPolling() throws Exception {
+		EntityKey key = entityKey();
+		queue.add( new InsertOrUpdateTupleOperation( null, key, emptyTupleContext() ) );
+		queue.add( new RemoveTupleOperation( key, emptyTupleContext() ) );
+
+		queue.poll();
+		queue.poll();
+
+		Assertions.assertThat( queue.size() ).isEqualTo( 0 );
+		Assertions.assertThat( queue.isMarkedForRemoval( key ) ).isFalse();
+		Assertions.assertThat( queue.isInTheInsertionQueue( key ) ).isTrue();
+
+		queue.clear();
+		Assertions.assertThat( queue.isInTheInsertionQueue( key ) ).isFalse();
+	}
+
 	private EntityKey entityKey() {
 		EntityKeyMetadata keyMetadata = new DefaultEntityKeyMetadata( "MetadataTable", new String[] {} );
 		EntityKey key = new EntityKey( keyMetadata, new Object[] {} );
@@ -0,0 +1,262 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.test.datastore.map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.PessimisticLockException;
+
+import org.hibernate.ogm.datastore.map.impl.MapDatastoreProvider;
+import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the storage of the entities and the locks of {@link MapDatastoreProvider}.
+ */
+public class MapDatastoreProviderTest {
+
+	private static final int NO_WAIT = 0;
+	private static final int WAIT_FOREVER = -1;
+
+	private static final EntityKeyMetadata HELICOPTER = new DefaultEntityKeyMetadata( "Helicopter", new String[] { "id" } );
+	private static final EntityKeyMetadata PLANE = new DefaultEntityKeyMetadata( "Plane", new String[] { "id" } );
+
+	private final MapDatastoreProvider provider = new MapDatastoreProvider();
+	private final ExecutorService executor = Executors.newFixedThreadPool( 2 );
+
+	@After
+	public void stop() {
+		executor.shutdownNow();
+		provider.stop();
+	}
+
+	@Test
+	public void testKeysAreGroupedByTable() {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		EntityKey puma = new EntityKey( HELICOPTER, new Object[] { "puma" } );
+		EntityKey concorde = new EntityKey( PLANE, new Object[] { "concorde" } );
+
+		provider.putEntity( lama, tuple( "Lama" ) );
+		provider.putEntity( puma, tuple( "Puma" ) );
+		provider.putEntity( concorde, tuple( "Concorde" ) );
+
+		// updating an entity does not add its key twice
+		provider.putEntity( lama, tuple( "SA 315B Lama" ) );
+
+		assertThat( provider.getEntityKeys( "Helicopter" ) ).containsOnly( lama, puma );
+		assertThat( provider.getEntityKeys( "Plane" ) ).containsOnly( concorde );
+		assertThat( provider.getEntityKeys( "Glider" ) ).isEmpty();
+	}
+
+	@Test
+	public void testRemovedKeysAreRemovedFromTheTable() {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		EntityKey puma = new EntityKey( HELICOPTER, new Object[] { "puma" } );
+
+		provider.putEntity( lama, tuple( "Lama" ) );
+		provider.putEntity( puma, tuple( "Puma" ) );
+		provider.removeEntityTuple( lama );
+
+		// removing a missing entity is a no-op
+		provider.removeEntityTuple( lama );
+		provider.removeEntityTuple( new EntityKey( PLANE, new Object[] { "concorde" } ) );
+
+		assertThat( provider.getEntityKeys( "Helicopter" ) ).containsOnly( puma );
+		assertThat( provider.getEntityKeys( "Plane" ) ).isEmpty();
+	}
+
+	@Test
+	public void testKeysAreInSyncWithConcurrentPutAndRemoval() throws Exception {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		CyclicBarrier barrier = new CyclicBarrier( 2 );
+
+		for ( int round = 0; round < 10_000; round++ ) {
+			provider.putEntity( lama, tuple( "Lama" ) );
+
+			// one thread inserts the entity again while the other one removes it
+			Future<?> put = executor.submit( () -> {
+				barrier.await();
+				provider.putEntity( lama, tuple( "Lama" ) );
+				return null;
+			} );
+			Future<?> remove = executor.submit( () -> {
+				barrier.await();
+				provider.removeEntityTuple( lama );
+				return null;
+			} );
+			put.get();
+			remove.get();
+
+			assertThat( new HashSet<>( provider.getEntityKeys( "Helicopter" ) ) ).isEqualTo( provider.getEntityMap().keySet() );
+		}
+	}
+
+	@Test
+	public void testReadLockCanBeUpgradedByItsOwner() throws Exception {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		Object owner = new Object();
+		Object other = new Object();
+
+		provider.readLock( lama, NO_WAIT, owner );
+		provider.writeLock( lama, NO_WAIT, owner );
+
+		assertThat( tryLock( lama, other, false ) ).isFalse();
+
+		provider.unlockWrite( lama, owner );
+		assertThat( tryLock( lama, other, false ) ).isTrue();
+		assertThat( tryLock( lama, other, true ) ).isFalse();
+
+		provider.unlockRead( lama, owner );
+		assertThat( tryLock( lama, other, true ) ).isTrue();
+	}
+
+	@Test
+	public void testReadLockCannotBeUpgradedWhenSharedWithAnotherOwner() throws Exception {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		Object owner = new Object();
+		Object other = new Object();
+
+		Object another = new Object();
+
+		provider.readLock( lama, NO_WAIT, owner );
+		provider.readLock( lama, NO_WAIT, other );
+		provider.readLock( lama, NO_WAIT, another );
+
+		assertThat( tryLock( lama, owner, true ) ).isFalse();
+
+		provider.unlockRead( lama, owner );
+		provider.readLock( lama, NO_WAIT, owner );
+		provider.unlockRead( lama, other );
+		assertThat( tryLock( lama, owner, true ) ).isFalse();
+
+		provider.unlockRead( lama, another );
+		assertThat( tryLock( lama, owner, true ) ).isTrue();
+		provider.unlockRead( lama, owner );
+	}
+
+	@Test
+	public void testLockIsReentrant() throws Exception {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		Object owner = new Object();
+		Object other = new Object();
+
+		provider.writeLock( lama, NO_WAIT, owner );
+		provider.writeLock( lama, NO_WAIT, owner );
+		provider.readLock( lama, NO_WAIT, owner );
+
+		provider.unlockWrite( lama, owner );
+		provider.unlockRead( lama, owner );
+		assertThat( tryLock( lama, other, false ) ).isFalse();
+
+		provider.unlockWrite( lama, owner );
+		assertThat( tryLock( lama, other, true ) ).isTrue();
+	}
+
+	@Test
+	public void testOwnerIsNotBlockedByItsLocksOnKeysSharingALock() throws Exception {
+		Object owner = new Object();
+		Object other = new Object();
+
+		// more keys than locks, so that some of them share a lock
+		for ( int i = 0; i < 5_000; i++ ) {
+			provider.readLock( helicopter( i ), NO_WAIT, owner );
+		}
+		for ( int i = 0; i < 5_000; i++ ) {
+			provider.writeLock( plane( i ), NO_WAIT, owner );
+			assertThat( tryLock( plane( i ), other, false ) ).isFalse();
+		}
+
+		for ( int i = 0; i < 5_000; i++ ) {
+			provider.unlockRead( helicopter( i ), owner );
+			provider.unlockWrite( plane( i ), owner );
+		}
+		for ( int i = 0; i < 5_000; i++ ) {
+			assertThat( tryLock( helicopter( i ), other, true ) ).isTrue();
+			assertThat( tryLock( plane( i ), other, true ) ).isTrue();
+		}
+	}
+
+	@Test
+	public void testLockCanBeReleasedByAnotherThread() throws Exception {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		Object owner = new Object();
+		Object other = new Object();
+
+		provider.writeLock( lama, NO_WAIT, owner );
+		executor.submit( () -> provider.unlockWrite( lama, owner ) ).get();
+
+		assertThat( tryLock( lama, other, true ) ).isTrue();
+	}
+
+	@Test
+	public void testWaitingOwnerAcquiresTheLockOnceReleased() throws Exception {
+		EntityKey lama = new EntityKey( HELICOPTER, new Object[] { "lama" } );
+		Object owner = new Object();
+		Object other = new Object();
+
+		provider.writeLock( lama, NO_WAIT, owner );
+		assertThat( tryLock( lama, other, true, 50 ) ).isFalse();
+
+		Future<?> waiting = executor.submit( () -> provider.writeLock( lama, WAIT_FOREVER, other ) );
+		provider.unlockWrite( lama, owner );
+		waiting.get( 10, TimeUnit.SECONDS );
+
+		assertThat( tryLock( lama, owner, false ) ).isFalse();
+	}
+
+	/**
+	 * Acquires and releases a lock from another thread.
+	 *
+	 * @return {@code true} if the lock was available
+	 */
+	private boolean tryLock(EntityKey key, Object owner, boolean write) throws Exception {
+		return tryLock( key, owner, write, NO_WAIT );
+	}
+
+	private boolean tryLock(EntityKey key, Object owner, boolean write, int timeout) throws Exception {
+		return executor.submit( () -> {
+			try {
+				if ( write ) {
+					provider.writeLock( key, timeout, owner );
+					provider.unlockWrite( key, owner );
+				}
+				else {
+					provider.readLock( key, timeout, owner );
+					provider.unlockRead( key, owner );
+				}
+				return true;
+			}
+			catch (PessimisticLockException e) {
+				return false;
+			}
+		} ).get();
+	}
+
+	private static EntityKey helicopter(int index) {
+		return new EntityKey( HELICOPTER, new Object[] { "helicopter-" + index } );
+	}
+
+	private static EntityKey plane(int index) {
+		return new EntityKey( PLANE, new Object[] { "plane-" + index } );
+	}
+
+	private static Map<String, Object> tuple(String name) {
+		return Collections.<String, Object>singletonMap( "name", name );
+	}
+}
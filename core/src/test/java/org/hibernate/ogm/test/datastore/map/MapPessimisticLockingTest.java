@@ -0,0 +1,156 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.test.datastore.map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.backendtck.simpleentity.Helicopter;
+import org.hibernate.ogm.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the pessimistic locks acquired on the map datastore are released when the transaction completes.
+ */
+public class MapPessimisticLockingTest extends OgmTestCase {
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	private Helicopter helicopter;
+
+	@Before
+	public void persistHelicopter() {
+		helicopter = new Helicopter();
+		helicopter.setName( "Lama" );
+		inTransaction( session -> session.persist( helicopter ) );
+	}
+
+	@After
+	public void deleteHelicopter() {
+		executor.shutdownNow();
+		deleteAll( Helicopter.class, helicopter.getUUID() );
+	}
+
+	@Test
+	public void testWriteLockIsReleasedOnCommit() throws Exception {
+		try ( Session session = openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			lock( session, LockMode.PESSIMISTIC_WRITE );
+
+			assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_WRITE ) ).isFalse();
+
+			transaction.commit();
+		}
+
+		assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_WRITE ) ).isTrue();
+	}
+
+	@Test
+	public void testReadLockIsReleasedOnRollback() throws Exception {
+		try ( Session session = openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			lock( session, LockMode.PESSIMISTIC_READ );
+
+			assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_READ ) ).isTrue();
+			assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_WRITE ) ).isFalse();
+
+			transaction.rollback();
+		}
+
+		assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_WRITE ) ).isTrue();
+	}
+
+	@Test
+	public void testReadLockCanBeUpgradedInTheSameTransaction() throws Exception {
+		try ( Session session = openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			lock( session, LockMode.PESSIMISTIC_READ );
+			lock( session, LockMode.PESSIMISTIC_WRITE );
+
+			assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_READ ) ).isFalse();
+
+			transaction.commit();
+		}
+
+		assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_WRITE ) ).isTrue();
+	}
+
+	@Test
+	public void testSeveralEntitiesCanBeLockedInTheSameTransaction() throws Exception {
+		Helicopter other = new Helicopter();
+		other.setName( "Puma" );
+		inTransaction( session -> session.persist( other ) );
+
+		try ( Session session = openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			lock( session, LockMode.PESSIMISTIC_READ );
+			Helicopter loaded = session.get( Helicopter.class, other.getUUID() );
+			session.buildLockRequest( new LockOptions( LockMode.PESSIMISTIC_WRITE ).setTimeOut( LockOptions.NO_WAIT ) ).lock( loaded );
+
+			assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_READ ) ).isTrue();
+			assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_WRITE ) ).isFalse();
+
+			transaction.commit();
+		}
+		finally {
+			deleteAll( Helicopter.class, other.getUUID() );
+		}
+	}
+
+	@Test
+	public void testLockIsReleasedWhenTheTransactionCompletesInAnotherThread() throws Exception {
+		try ( Session session = openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			lock( session, LockMode.PESSIMISTIC_WRITE );
+
+			executor.submit( transaction::commit ).get();
+		}
+
+		assertThat( lockFromAnotherThread( LockMode.PESSIMISTIC_WRITE ) ).isTrue();
+	}
+
+	private void lock(Session session, LockMode lockMode) {
+		Helicopter loaded = session.get( Helicopter.class, helicopter.getUUID() );
+		session.buildLockRequest( new LockOptions( lockMode ).setTimeOut( LockOptions.NO_WAIT ) ).lock( loaded );
+	}
+
+	/**
+	 * @return {@code true} if the lock could be acquired by a transaction running in another thread
+	 */
+	private boolean lockFromAnotherThread(LockMode lockMode) throws Exception {
+		Future<Boolean> locked = executor.submit( () -> {
+			try ( Session session = openSession() ) {
+				Transaction transaction = session.beginTransaction();
+				try {
+					lock( session, lockMode );
+					return true;
+				}
+				catch (Exception e) {
+					return false;
+				}
+				finally {
+					transaction.rollback();
+				}
+			}
+		} );
+		return locked.get();
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Helicopter.class };
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.test.model;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.ogm.datastore.map.impl.MapTupleSnapshot;
+import org.hibernate.ogm.model.spi.ColumnSlots;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.model.spi.Tuple.SnapshotType;
+import org.hibernate.ogm.model.spi.TupleOperation;
+import org.hibernate.ogm.model.spi.TupleOperationType;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link Tuple}.
+ */
+public class TupleTest {
+
+	private static final ColumnSlots SLOTS = new ColumnSlots( Arrays.asList( "name", "age", "city" ) );
+
+	@Test
+	public void testOperationsWithColumnSlots() {
+		Map<String, Object> entity = new HashMap<>();
+		entity.put( "name", "Davide" );
+		entity.put( "age", 37 );
+		entity.put( "city", "Rome" );
+		entity.put( "nickname", "Dav" );
+
+		Tuple tuple = new Tuple( new MapTupleSnapshot( entity ), SnapshotType.UPDATE );
+		tuple.useColumnSlots( SLOTS );
+
+		tuple.put( "name", "Sanne" );
+		tuple.put( "age", null );
+		tuple.remove( "city" );
+		tuple.put( "country", "Italy" );
+		tuple.remove( "nickname" );
+
+		assertThat( tuple.get( "name" ) ).isEqualTo( "Sanne" );
+		assertThat( tuple.get( "age" ) ).isNull();
+		assertThat( tuple.get( "city" ) ).isNull();
+		assertThat( tuple.get( "country" ) ).isEqualTo( "Italy" );
+		assertThat( tuple.get( "nickname" ) ).isNull();
+		assertThat( tuple.getColumnNames() ).containsOnly( "name", "age", "country" );
+
+		Map<String, TupleOperationType> operations = new HashMap<>();
+		tuple.forEachOperation( ( column, value, type ) -> operations.put( column, type ) );
+		assertThat( operations ).hasSize( 5 );
+		assertThat( operations.get( "name" ) ).isEqualTo( TupleOperationType.PUT );
+		assertThat( operations.get( "age" ) ).isEqualTo( TupleOperationType.PUT_NULL );
+		assertThat( operations.get( "city" ) ).isEqualTo( TupleOperationType.REMOVE );
+		assertThat( operations.get( "country" ) ).isEqualTo( TupleOperationType.PUT );
+		assertThat( operations.get( "nickname" ) ).isEqualTo( TupleOperationType.REMOVE );
+
+		assertThat( tuple.getOperations() ).hasSize( 5 );
+	}
+
+	@Test
+	public void testChangesAppliedBeforeUsingColumnSlotsArePreserved() {
+		Tuple tuple = new Tuple();
+		tuple.put( "name", "Davide" );
+		tuple.put( "country", "Italy" );
+
+		tuple.useColumnSlots( SLOTS );
+		tuple.put( "age", 37 );
+
+		assertThat( tuple.get( "name" ) ).isEqualTo( "Davide" );
+		assertThat( tuple.get( "country" ) ).isEqualTo( "Italy" );
+		assertThat( tuple.get( "age" ) ).isEqualTo( 37 );
+
+		tuple.useColumnSlots( new ColumnSlots( Arrays.asList( "country" ) ) );
+
+		assertThat( tuple.getColumnNames() ).containsOnly( "name", "age", "country" );
+		for ( TupleOperation operation : tuple.getOperations() ) {
+			assertThat( operation.getType() ).isEqualTo( TupleOperationType.PUT );
+			assertThat( operation.getValue() ).isEqualTo( tuple.get( operation.getColumn() ) );
+		}
+	}
+
+	@Test
+	public void testOperationsWithColumnSlotsAreCreatedAgainOnlyAfterAChange() {
+		Tuple tuple = new Tuple();
+		tuple.useColumnSlots( SLOTS );
+		tuple.put( "name", "Davide" );
+
+		Set<TupleOperation> operations = tuple.getOperations();
+		assertThat( tuple.getOperations() ).isSameAs( operations );
+		assertThat( operations ).hasSize( 1 );
+
+		tuple.put( "age", 37 );
+
+		assertThat( tuple.getOperations() ).isNotSameAs( operations );
+		assertThat( tuple.getOperations() ).hasSize( 2 );
+		assertThat( operations ).hasSize( 1 );
+	}
+
+	@Test
+	public void testNoColumnSlots() {
+		Tuple tuple = new Tuple();
+		tuple.put( "name", "Davide" );
+		tuple.useColumnSlots( SLOTS );
+		tuple.put( "age", 37 );
+
+		// a type without slot table
+		tuple.useColumnSlots( null );
+		tuple.put( "city", "Rome" );
+
+		assertThat( tuple.getColumnNames() ).containsOnly( "name", "age", "city" );
+		assertThat( tuple.getOperations() ).hasSize( 3 );
+	}
+}
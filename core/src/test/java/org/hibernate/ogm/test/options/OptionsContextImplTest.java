@@ -264,6 +264,24 @@ public void shouldGiveGlobalOptionSetViaApiPrecedenceOverValueSetViaProperty() {
 		assertThat( context.getUnique( NameExampleOption.class ) ).isEqualTo( "foobar" );
 	}
 
+	@Test
+	public void shouldCreateSnapshotOnlyOncePerSnapshotType() {
+		// given
+		Class<?> entityType = Foo.class;
+		optionsServiceContext.addEntityOption( entityType, new NameExampleOption(), "foobar" );
+		OptionsContext context = OptionsContextImpl.forEntity( getSources(), entityType );
+
+		// when
+		String name = context.getSnapshot( String.class, c -> c.getUnique( NameExampleOption.class ) );
+		Integer length = context.getSnapshot( Integer.class, c -> c.getUnique( NameExampleOption.class ).length() );
+
+		// then
+		assertThat( name ).isEqualTo( "foobar" );
+		assertThat( length ).isEqualTo( 6 );
+		assertThat( context.getSnapshot( String.class, c -> "other" ) ).isSameAs( name );
+		assertThat( context.getSnapshot( Integer.class, c -> 0 ) ).isSameAs( length );
+	}
+
 	private List<OptionValueSource> getSources() {
 		return Arrays.<OptionValueSource>asList(
 				new ProgrammaticOptionValueSource( optionsServiceContext ),
@@ -0,0 +1,255 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.test.persister;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.StaleObjectStateException;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.dialect.impl.ForwardingGridDialect;
+import org.hibernate.ogm.dialect.spi.OperationContext;
+import org.hibernate.ogm.dialect.spi.TupleContext;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.utils.OgmTestCase;
+import org.hibernate.ogm.utils.TestHelper;
+import org.hibernate.type.Type;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the tuples used to check the version of the entities updated or deleted during a flush are read at once.
+ */
+public class FreshTuplePrefetchTest extends OgmTestCase {
+
+	private static final int NUMBER_OF_COINS = 5;
+
+	@Before
+	public void persistCoins() {
+		inTransaction( session -> {
+			for ( int i = 0; i < NUMBER_OF_COINS; i++ ) {
+				session.persist( new Coin( "coin-" + i, "Sestertius" ) );
+			}
+		} );
+	}
+
+	@After
+	public void removeCoins() {
+		inTransaction( session -> {
+			for ( int i = 0; i < NUMBER_OF_COINS; i++ ) {
+				Coin coin = session.get( Coin.class, "coin-" + i );
+				if ( coin != null ) {
+					session.delete( coin );
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testVersionsAreReadWithSingleCall() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.get( Coin.class, "coin-0" ).setName( "Denarius" );
+		session.get( Coin.class, "coin-1" ).setName( "Denarius" );
+		session.get( Coin.class, "coin-2" ).setName( "Denarius" );
+		session.delete( session.get( Coin.class, "coin-3" ) );
+		// Not modified
+		session.get( Coin.class, "coin-4" );
+
+		CountingGridDialect.reset();
+		transaction.commit();
+		session.close();
+
+		assertThat( CountingGridDialect.getTupleInvocations ).isEqualTo( 0 );
+		assertThat( CountingGridDialect.getTuplesInvocations ).containsOnly( 4 );
+
+		inTransaction( check -> {
+			assertThat( check.get( Coin.class, "coin-0" ).getVersion() ).isEqualTo( 1 );
+			assertThat( check.get( Coin.class, "coin-2" ).getName() ).isEqualTo( "Denarius" );
+			assertThat( check.get( Coin.class, "coin-3" ) ).isNull();
+			assertThat( check.get( Coin.class, "coin-4" ).getVersion() ).isEqualTo( 0 );
+		} );
+	}
+
+	@Test
+	public void testEntitiesFoundDirtyByTheInterceptorAreReadWithSingleCall() throws Exception {
+		Session session = sessionFactory.withOptions().interceptor( new DirtyNameInterceptor( "coin-0", "coin-1" ) ).openSession();
+		try {
+			Transaction transaction = session.beginTransaction();
+			// Not modified, but reported as dirty by the interceptor
+			session.get( Coin.class, "coin-0" );
+			session.get( Coin.class, "coin-1" );
+			session.get( Coin.class, "coin-2" );
+
+			CountingGridDialect.reset();
+			transaction.commit();
+		}
+		finally {
+			session.close();
+		}
+
+		assertThat( CountingGridDialect.getTupleInvocations ).isEqualTo( 0 );
+		assertThat( CountingGridDialect.getTuplesInvocations ).containsOnly( 2 );
+
+		inTransaction( check -> {
+			assertThat( check.get( Coin.class, "coin-0" ).getVersion() ).isEqualTo( 1 );
+			assertThat( check.get( Coin.class, "coin-1" ).getVersion() ).isEqualTo( 1 );
+			assertThat( check.get( Coin.class, "coin-2" ).getVersion() ).isEqualTo( 0 );
+		} );
+	}
+
+	@Test
+	public void testStaleEntityIsDetected() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.get( Coin.class, "coin-0" ).setName( "Denarius" );
+		session.get( Coin.class, "coin-1" ).setName( "Denarius" );
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			executor.submit( () -> {
+				inTransaction( concurrent -> concurrent.get( Coin.class, "coin-1" ).setName( "Aureus" ) );
+			} ).get();
+		}
+		finally {
+			executor.shutdown();
+		}
+
+		try {
+			transaction.commit();
+			throw new AssertionError( "The concurrent modification has not been detected" );
+		}
+		catch (RuntimeException e) {
+			Throwable cause = e;
+			while ( cause != null && !( cause instanceof StaleObjectStateException ) ) {
+				cause = cause.getCause();
+			}
+			assertThat( cause ).as( "Unexpected exception: " + e ).isNotNull();
+			assertThat( ( (StaleObjectStateException) cause ).getIdentifier() ).isEqualTo( "coin-1" );
+		}
+		finally {
+			if ( transaction.isActive() ) {
+				transaction.rollback();
+			}
+			session.close();
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Coin.class };
+	}
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( OgmProperties.GRID_DIALECT, CountingGridDialect.class );
+	}
+
+	@SuppressWarnings("serial")
+	public static class CountingGridDialect extends ForwardingGridDialect<Serializable> {
+
+		static volatile int getTupleInvocations;
+		static final List<Integer> getTuplesInvocations = new ArrayList<>();
+
+		public CountingGridDialect(DatastoreProvider provider) {
+			super( TestHelper.getCurrentGridDialect( provider ) );
+		}
+
+		static void reset() {
+			getTupleInvocations = 0;
+			getTuplesInvocations.clear();
+		}
+
+		@Override
+		public Tuple getTuple(EntityKey key, OperationContext operationContext) {
+			getTupleInvocations++;
+			return super.getTuple( key, operationContext );
+		}
+
+		@Override
+		public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
+			getTuplesInvocations.add( keys.length );
+			return super.getTuples( keys, tupleContext );
+		}
+	}
+
+	/**
+	 * Reports the name of the given coins as dirty.
+	 */
+	@SuppressWarnings("serial")
+	private static class DirtyNameInterceptor extends EmptyInterceptor {
+
+		private final List<String> dirtyCoins;
+
+		DirtyNameInterceptor(String... dirtyCoins) {
+			this.dirtyCoins = Arrays.asList( dirtyCoins );
+		}
+
+		@Override
+		public int[] findDirty(Object entity, Serializable id, Object[] currentState, Object[] previousState, String[] propertyNames, Type[] types) {
+			if ( dirtyCoins.contains( id ) ) {
+				return new int[] { Arrays.asList( propertyNames ).indexOf( "name" ) };
+			}
+			return null;
+		}
+	}
+
+	@Entity
+	@Table(name = "Coin")
+	public static class Coin {
+
+		@Id
+		private String id;
+
+		private String name;
+
+		@Version
+		private int version;
+
+		Coin() {
+		}
+
+		Coin(String id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getVersion() {
+			return version;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.util.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.type.impl.LongType;
+import org.hibernate.ogm.type.impl.UUIDType;
+import org.hibernate.ogm.type.spi.GridType;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ColumnValuesExtractor}.
+ */
+public class ColumnValuesExtractorTest {
+
+	private static final String[] COLUMNS = { "id" };
+	private static final String[] COMPOSITE_COLUMNS = { "id.name", "id.number" };
+
+	@Test
+	public void testPassThroughValue() {
+		assertSameValuesAsTuple( LongType.INSTANCE, 42L );
+		assertSameValuesAsTuple( LongType.INSTANCE, null );
+	}
+
+	@Test
+	public void testConvertedValue() {
+		assertSameValuesAsTuple( UUIDType.INSTANCE, UUID.randomUUID() );
+		assertSameValuesAsTuple( UUIDType.INSTANCE, null );
+	}
+
+	@Test
+	public void testCompositeValue() {
+		GridType gridType = compositeType();
+
+		assertSameValuesAsTuple( gridType, COMPOSITE_COLUMNS, new Object[] { "Davide", 42L } );
+		assertSameValuesAsTuple( gridType, COMPOSITE_COLUMNS, new Object[] { "Davide", null } );
+		assertSameValuesAsTuple( gridType, COMPOSITE_COLUMNS, null );
+		assertArrayEquals( new Object[] { "Davide", 42L },
+				ColumnValuesExtractor.create( gridType, COMPOSITE_COLUMNS ).extract( new Object[] { "Davide", 42L }, null ) );
+	}
+
+	@Test
+	public void testSingleColumnOfACompositeType() {
+		GridType gridType = compositeType();
+
+		assertSameValuesAsTuple( gridType, new String[] { "id.number" }, new Object[] { "Davide", 42L } );
+	}
+
+	private void assertSameValuesAsTuple(GridType gridType, Object value) {
+		assertSameValuesAsTuple( gridType, COLUMNS, value );
+	}
+
+	private void assertSameValuesAsTuple(GridType gridType, String[] columns, Object value) {
+		Object[] expected = LogicalPhysicalConverterHelper.getColumnsValuesFromObjectValue( value, gridType, columns, null );
+		Object[] actual = ColumnValuesExtractor.create( gridType, columns ).extract( value, null );
+
+		assertArrayEquals( expected, actual );
+	}
+
+	/*
+	 * Writes the values of an embedded id, in a different order than the columns and with a column that is not part of
+	 * the key, as a component type would.
+	 */
+	private static GridType compositeType() {
+		InvocationHandler handler = (proxy, method, args) -> {
+			if ( "nullSafeSet".equals( method.getName() ) && args.length == 4 ) {
+				Tuple tuple = (Tuple) args[0];
+				Object[] id = (Object[]) args[1];
+				tuple.put( "id.number", id == null ? null : id[1] );
+				tuple.put( "id.name", id == null ? null : id[0] );
+				tuple.put( "discriminator", "Person" );
+				return null;
+			}
+			throw new UnsupportedOperationException( method.getName() );
+		};
+		return (GridType) Proxy.newProxyInstance( GridType.class.getClassLoader(), new Class<?>[] { GridType.class }, handler );
+	}
+}
@@ -124,6 +124,13 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return association;
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext[] associationContexts) {
+		List<Association> associations = super.getAssociations( keys, associationContexts );
+		log( "getAssociations", Arrays.toString( keys ), associations != null ? associations.toString() : "null" );
+		return associations;
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 		Association association = super.createAssociation( key, associationContext );
@@ -6,13 +6,14 @@
  */
 package org.hibernate.ogm.datastore.infinispan;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.hibernate.LockMode;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
@@ -29,6 +30,8 @@
 import org.hibernate.ogm.datastore.infinispan.persistencestrategy.impl.LocalCacheManager.Bucket;
 import org.hibernate.ogm.datastore.map.impl.MapAssociationSnapshot;
 import org.hibernate.ogm.datastore.map.impl.MapHelpers;
+import org.hibernate.ogm.dialect.partition.spi.PartitionAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.spi.AssociationContext;
 import org.hibernate.ogm.dialect.spi.AssociationTypeContext;
@@ -57,11 +60,14 @@
 import org.hibernate.service.spi.ServiceRegistryImplementor;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
 import org.infinispan.atomic.AtomicMapLookup;
 import org.infinispan.atomic.FineGrainedAtomicMap;
+import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.manager.EmbeddedCacheManager;
-import org.infinispan.stream.CacheCollectors;
+import org.infinispan.util.function.SerializableFunction;
+import org.infinispan.util.function.SerializablePredicate;
 
 /**
  * EK is the entity cache key type
@@ -71,7 +77,13 @@
  * @author Emmanuel Bernard
  * @author Fabio Massimo Ercoli
  */
-public class InfinispanDialect<EK,AK,ISK> extends BaseGridDialect implements StoredProcedureAwareGridDialect, ServiceRegistryAwareService {
+public class InfinispanDialect<EK,AK,ISK> extends BaseGridDialect implements StoredProcedureAwareGridDialect, ServiceRegistryAwareService,
+		PartitionAwareGridDialect {
+
+	/**
+	 * The number of keys transferred at once from a node of the cluster when iterating over all the entities.
+	 */
+	private static final int FOR_EACH_TUPLE_BATCH_SIZE = 1000;
 
 	private final InfinispanEmbeddedDatastoreProvider provider;
 	private final InfinispanEmbeddedStoredProceduresManager storedProceduresDelegate;
@@ -212,22 +224,27 @@ public void forEachTuple( ModelConsumer consumer, TupleTypeContext tupleTypeCont
 		Set<Bucket<EK>> buckets = getCacheManager().getWorkBucketsFor( entityKeyMetadata );
 
 		for ( Bucket<EK> bucket : buckets ) {
-			Map<EK, Map<String, Object>> queryResult = new HashMap<>();
+			InfinispanTuplesSupplier supplier = new InfinispanTuplesSupplier( bucket.getCache(), getKeyProvider().getFilter( entityKeyMetadata ), null );
+			consumer.consume( supplier );
+		}
+	}
 
-			List<CacheEntry<EK, Map<String, Object>>> collect = bucket.getCache().getAdvancedCache().cacheEntrySet()
-				.stream()
-				.filter( getKeyProvider().getFilter( entityKeyMetadata ) )
-				// also collector needs to be Serializable (for non local caches)
-				.collect( CacheCollectors.serializableCollector( () -> Collectors.toList() ) );
+	@Override
+	public List<TuplePartition> getTuplePartitions(TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, int maxPartitions) {
+		List<TuplePartition> partitions = new ArrayList<>( maxPartitions );
+		for ( int i = 0; i < maxPartitions; i++ ) {
+			partitions.add( new InfinispanTuplePartition( i, maxPartitions ) );
+		}
+		return partitions;
+	}
 
-			for ( CacheEntry<EK, Map<String, Object>> entry : collect ) {
-				queryResult.put( entry.getKey(), entry.getValue() );
-			}
+	@Override
+	public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, TuplePartition partition) {
+		Set<Bucket<EK>> buckets = getCacheManager().getWorkBucketsFor( entityKeyMetadata );
 
-			// At runtime values of queryResult will be members of class org.infinispan.atomic.impl.AtomicKeySetImpl
-			// this is because of the new implementation of FineGrainedAtomicMap Infinispan class (since 9.1)
-			// query result return anyway valid keys, the values will be reloaded later by the InfinispanTupleIterator
-			InfinispanTuplesSupplier<EK> supplier = new InfinispanTuplesSupplier( bucket.getCache(), queryResult );
+		for ( Bucket<EK> bucket : buckets ) {
+			InfinispanTuplesSupplier supplier = new InfinispanTuplesSupplier( bucket.getCache(), getKeyProvider().getFilter( entityKeyMetadata ),
+					(InfinispanTuplePartition) partition );
 			consumer.consume( supplier );
 		}
 	}
@@ -253,46 +270,115 @@ public void injectServices(ServiceRegistryImplementor serviceRegistry) {
 		this.classLoaderService = serviceRegistry.getService( ClassLoaderService.class );
 	}
 
-	private class InfinispanTuplesSupplier<SEK> implements TuplesSupplier {
+	/**
+	 * Iterates lazily over the keys of the entities, the keys are fetched from the other nodes of the cluster
+	 * in batches of {@link #FOR_EACH_TUPLE_BATCH_SIZE} elements.
+	 */
+	private class InfinispanTuplesSupplier implements TuplesSupplier {
 
-		private final Map<SEK, Map<String, Object>> queryResult;
-		private final Cache<SEK, Map<String, Object>> cache;
+		private final Cache<EK, Map<String, Object>> cache;
+		private final SerializablePredicate<Entry<EK, Map<String, Object>>> filter;
+		private final InfinispanTuplePartition partition;
 
-		public InfinispanTuplesSupplier(Cache<SEK, Map<String, Object>> cache, Map<SEK, Map<String, Object>> queryResult) {
+		public InfinispanTuplesSupplier(Cache<EK, Map<String, Object>> cache, SerializablePredicate<Entry<EK, Map<String, Object>>> filter,
+				InfinispanTuplePartition partition) {
 			this.cache = cache;
-			this.queryResult = queryResult;
+			this.filter = filter;
+			this.partition = partition;
 		}
 
 		@Override
 		public ClosableIterator<Tuple> get(TransactionContext transactionContext) {
-			Iterator<Entry<SEK, Map<String, Object>>> iterator = queryResult.entrySet().iterator();
-			return new InfinispanTupleIterator( cache, iterator );
+			// At runtime the values of the entries are instances of org.infinispan.atomic.impl.AtomicKeySetImpl
+			// because of the implementation of FineGrainedAtomicMap (since Infinispan 9.1):
+			// we only transfer the keys, the tuples are loaded by the InfinispanTupleIterator
+			CacheStream<CacheEntry<EK, Map<String, Object>>> entries = cache.getAdvancedCache().cacheEntrySet()
+				.stream()
+				.distributedBatchSize( FOR_EACH_TUPLE_BATCH_SIZE );
+			if ( partition != null ) {
+				entries = partition.filter( cache, entries );
+			}
+			CacheStream<EK> keys = entries
+				.filter( filter )
+				.map( (SerializableFunction<CacheEntry<EK, Map<String, Object>>, EK>) CacheEntry::getKey );
+			return new InfinispanTupleIterator( cache, keys );
 		}
 	}
 
-	private class InfinispanTupleIterator<IEK> implements ClosableIterator<Tuple> {
+	/**
+	 * One of {@code count} disjoint subsets of the entries of a cache: if the cache is segmented, the subset is made of
+	 * the segments whose number modulo {@code count} is {@code index}, so that only the owners of those segments are
+	 * involved; otherwise the keys are distributed by hash code.
+	 */
+	private static class InfinispanTuplePartition implements TuplePartition {
+
+		private final int index;
+		private final int count;
+
+		public InfinispanTuplePartition(int index, int count) {
+			this.index = index;
+			this.count = count;
+		}
+
+		public <K> CacheStream<CacheEntry<K, Map<String, Object>>> filter(Cache<K, Map<String, Object>> cache, CacheStream<CacheEntry<K, Map<String, Object>>> entries) {
+			CacheMode cacheMode = cache.getCacheConfiguration().clustering().cacheMode();
+			if ( cacheMode.isDistributed() || cacheMode.isReplicated() ) {
+				int numSegments = cache.getCacheConfiguration().clustering().hash().numSegments();
+				Set<Integer> segments = new HashSet<>();
+				for ( int segment = index; segment < numSegments; segment += count ) {
+					segments.add( segment );
+				}
+				return entries.filterKeySegments( segments );
+			}
+			return entries.filter( hashFilter( index, count ) );
+		}
+
+		private static <K> SerializablePredicate<CacheEntry<K, Map<String, Object>>> hashFilter(int index, int count) {
+			return entry -> Math.floorMod( entry.getKey().hashCode(), count ) == index;
+		}
+
+		@Override
+		public String toString() {
+			return "InfinispanTuplePartition [" + index + "/" + count + "]";
+		}
+	}
 
-		private final Iterator<Entry<IEK, Map<String, Object>>> iterator;
-		private final Cache<IEK, Map<String, Object>> cache;
+	private class InfinispanTupleIterator implements ClosableIterator<Tuple> {
 
-		public InfinispanTupleIterator(Cache<IEK, Map<String, Object>> cache, Iterator<Entry<IEK, Map<String, Object>>> iterator) {
+		private final CacheStream<EK> stream;
+		private final Iterator<EK> keys;
+		private final Cache<EK, Map<String, Object>> cache;
+
+		private Tuple next;
+
+		public InfinispanTupleIterator(Cache<EK, Map<String, Object>> cache, CacheStream<EK> stream) {
 			this.cache = cache;
-			this.iterator = iterator;
+			this.stream = stream;
+			this.keys = stream.iterator();
 		}
 
 		@Override
 		public boolean hasNext() {
-			return iterator.hasNext();
+			while ( next == null && keys.hasNext() ) {
+				// The entity might have been removed in the meantime
+				next = getTupleFromCacheKey( keys.next(), cache );
+			}
+			return next != null;
 		}
 
 		@Override
 		public Tuple next() {
-			Entry<IEK, Map<String, Object>> entry = iterator.next();
-			return getTupleFromCacheKey( (EK) entry.getKey(), (Cache<EK, Map<String, Object>>) cache );
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			Tuple tuple = next;
+			next = null;
+			return tuple;
 		}
 
 		@Override
 		public void close() {
+			stream.close();
 		}
 	}
 
@@ -21,8 +21,6 @@
 import org.hibernate.ogm.model.impl.EntityKeyBuilder;
 import org.hibernate.ogm.model.key.spi.EntityKey;
 import org.hibernate.ogm.persister.impl.OgmEntityPersister;
-import org.hibernate.ogm.type.spi.GridType;
-import org.hibernate.ogm.type.spi.TypeTranslator;
 import org.hibernate.ogm.util.impl.Log;
 import org.hibernate.ogm.util.impl.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -35,8 +33,6 @@
 public class InfinispanPessimisticWriteLockingStrategy<EK> implements LockingStrategy {
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
-	protected final GridType identifierGridType;
-
 	private final LockMode lockMode;
 	private final Lockable lockable;
 
@@ -45,8 +41,6 @@
 	public InfinispanPessimisticWriteLockingStrategy(Lockable lockable, LockMode lockMode) {
 		this.lockMode = lockMode;
 		this.lockable = lockable;
-		TypeTranslator typeTranslator = lockable.getFactory().getServiceRegistry().getService( TypeTranslator.class );
-		this.identifierGridType = typeTranslator.getType( lockable.getIdentifierType() );
 
 		provider = getProvider( lockable.getFactory() );
 	}
@@ -59,11 +53,7 @@ public void lock(Serializable id, Object version, Object object, int timeout, Sh
 		KeyProvider<EK, ?, ?> keyProvider = getKeyProvider();
 
 		AdvancedCache<EK, ?> advCache = cacheManager.getEntityCache( ( (OgmEntityPersister) lockable ).getRootEntityKeyMetadata() ).getAdvancedCache();
-		EntityKey key = EntityKeyBuilder.fromData(
-				( (OgmEntityPersister) lockable ).getRootEntityKeyMetadata(),
-				identifierGridType,
-				id,
-				session );
+		EntityKey key = EntityKeyBuilder.lockKeyFromPersister( (OgmEntityPersister) lockable, id, session );
 		advCache.lock( keyProvider.getEntityCacheKey( key ) );
 		//FIXME check the version number as well and raise an optimistic lock exception if there is an issue JPA 2 spec: 3.4.4.2
 	}
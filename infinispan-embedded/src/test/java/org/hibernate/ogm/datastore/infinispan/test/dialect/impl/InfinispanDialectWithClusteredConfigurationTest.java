@@ -12,8 +12,11 @@
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.boot.model.relational.Database;
@@ -28,6 +31,8 @@
 import org.hibernate.ogm.datastore.infinispan.InfinispanProperties;
 import org.hibernate.ogm.datastore.infinispan.impl.InfinispanEmbeddedDatastoreProvider;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
+import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.spi.ModelConsumer;
 import org.hibernate.ogm.dialect.spi.NextValueRequest;
 import org.hibernate.ogm.dialect.spi.TuplesSupplier;
@@ -182,6 +187,120 @@ public void shouldApplyForEachTupleInClusteredMode() throws Exception {
 		assertThat( consumer.consumedTuple.get( "foo" ) ).isEqualTo( "bar" );
 	}
 
+	@Test
+	public void shouldStreamAllTuplesInClusteredMode() throws Exception {
+		// given more tuples than the keys fetched in one batch
+		EntityKeyMetadata keyMetadata = new DefaultEntityKeyMetadata( "Streamed", new String[] { "id" } );
+		EntityKeyMetadata otherKeyMetadata = new DefaultEntityKeyMetadata( "Foobar", new String[] { "id" } );
+		List<EntityKey> keys = insertTuples( keyMetadata, 1100 );
+		List<EntityKey> otherKeys = insertTuples( otherKeyMetadata, 10 );
+
+		try {
+			// when
+			CollectingConsumer consumer = new CollectingConsumer( Integer.MAX_VALUE );
+			dialect2.forEachTuple( consumer, emptyTupleTypeContext(), keyMetadata );
+
+			// then each tuple of the entity type is consumed once
+			assertThat( consumer.values ).hasSize( keys.size() );
+			assertThat( new HashSet<>( consumer.values ) ).hasSize( keys.size() );
+		}
+		finally {
+			removeTuples( keys );
+			removeTuples( otherKeys );
+		}
+	}
+
+	@Test
+	public void shouldStopStreamingTuplesWhenClosedInClusteredMode() throws Exception {
+		// given
+		EntityKeyMetadata keyMetadata = new DefaultEntityKeyMetadata( "Streamed", new String[] { "id" } );
+		List<EntityKey> keys = insertTuples( keyMetadata, 50 );
+
+		try {
+			// when the iterator is closed before the end
+			CollectingConsumer consumer = new CollectingConsumer( 10 );
+			dialect2.forEachTuple( consumer, emptyTupleTypeContext(), keyMetadata );
+
+			// then only the tuples read so far have been loaded
+			assertThat( consumer.values ).hasSize( 10 );
+
+			// and the cache can still be iterated
+			consumer = new CollectingConsumer( Integer.MAX_VALUE );
+			dialect2.forEachTuple( consumer, emptyTupleTypeContext(), keyMetadata );
+			assertThat( consumer.values ).hasSize( keys.size() );
+		}
+		finally {
+			removeTuples( keys );
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldStreamDisjointPartitionsInClusteredMode() throws Exception {
+		// given
+		EntityKeyMetadata keyMetadata = new DefaultEntityKeyMetadata( "Streamed", new String[] { "id" } );
+		List<EntityKey> keys = insertTuples( keyMetadata, 100 );
+
+		try {
+			// when
+			List<Object> values = new ArrayList<>();
+			List<TuplePartition> partitions = dialect2.getTuplePartitions( emptyTupleTypeContext(), keyMetadata, 3 );
+			for ( TuplePartition partition : partitions ) {
+				CollectingConsumer consumer = new CollectingConsumer( Integer.MAX_VALUE );
+				dialect2.forEachTuple( consumer, emptyTupleTypeContext(), keyMetadata, partition );
+				values.addAll( consumer.values );
+			}
+
+			// then each tuple belongs to exactly one partition
+			assertThat( values ).hasSize( keys.size() );
+			assertThat( new HashSet<>( values ) ).hasSize( keys.size() );
+		}
+		finally {
+			removeTuples( keys );
+		}
+	}
+
+	private static List<EntityKey> insertTuples(EntityKeyMetadata keyMetadata, int count) {
+		List<EntityKey> keys = new ArrayList<>( count );
+		for ( int i = 0; i < count; i++ ) {
+			EntityKey key = new EntityKey( keyMetadata, new Object[] { i } );
+			Tuple tuple = dialect1.createTuple( key, emptyTupleContext() );
+			tuple.put( "id", i );
+			tuple.put( "foo", keyMetadata.getTable() + i );
+			dialect1.insertOrUpdateTuple( key, new TuplePointer( tuple ), emptyTupleContext() );
+			keys.add( key );
+		}
+		return keys;
+	}
+
+	private static void removeTuples(List<EntityKey> keys) {
+		for ( EntityKey key : keys ) {
+			dialect1.removeTuple( key, emptyTupleContext() );
+		}
+	}
+
+	/**
+	 * Collects the value of the column "foo" of at most {@code limit} tuples, then closes the iterator.
+	 */
+	private static final class CollectingConsumer implements ModelConsumer {
+
+		private final int limit;
+		private final List<Object> values = new ArrayList<>();
+
+		private CollectingConsumer(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		public void consume(TuplesSupplier supplier) {
+			try ( ClosableIterator<Tuple> tuples = supplier.get( null ) ) {
+				while ( values.size() < limit && tuples.hasNext() ) {
+					values.add( tuples.next().get( "foo" ) );
+				}
+			}
+		}
+	}
+
 	private final class MyConsumer implements ModelConsumer {
 
 		private Tuple consumedTuple;
@@ -241,7 +360,15 @@ private static SessionFactoryImplementor getSessionFactory(String configFile) {
 		when( generator.getGeneratorKeyMetadata() ).thenReturn( DefaultIdSourceKeyMetadata.forTable( "Hibernate_Sequences", "sequence_name", "next_val" ) );
 		when( foobarPersister.getIdentifierGenerator() ).thenReturn( generator );
 
-		when( metamodel.entityPersisters() ).thenReturn( Collections.<String, EntityPersister>singletonMap( "Foobar", foobarPersister ) );
+		OgmEntityPersister streamedPersister = mock( OgmEntityPersister.class );
+		when( streamedPersister.getEntityKeyMetadata() ).thenReturn( new DefaultEntityKeyMetadata( "Streamed", new String[] {} ) );
+		when( streamedPersister.getPropertyNames() ).thenReturn( new String[] {} );
+		when( streamedPersister.getIdentifierGenerator() ).thenReturn( generator );
+
+		Map<String, EntityPersister> entityPersisters = new HashMap<>();
+		entityPersisters.put( "Foobar", foobarPersister );
+		entityPersisters.put( "Streamed", streamedPersister );
+		when( metamodel.entityPersisters() ).thenReturn( entityPersisters );
 
 		// collection persister
 		OgmCollectionPersister foobarCollectionPersister = mock( OgmCollectionPersister.class );
@@ -7,8 +7,11 @@
 package org.hibernate.ogm.datastore.infinispanremote;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -16,8 +19,11 @@
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.hibernate.AssertionFailure;
+import org.hibernate.ogm.datastore.infinispanremote.impl.AssociationRowWrites;
 import org.hibernate.ogm.datastore.infinispanremote.impl.InfinispanRemoteDatastoreProvider;
 import org.hibernate.ogm.datastore.infinispanremote.impl.InfinispanRemoteStoredProceduresManager;
 import org.hibernate.ogm.datastore.infinispanremote.impl.ProtoStreamMappingAdapter;
@@ -37,8 +43,11 @@
 import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateAssociationOperation;
 import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateTupleOperation;
 import org.hibernate.ogm.dialect.batch.spi.Operation;
+import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
 import org.hibernate.ogm.dialect.batch.spi.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.spi.RemoveTupleOperation;
 import org.hibernate.ogm.dialect.impl.AbstractGroupingByEntityDialect;
+import org.hibernate.ogm.dialect.multiget.spi.MultigetAssociationGridDialect;
 import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
 import org.hibernate.ogm.dialect.query.spi.BackendQuery;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
@@ -98,7 +107,7 @@
  * @author Sanne Grinovero
  * @author Fabio Massimo Ercoli
  */
-public class InfinispanRemoteDialect<EK, AK, ISK> extends AbstractGroupingByEntityDialect implements QueryableGridDialect<InfinispanRemoteQueryDescriptor>, MultigetGridDialect, StoredProcedureAwareGridDialect {
+public class InfinispanRemoteDialect<EK, AK, ISK> extends AbstractGroupingByEntityDialect implements QueryableGridDialect<InfinispanRemoteQueryDescriptor>, MultigetGridDialect, MultigetAssociationGridDialect, StoredProcedureAwareGridDialect {
 
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
@@ -138,8 +147,49 @@ public Tuple createTuple(EntityKey key, OperationContext operationContext) {
 		return new VersionedTuple();
 	}
 
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		if ( provider.getMaxPendingWrites() == 0 ) {
+			super.executeBatch( queue );
+		}
+		else if ( !queue.isClosed() ) {
+			final PendingWrites pendingWrites = new PendingWrites( provider.getMaxPendingWrites() );
+			try {
+				Operation operation = queue.poll();
+				while ( operation != null ) {
+					if ( operation instanceof GroupedChangesToEntityOperation ) {
+						executeGroupedChangesToEntity( (GroupedChangesToEntityOperation) operation, pendingWrites );
+					}
+					else if ( operation instanceof RemoveTupleOperation ) {
+						removeTuple( ( (RemoveTupleOperation) operation ).getEntityKey(), pendingWrites );
+					}
+					else {
+						throw new UnsupportedOperationException( "Operation not supported: " + operation.getClass().getSimpleName() );
+					}
+					operation = queue.poll();
+				}
+			}
+			catch (RuntimeException e) {
+				// Don't leave writes running after the failure has been reported
+				pendingWrites.awaitAllQuietly();
+				throw e;
+			}
+			pendingWrites.awaitAll();
+
+			queue.clear();
+		}
+	}
+
 	@Override
 	protected void executeGroupedChangesToEntity(GroupedChangesToEntityOperation groupedOperation) {
+		applyGroupedChangesToEntity( groupedOperation ).flushOperations();
+	}
+
+	private void executeGroupedChangesToEntity(GroupedChangesToEntityOperation groupedOperation, PendingWrites pendingWrites) {
+		applyGroupedChangesToEntity( groupedOperation ).flushOperations( pendingWrites );
+	}
+
+	private OwningEntity applyGroupedChangesToEntity(GroupedChangesToEntityOperation groupedOperation) {
 		final EntityKey entityKey = groupedOperation.getEntityKey();
 		final String cacheName = cacheName( entityKey );
 		final OwningEntity owningEntity = new OwningEntity( provider, entityKey );
@@ -151,7 +201,7 @@ protected void executeGroupedChangesToEntity(GroupedChangesToEntityOperation gro
 				owningEntity.applyOperations( tuple );
 			}
 			else if ( operation instanceof InsertOrUpdateAssociationOperation ) {
-				insertOrUpdateAssociation( (InsertOrUpdateAssociationOperation) operation );
+				insertOrUpdateAssociation( (InsertOrUpdateAssociationOperation) operation, owningEntity.getAssociationRowWrites() );
 			}
 			else if ( operation instanceof RemoveAssociationOperation ) {
 				log.debugf( "removeAssociation for key '%s' on cache '%s'", entityKey, cacheName );
@@ -163,7 +213,7 @@ else if ( operation instanceof RemoveAssociationOperation ) {
 			}
 		}
 
-		owningEntity.flushOperations();
+		return owningEntity;
 	}
 
 	@Override
@@ -201,6 +251,9 @@ private static class OwningEntity {
 		// Keep track of the association to remove that are not contained in the entity
 		private final List<AssociationKey> associationsToRemove = new ArrayList<>();
 
+		// The changes to the associations mapped as dedicated entries
+		private final AssociationRowWrites associationRowWrites = new AssociationRowWrites();
+
 		private final EntityKey ownerEntityKey;
 
 		// A representation of the entity that we want to create or insert
@@ -214,15 +267,47 @@ public OwningEntity(InfinispanRemoteDatastoreProvider provider, EntityKey entity
 			this.ownerEntityKey = entityKey;
 		}
 
+		public AssociationRowWrites getAssociationRowWrites() {
+			return associationRowWrites;
+		}
+
 		public void flushOperations() {
+			removeAssociationsFromBridgeTables();
+			associationRowWrites.flush();
+
+			if ( owningEntity != null ) {
+				flushEntity();
+			}
+		}
+
+		/**
+		 * Sends the changes without waiting for them, the association rows and the entity entry counting as a single
+		 * pending write.
+		 */
+		public void flushOperations(PendingWrites pendingWrites) {
+			pendingWrites.beforeWrite( ownerEntityKey );
 			if ( !associationsToRemove.isEmpty() ) {
-				for ( AssociationKey key : associationsToRemove ) {
-					removeAssociationFromBridgeTable( provider, key );
-				}
+				// The rows written so far must be found by the queries looking for the rows to remove
+				pendingWrites.awaitAll();
+				removeAssociationsFromBridgeTables();
 			}
+			CompletableFuture<Void> rowWrites = associationRowWrites.flushAsync();
 
 			if ( owningEntity != null ) {
-				flushEntity();
+				pendingWrites.add( ownerEntityKey, CompletableFuture.allOf( rowWrites, flushEntityAsync() ) );
+			}
+			else {
+				pendingWrites.add( ownerEntityKey, rowWrites );
+			}
+		}
+
+		private void removeAssociationsFromBridgeTables() {
+			if ( !associationsToRemove.isEmpty() ) {
+				// The rows written by this group must be found by the queries looking for the rows to remove
+				associationRowWrites.flush();
+				for ( AssociationKey key : associationsToRemove ) {
+					removeAssociationFromBridgeTable( provider, key, associationRowWrites );
+				}
 			}
 		}
 
@@ -240,6 +325,20 @@ private void flushEntity() {
 			}
 		}
 
+		private CompletableFuture<?> flushEntityAsync() {
+			Tuple versionedTuple = new Tuple( new MapTupleSnapshot( owningEntity ), operationType );
+			ProtoStreamMappingAdapter mapper = provider.getDataMapperForCache( cacheName( ownerEntityKey ) );
+			ProtostreamId idBuffer = mapper.createIdPayload( ownerEntityKey.getColumnNames(), ownerEntityKey.getColumnValues() );
+			ProtostreamPayload valuePayload = mapper.createValuePayload( versionedTuple );
+
+			if ( operationType == SnapshotType.INSERT ) {
+				return insertEntityAsync( mapper, idBuffer, valuePayload );
+			}
+			else {
+				return mapper.withinCacheEncodingContext( c -> c.putAsync( idBuffer, valuePayload ) );
+			}
+		}
+
 		private void updateEntity(ProtoStreamMappingAdapter mapper, ProtostreamId idBuffer, ProtostreamPayload valuePayload) {
 			mapper.withinCacheEncodingContext( c -> c.put( idBuffer, valuePayload ) );
 		}
@@ -253,6 +352,16 @@ private void insertEntity(ProtoStreamMappingAdapter mapper, ProtostreamId idBuff
 			}
 		}
 
+		private CompletableFuture<Void> insertEntityAsync(ProtoStreamMappingAdapter mapper, ProtostreamId idBuffer, ProtostreamPayload valuePayload) {
+			CompletableFuture<ProtostreamPayload> insert = mapper.withinCacheEncodingContext( c -> c.putIfAbsentAsync( idBuffer, valuePayload ) );
+			return insert.thenAccept( result -> {
+				boolean optimisticLockError = null != result;
+				if ( optimisticLockError ) {
+					throw new TupleAlreadyExistsException( ownerEntityKey );
+				}
+			} );
+		}
+
 		public void removeAssociation(RemoveAssociationOperation removeAssociationOperation) {
 			AssociationKey associationKey = removeAssociationOperation.getAssociationKey();
 			AssociationContext associationContext = removeAssociationOperation.getContext();
@@ -300,13 +409,13 @@ private Map<String, Object> getEntityFromTuple(Map<String, Object> owningEntity,
 		}
 	}
 
-	private void insertOrUpdateAssociation(InsertOrUpdateAssociationOperation insertOrUpdateAssociationOperation) {
+	private void insertOrUpdateAssociation(InsertOrUpdateAssociationOperation insertOrUpdateAssociationOperation, AssociationRowWrites associationRowWrites) {
 		AssociationKey associationKey = insertOrUpdateAssociationOperation.getAssociationKey();
 		org.hibernate.ogm.model.spi.Association association = insertOrUpdateAssociationOperation.getAssociation();
 		AssociationContext associationContext = insertOrUpdateAssociationOperation.getContext();
 
 		if ( !associationStoredWithinEntityEntry( associationKey, associationContext ) ) {
-			insertOrUpdateAssociationMappedAsDedicatedEntries( associationKey, association, associationContext );
+			insertOrUpdateAssociationMappedAsDedicatedEntries( associationKey, association, associationRowWrites );
 		}
 
 		association.reset();
@@ -331,6 +440,15 @@ public void removeTuple(EntityKey key, TupleContext tupleContext) {
 		mapper.withinCacheEncodingContext( c -> c.remove( idBuffer ) );
 	}
 
+	private void removeTuple(EntityKey key, PendingWrites pendingWrites) {
+		final String cacheName = cacheName( key );
+		log.debugf( "removeTuple for key '%s' on cache '%s'", key, cacheName );
+		ProtoStreamMappingAdapter mapper = provider.getDataMapperForCache( cacheName );
+		ProtostreamId idBuffer = mapper.createIdPayload( key.getColumnNames(), key.getColumnValues() );
+		pendingWrites.beforeWrite( key );
+		pendingWrites.add( key, mapper.withinCacheEncodingContext( c -> c.removeAsync( idBuffer ) ) );
+	}
+
 	private static String cacheName(EntityKey key) {
 		return key.getTable();
 	}
@@ -358,6 +476,31 @@ public Association getAssociation(AssociationKey key, AssociationContext associa
 		return new Association( new MapAssociationSnapshot( results ) );
 	}
 
+	@Override
+	public List<Association> getAssociations(AssociationKey[] keys, AssociationContext[] associationContexts) {
+		// The position of each owner in the array of keys, identified by the values of the columns of the key
+		Map<List<Object>, Integer> owners = new HashMap<>();
+		for ( int i = 0; i < keys.length; i++ ) {
+			if ( !referencesDeleteEntity( keys[i], associationContexts[i] ) ) {
+				owners.put( Arrays.asList( keys[i].getColumnValues() ), i );
+			}
+		}
+
+		List<Association> associations = new ArrayList<>( Collections.<Association>nCopies( keys.length, null ) );
+		if ( owners.isEmpty() ) {
+			return associations;
+		}
+
+		List<Map<RowKey, Map<String, Object>>> results = loadRowKeysOfOwnersByQuery( provider, keys, owners );
+		for ( int i = 0; i < keys.length; i++ ) {
+			Map<RowKey, Map<String, Object>> rows = results.get( i );
+			if ( !rows.isEmpty() ) {
+				associations.set( i, new Association( new MapAssociationSnapshot( rows ) ) );
+			}
+		}
+		return associations;
+	}
+
 	private boolean referencesDeleteEntity(AssociationKey key, AssociationContext associationContext) {
 		// only join columns could contain references to deleted objects
 		if ( !isAJoinColumn( key ) ) {
@@ -422,13 +565,65 @@ private static Map<RowKey, Map<String, Object>> loadRowKeysByQuery(InfinispanRem
 		} );
 	}
 
+	/**
+	 * Loads the rows of the associations of several owners with a single query. All the keys have the same
+	 * metadata.
+	 * <p>
+	 * The query selects the rows using an {@code in} condition on each column of the key. With composite keys these
+	 * conditions also match the combinations of column values of different owners: the rows of the owners not
+	 * requested are discarded.
+	 */
+	private static List<Map<RowKey, Map<String, Object>>> loadRowKeysOfOwnersByQuery(InfinispanRemoteDatastoreProvider provider, AssociationKey[] keys, Map<List<Object>, Integer> owners) {
+		final String cacheName = cacheName( keys[0] );
+		final String[] columnNames = keys[0].getColumnNames();
+		ProtostreamAssociationMappingAdapter mapper = provider.getCollectionsDataMapper( cacheName );
+		return mapper.withinCacheEncodingContext( c -> {
+			QueryBuilder qb = Search.getQueryFactory( c ).from( provider.getEntityType( c ) );
+			FilterConditionContext bqEnd = null;
+			for ( int i = 0; i < columnNames.length; i++ ) {
+				Set<Object> columnValues = new HashSet<>();
+				for ( List<Object> ownerColumnValues : owners.keySet() ) {
+					columnValues.add( ownerColumnValues.get( i ) );
+				}
+				String fieldName = mapper.convertColumnNameToFieldName( columnNames[i] );
+				if ( bqEnd == null ) {
+					bqEnd = qb.having( fieldName ).in( columnValues );
+				}
+				else {
+					bqEnd = bqEnd.and().having( fieldName ).in( columnValues );
+				}
+			}
+			Query query = bqEnd.toBuilder().build();
+
+			List<Map<RowKey, Map<String, Object>>> resultsCollector = new ArrayList<>( keys.length );
+			for ( int i = 0; i < keys.length; i++ ) {
+				resultsCollector.add( new HashMap<>() );
+			}
+			try ( CloseableIterator<Entry<Object,Object>> iterator = c.retrieveEntriesByQuery( query, null, 100 ) ) {
+				while ( iterator.hasNext() ) {
+					Entry<Object,Object> e = iterator.next();
+					ProtostreamPayload value = ( (ProtostreamPayload) e.getValue() );
+					Object[] ownerColumnValues = new Object[columnNames.length];
+					for ( int i = 0; i < columnNames.length; i++ ) {
+						ownerColumnValues[i] = value.getColumnValue( columnNames[i] );
+					}
+					Integer owner = owners.get( Arrays.asList( ownerColumnValues ) );
+					if ( owner != null ) {
+						resultsCollector.get( owner ).put( value.asRowKey( keys[owner] ), value.toMap() );
+					}
+				}
+			}
+			return resultsCollector;
+		} );
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey key, AssociationContext associationContext) {
 		Map<RowKey, Map<String, Object>> associationMap = new HashMap<RowKey, Map<String,Object>>();
 		return new Association( new MapAssociationSnapshot( associationMap ) );
 	}
 
-	private void insertOrUpdateAssociationMappedAsDedicatedEntries(AssociationKey key, Association association, AssociationContext associationContext) {
+	private void insertOrUpdateAssociationMappedAsDedicatedEntries(AssociationKey key, Association association, AssociationRowWrites associationRowWrites) {
 		final String cacheName = cacheName( key );
 		final ProtoStreamMappingAdapter mapper = provider.getDataMapperForCache( cacheName );
 		log.debugf( "insertOrUpdateAssociation for key '%s' on cache '%s', mapped as dedicated entries in ad-hoc table", key, cacheName );
@@ -440,10 +635,10 @@ private void insertOrUpdateAssociationMappedAsDedicatedEntries(AssociationKey ke
 			switch ( type ) {
 				case PUT:
 					ProtostreamPayload valuePayloadForPut = mapper.createValuePayload( ao.getValue() );
-					mapper.withinCacheEncodingContext( c -> c.put( idBuffer, valuePayloadForPut ) );
+					associationRowWrites.put( cacheName, mapper, idBuffer, valuePayloadForPut );
 					break;
 				case REMOVE:
-					mapper.withinCacheEncodingContext( c -> c.remove( idBuffer ) );
+					associationRowWrites.remove( cacheName, mapper, idBuffer );
 					break;
 				case CLEAR:
 					throw new AssertionFailure( "Request for CLEAR operation on an association mapped to dedicated entries. Makes no sense?" );
@@ -451,7 +646,7 @@ private void insertOrUpdateAssociationMappedAsDedicatedEntries(AssociationKey ke
 		}
 	}
 
-	private static void removeAssociationFromBridgeTable(InfinispanRemoteDatastoreProvider provider, AssociationKey key) {
+	private static void removeAssociationFromBridgeTable(InfinispanRemoteDatastoreProvider provider, AssociationKey key, AssociationRowWrites associationRowWrites) {
 		final String bridgeTable = cacheName( key );
 		final ProtoStreamMappingAdapter mapper = provider.getDataMapperForCache( bridgeTable );
 		Map<RowKey, Map<String, Object>> rowsMap = loadRowKeysByQuery( provider, key );
@@ -459,7 +654,76 @@ private static void removeAssociationFromBridgeTable(InfinispanRemoteDatastorePr
 			String[] columnNames = rowKey.getColumnNames();
 			Object[] columnValues = rowKey.getColumnValues();
 			ProtostreamId idBuffer = mapper.createIdPayload( columnNames, columnValues );
-			mapper.withinCacheEncodingContext( c -> c.remove( idBuffer ) );
+			associationRowWrites.remove( bridgeTable, mapper, idBuffer );
+		}
+	}
+
+	/**
+	 * The writes of a flush, executed asynchronously with at most a given number of them running at the same time.
+	 * <p>
+	 * A write covers all the changes of one entity: its entry and the rows of its associations, or its removal. The
+	 * first failure is reported once all the pending writes have completed.
+	 */
+	private static class PendingWrites {
+
+		private final int maxPendingWrites;
+		private final Deque<CompletableFuture<?>> pending = new ArrayDeque<>();
+
+		// The entities with a write sent since the last time all the writes have been awaited
+		private final Set<EntityKey> writtenEntities = new HashSet<>();
+
+		private RuntimeException failure;
+
+		public PendingWrites(int maxPendingWrites) {
+			this.maxPendingWrites = maxPendingWrites;
+		}
+
+		/**
+		 * Waits until a new write can be sent: there is room for it and the previous writes of the same entity have
+		 * completed, so that the writes of an entity are applied in the order they have been sent.
+		 */
+		public void beforeWrite(EntityKey entityKey) {
+			if ( writtenEntities.contains( entityKey ) ) {
+				awaitAll();
+			}
+			while ( pending.size() >= maxPendingWrites ) {
+				await( pending.poll() );
+			}
+			if ( failure != null ) {
+				awaitAll();
+			}
+		}
+
+		public void add(EntityKey entityKey, CompletableFuture<?> write) {
+			pending.add( write );
+			writtenEntities.add( entityKey );
+		}
+
+		public void awaitAll() {
+			awaitAllQuietly();
+			if ( failure != null ) {
+				RuntimeException e = failure;
+				failure = null;
+				throw e;
+			}
+		}
+
+		public void awaitAllQuietly() {
+			while ( !pending.isEmpty() ) {
+				await( pending.poll() );
+			}
+			writtenEntities.clear();
+		}
+
+		private void await(CompletableFuture<?> write) {
+			try {
+				write.join();
+			}
+			catch (CompletionException e) {
+				if ( failure == null ) {
+					failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+				}
+			}
 		}
 	}
 
@@ -524,9 +788,24 @@ else if ( keys.length == 1 ) {
 				keyConversionMatch.put( ek, idBuffer );
 				convertedKeys.add( idBuffer );
 			}
-			final Map<ProtostreamId, ProtostreamPayload> loadedBulk = mapper.withinCacheEncodingContext( c -> {
-				//TODO getAll doesn't support versioned entries ?!
-				return c.getAll( convertedKeys );
+			final Map<ProtostreamId, MetadataValue<ProtostreamPayload>> loadedBulk = mapper.withinCacheEncodingContext( c -> {
+				// The Hot Rod client has no versioned bulk read: getAll doesn't return the versions of the entries and
+				// retrieveEntriesWithMetadata iterates over whole segments. The versioned reads are sent without waiting
+				// for each other instead, so the batch costs about a single round trip
+				final Map<ProtostreamId, CompletableFuture<MetadataValue<ProtostreamPayload>>> pendingReads = new HashMap<>();
+				for ( ProtostreamId id : convertedKeys ) {
+					pendingReads.put( id, c.getWithMetadataAsync( id ) );
+				}
+				CompletableFuture.allOf( pendingReads.values().toArray( new CompletableFuture<?>[pendingReads.size()] ) ).join();
+
+				final Map<ProtostreamId, MetadataValue<ProtostreamPayload>> loaded = new HashMap<>();
+				for ( Entry<ProtostreamId, CompletableFuture<MetadataValue<ProtostreamPayload>>> read : pendingReads.entrySet() ) {
+					MetadataValue<ProtostreamPayload> value = read.getValue().join();
+					if ( value != null ) {
+						loaded.put( read.getKey(), value );
+					}
+				}
+				return loaded;
 			} );
 
 			final List<Tuple> results = new ArrayList<>( keys.length );
@@ -537,12 +816,14 @@ else if ( keys.length == 1 ) {
 					continue;
 				}
 				ProtostreamId protostreamId = keyConversionMatch.get( originalKey );
-				ProtostreamPayload payload = loadedBulk.get( protostreamId );
-				if ( payload == null ) {
+				MetadataValue<ProtostreamPayload> v = loadedBulk.get( protostreamId );
+				if ( v == null || v.getValue() == null ) {
 					results.add( null );
 					continue;
 				}
-				results.add( payload.toTuple( SnapshotType.UNKNOWN ) );
+				VersionedTuple versionedTuple = v.getValue().toVersionedTuple( SnapshotType.UPDATE );
+				versionedTuple.setVersion( v.getVersion() );
+				results.add( versionedTuple );
 			}
 			return results;
 		}
@@ -118,6 +118,38 @@ public final class InfinispanRemoteProperties implements KeyValueStoreProperties
 	 */
 	public static final String DEFAULT_TRANSACTION_MODE = TransactionMode.NON_DURABLE_XA.name();
 
+	/**
+	 * The maximum number of entities whose writes are sent to the server without waiting for their completion while
+	 * flushing. The writes of an entity are its entry, or its removal, and the rows of its associations.
+	 * <p>
+	 * When greater than 0, the writes of a flush are executed asynchronously and the flush waits for all of them to
+	 * complete before returning. When 0, asynchronous writes are disabled: each write is executed synchronously.
+	 * Accepts a positive integer or 0; defaults to {@link #DEFAULT_MAX_PENDING_WRITES}.
+	 */
+	public static final String MAX_PENDING_WRITES = "hibernate.ogm.infinispan_remote.max_pending_writes";
+
+	/**
+	 * By default, asynchronous writes are disabled.
+	 * @see #MAX_PENDING_WRITES
+	 */
+	public static final int DEFAULT_MAX_PENDING_WRITES = 0;
+
+	/**
+	 * The number of values of a {@link javax.persistence.TableGenerator} reserved on the server with each update of
+	 * the generator value.
+	 * <p>
+	 * When greater than 1, the reserved values are handed out locally to the concurrent threads without locking and
+	 * without contacting the server; the values not used before the application stops are lost.
+	 * Accepts an integer; defaults to {@link #DEFAULT_TABLE_GENERATOR_PREFETCH}.
+	 */
+	public static final String TABLE_GENERATOR_PREFETCH = "hibernate.ogm.infinispan_remote.table_generator_prefetch";
+
+	/**
+	 * By default, each value is reserved on the server.
+	 * @see #TABLE_GENERATOR_PREFETCH
+	 */
+	public static final int DEFAULT_TABLE_GENERATOR_PREFETCH = 1;
+
 	private InfinispanRemoteProperties() {
 	}
 
@@ -18,6 +18,7 @@
 import java.util.Map.Entry;
 import java.util.Properties;
 
+import org.hibernate.HibernateException;
 import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.ogm.cfg.OgmProperties;
@@ -31,6 +32,7 @@
 import org.hibernate.ogm.datastore.infinispanremote.schema.spi.SchemaCapture;
 import org.hibernate.ogm.datastore.infinispanremote.schema.spi.SchemaOverride;
 import org.hibernate.ogm.util.configurationreader.spi.ConfigurationPropertyReader;
+import org.hibernate.ogm.util.configurationreader.spi.PropertyValidator;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
 
 import org.infinispan.client.hotrod.configuration.TransactionMode;
@@ -67,6 +69,26 @@ public class InfinispanRemoteConfiguration {
 
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
+	private static final PropertyValidator<Integer> MAX_PENDING_WRITES_VALIDATOR = new PropertyValidator<Integer>() {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value != null && value < 0 ) {
+				throw log.illegalMaxPendingWritesValue( value );
+			}
+		}
+	};
+
+	private static final PropertyValidator<Integer> TABLE_GENERATOR_PREFETCH_VALIDATOR = new PropertyValidator<Integer>() {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value != null && value < 1 ) {
+				throw log.illegalTableGeneratorPrefetchValue( value );
+			}
+		}
+	};
+
 	/**
 	 * The prefix used by many configuration properties for Hot Rod
 	 */
@@ -119,6 +141,10 @@ public class InfinispanRemoteConfiguration {
 
 	private TransactionMode transactionMode;
 
+	private int maxPendingWrites;
+
+	private int tableGeneratorPrefetch;
+
 	/**
 	 * The location of the configuration file.
 	 *
@@ -176,6 +202,22 @@ public TransactionMode getTransactionMode() {
 		return transactionMode;
 	}
 
+	/**
+	 * @see InfinispanRemoteProperties#MAX_PENDING_WRITES
+	 * @return the maximum number of entities whose writes are executed asynchronously during a flush, 0 if the writes are synchronous
+	 */
+	public int getMaxPendingWrites() {
+		return maxPendingWrites;
+	}
+
+	/**
+	 * @see InfinispanRemoteProperties#TABLE_GENERATOR_PREFETCH
+	 * @return the number of values of a table generator reserved with each update of the generator value
+	 */
+	public int getTableGeneratorPrefetch() {
+		return tableGeneratorPrefetch;
+	}
+
 	/**
 	 * Initialize the internal values from the given {@link Map}.
 	 *
@@ -236,6 +278,18 @@ public void initConfiguration(Map<?, ?> configurationMap, ServiceRegistryImpleme
 
 		this.transactionMode = extractTransactionMode( transactionModeString );
 
+		this.maxPendingWrites = propertyReader
+				.property( InfinispanRemoteProperties.MAX_PENDING_WRITES, int.class )
+				.withDefault( InfinispanRemoteProperties.DEFAULT_MAX_PENDING_WRITES )
+				.withValidator( MAX_PENDING_WRITES_VALIDATOR )
+				.getValue();
+
+		this.tableGeneratorPrefetch = propertyReader
+				.property( InfinispanRemoteProperties.TABLE_GENERATOR_PREFETCH, int.class )
+				.withDefault( InfinispanRemoteProperties.DEFAULT_TABLE_GENERATOR_PREFETCH )
+				.withValidator( TABLE_GENERATOR_PREFETCH_VALIDATOR )
+				.getValue();
+
 		log.tracef( "Initializing Infinispan Hot Rod client from configuration file at '%1$s'", configurationResource );
 	}
 
@@ -0,0 +1,97 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.infinispanremote.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamId;
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamPayload;
+
+/**
+ * The writes to the entries of the associations mapped as dedicated entries, collected per cache.
+ * <p>
+ * Instead of one round trip per row, the rows to store are sent with a single {@code putAll} per cache and the
+ * removals are pipelined, waiting for all of them to complete only once. A put and a removal of the same row cancel
+ * each other out, only the last one is sent.
+ */
+public class AssociationRowWrites {
+
+	private final Map<String, CacheRowWrites> writesPerCache = new LinkedHashMap<>();
+
+	public void put(String cacheName, ProtoStreamMappingAdapter mapper, ProtostreamId id, ProtostreamPayload payload) {
+		CacheRowWrites writes = getCacheRowWrites( cacheName, mapper );
+		writes.removals.remove( id );
+		writes.puts.put( id, payload );
+	}
+
+	public void remove(String cacheName, ProtoStreamMappingAdapter mapper, ProtostreamId id) {
+		CacheRowWrites writes = getCacheRowWrites( cacheName, mapper );
+		writes.puts.remove( id );
+		writes.removals.add( id );
+	}
+
+	private CacheRowWrites getCacheRowWrites(String cacheName, ProtoStreamMappingAdapter mapper) {
+		CacheRowWrites writes = writesPerCache.get( cacheName );
+		if ( writes == null ) {
+			writes = new CacheRowWrites( mapper );
+			writesPerCache.put( cacheName, writes );
+		}
+		return writes;
+	}
+
+	/**
+	 * Sends the collected writes and waits for them to complete.
+	 */
+	public void flush() {
+		flushAsync().join();
+	}
+
+	/**
+	 * Sends the collected writes.
+	 *
+	 * @return a future completed once all the writes have completed
+	 */
+	public CompletableFuture<Void> flushAsync() {
+		CompletableFuture<?>[] writes = new CompletableFuture<?>[writesPerCache.size()];
+		int i = 0;
+		for ( CacheRowWrites cacheWrites : writesPerCache.values() ) {
+			writes[i++] = cacheWrites.flushAsync();
+		}
+		writesPerCache.clear();
+		return CompletableFuture.allOf( writes );
+	}
+
+	private static class CacheRowWrites {
+
+		private final ProtoStreamMappingAdapter mapper;
+		private final Map<ProtostreamId, ProtostreamPayload> puts = new LinkedHashMap<>();
+		private final Set<ProtostreamId> removals = new LinkedHashSet<>();
+
+		public CacheRowWrites(ProtoStreamMappingAdapter mapper) {
+			this.mapper = mapper;
+		}
+
+		public CompletableFuture<Void> flushAsync() {
+			return mapper.withinCacheEncodingContext( c -> {
+				List<CompletableFuture<?>> writes = new ArrayList<>( removals.size() + 1 );
+				for ( ProtostreamId id : removals ) {
+					writes.add( c.removeAsync( id ) );
+				}
+				if ( !puts.isEmpty() ) {
+					writes.add( c.putAllAsync( puts ) );
+				}
+				return CompletableFuture.allOf( writes.toArray( new CompletableFuture<?>[writes.size()] ) );
+			} );
+		}
+	}
+}
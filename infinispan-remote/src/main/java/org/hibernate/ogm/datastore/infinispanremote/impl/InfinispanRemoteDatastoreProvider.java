@@ -16,6 +16,7 @@
 import org.hibernate.boot.model.relational.Sequence;
 import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
 import org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteDialect;
+import org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties;
 import org.hibernate.ogm.datastore.infinispanremote.configuration.impl.InfinispanRemoteConfiguration;
 import org.hibernate.ogm.datastore.infinispanremote.impl.cachehandler.HotRodCacheCreationHandler;
 import org.hibernate.ogm.datastore.infinispanremote.impl.cachehandler.HotRodCacheHandler;
@@ -121,6 +122,12 @@ public class InfinispanRemoteDatastoreProvider extends BaseDatastoreProvider
 	@EffectivelyFinal
 	private TransactionMode transactionMode;
 
+	@EffectivelyFinal
+	private int maxPendingWrites;
+
+	@EffectivelyFinal
+	private int tableGeneratorPrefetch;
+
 	@Override
 	public Class<? extends GridDialect> getDefaultDialect() {
 		return InfinispanRemoteDialect.class;
@@ -155,6 +162,8 @@ public void configure(Map configurationValues) {
 		this.createCachesEnabled = config.isCreateCachesEnabled();
 		this.cacheConfiguration = config.getCacheConfiguration();
 		this.transactionMode = config.getTransactionMode();
+		this.maxPendingWrites = config.getMaxPendingWrites();
+		this.tableGeneratorPrefetch = config.getTableGeneratorPrefetch();
 	}
 
 	@Override
@@ -273,6 +282,22 @@ public <K, V> RemoteCache<K, V> getScriptExecutorCache() {
 		return scriptManager.getCache();
 	}
 
+	/**
+	 * @see InfinispanRemoteProperties#MAX_PENDING_WRITES
+	 * @return the maximum number of entities whose writes are executed asynchronously during a flush, 0 if the writes are synchronous
+	 */
+	public int getMaxPendingWrites() {
+		return maxPendingWrites;
+	}
+
+	/**
+	 * @see InfinispanRemoteProperties#TABLE_GENERATOR_PREFETCH
+	 * @return the number of values of a table generator reserved with each update of the generator value
+	 */
+	public int getTableGeneratorPrefetch() {
+		return tableGeneratorPrefetch;
+	}
+
 	public RemoteCacheManager getManager() {
 		return hotrodClient;
 	}
@@ -60,7 +60,7 @@ public Number getSequenceValue(NextValueRequest request) {
 			if ( sequenceTableDefinition == null ) {
 				throw log.valueRequestedForUnknownSequence( request.getKey().getTable(), request.getKey().getColumnValue() );
 			}
-			return new SequencesPerCache( provider.getCache( cacheName ) );
+			return new SequencesPerCache( provider.getCache( cacheName ), provider.getTableGeneratorPrefetch() );
 		}
 		);
 		return sequencesSet.getSequenceValue( request );
@@ -7,6 +7,7 @@
 package org.hibernate.ogm.datastore.infinispanremote.impl.sequences;
 
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.ogm.datastore.infinispanremote.logging.impl.Log;
 import org.hibernate.ogm.datastore.infinispanremote.logging.impl.LoggerFactory;
@@ -27,6 +28,12 @@
  * alternative ID assignment strategies in the domain model; ideally
  * application assigned.
  *
+ * To reduce the contention, each CAS operation can reserve the values of several
+ * requests at once (see {@link org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties#TABLE_GENERATOR_PREFETCH}):
+ * the reserved values are then handed out locally without locking, and only the
+ * thread finding the reserved range exhausted goes back to the server.
+ * The remote value is always the last value reserved by a client.
+ *
  * Also, the Hot Rod client API currently doesn't allow to issue both the
  * CAS operation and return the new version in case of failure, so the failure of
  * an optimistic replace operation needs to re-read the version, introducing
@@ -40,46 +47,70 @@ public final class HotRodSequencer {
 
 	private static final int START_EXPONENTIAL_FALLBACK = 10;
 
+	private static final int MAX_EXPONENTIAL_FALLBACK = 10;
+
 	private static final int LOG_WARNING_EACH_N_OPS = 10;
 
 	private final RemoteCache<SequenceId, Long> remoteCache;
 	private final int increment;
+	private final int prefetch;
 	private final SequenceId id;
 	private final Random random = new Random();
 
+	// The values reserved on the server and not handed out yet
+	private volatile Range range = Range.EXHAUSTED;
+
+	// Only accessed while reserving a new range
 	private long lastKnownVersion = -1;
 	private Long lastKnownRemoteValue = null;
 
 	HotRodSequencer(
 			RemoteCache<SequenceId, Long> remoteCache,
-			NextValueRequest initialRequest) {
+			NextValueRequest initialRequest,
+			int prefetch) {
 				this.remoteCache = remoteCache;
 				this.increment = initialRequest.getIncrement();
+				this.prefetch = prefetch;
 				this.id = new SequenceId( initialRequest.getKey().getColumnValue() );
 	}
 
 	Number getSequenceValue(NextValueRequest request) {
-		return getSequenceValueInternal( request );
+		while ( true ) {
+			Range current = range;
+			Long value = current.next();
+			if ( value != null ) {
+				return value;
+			}
+			reserveRange( current, request );
+		}
 	}
 
-	private synchronized Number getSequenceValueInternal(NextValueRequest request) {
+	private synchronized void reserveRange(Range exhausted, NextValueRequest request) {
+		if ( range != exhausted ) {
+			// Another thread has already reserved new values
+			return;
+		}
+		long reservedValues = (long) increment * prefetch;
 		if ( lastKnownRemoteValue == null ) {
-			Long initialValue = (long) request.getInitialValue();
-			Long previous = remoteCache.putIfAbsent( id, initialValue );
+			long firstValue = request.getInitialValue();
+			Long lastValue = firstValue + reservedValues - increment;
+			Long previous = remoteCache.putIfAbsent( id, lastValue );
 			//Side effects: initialize fields with first known values from remote
 			getRemoteVersion();
 			if ( previous == null ) {
-				//if the putIfAbsent CAS was successful, we can return already
-				return lastKnownRemoteValue;
+				//if the putIfAbsent CAS was successful, we can use the first range already
+				range = new Range( firstValue, lastValue, increment );
+				return;
 			}
 		}
 		//now to CAS:
 		int casCycle = 0;
 		while ( true ) {
-			Long targetValue = Long.valueOf( lastKnownRemoteValue.longValue() + increment );
+			Long targetValue = Long.valueOf( lastKnownRemoteValue.longValue() + reservedValues );
 			boolean done = attemptCASWriteValue( targetValue );
 			if ( done ) {
-				return targetValue;
+				range = new Range( targetValue - reservedValues + increment, targetValue, increment );
+				return;
 			}
 			else {
 				//On failure of CAS, refresh what we know about the remote version and value:
@@ -96,7 +127,7 @@ private synchronized Number getSequenceValueInternal(NextValueRequest request) {
 	}
 
 	private void delayRandomizerAtCycle(int casCycle) {
-		final int exponentialMaxMilliseconds = 2 ^ casCycle;
+		final int exponentialMaxMilliseconds = 1 << Math.min( casCycle, MAX_EXPONENTIAL_FALLBACK );
 		final int nextWait = random.nextInt( exponentialMaxMilliseconds );
 		if ( nextWait == 0 ) {
 			return;
@@ -128,4 +159,29 @@ private void getRemoteVersion() {
 		lastKnownRemoteValue = (Long) versioned.getValue();
 	}
 
+	/**
+	 * Values reserved on the server, handed out by concurrent threads without locking.
+	 */
+	private static final class Range {
+
+		private static final Range EXHAUSTED = new Range( 1, 0, 1 );
+
+		private final AtomicLong next;
+		private final long last;
+		private final int increment;
+
+		private Range(long first, long last, int increment) {
+			this.next = new AtomicLong( first );
+			this.last = last;
+			this.increment = increment;
+		}
+
+		/**
+		 * @return the next value of the range, {@code null} if all the values have been handed out
+		 */
+		private Long next() {
+			long value = next.getAndAdd( increment );
+			return value <= last ? value : null;
+		}
+	}
 }
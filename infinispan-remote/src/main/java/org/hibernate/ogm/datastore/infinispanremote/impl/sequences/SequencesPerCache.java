@@ -17,16 +17,18 @@
 public class SequencesPerCache {
 
 	private final RemoteCache<SequenceId, Long> remoteCache;
+	private final int prefetch;
 	private final ConcurrentMap<IdSourceKey,HotRodSequencer> sequencers = new ConcurrentHashMap<>();
 
-	SequencesPerCache(RemoteCache<SequenceId, Long> remoteCache) {
+	SequencesPerCache(RemoteCache<SequenceId, Long> remoteCache, int prefetch) {
 		this.remoteCache = Objects.requireNonNull( remoteCache );
+		this.prefetch = prefetch;
 	}
 
 	public Number getSequenceValue(NextValueRequest request) {
 		IdSourceKey key = request.getKey();
 		HotRodSequencer sequencer = sequencers.computeIfAbsent( key, v ->
-			new HotRodSequencer( remoteCache, request )
+			new HotRodSequencer( remoteCache, request, prefetch )
 		);
 		return sequencer.getSequenceValue( request );
 	}
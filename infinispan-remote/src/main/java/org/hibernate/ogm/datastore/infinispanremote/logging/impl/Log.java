@@ -104,4 +104,10 @@ public interface Log extends org.hibernate.ogm.util.impl.Log {
 
 	@Message(id = 1725, value = "Provided ProtoBuf schema has an invalid cache definition: %s")
 	HibernateException providedSchemaHasAnInvalidCacheDefinition(String tableName);
+
+	@Message(id = 1726, value = "Illegal value for the maximum number of pending writes: %d; it must be greater or equal to 0")
+	HibernateException illegalMaxPendingWritesValue(int value);
+
+	@Message(id = 1727, value = "Illegal value for the table generator prefetch: %d; it must be greater than 0")
+	HibernateException illegalTableGeneratorPrefetchValue(int value);
 }
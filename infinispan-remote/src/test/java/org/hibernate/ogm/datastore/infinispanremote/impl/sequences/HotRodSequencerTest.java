@@ -0,0 +1,208 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.infinispanremote.impl.sequences;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.ogm.dialect.spi.NextValueRequest;
+import org.hibernate.ogm.model.impl.DefaultIdSourceKeyMetadata;
+import org.hibernate.ogm.model.key.spi.IdSourceKey;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.VersionedValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link HotRodSequencer}: the values handed out by concurrent threads, and by several clients sharing
+ * the same entry, must be unique even when each CAS operation reserves several values.
+ */
+public class HotRodSequencerTest {
+
+	private static final IdSourceKey KEY = IdSourceKey.forTable(
+			DefaultIdSourceKeyMetadata.forTable( "hibernate_sequences", "sequence_name", "next_val" ), "Order" );
+
+	private static final int THREADS = 8;
+	private static final int VALUES_PER_THREAD = 500;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+
+	private SequenceEntry entry;
+	private RemoteCache<SequenceId, Long> remoteCache;
+
+	@Before
+	public void setUpCache() {
+		entry = new SequenceEntry();
+		remoteCache = entry.remoteCache();
+	}
+
+	@After
+	public void shutDownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testPrefetchedValuesFollowTheSequence() throws Exception {
+		HotRodSequencer sequencer = new HotRodSequencer( remoteCache, request( 3, 5 ), 4 );
+
+		List<Long> values = new ArrayList<>();
+		for ( int i = 0; i < 10; i++ ) {
+			values.add( sequencer.getSequenceValue( request( 3, 5 ) ).longValue() );
+		}
+
+		assertThat( values ).containsExactly( 5L, 8L, 11L, 14L, 17L, 20L, 23L, 26L, 29L, 32L );
+		// The remote value is the last value reserved
+		assertThat( entry.value ).isEqualTo( 5L + 11 * 3 );
+		assertThat( entry.writes ).isEqualTo( 3 );
+	}
+
+	@Test
+	public void testConcurrentThreadsGetUniqueValues() throws Exception {
+		HotRodSequencer sequencer = new HotRodSequencer( remoteCache, request( 1, 1 ), 10 );
+
+		List<Long> values = generateConcurrently( Collections.nCopies( THREADS, sequencer ), 1, 1 );
+
+		assertThat( values ).hasSize( THREADS * VALUES_PER_THREAD );
+		assertThat( new HashSet<>( values ) ).hasSize( THREADS * VALUES_PER_THREAD );
+		// A single client consumes all the values it reserves
+		assertThat( Collections.min( values ) ).isEqualTo( 1L );
+		assertThat( Collections.max( values ) ).isEqualTo( (long) THREADS * VALUES_PER_THREAD );
+		assertThat( entry.writes ).isEqualTo( THREADS * VALUES_PER_THREAD / 10 );
+	}
+
+	@Test
+	public void testClientsSharingTheEntryGetUniqueValues() throws Exception {
+		List<HotRodSequencer> clients = new ArrayList<>();
+		for ( int i = 0; i < THREADS; i++ ) {
+			// Clients with different settings must be consistent
+			clients.add( new HotRodSequencer( remoteCache, request( 2, 1 ), i % 2 == 0 ? 1 : 7 ) );
+		}
+
+		List<Long> values = generateConcurrently( clients, 2, 1 );
+
+		assertThat( values ).hasSize( THREADS * VALUES_PER_THREAD );
+		Set<Long> uniqueValues = new HashSet<>( values );
+		assertThat( uniqueValues ).hasSize( THREADS * VALUES_PER_THREAD );
+		for ( Long value : uniqueValues ) {
+			assertThat( ( value - 1 ) % 2 ).isEqualTo( 0L );
+		}
+		assertThat( Collections.max( values ) ).isLessThanOrEqualTo( entry.value );
+	}
+
+	@Test
+	public void testValueIsGeneratedAfterManyFailedCasOperations() throws Exception {
+		HotRodSequencer sequencer = new HotRodSequencer( remoteCache, request( 1, 1 ), 5 );
+		for ( int i = 0; i < 5; i++ ) {
+			sequencer.getSequenceValue( request( 1, 1 ) );
+		}
+
+		// The randomized backoff starts after 10 failures
+		entry.failingReplaces = 15;
+		Number value = sequencer.getSequenceValue( request( 1, 1 ) );
+
+		assertThat( value ).isEqualTo( 6L );
+		assertThat( entry.failingReplaces ).isEqualTo( 0 );
+	}
+
+	private List<Long> generateConcurrently(List<HotRodSequencer> sequencers, int increment, int initialValue) throws Exception {
+		CountDownLatch start = new CountDownLatch( 1 );
+		List<Future<List<Long>>> futures = new ArrayList<>();
+		for ( HotRodSequencer sequencer : sequencers ) {
+			Callable<List<Long>> task = () -> {
+				start.await();
+				List<Long> values = new ArrayList<>();
+				for ( int i = 0; i < VALUES_PER_THREAD; i++ ) {
+					values.add( sequencer.getSequenceValue( request( increment, initialValue ) ).longValue() );
+				}
+				return values;
+			};
+			futures.add( executor.submit( task ) );
+		}
+		start.countDown();
+
+		List<Long> values = new ArrayList<>();
+		for ( Future<List<Long>> future : futures ) {
+			values.addAll( future.get( 30, TimeUnit.SECONDS ) );
+		}
+		return values;
+	}
+
+	private static NextValueRequest request(int increment, int initialValue) {
+		return new NextValueRequest( KEY, increment, initialValue );
+	}
+
+	/**
+	 * Simulates the versioned entry of the sequence stored on the server.
+	 */
+	private static class SequenceEntry {
+
+		private Long value;
+		private long version;
+		private int writes;
+		private int failingReplaces;
+
+		@SuppressWarnings("unchecked")
+		private RemoteCache<SequenceId, Long> remoteCache() {
+			RemoteCache<SequenceId, Long> remoteCache = mock( RemoteCache.class );
+			when( remoteCache.putIfAbsent( any( SequenceId.class ), any( Long.class ) ) )
+					.thenAnswer( invocation -> putIfAbsent( (Long) invocation.getArguments()[1] ) );
+			when( remoteCache.getVersioned( any( SequenceId.class ) ) )
+					.thenAnswer( invocation -> getVersioned() );
+			when( remoteCache.replaceWithVersion( any( SequenceId.class ), any( Long.class ), anyLong() ) )
+					.thenAnswer( invocation -> replaceWithVersion( (Long) invocation.getArguments()[1], (Long) invocation.getArguments()[2] ) );
+			return remoteCache;
+		}
+
+		private synchronized Long putIfAbsent(Long newValue) {
+			if ( value != null ) {
+				return value;
+			}
+			value = newValue;
+			version++;
+			writes++;
+			return null;
+		}
+
+		@SuppressWarnings("unchecked")
+		private synchronized VersionedValue<Long> getVersioned() {
+			VersionedValue<Long> versioned = mock( VersionedValue.class );
+			when( versioned.getValue() ).thenReturn( value );
+			when( versioned.getVersion() ).thenReturn( version );
+			return versioned;
+		}
+
+		private synchronized boolean replaceWithVersion(Long newValue, long expectedVersion) {
+			if ( failingReplaces > 0 ) {
+				failingReplaces--;
+				return false;
+			}
+			if ( expectedVersion != version ) {
+				return false;
+			}
+			value = newValue;
+			version++;
+			writes++;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.infinispanremote.test.dialect;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.ogm.datastore.infinispanremote.impl.AssociationRowWrites;
+import org.hibernate.ogm.datastore.infinispanremote.impl.CacheOperation;
+import org.hibernate.ogm.datastore.infinispanremote.impl.ProtoStreamMappingAdapter;
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamId;
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamPayload;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit test for {@link AssociationRowWrites}: the rows must be sent in as few round trips as possible.
+ */
+public class AssociationRowWritesTest {
+
+	private static final String CACHE = "Student_ClassRoom";
+
+	private final AssociationRowWrites writes = new AssociationRowWrites();
+
+	private RemoteCache<ProtostreamId, ProtostreamPayload> cache;
+	private ProtoStreamMappingAdapter mapper;
+	private CompletableFuture<ProtostreamPayload> pendingRemoval;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUpCache() {
+		pendingRemoval = new CompletableFuture<>();
+		cache = mock( RemoteCache.class );
+		when( cache.removeAsync( any() ) ).thenReturn( pendingRemoval );
+		when( cache.putAllAsync( anyMap() ) ).thenReturn( CompletableFuture.completedFuture( null ) );
+		mapper = mapperFor( cache );
+	}
+
+	@Test
+	public void testRowsAreStoredWithASinglePutAll() throws Exception {
+		writes.put( CACHE, mapper, id( 1 ), payload() );
+		writes.put( CACHE, mapper, id( 2 ), payload() );
+		writes.put( CACHE, mapper, id( 3 ), payload() );
+
+		writes.flushAsync();
+
+		assertThat( sentRows().keySet() ).containsOnly( id( 1 ), id( 2 ), id( 3 ) );
+		verify( cache, never() ).put( any(), any() );
+		verify( cache, never() ).putAsync( any(), any() );
+		verify( cache, never() ).removeAsync( any() );
+	}
+
+	@Test
+	public void testRemovalsArePipelined() throws Exception {
+		writes.remove( CACHE, mapper, id( 1 ) );
+		writes.remove( CACHE, mapper, id( 2 ) );
+
+		CompletableFuture<Void> flush = writes.flushAsync();
+
+		verify( cache ).removeAsync( id( 1 ) );
+		verify( cache ).removeAsync( id( 2 ) );
+		verify( cache, never() ).remove( any() );
+		verify( cache, never() ).putAllAsync( anyMap() );
+
+		// The removals have all been sent before any of them completes
+		assertThat( flush.isDone() ).isFalse();
+		pendingRemoval.complete( null );
+		assertThat( flush.isDone() ).isTrue();
+	}
+
+	@Test
+	public void testPutFollowedByRemoveOfTheSameRowOnlySendsTheRemoval() throws Exception {
+		writes.put( CACHE, mapper, id( 1 ), payload() );
+		writes.put( CACHE, mapper, id( 2 ), payload() );
+		writes.remove( CACHE, mapper, id( 1 ) );
+
+		writes.flushAsync();
+
+		verify( cache, times( 1 ) ).removeAsync( any() );
+		verify( cache ).removeAsync( id( 1 ) );
+		assertThat( sentRows().keySet() ).containsOnly( id( 2 ) );
+	}
+
+	@Test
+	public void testRemoveFollowedByPutOfTheSameRowOnlySendsThePut() throws Exception {
+		writes.remove( CACHE, mapper, id( 1 ) );
+		writes.put( CACHE, mapper, id( 1 ), payload() );
+
+		writes.flushAsync();
+
+		verify( cache, never() ).removeAsync( any() );
+		assertThat( sentRows().keySet() ).containsOnly( id( 1 ) );
+	}
+
+	@Test
+	public void testWritesAreGroupedPerCache() throws Exception {
+		RemoteCache<ProtostreamId, ProtostreamPayload> otherCache = mockCache();
+		ProtoStreamMappingAdapter otherMapper = mapperFor( otherCache );
+
+		writes.put( CACHE, mapper, id( 1 ), payload() );
+		writes.put( "Other", otherMapper, id( 2 ), payload() );
+		writes.put( CACHE, mapper, id( 3 ), payload() );
+
+		writes.flushAsync();
+
+		verify( mapper, times( 1 ) ).withinCacheEncodingContext( any( CacheOperation.class ) );
+		verify( otherMapper, times( 1 ) ).withinCacheEncodingContext( any( CacheOperation.class ) );
+		assertThat( sentRows().keySet() ).containsOnly( id( 1 ), id( 3 ) );
+		verify( otherCache ).putAllAsync( anyMap() );
+	}
+
+	@Test
+	public void testFlushedWritesAreNotSentAgain() throws Exception {
+		writes.put( CACHE, mapper, id( 1 ), payload() );
+		writes.flushAsync();
+
+		CompletableFuture<Void> flush = writes.flushAsync();
+
+		assertThat( flush.isDone() ).isTrue();
+		verify( mapper, times( 1 ) ).withinCacheEncodingContext( any( CacheOperation.class ) );
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<ProtostreamId, ProtostreamPayload> sentRows() {
+		ArgumentCaptor<Map> rows = ArgumentCaptor.forClass( Map.class );
+		verify( cache, times( 1 ) ).putAllAsync( rows.capture() );
+		return rows.getValue();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static RemoteCache<ProtostreamId, ProtostreamPayload> mockCache() {
+		RemoteCache<ProtostreamId, ProtostreamPayload> cache = mock( RemoteCache.class );
+		when( cache.putAllAsync( anyMap() ) ).thenReturn( CompletableFuture.completedFuture( null ) );
+		return cache;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static ProtoStreamMappingAdapter mapperFor(RemoteCache<ProtostreamId, ProtostreamPayload> cache) {
+		ProtoStreamMappingAdapter mapper = mock( ProtoStreamMappingAdapter.class );
+		when( mapper.withinCacheEncodingContext( any( CacheOperation.class ) ) )
+				.thenAnswer( invocation -> ( (CacheOperation<?>) invocation.getArguments()[0] ).doOnCache( cache ) );
+		return mapper;
+	}
+
+	private static ProtostreamId id(int value) {
+		return new ProtostreamId( new String[] { "id" }, new Object[] { value }, "RowId" );
+	}
+
+	private static ProtostreamPayload payload() {
+		return new ProtostreamPayload( new Tuple(), "Row" );
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.infinispanremote.test.dialect;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.hibernate.ogm.utils.GridDialectOperationContexts.emptyTupleContext;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.fest.assertions.Fail;
+import org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteDialect;
+import org.hibernate.ogm.datastore.infinispanremote.impl.CacheOperation;
+import org.hibernate.ogm.datastore.infinispanremote.impl.InfinispanRemoteDatastoreProvider;
+import org.hibernate.ogm.datastore.infinispanremote.impl.ProtoStreamMappingAdapter;
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamId;
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamPayload;
+import org.hibernate.ogm.datastore.map.impl.MapTupleSnapshot;
+import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateTupleOperation;
+import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
+import org.hibernate.ogm.dialect.spi.TupleAlreadyExistsException;
+import org.hibernate.ogm.entityentry.impl.TuplePointer;
+import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.model.spi.Tuple.SnapshotType;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the writes sent by {@link InfinispanRemoteDialect} when a batch of operations is executed, depending on
+ * {@link org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties#MAX_PENDING_WRITES}.
+ */
+public class PendingWritesTest {
+
+	private static final EntityKeyMetadata KEY_METADATA = new DefaultEntityKeyMetadata( "Order", new String[] { "id" } );
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	private final List<CompletableFuture<ProtostreamPayload>> sentWrites = Collections.synchronizedList( new ArrayList<>() );
+
+	private RemoteCache<ProtostreamId, ProtostreamPayload> cache;
+	private InfinispanRemoteDatastoreProvider provider;
+	private InfinispanRemoteDialect<?, ?, ?> dialect;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUpDialect() {
+		cache = mock( RemoteCache.class );
+		when( cache.putAsync( any(), any() ) ).thenAnswer( invocation -> {
+			CompletableFuture<ProtostreamPayload> write = new CompletableFuture<>();
+			sentWrites.add( write );
+			return write;
+		} );
+
+		ProtoStreamMappingAdapter mapper = mock( ProtoStreamMappingAdapter.class );
+		when( mapper.createIdPayload( any( String[].class ), any( Object[].class ) ) ).thenAnswer(
+				invocation -> new ProtostreamId( (String[]) invocation.getArguments()[0], (Object[]) invocation.getArguments()[1], "OrderId" ) );
+		when( mapper.createValuePayload( any( Tuple.class ) ) ).thenReturn( payload() );
+		when( mapper.withinCacheEncodingContext( any( CacheOperation.class ) ) )
+				.thenAnswer( invocation -> ( (CacheOperation<?>) invocation.getArguments()[0] ).doOnCache( cache ) );
+
+		provider = mock( InfinispanRemoteDatastoreProvider.class );
+		when( provider.getDataMapperForCache( anyString() ) ).thenReturn( mapper );
+		dialect = new InfinispanRemoteDialect<>( provider );
+	}
+
+	@After
+	public void shutDownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testWritesAreSynchronousByDefault() throws Exception {
+		OperationsQueue queue = new OperationsQueue();
+		update( queue, 1L );
+		update( queue, 2L );
+		insert( queue, 3L );
+
+		dialect.executeBatch( queue );
+
+		verify( cache, times( 2 ) ).put( any(), any() );
+		verify( cache ).putIfAbsent( any(), any() );
+		verify( cache, never() ).putAsync( any(), any() );
+		verify( cache, never() ).putIfAbsentAsync( any(), any() );
+	}
+
+	@Test
+	public void testPendingWritesAreBounded() throws Exception {
+		when( provider.getMaxPendingWrites() ).thenReturn( 2 );
+		OperationsQueue queue = new OperationsQueue();
+		update( queue, 1L );
+		update( queue, 2L );
+		update( queue, 3L );
+		update( queue, 4L );
+
+		Future<?> batch = executor.submit( () -> dialect.executeBatch( queue ) );
+
+		assertSentWrites( 2 );
+		completeWrite( 0 );
+		assertSentWrites( 3 );
+		completeWrite( 1 );
+		assertSentWrites( 4 );
+		completeWrite( 2 );
+		assertThat( batch.isDone() ).isFalse();
+
+		completeWrite( 3 );
+		batch.get( 10, TimeUnit.SECONDS );
+		verify( cache, never() ).put( any(), any() );
+	}
+
+	@Test(expected = TupleAlreadyExistsException.class)
+	public void testInsertOfAnExistingEntryIsReportedAsTupleAlreadyExists() throws Exception {
+		when( provider.getMaxPendingWrites() ).thenReturn( 10 );
+		when( cache.putIfAbsentAsync( any(), any() ) ).thenReturn( CompletableFuture.completedFuture( payload() ) );
+		when( cache.putAsync( any(), any() ) ).thenReturn( CompletableFuture.completedFuture( null ) );
+		OperationsQueue queue = new OperationsQueue();
+		update( queue, 1L );
+		insert( queue, 2L );
+		update( queue, 3L );
+
+		dialect.executeBatch( queue );
+	}
+
+	@Test
+	public void testExistingEntryIsReportedOnceAllPendingWritesHaveCompleted() throws Exception {
+		when( provider.getMaxPendingWrites() ).thenReturn( 10 );
+		when( cache.putIfAbsentAsync( any(), any() ) ).thenReturn( CompletableFuture.completedFuture( payload() ) );
+		OperationsQueue queue = new OperationsQueue();
+		insert( queue, 1L );
+		update( queue, 2L );
+
+		Future<?> batch = executor.submit( () -> dialect.executeBatch( queue ) );
+
+		assertSentWrites( 1 );
+		assertThat( batch.isDone() ).isFalse();
+		completeWrite( 0 );
+		try {
+			batch.get( 10, TimeUnit.SECONDS );
+			Fail.fail( "The insert of an existing entry should have failed" );
+		}
+		catch (ExecutionException e) {
+			assertThat( e.getCause() ).isInstanceOf( TupleAlreadyExistsException.class );
+		}
+	}
+
+	private void assertSentWrites(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis( 10 );
+		while ( sentWrites.size() < expected && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+		}
+		// Leave some time to a write sent too early
+		Thread.sleep( 100 );
+		assertThat( sentWrites ).hasSize( expected );
+	}
+
+	private void completeWrite(int index) {
+		sentWrites.get( index ).complete( null );
+	}
+
+	private static void update(OperationsQueue queue, long id) {
+		Tuple tuple = new Tuple( new MapTupleSnapshot( new HashMap<>() ), SnapshotType.UPDATE );
+		tuple.put( "status", "SHIPPED" );
+		queue.add( new InsertOrUpdateTupleOperation( new TuplePointer( tuple ), key( id ), emptyTupleContext() ) );
+	}
+
+	private static void insert(OperationsQueue queue, long id) {
+		Tuple tuple = new Tuple();
+		tuple.put( "id", id );
+		tuple.put( "status", "NEW" );
+		queue.add( new InsertOrUpdateTupleOperation( new TuplePointer( tuple ), key( id ), emptyTupleContext() ) );
+	}
+
+	private static EntityKey key(long id) {
+		return new EntityKey( KEY_METADATA, new Object[] { id } );
+	}
+
+	private static ProtostreamPayload payload() {
+		return new ProtostreamPayload( new MapTupleSnapshot( new HashMap<>() ), "Order" );
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.infinispanremote.test.dialect;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteDialect;
+import org.hibernate.ogm.datastore.infinispanremote.impl.CacheOperation;
+import org.hibernate.ogm.datastore.infinispanremote.impl.InfinispanRemoteDatastoreProvider;
+import org.hibernate.ogm.datastore.infinispanremote.impl.ProtoStreamMappingAdapter;
+import org.hibernate.ogm.datastore.infinispanremote.impl.VersionedTuple;
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamId;
+import org.hibernate.ogm.datastore.infinispanremote.impl.protostream.ProtostreamPayload;
+import org.hibernate.ogm.datastore.map.impl.MapTupleSnapshot;
+import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.model.spi.Tuple.SnapshotType;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.VersionedValue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for the versions of the tuples loaded by {@link InfinispanRemoteDialect}: the tuples loaded by batch must
+ * carry the version of their entry, like the ones loaded one by one, so that they can be updated afterwards.
+ */
+public class VersionedTuplesLoadingTest {
+
+	private static final String CACHE = "Floor";
+	private static final EntityKeyMetadata KEY_METADATA = new DefaultEntityKeyMetadata( CACHE, new String[] { "id" } );
+
+	private RemoteCache<ProtostreamId, ProtostreamPayload> cache;
+	private InfinispanRemoteDialect<?, ?, ?> dialect;
+
+	@Before
+	@SuppressWarnings("unchecked")
+	public void setUpDialect() {
+		cache = mock( RemoteCache.class );
+		when( cache.getWithMetadataAsync( any() ) ).thenReturn( CompletableFuture.completedFuture( null ) );
+
+		ProtoStreamMappingAdapter mapper = mock( ProtoStreamMappingAdapter.class );
+		when( mapper.createIdPayload( any( String[].class ), any( Object[].class ) ) ).thenAnswer(
+				invocation -> new ProtostreamId( (String[]) invocation.getArguments()[0], (Object[]) invocation.getArguments()[1], "FloorId" ) );
+		when( mapper.withinCacheEncodingContext( any( CacheOperation.class ) ) )
+				.thenAnswer( invocation -> ( (CacheOperation<?>) invocation.getArguments()[0] ).doOnCache( cache ) );
+
+		InfinispanRemoteDatastoreProvider provider = mock( InfinispanRemoteDatastoreProvider.class );
+		when( provider.getDataMapperForCache( CACHE ) ).thenReturn( mapper );
+		dialect = new InfinispanRemoteDialect<>( provider );
+	}
+
+	@Test
+	public void testTuplesLoadedByBatchCarryTheVersionOfTheirEntry() throws Exception {
+		storeEntry( 1L, 11L );
+		storeEntry( 3L, 13L );
+
+		List<Tuple> tuples = dialect.getTuples( new EntityKey[] { key( 1L ), key( 2L ), key( 3L ) }, null );
+
+		assertThat( tuples ).hasSize( 3 );
+		assertLoaded( tuples.get( 0 ), 1L, 11L );
+		assertThat( tuples.get( 1 ) ).isNull();
+		assertLoaded( tuples.get( 2 ), 3L, 13L );
+
+		verify( cache, never() ).getAll( anySet() );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testTupleLoadedOnItsOwnCarriesTheVersionOfItsEntry() throws Exception {
+		VersionedValue<ProtostreamPayload> entry = mock( VersionedValue.class );
+		when( entry.getValue() ).thenReturn( payload( 1L ) );
+		when( entry.getVersion() ).thenReturn( 11L );
+		when( cache.getVersioned( id( 1L ) ) ).thenReturn( entry );
+
+		List<Tuple> tuples = dialect.getTuples( new EntityKey[] { key( 1L ) }, null );
+
+		assertThat( tuples ).hasSize( 1 );
+		assertLoaded( tuples.get( 0 ), 1L, 11L );
+	}
+
+	private void storeEntry(long id, long version) {
+		@SuppressWarnings("unchecked")
+		MetadataValue<ProtostreamPayload> entry = mock( MetadataValue.class );
+		when( entry.getValue() ).thenReturn( payload( id ) );
+		when( entry.getVersion() ).thenReturn( version );
+		when( cache.getWithMetadataAsync( id( id ) ) ).thenReturn( CompletableFuture.completedFuture( entry ) );
+	}
+
+	private static void assertLoaded(Tuple tuple, long id, long version) {
+		assertThat( tuple ).isInstanceOf( VersionedTuple.class );
+		assertThat( tuple.get( "id" ) ).isEqualTo( id );
+		assertThat( tuple.getSnapshotType() ).isEqualTo( SnapshotType.UPDATE );
+		assertThat( ( (VersionedTuple) tuple ).getVersion() ).isEqualTo( version );
+	}
+
+	private static EntityKey key(long id) {
+		return new EntityKey( KEY_METADATA, new Object[] { id } );
+	}
+
+	private static ProtostreamId id(long id) {
+		return new ProtostreamId( new String[] { "id" }, new Object[] { id }, "FloorId" );
+	}
+
+	private static ProtostreamPayload payload(long id) {
+		return new ProtostreamPayload( new MapTupleSnapshot( Collections.<String, Object>singletonMap( "id", id ) ), "Floor" );
+	}
+}
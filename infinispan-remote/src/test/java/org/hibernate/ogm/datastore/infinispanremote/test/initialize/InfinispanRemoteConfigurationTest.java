@@ -10,6 +10,7 @@
 import static org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties.CONFIGURATION_RESOURCE_NAME;
 import static org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties.DEFAULT_CONFIGURATION_RESOURCE_NAME;
 import static org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties.HOT_ROD_CLIENT_PREFIX;
+import static org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties.MAX_PENDING_WRITES;
 import static org.hibernate.ogm.datastore.infinispanremote.InfinispanRemoteProperties.SCHEMA_FILE_NAME;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.DEFAULT_EXECUTOR_FACTORY_QUEUE_SIZE;
 import static org.infinispan.client.hotrod.impl.ConfigurationProperties.FORCE_RETURN_VALUES;
@@ -154,6 +155,41 @@ public void shouldBePossibleToChangeProtoFileName() {
 		assertThat( configuration.getSchemaFileName() ).isEqualTo( "rightName.proto" );
 	}
 
+	@Test
+	public void shouldDisableAsynchronousWritesByDefault() {
+		Map<String, Object> settings = new HashMap<>();
+		settings.put( OgmProperties.DATASTORE_PROVIDER, GridDialectType.INFINISPAN_REMOTE.name() );
+
+		InfinispanRemoteConfiguration configuration = extractConfiguration( settings );
+		assertThat( configuration.getMaxPendingWrites() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void shouldBePossibleToChangeMaxPendingWrites() {
+		Map<String, Object> settings = new HashMap<>();
+		settings.put( OgmProperties.DATASTORE_PROVIDER, GridDialectType.INFINISPAN_REMOTE.name() );
+		settings.put( MAX_PENDING_WRITES, "25" );
+
+		InfinispanRemoteConfiguration configuration = extractConfiguration( settings );
+		assertThat( configuration.getMaxPendingWrites() ).isEqualTo( 25 );
+	}
+
+	@Test
+	public void shouldThrowExceptionWhenMaxPendingWritesIsNegative() {
+		Map<String, Object> settings = new HashMap<>();
+		settings.put( OgmProperties.DATASTORE_PROVIDER, GridDialectType.INFINISPAN_REMOTE.name() );
+		settings.put( MAX_PENDING_WRITES, "-1" );
+
+		try {
+			extractConfiguration( settings );
+			Fail.fail( "There should be an exception because of the wrong configuration value" );
+		}
+		catch (org.hibernate.service.spi.ServiceException ex) {
+			assertThat( ex.getCause() ).isInstanceOf( HibernateException.class );
+			assertThat( ex.getCause().getMessage() ).isEqualTo( "OGM001726: Illegal value for the maximum number of pending writes: -1; it must be greater or equal to 0" );
+		}
+	}
+
 	@Test
 	public void shouldSetDefaultValues() {
 		Map<String, Object> settings = new HashMap<>();
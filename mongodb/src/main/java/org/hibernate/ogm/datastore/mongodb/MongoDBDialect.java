@@ -29,6 +29,7 @@
 import java.util.regex.Pattern;
 
 import org.bson.BsonDocument;
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.hibernate.AssertionFailure;
@@ -36,9 +37,7 @@
 import org.hibernate.ogm.datastore.document.cfg.DocumentStoreProperties;
 import org.hibernate.ogm.datastore.document.impl.DotPatternMapHelpers;
 import org.hibernate.ogm.datastore.document.impl.EmbeddableStateFinder;
-import org.hibernate.ogm.datastore.document.options.AssociationStorageType;
 import org.hibernate.ogm.datastore.document.options.MapStorageType;
-import org.hibernate.ogm.datastore.document.options.spi.AssociationStorageOption;
 import org.hibernate.ogm.datastore.map.impl.MapTupleSnapshot;
 import org.hibernate.ogm.datastore.mongodb.binarystorage.GridFSStorageManager;
 import org.hibernate.ogm.datastore.mongodb.configuration.impl.MongoDBConfiguration;
@@ -47,13 +46,10 @@
 import org.hibernate.ogm.datastore.mongodb.dialect.impl.MongoDBTupleSnapshot;
 import org.hibernate.ogm.datastore.mongodb.dialect.impl.MongoHelpers;
 import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBSequenceReservations;
 import org.hibernate.ogm.datastore.mongodb.logging.impl.Log;
 import org.hibernate.ogm.datastore.mongodb.logging.impl.LoggerFactory;
-import org.hibernate.ogm.datastore.mongodb.options.AssociationDocumentStorageType;
-import org.hibernate.ogm.datastore.mongodb.options.impl.AssociationDocumentStorageOption;
-import org.hibernate.ogm.datastore.mongodb.options.impl.ReadConcernOption;
-import org.hibernate.ogm.datastore.mongodb.options.impl.ReadPreferenceOption;
-import org.hibernate.ogm.datastore.mongodb.options.impl.WriteConcernOption;
+import org.hibernate.ogm.datastore.mongodb.options.impl.MongoDBOptionsSnapshot;
 import org.hibernate.ogm.datastore.mongodb.query.impl.MongoDBQueryDescriptor;
 import org.hibernate.ogm.datastore.mongodb.query.parsing.nativequery.impl.MongoDBQueryDescriptorBuilder;
 import org.hibernate.ogm.datastore.mongodb.query.parsing.nativequery.impl.NativeQueryParser;
@@ -87,9 +83,14 @@
 import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
 import org.hibernate.ogm.dialect.batch.spi.RemoveAssociationOperation;
 import org.hibernate.ogm.dialect.batch.spi.RemoveTupleOperation;
+import org.hibernate.ogm.dialect.batch.spi.RemoveTupleWithOptimisticLockOperation;
+import org.hibernate.ogm.dialect.batch.spi.UpdateTupleWithOptimisticLockOperation;
 import org.hibernate.ogm.dialect.identity.spi.IdentityColumnAwareGridDialect;
 import org.hibernate.ogm.dialect.multiget.spi.MultigetGridDialect;
+import org.hibernate.ogm.dialect.optimisticlock.spi.BatchableOptimisticLockingAwareGridDialect;
 import org.hibernate.ogm.dialect.optimisticlock.spi.OptimisticLockingAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.PartitionAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
 import org.hibernate.ogm.dialect.query.spi.BackendQuery;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.query.spi.NoOpParameterMetadataBuilder;
@@ -119,9 +120,9 @@
 import org.hibernate.ogm.model.key.spi.IdSourceKey;
 import org.hibernate.ogm.model.key.spi.RowKey;
 import org.hibernate.ogm.model.spi.Association;
+import org.hibernate.ogm.model.spi.AssociationOperation;
 import org.hibernate.ogm.model.spi.Tuple;
 import org.hibernate.ogm.model.spi.Tuple.SnapshotType;
-import org.hibernate.ogm.model.spi.TupleOperation;
 import org.hibernate.ogm.options.spi.OptionsContext;
 import org.hibernate.ogm.storedprocedure.ProcedureQueryParameters;
 import org.hibernate.ogm.type.impl.ByteStringType;
@@ -143,13 +144,16 @@
 import org.parboiled.parserunners.RecoveringParseRunner;
 import org.parboiled.support.ParsingResult;
 
-import com.mongodb.DuplicateKeyException;
 import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoClient;
 import com.mongodb.MongoCommandException;
+import com.mongodb.ErrorCategory;
 import com.mongodb.ReadConcern;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
 import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.DistinctIterable;
 import com.mongodb.client.FindIterable;
@@ -163,13 +167,17 @@
 import com.mongodb.client.model.CollationCaseFirst;
 import com.mongodb.client.model.CollationMaxVariable;
 import com.mongodb.client.model.CollationStrength;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.FindOneAndDeleteOptions;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.InsertOneModel;
 import com.mongodb.client.model.MapReduceAction;
 import com.mongodb.client.model.ReplaceOptions;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
 
@@ -189,10 +197,11 @@
  * Collection of embeddable are stored within the owning entity document under the
  * unqualified collection role
  *
- * In MongoDB is possible to batch operations but only for the creation of new documents
- * and only if they don't have invalid characters in the field name.
- * If these conditions are not met, the MongoDB mechanism for batch operations
- * is not going to be used.
+ * When batching is enabled, the insertions, updates and removals of a flush are grouped per collection and sent
+ * using {@code bulkWrite}; the maximum number of operations per request can be configured via
+ * {@link MongoDBProperties#BATCH_SIZE}. The updates and removals guarded by an optimistic lock are sent first, in
+ * ordered {@code bulkWrite} requests of upserts filtered on the expected lock state: the upsert of a stale document
+ * fails with a duplicate key on {@code _id} and the index of the error tells which entity is stale.
  *
  * @author Guillaume Scheibel &lt;guillaume.scheibel@gmail.com&gt;
  * @author Alan Fitton &lt;alan at eth0.org.uk&gt;
@@ -202,7 +211,7 @@
  * @author Aleksandr Mylnikov
  */
 public class MongoDBDialect extends BaseGridDialect implements QueryableGridDialect<MongoDBQueryDescriptor>, BatchableGridDialect, IdentityColumnAwareGridDialect, MultigetGridDialect, OptimisticLockingAwareGridDialect,
-		StoredProcedureAwareGridDialect {
+		StoredProcedureAwareGridDialect, PartitionAwareGridDialect, BatchableOptimisticLockingAwareGridDialect {
 
 	public static final String ID_FIELDNAME = "_id";
 	public static final String PROPERTY_SEPARATOR = ".";
@@ -229,6 +238,11 @@ public class MongoDBDialect extends BaseGridDialect implements QueryableGridDial
 	 */
 	private static final Pattern PRIMARY_KEY_CONSTRAINT_VIOLATION_MESSAGE = Pattern.compile( ".*[. ]\\$?_id_? .*" );
 
+	/**
+	 * Field marking the documents checked by the removals guarded by an optimistic lock during a flush.
+	 */
+	private static final String REMOVAL_MARKER_FIELDNAME = "_ogmRemoval";
+
 	private final MongoDBDatastoreProvider provider;
 	private final MongoDatabase currentDB;
 
@@ -441,31 +455,32 @@ private MongoCollection<Document> getCollection( EntityKey key, OptionsContext c
 	}
 
 	private MongoCollection<Document> withOptions(MongoCollection<Document> collection, OptionsContext context) {
+		MongoDBOptionsSnapshot options = MongoDBOptionsSnapshot.of( context );
 		MongoCollection<Document> newCollection = collection;
-		newCollection = withReadPreference( context, newCollection );
-		newCollection = withReadConcern( context, newCollection );
-		newCollection = withWriteConcern( context, newCollection );
+		newCollection = withReadPreference( options, newCollection );
+		newCollection = withReadConcern( options, newCollection );
+		newCollection = withWriteConcern( options, newCollection );
 		return newCollection;
 	}
 
-	private MongoCollection<Document> withReadConcern(OptionsContext context, MongoCollection<Document> newCollection) {
-		ReadConcern readConcern = context.getUnique( ReadConcernOption.class );
+	private MongoCollection<Document> withReadConcern(MongoDBOptionsSnapshot options, MongoCollection<Document> newCollection) {
+		ReadConcern readConcern = options.getReadConcern();
 		if ( readConcern != null ) {
 			newCollection = newCollection.withReadConcern( readConcern );
 		}
 		return newCollection;
 	}
 
-	private MongoCollection<Document> withReadPreference(OptionsContext context, MongoCollection<Document> newCollection) {
-		ReadPreference readPreference = context.getUnique( ReadPreferenceOption.class );
+	private MongoCollection<Document> withReadPreference(MongoDBOptionsSnapshot options, MongoCollection<Document> newCollection) {
+		ReadPreference readPreference = options.getReadPreference();
 		if ( readPreference != null ) {
 			return newCollection.withReadPreference( readPreference );
 		}
 		return newCollection;
 	}
 
-	private MongoCollection<Document> withWriteConcern(OptionsContext context, MongoCollection<Document> newCollection) {
-		WriteConcern writeConcern = context.getUnique( WriteConcernOption.class );
+	private MongoCollection<Document> withWriteConcern(MongoDBOptionsSnapshot options, MongoCollection<Document> newCollection) {
+		WriteConcern writeConcern = options.getWriteConcern();
 		if ( writeConcern != null ) {
 			return newCollection.withWriteConcern( writeConcern );
 		}
@@ -473,11 +488,15 @@ private MongoCollection<Document> withWriteConcern(OptionsContext context, Mongo
 	}
 
 	private MongoCollection<Document> getAssociationCollection(AssociationKey key, AssociationStorageStrategy storageStrategy, AssociationContext associationContext) {
+		return getCollection( getAssociationCollectionName( key, storageStrategy ), associationContext.getAssociationTypeContext().getOptionsContext() );
+	}
+
+	private static String getAssociationCollectionName(AssociationKey key, AssociationStorageStrategy storageStrategy) {
 		if ( storageStrategy == AssociationStorageStrategy.GLOBAL_COLLECTION ) {
-			return getCollection( MongoDBConfiguration.DEFAULT_ASSOCIATION_STORE, associationContext.getAssociationTypeContext().getOptionsContext() );
+			return MongoDBConfiguration.DEFAULT_ASSOCIATION_STORE;
 		}
 		else {
-			return getCollection( ASSOCIATIONS_COLLECTION_PREFIX + key.getTable(), associationContext.getAssociationTypeContext().getOptionsContext() );
+			return ASSOCIATIONS_COLLECTION_PREFIX + key.getTable();
 		}
 	}
 
@@ -492,14 +511,34 @@ private static void addSubQuery(String operator, Document query, String column,
 
 	private static void addSetToQuery(Document query, String column, Object value) {
 		removeSubQuery( "$unset", query, column );
+		removeRowsUpdateFromQuery( query, column );
 		addSubQuery( "$set", query, column, value );
 	}
 
 	private static void addUnsetToQuery(Document query, String column) {
 		removeSubQuery( "$set", query, column );
+		removeRowsUpdateFromQuery( query, column );
 		addSubQuery( "$unset", query, column, Integer.valueOf( 1 ) );
 	}
 
+	/*
+	 * Adds the modifiers returned by getAssociationRowsUpdate() for the given field, they replace any previous change
+	 * of the field.
+	 */
+	private static void addRowsUpdateToQuery(Document query, String column, Document rowsUpdate) {
+		removeSubQuery( "$set", query, column );
+		removeSubQuery( "$unset", query, column );
+		removeRowsUpdateFromQuery( query, column );
+		for ( Map.Entry<String, Object> modifier : rowsUpdate.entrySet() ) {
+			addSubQuery( modifier.getKey(), query, column, ( (Document) modifier.getValue() ).get( column ) );
+		}
+	}
+
+	private static void removeRowsUpdateFromQuery(Document query, String column) {
+		removeSubQuery( "$addToSet", query, column );
+		removeSubQuery( "$pull", query, column );
+	}
+
 	private static void removeSubQuery(String operator, Document query, String column) {
 		Document subQuery = getSubQuery( operator, query );
 		subQuery.remove( column );
@@ -553,12 +592,11 @@ private Document insertDocument(EntityKeyMetadata entityKeyMetadata, Tuple tuple
 	 */
 	private static Document objectForInsert(Tuple tuple, Document dbObject) {
 		MongoDBTupleSnapshot snapshot = (MongoDBTupleSnapshot) tuple.getSnapshot();
-		for ( TupleOperation operation : tuple.getOperations() ) {
-			String column = operation.getColumn();
+		tuple.forEachOperation( ( column, value, type ) -> {
 			if ( notInIdField( snapshot, column ) ) {
-				switch ( operation.getType() ) {
+				switch ( type ) {
 					case PUT:
-						MongoHelpers.setValue( dbObject, column, operation.getValue() );
+						MongoHelpers.setValue( dbObject, column, value );
 						break;
 					case PUT_NULL:
 					case REMOVE:
@@ -566,7 +604,7 @@ private static Document objectForInsert(Tuple tuple, Document dbObject) {
 						break;
 					}
 			}
-		}
+		} );
 		return dbObject;
 	}
 
@@ -579,12 +617,11 @@ private static Document objectForUpdate(Tuple tuple, TupleContext tupleContext,
 		EmbeddableStateFinder embeddableStateFinder = new EmbeddableStateFinder( tuple, tupleContext );
 		Set<String> nullEmbeddables = new HashSet<>();
 
-		for ( TupleOperation operation : tuple.getOperations() ) {
-			String column = operation.getColumn();
+		tuple.forEachOperation( ( column, value, type ) -> {
 			if ( notInIdField( snapshot, column ) ) {
-				switch ( operation.getType() ) {
+				switch ( type ) {
 				case PUT:
-					addSetToQuery( updateStatement, column, operation.getValue() );
+					addSetToQuery( updateStatement, column, value );
 					break;
 				case PUT_NULL:
 				case REMOVE:
@@ -606,7 +643,7 @@ private static Document objectForUpdate(Tuple tuple, TupleContext tupleContext,
 					break;
 				}
 			}
-		}
+		} );
 
 		return updateStatement;
 	}
@@ -796,6 +833,122 @@ private static Object getAssociationRow(Tuple row, AssociationKey associationKey
 		}
 	}
 
+	/**
+	 * Returns the rows of the given association as to be stored in the database, a single row for one-to-one
+	 * associations.
+	 *
+	 * @see #getAssociationRows(Association, AssociationKey, AssociationContext)
+	 */
+	private static Object getAssociationRowsToStore(Association association, AssociationKey key, AssociationContext associationContext) {
+		Object rows = getAssociationRows( association, key, associationContext );
+		return key.getMetadata().getAssociationType() == AssociationType.ONE_TO_ONE ? ( (List<?>) rows ).get( 0 ) : rows;
+	}
+
+	/**
+	 * Returns the update applying the changes of the given association to the array containing its rows, without
+	 * rewriting the rows which did not change. The return value is one of the following:
+	 * <ul>
+	 * <li>{@code { $addToSet : { field : { $each : [ row1, row2, ... ] } } }} if rows have been added</li>
+	 * <li>{@code { $pull : { field : condition } }} if rows have been removed, the condition matches the elements
+	 * having the row key of a removed row</li>
+	 * <li>{@code null} if the whole array has to be written, e.g. when the association has been cleared, when rows
+	 * have been both added and removed (MongoDB doesn't allow two modifiers on the same field), when several rows
+	 * stored as documents have been removed or when the rows are positional or organized by row key</li>
+	 * </ul>
+	 * The changes of an association are kept until the end of the session, the modifiers are idempotent so that the
+	 * same changes can be applied again by a later flush.
+	 */
+	private static Document getAssociationRowsUpdate(Association association, AssociationKey key, String field) {
+		AssociationType associationType = key.getMetadata().getAssociationType();
+		if ( associationType != AssociationType.SET && associationType != AssociationType.BAG ) {
+			return null;
+		}
+
+		List<Object> addedRows = new ArrayList<>();
+		List<Object> removedRows = new ArrayList<>();
+		for ( AssociationOperation operation : association.getOperations() ) {
+			switch ( operation.getType() ) {
+				case PUT:
+					if ( association.getSnapshot().containsKey( operation.getKey() )
+							|| !isIdentifiedByRowKey( operation.getValue(), operation.getKey(), key ) ) {
+						// Updated row or row that cannot be matched by its key
+						return null;
+					}
+					addedRows.add( getAssociationRow( operation.getValue(), key ) );
+					break;
+				case REMOVE:
+					Object condition = getAssociationRowCondition( association, operation.getKey(), key );
+					if ( condition == null ) {
+						return null;
+					}
+					removedRows.add( condition );
+					break;
+				default:
+					return null;
+			}
+		}
+
+		if ( !addedRows.isEmpty() && removedRows.isEmpty() ) {
+			return new Document( "$addToSet", new Document( field, new Document( "$each", addedRows ) ) );
+		}
+		if ( addedRows.isEmpty() && !removedRows.isEmpty() ) {
+			if ( removedRows.size() == 1 ) {
+				return new Document( "$pull", new Document( field, removedRows.get( 0 ) ) );
+			}
+			// $in compares documents including the order of their properties, several rows can only be matched
+			// when they are single values
+			if ( !( removedRows.get( 0 ) instanceof Document ) ) {
+				return new Document( "$pull", new Document( field, new Document( "$in", removedRows ) ) );
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Whether the stored representation of the row only contains the columns of its row key.
+	 */
+	private static boolean isIdentifiedByRowKey(Tuple row, RowKey rowKey, AssociationKey associationKey) {
+		String[] rowColumns = associationKey.getMetadata().getColumnsWithoutKeyColumns( row.getColumnNames() );
+		String[] rowKeyColumns = associationKey.getMetadata().getColumnsWithoutKeyColumns( Arrays.asList( rowKey.getColumnNames() ) );
+		return rowKeyColumns.length > 0 && rowColumns.length == rowKeyColumns.length
+				&& new HashSet<>( Arrays.asList( rowColumns ) ).containsAll( Arrays.asList( rowKeyColumns ) );
+	}
+
+	/*
+	 * Returns the value matching the stored representation of the row with the given key in a $pull, null if the
+	 * row cannot be matched by its key.
+	 */
+	private static Object getAssociationRowCondition(Association association, RowKey rowKey, AssociationKey associationKey) {
+		String[] rowKeyColumns = associationKey.getMetadata().getColumnsWithoutKeyColumns( Arrays.asList( rowKey.getColumnNames() ) );
+		if ( rowKeyColumns.length == 0 ) {
+			return null;
+		}
+
+		// The rows which are not in the snapshot have been added during the session and only contain the columns of
+		// the row key
+		Tuple storedRow = association.getSnapshot().get( rowKey );
+		int storedColumns = storedRow == null
+				? rowKeyColumns.length
+				: associationKey.getMetadata().getColumnsWithoutKeyColumns( storedRow.getColumnNames() ).length;
+
+		// the value itself if the row contains a single column
+		if ( storedColumns == 1 ) {
+			return rowKeyColumns.length == 1 ? rowKey.getColumnValue( rowKeyColumns[0] ) : null;
+		}
+		// otherwise a Document matching the columns of the row key, using the dot notation for nested properties so that
+		// the order of the properties doesn't matter
+		else {
+			String prefix = getColumnSharedPrefixOfAssociatedEntityLink( associationKey );
+
+			Document condition = new Document();
+			for ( String column : rowKeyColumns ) {
+				String columnName = column.startsWith( prefix ) ? column.substring( prefix.length() ) : column;
+				condition.put( columnName, rowKey.getColumnValue( column ) );
+			}
+			return condition;
+		}
+	}
+
 	@Override
 	public void insertOrUpdateAssociation(AssociationKey key, Association association, AssociationContext associationContext) {
 		throw new UnsupportedOperationException( "Method not supported in GridDialect anymore" );
@@ -808,33 +961,44 @@ public void removeAssociation(AssociationKey key, AssociationContext association
 
 	@Override
 	public Number nextValue(NextValueRequest request) {
+		MongoDBSequenceReservations reservations = provider.getSequenceReservations();
+		if ( reservations != null ) {
+			return reservations.nextValue( request, this::allocateNextValue );
+		}
+		return allocateNextValue( request );
+	}
+
+	/*
+	 * The document of the sequence contains the next value to return: in most cases a single atomic increment is
+	 * enough. The document is created (returning the initial value) only when the increment doesn't find it.
+	 */
+	private Number allocateNextValue(NextValueRequest request) {
 		String valueColumnName = request.getKey().getMetadata().getValueColumnName();
 		MongoCollection<Document> sequenceCollection = getCollection( request.getKey().getTable(), null );
 
 		Document sequenceId = prepareIdObject( request.getKey() );
 
-		Document setInitialValueOnInsert = new Document();
-		addSubQuery( "$setOnInsert", setInitialValueOnInsert, valueColumnName, request.getInitialValue() + request.getIncrement() );
+		Document incrementUpdate = new Document();
+		addSubQuery( "$inc", incrementUpdate, valueColumnName, request.getIncrement() );
 
 		// I don't trust to make this a constant because the object is not immutable
-		FindOneAndUpdateOptions enableUpsert = new FindOneAndUpdateOptions().upsert( true );
-		Document originalDocument = sequenceCollection.findOneAndUpdate( sequenceId, setInitialValueOnInsert, enableUpsert );
-
-		Object nextValue = null;
-		if ( originalDocument == null ) {
-			return request.getInitialValue(); // first time we ask this value
-		}
-		else {
-			// all columns should match to find the value
-			Document incrementUpdate = new Document();
-
-			addSubQuery( "$inc", incrementUpdate, valueColumnName, request.getIncrement() );
-
-			Document beforeUpdateDoc = sequenceCollection.findOneAndUpdate( sequenceId, incrementUpdate,  new FindOneAndUpdateOptions().upsert( true ) );
+		FindOneAndUpdateOptions returnUpdated = new FindOneAndUpdateOptions().returnDocument( ReturnDocument.AFTER );
+		Document updatedDocument = sequenceCollection.findOneAndUpdate( sequenceId, incrementUpdate, returnUpdated );
+		if ( updatedDocument == null ) {
+			Document setInitialValueOnInsert = new Document();
+			addSubQuery( "$setOnInsert", setInitialValueOnInsert, valueColumnName, request.getInitialValue() + request.getIncrement() );
+
+			FindOneAndUpdateOptions enableUpsert = new FindOneAndUpdateOptions().upsert( true );
+			Document originalDocument = sequenceCollection.findOneAndUpdate( sequenceId, setInitialValueOnInsert, enableUpsert );
+			if ( originalDocument == null ) {
+				return request.getInitialValue(); // first time we ask this value
+			}
 
-			nextValue = beforeUpdateDoc.get( valueColumnName );
+			// The sequence has been created concurrently
+			updatedDocument = sequenceCollection.findOneAndUpdate( sequenceId, incrementUpdate, returnUpdated );
 		}
-		return (Number) nextValue;
+		Number updatedValue = (Number) updatedDocument.get( valueColumnName );
+		return updatedValue.longValue() - request.getIncrement();
 	}
 
 	@Override
@@ -913,7 +1077,75 @@ else if ( type.getReturnedClass().equals( LocalTime.class ) ) {
 	@Override
 	public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata) {
 		MongoCollection<Document> collection = getCollection( entityKeyMetadata.getTable(), tupleTypeContext.getOptionsContext() );
-		consumer.consume( new MongoDBTuplesSupplier( collection, entityKeyMetadata, provider.getBinaryStorageManager() ) );
+		consumer.consume( new MongoDBTuplesSupplier( collection, new Document(), entityKeyMetadata, provider.getBinaryStorageManager() ) );
+	}
+
+	/**
+	 * Splits the collection into ranges of {@code _id} of about the same size; the boundaries are read from the
+	 * {@code _id} index, skipping {@code count / maxPartitions} documents at a time.
+	 * <p>
+	 * A range query only matches the values of the same BSON type as its bounds, so a collection whose {@code _id}
+	 * values are not all of the same type is returned as a single partition.
+	 */
+	@Override
+	public List<TuplePartition> getTuplePartitions(TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, int maxPartitions) {
+		MongoCollection<Document> collection = getCollection( entityKeyMetadata.getTable(), tupleTypeContext.getOptionsContext() );
+		long count = collection.countDocuments();
+		int partitionCount = (int) Math.max( 1, Math.min( maxPartitions, count ) );
+		if ( partitionCount > 1 && !haveComparableIds( collection ) ) {
+			partitionCount = 1;
+		}
+
+		List<TuplePartition> partitions = new ArrayList<>( partitionCount );
+		Object lowerBound = null;
+		for ( int i = 1; i < partitionCount; i++ ) {
+			Document boundary = collection.find()
+					.projection( new Document( ID_FIELDNAME, 1 ) )
+					.sort( new Document( ID_FIELDNAME, 1 ) )
+					.skip( (int) ( count * i / partitionCount ) )
+					.first();
+			if ( boundary == null ) {
+				// documents have been removed in the meantime
+				break;
+			}
+			Object upperBound = boundary.get( ID_FIELDNAME );
+			partitions.add( new MongoDBIdRange( lowerBound, upperBound ) );
+			lowerBound = upperBound;
+		}
+		partitions.add( new MongoDBIdRange( lowerBound, null ) );
+		return partitions;
+	}
+
+	/*
+	 * Documents are sorted by the type of their _id first: the values of the smallest and the greatest _id have the
+	 * same type only if all of them have it. Numbers of different types are compared by value.
+	 */
+	private static boolean haveComparableIds(MongoCollection<Document> collection) {
+		Object first = firstId( collection, 1 );
+		Object last = firstId( collection, -1 );
+		if ( first == null || last == null ) {
+			// documents have been removed in the meantime, or the _id is null
+			return false;
+		}
+		if ( first instanceof Number && last instanceof Number ) {
+			return true;
+		}
+		return first.getClass() == last.getClass();
+	}
+
+	private static Object firstId(MongoCollection<Document> collection, int sortOrder) {
+		Document document = collection.find()
+				.projection( new Document( ID_FIELDNAME, 1 ) )
+				.sort( new Document( ID_FIELDNAME, sortOrder ) )
+				.first();
+		return document == null ? null : document.get( ID_FIELDNAME );
+	}
+
+	@Override
+	public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, TuplePartition partition) {
+		MongoCollection<Document> collection = getCollection( entityKeyMetadata.getTable(), tupleTypeContext.getOptionsContext() );
+		Document filter = ( (MongoDBIdRange) partition ).toFilter();
+		consumer.consume( new MongoDBTuplesSupplier( collection, filter, entityKeyMetadata, provider.getBinaryStorageManager() ) );
 	}
 
 	@Override
@@ -1559,33 +1791,30 @@ private static AssociationStorageStrategy getAssociationStorageStrategy(Associat
 	 * corresponding configuration property is applied.
 	 */
 	private static AssociationStorageStrategy getAssociationStorageStrategy(AssociationKeyMetadata keyMetadata, AssociationTypeContext associationTypeContext) {
-		AssociationStorageType associationStorage = associationTypeContext
-				.getOptionsContext()
-				.getUnique( AssociationStorageOption.class );
-
-		AssociationDocumentStorageType associationDocumentStorageType = associationTypeContext
-				.getOptionsContext()
-				.getUnique( AssociationDocumentStorageOption.class );
-
-		return AssociationStorageStrategy.getInstance( keyMetadata, associationStorage, associationDocumentStorageType );
+		MongoDBOptionsSnapshot options = MongoDBOptionsSnapshot.of( associationTypeContext.getOptionsContext() );
+		return AssociationStorageStrategy.getInstance( keyMetadata, options.getAssociationStorage(), options.getAssociationDocumentStorage() );
 	}
 
 	@Override
 	public void executeBatch(OperationsQueue queue) {
 		if ( !queue.isClosed() ) {
 			Operation operation = queue.poll();
-			Map<MongoCollection<Document>, BatchInsertionTask> inserts = new HashMap<MongoCollection<Document>, BatchInsertionTask>();
+			Map<String, BatchWriteTask> writes = new LinkedHashMap<String, BatchWriteTask>();
 
 			List<Tuple> insertTuples = new ArrayList<Tuple>();
 
 			while ( operation != null ) {
 				if ( operation instanceof GroupedChangesToEntityOperation ) {
 					GroupedChangesToEntityOperation entityOperation = (GroupedChangesToEntityOperation) operation;
-					executeBatchUpdate( inserts, insertTuples, entityOperation );
+					executeBatchUpdate( writes, insertTuples, entityOperation );
+				}
+				else if ( operation instanceof RemoveTupleWithOptimisticLockOperation ) {
+					RemoveTupleWithOptimisticLockOperation removeTupleOperation = (RemoveTupleWithOptimisticLockOperation) operation;
+					executeBatchRemoveWithOptimisticLock( writes, removeTupleOperation );
 				}
 				else if ( operation instanceof RemoveTupleOperation ) {
 					RemoveTupleOperation removeTupleOperation = (RemoveTupleOperation) operation;
-					executeBatchRemove( inserts, removeTupleOperation );
+					executeBatchRemove( writes, removeTupleOperation );
 				}
 				else {
 					throw new UnsupportedOperationException( "Operation not supported: " + operation.getClass().getSimpleName() );
@@ -1593,37 +1822,53 @@ else if ( operation instanceof RemoveTupleOperation ) {
 				operation = queue.poll();
 			}
 
-			flushInserts( provider, inserts );
-			for ( Tuple insertTuple : insertTuples ) {
-				insertTuple.setSnapshotType( SnapshotType.UPDATE );
+			List<Runnable> optimisticLockFailures = flushWrites( provider, writes );
+			if ( optimisticLockFailures.isEmpty() ) {
+				for ( Tuple insertTuple : insertTuples ) {
+					insertTuple.setSnapshotType( SnapshotType.UPDATE );
+				}
 			}
 
 			queue.clear();
+
+			// The handlers usually raise an exception, the first stale entity is the one reported
+			for ( Runnable optimisticLockFailure : optimisticLockFailures ) {
+				optimisticLockFailure.run();
+			}
 		}
 	}
 
-	private void executeBatchRemove(Map<MongoCollection<Document>, BatchInsertionTask> inserts, RemoveTupleOperation tupleOperation) {
+	private static void executeBatchRemove(Map<String, BatchWriteTask> writes, RemoveTupleOperation tupleOperation) {
 		EntityKey entityKey = tupleOperation.getEntityKey();
-		MongoCollection<Document> collection = getCollection( entityKey, tupleOperation.getTupleContext().getTupleTypeContext().getOptionsContext() );
-		BatchInsertionTask batchedInserts = inserts.get( collection );
+		BatchWriteTask writesForCollection = getOrCreateBatchWriteTask( writes, entityKey.getTable(), entityKey.getMetadata() );
 
-		if ( batchedInserts != null && batchedInserts.containsKey( entityKey ) ) {
-			batchedInserts.remove( entityKey );
+		// An entity inserted and removed during the same flush never has to reach the datastore,
+		// the updates queued before a removal don't either
+		if ( !writesForCollection.cancelPendingWrites( entityKey ) ) {
+			writesForCollection.mergeWriteConcern( getWriteConcern( tupleOperation.getTupleContext() ) );
+			writesForCollection.addRemove( entityKey, prepareIdObject( entityKey ) );
 		}
-		else {
-			removeTuple( entityKey, tupleOperation.getTupleContext() );
+	}
+
+	private static void executeBatchRemoveWithOptimisticLock(Map<String, BatchWriteTask> writes, RemoveTupleWithOptimisticLockOperation tupleOperation) {
+		EntityKey entityKey = tupleOperation.getEntityKey();
+		BatchWriteTask writesForCollection = getOrCreateBatchWriteTask( writes, entityKey.getTable(), entityKey.getMetadata() );
+
+		if ( !writesForCollection.cancelPendingWrites( entityKey ) ) {
+			writesForCollection.mergeWriteConcern( getWriteConcern( tupleOperation.getTupleContext() ) );
+			writesForCollection.addVersionedRemove( prepareIdObject( entityKey ), tupleOperation.getOldLockState(), tupleOperation::onOptimisticLockFailure );
 		}
 	}
 
-	private void executeBatchUpdate(Map<MongoCollection<Document>, BatchInsertionTask> inserts, List<Tuple> insertTuples,
+	private void executeBatchUpdate(Map<String, BatchWriteTask> writes, List<Tuple> insertTuples,
 			GroupedChangesToEntityOperation groupedOperation) {
 		EntityKey entityKey = groupedOperation.getEntityKey();
-		MongoCollection<Document> collection = getCollection( entityKey );
+		BatchWriteTask writesForCollection = getOrCreateBatchWriteTask( writes, entityKey.getTable(), entityKey.getMetadata() );
 		Document insertStatement = null;
 		Document updateStatement = new Document();
 		WriteConcern writeConcern = null;
+		UpdateTupleWithOptimisticLockOperation versionedOperation = null;
 
-		final UpdateOptions updateOptions = new UpdateOptions().upsert( true );
 		for ( Operation operation : groupedOperation.getOperations() ) {
 			if ( operation instanceof InsertOrUpdateTupleOperation ) {
 				InsertOrUpdateTupleOperation tupleOperation = (InsertOrUpdateTupleOperation) operation;
@@ -1635,14 +1880,24 @@ private void executeBatchUpdate(Map<MongoCollection<Document>, BatchInsertionTas
 					Document document = getCurrentDocument( snapshot, insertStatement, entityKey );
 					insertStatement = objectForInsert( tuple, document );
 
-					getOrCreateBatchInsertionTask( inserts, entityKey.getMetadata(), collection )
-							.put( entityKey, insertStatement );
+					writesForCollection.addInsert( entityKey, insertStatement );
 					insertTuples.add( tuple );
 				}
 				else {
 					updateStatement = objectForUpdate( tuple, tupleOperation.getTupleContext(), updateStatement );
 				}
 			}
+			else if ( operation instanceof UpdateTupleWithOptimisticLockOperation ) {
+				UpdateTupleWithOptimisticLockOperation tupleOperation = (UpdateTupleWithOptimisticLockOperation) operation;
+				Tuple tuple = tupleOperation.getTuplePointer().getTuple();
+				writeConcern = mergeWriteConcern( writeConcern, getWriteConcern( tupleOperation.getTupleContext() ) );
+				updateStatement = objectForUpdate( tuple, tupleOperation.getTupleContext(), updateStatement );
+
+				if ( versionedOperation == null ) {
+					// The document must still have the lock state it had before the first update of the flush
+					versionedOperation = tupleOperation;
+				}
+			}
 			else if ( operation instanceof InsertOrUpdateAssociationOperation ) {
 				InsertOrUpdateAssociationOperation updateAssociationOperation = (InsertOrUpdateAssociationOperation) operation;
 				Association association = updateAssociationOperation.getAssociation();
@@ -1651,33 +1906,41 @@ else if ( operation instanceof InsertOrUpdateAssociationOperation ) {
 				AssociationStorageStrategy storageStrategy = getAssociationStorageStrategy( associationKey, associationContext );
 				String collectionRole = associationKey.getMetadata().getCollectionRole();
 
-				Object rows = getAssociationRows( association, associationKey, associationContext );
-				Object toStore = associationKey.getMetadata().getAssociationType() == AssociationType.ONE_TO_ONE ? ( (List<?>) rows ).get( 0 ) : rows;
-
 				if ( storageStrategy == AssociationStorageStrategy.IN_ENTITY ) {
 					writeConcern = mergeWriteConcern( writeConcern, getWriteConcern( associationContext ) );
 					if ( insertStatement != null ) {
 						// The association is updated in a new document
-						MongoHelpers.setValue( insertStatement, collectionRole, rows );
+						MongoHelpers.setValue( insertStatement, collectionRole, getAssociationRows( association, associationKey, associationContext ) );
 					}
 					else {
 						// The association is updated on an existing document
-						addSetToQuery( updateStatement, collectionRole, toStore );
+						Document rowsUpdate = getAssociationRowsUpdate( association, associationKey, collectionRole );
+						if ( rowsUpdate != null ) {
+							addRowsUpdateToQuery( updateStatement, collectionRole, rowsUpdate );
+						}
+						else {
+							addSetToQuery( updateStatement, collectionRole, getAssociationRowsToStore( association, associationKey, associationContext ) );
+						}
 
 						Document document = getDocument( association, associationContext );
 
 						// The document might be null when deleting detached entities
 						if ( document != null ) {
-							MongoHelpers.setValue( document, associationKey.getMetadata().getCollectionRole(), toStore );
+							MongoHelpers.setValue( document, associationKey.getMetadata().getCollectionRole(),
+									getAssociationRowsToStore( association, associationKey, associationContext ) );
 						}
 					}
 				}
 				else {
 					MongoDBAssociationSnapshot associationSnapshot = (MongoDBAssociationSnapshot) association.getSnapshot();
-					MongoCollection<Document> associationCollection = getAssociationCollection( associationKey, storageStrategy, associationContext );
+					BatchWriteTask associationWrites = getOrCreateBatchWriteTask( writes, getAssociationCollectionName( associationKey, storageStrategy ), null );
 					Document query = associationSnapshot.getQueryObject();
-					Document update = new Document( "$set", new Document( ROWS_FIELDNAME, toStore ) );
-					associationCollection.updateOne( query, update, updateOptions );
+					Document update = getAssociationRowsUpdate( association, associationKey, ROWS_FIELDNAME );
+					if ( update == null ) {
+						update = new Document( "$set", new Document( ROWS_FIELDNAME, getAssociationRowsToStore( association, associationKey, associationContext ) ) );
+					}
+					associationWrites.mergeWriteConcern( getWriteConcern( associationContext ) );
+					associationWrites.addAssociationUpdate( query, update );
 				}
 			}
 			else if ( operation instanceof RemoveAssociationOperation ) {
@@ -1702,14 +1965,10 @@ else if ( operation instanceof RemoveAssociationOperation ) {
 					addUnsetToQuery( updateStatement, collectionRole );
 				}
 				else {
-					MongoCollection<Document> associationCollection = getAssociationCollection( associationKey, storageStrategy, associationContext ).withWriteConcern( getWriteConcern( associationContext ) );
+					BatchWriteTask associationWrites = getOrCreateBatchWriteTask( writes, getAssociationCollectionName( associationKey, storageStrategy ), null );
 					Document query = associationKeyToObject( associationKey, storageStrategy );
-					DeleteResult result = associationCollection.deleteMany( query );
-					long nAffected = -1;
-					if ( result.wasAcknowledged() ) {
-						nAffected = result.getDeletedCount();
-					}
-					log.removedAssociation( nAffected );
+					associationWrites.mergeWriteConcern( getWriteConcern( associationContext ) );
+					associationWrites.addAssociationRemove( query );
 				}
 			}
 			else {
@@ -1717,6 +1976,11 @@ else if ( operation instanceof RemoveAssociationOperation ) {
 			}
 		}
 
+		writesForCollection.mergeWriteConcern( writeConcern );
+
+		// No need to check the lock state of a document inserted during the same flush
+		boolean versioned = versionedOperation != null && insertStatement == null;
+
 		if ( updateStatement != null && !updateStatement.isEmpty() ) {
 			Document documentId = prepareIdObject( entityKey );
 
@@ -1726,7 +1990,17 @@ else if ( operation instanceof RemoveAssociationOperation ) {
 			Document fieldsToDelete = updateStatement.get( "$unset", Document.class );
 			provider.getBinaryStorageManager().removeFieldsFromBinaryStorage( fieldsToDelete, entityKey.getMetadata(), documentId.get( "_id" ) );
 
-			collection. withWriteConcern( writeConcern ).updateOne( documentId, updateStatement, updateOptions );
+			if ( versioned ) {
+				writesForCollection.addVersionedUpdate( documentId, versionedOperation.getOldLockState(), updateStatement,
+						versionedOperation::onOptimisticLockFailure );
+			}
+			else {
+				writesForCollection.addUpdate( entityKey, documentId, updateStatement );
+			}
+		}
+		else if ( versioned ) {
+			// Same as updateTupleWithOptimisticLock(): nothing to update is considered a failure
+			writesForCollection.addOptimisticLockFailure( versionedOperation::onOptimisticLockFailure );
 		}
 	}
 
@@ -1749,53 +2023,255 @@ private static Document getCurrentDocument(MongoDBTupleSnapshot snapshot, Docume
 		return insertStatement != null ? insertStatement : snapshot.getDbObject();
 	}
 
-	private static BatchInsertionTask getOrCreateBatchInsertionTask(Map<MongoCollection<Document>, BatchInsertionTask> inserts,
-			EntityKeyMetadata entityKeyMetadata, MongoCollection<Document> collection) {
-		BatchInsertionTask insertsForCollection = inserts.get( collection );
+	private static BatchWriteTask getOrCreateBatchWriteTask(Map<String, BatchWriteTask> writes, String collectionName,
+			EntityKeyMetadata entityKeyMetadata) {
+		BatchWriteTask writesForCollection = writes.get( collectionName );
 
-		if ( insertsForCollection == null ) {
-			insertsForCollection = new BatchInsertionTask( entityKeyMetadata );
-			inserts.put( collection, insertsForCollection );
+		if ( writesForCollection == null ) {
+			writesForCollection = new BatchWriteTask( entityKeyMetadata );
+			writes.put( collectionName, writesForCollection );
 		}
 
-		return insertsForCollection;
+		return writesForCollection;
 	}
 
-	private static void flushInserts(MongoDBDatastoreProvider provider, Map<MongoCollection<Document>, BatchInsertionTask> inserts) {
-		for ( Map.Entry<MongoCollection<Document>, BatchInsertionTask> entry : inserts.entrySet() ) {
-			MongoCollection<Document> collection = entry.getKey();
-			if ( entry.getValue().isEmpty() ) {
+	/**
+	 * Sends the writes collected for each collection as {@code bulkWrite} requests of at most
+	 * {@link MongoDBDatastoreProvider#getBatchSize()} operations each.
+	 * <p>
+	 * The writes guarded by an optimistic lock are sent first, see {@link #flushVersionedWrites(Map)}; if one of them
+	 * is rejected, the other writes of the flush are not sent.
+	 *
+	 * @return the callbacks of the writes which have been rejected because of an optimistic lock failure
+	 */
+	private List<Runnable> flushWrites(MongoDBDatastoreProvider provider, Map<String, BatchWriteTask> writes) {
+		List<Runnable> optimisticLockFailures = new ArrayList<>();
+		for ( BatchWriteTask writesForCollection : writes.values() ) {
+			optimisticLockFailures.addAll( writesForCollection.getOptimisticLockFailures() );
+		}
+		if ( optimisticLockFailures.isEmpty() ) {
+			Runnable optimisticLockFailure = flushVersionedWrites( provider, writes );
+			if ( optimisticLockFailure != null ) {
+				optimisticLockFailures.add( optimisticLockFailure );
+			}
+		}
+		if ( !optimisticLockFailures.isEmpty() ) {
+			writes.clear();
+			return optimisticLockFailures;
+		}
+
+		int batchSize = provider.getBatchSize();
+		for ( Map.Entry<String, BatchWriteTask> entry : writes.entrySet() ) {
+			BatchWriteTask writesForCollection = entry.getValue();
+			List<WriteModel<Document>> models = writesForCollection.getAll();
+			if ( models.isEmpty() ) {
 				// has been emptied due to subsequent removals before flushes
 				continue;
 			}
 
-			try {
-				for ( Document documentToInsert : entry.getValue().getAll() ) {
-					Object documentId = documentToInsert.get( "_id" );
-					provider.getBinaryStorageManager().storeContentToBinaryStorage( documentToInsert, entry.getValue().entityKeyMetadata, documentId );
+			for ( Document documentToInsert : writesForCollection.getInsertedDocuments() ) {
+				Object documentId = documentToInsert.get( "_id" );
+				provider.getBinaryStorageManager().storeContentToBinaryStorage( documentToInsert, writesForCollection.getEntityKeyMetadata(), documentId );
+			}
+
+			MongoCollection<Document> collection = getCollectionForWrites( entry.getKey(), writesForCollection );
+			BulkWriteOptions options = new BulkWriteOptions().ordered( writesForCollection.isOrdered() );
+
+			for ( int start = 0; start < models.size(); start += batchSize ) {
+				int end = Math.min( start + batchSize, models.size() );
+				try {
+					BulkWriteResult result = collection.bulkWrite( models.subList( start, end ), options );
+					if ( writesForCollection.hasAssociationRemovals() ) {
+						long nAffected = -1;
+						if ( result.wasAcknowledged() ) {
+							nAffected = result.getDeletedCount();
+						}
+						log.removedAssociation( nAffected );
+					}
+				}
+				catch (MongoBulkWriteException mbwe) {
+					throw toFlushException( writesForCollection, start, mbwe );
+				}
+			}
+
+			for ( Object removedId : writesForCollection.getRemovedIds() ) {
+				provider.getBinaryStorageManager().removeEntityFromBinaryStorage( writesForCollection.getEntityKeyMetadata(), removedId );
+			}
+		}
+		writes.clear();
+		return optimisticLockFailures;
+	}
+
+	private MongoCollection<Document> getCollectionForWrites(String collectionName, BatchWriteTask writesForCollection) {
+		MongoCollection<Document> collection = getCollection( collectionName, null );
+		if ( writesForCollection.getWriteConcern() != null ) {
+			collection = collection.withWriteConcern( writesForCollection.getWriteConcern() );
+		}
+		return collection;
+	}
+
+	/**
+	 * Sends the writes guarded by an optimistic lock, in the order they have been queued, in ordered {@code bulkWrite}
+	 * requests of at most {@link MongoDBDatastoreProvider#getBatchSize()} writes each.
+	 * <p>
+	 * These requests are always acknowledged, as the result tells which writes have been rejected.
+	 *
+	 * @return the callback of the first rejected write, {@code null} if all of them have been applied
+	 */
+	private Runnable flushVersionedWrites(MongoDBDatastoreProvider provider, Map<String, BatchWriteTask> writes) {
+		int batchSize = provider.getBatchSize();
+		for ( Map.Entry<String, BatchWriteTask> entry : writes.entrySet() ) {
+			BatchWriteTask writesForCollection = entry.getValue();
+			if ( !writesForCollection.hasVersionedWrites() ) {
+				continue;
+			}
+
+			MongoCollection<Document> collection = getCollectionForWrites( entry.getKey(), writesForCollection );
+			if ( !collection.getWriteConcern().isAcknowledged() ) {
+				collection = collection.withWriteConcern( WriteConcern.ACKNOWLEDGED );
+			}
+			List<VersionedWrite> versionedWrites = writesForCollection.getVersionedWrites();
+			for ( int start = 0; start < versionedWrites.size(); start += batchSize ) {
+				int end = Math.min( start + batchSize, versionedWrites.size() );
+				Runnable optimisticLockFailure = flushVersionedWrites( collection, versionedWrites.subList( start, end ) );
+				if ( optimisticLockFailure != null ) {
+					return optimisticLockFailure;
 				}
-				collection.insertMany( entry.getValue().getAll() );
 			}
-			catch ( DuplicateKeyException | MongoBulkWriteException dke ) {
-				// This exception is used by MongoDB for all the unique indexes violation, not only the primary key
-				// so we determine if it concerns the primary key by matching on the message
-				if ( PRIMARY_KEY_CONSTRAINT_VIOLATION_MESSAGE.matcher( dke.getMessage() ).matches() ) {
-					throw new TupleAlreadyExistsException( entry.getValue().getEntityKeyMetadata(), dke );
+		}
+		return null;
+	}
+
+	/**
+	 * Sends the given writes as a single ordered {@code bulkWrite}.
+	 * <p>
+	 * Each update is an upsert filtered on the id and the expected lock state of the document. When the document has
+	 * another lock state, the upsert tries to insert a document with the same id and fails with a duplicate key: the
+	 * bulk stops there, the following writes are not applied, as when the writes are not queued. When the document has
+	 * been removed, the upsert inserts it; such documents are removed again once the bulk has been applied.
+	 * <p>
+	 * A removal is sent as the same kind of upsert, marking the document with a value unique to this request, followed
+	 * by the removal of the document having this mark and the expected lock state. If a concurrent update happens
+	 * between the two, the document is not removed and still has the mark, which tells which removal has been
+	 * rejected.
+	 *
+	 * @return the callback of the first rejected write, {@code null} if all of them have been applied
+	 */
+	private static Runnable flushVersionedWrites(MongoCollection<Document> collection, List<VersionedWrite> versionedWrites) {
+		ObjectId removalMarker = new ObjectId();
+		List<WriteModel<Document>> models = new ArrayList<>( versionedWrites.size() );
+		// The index of the versioned write sent by each model
+		List<Integer> writeOfModel = new ArrayList<>( versionedWrites.size() );
+		for ( int i = 0; i < versionedWrites.size(); i++ ) {
+			VersionedWrite versionedWrite = versionedWrites.get( i );
+			if ( versionedWrite.isRemoval() ) {
+				Document marker = new Document( "$set", new Document( REMOVAL_MARKER_FIELDNAME, removalMarker ) );
+				Document markedFilter = new Document( versionedWrite.getFilter() ).append( REMOVAL_MARKER_FIELDNAME, removalMarker );
+				models.add( new UpdateOneModel<Document>( versionedWrite.getFilter(), marker, new UpdateOptions().upsert( true ) ) );
+				models.add( new DeleteOneModel<Document>( markedFilter ) );
+				writeOfModel.add( i );
+				writeOfModel.add( i );
+			}
+			else {
+				models.add( new UpdateOneModel<Document>( versionedWrite.getFilter(), versionedWrite.getUpdateStatement(), new UpdateOptions().upsert( true ) ) );
+				writeOfModel.add( i );
+			}
+		}
+
+		BulkWriteResult result;
+		int appliedModels = models.size();
+		int rejected = Integer.MAX_VALUE;
+		try {
+			result = collection.bulkWrite( models, new BulkWriteOptions().ordered( true ) );
+		}
+		catch (MongoBulkWriteException mbwe) {
+			BulkWriteError error = mbwe.getWriteErrors().get( 0 );
+			if ( !isPrimaryKeyConstraintViolation( error ) ) {
+				throw log.constraintViolationOnFlush( mbwe.getMessage(), mbwe );
+			}
+			result = mbwe.getWriteResult();
+			appliedModels = error.getIndex();
+			rejected = writeOfModel.get( error.getIndex() );
+		}
+
+		// The documents removed by someone else have been inserted by the upserts; they are matched by id as some
+		// servers do not report the index of the upserts correctly
+		if ( !result.getUpserts().isEmpty() ) {
+			Set<BsonValue> upserted = new HashSet<>();
+			for ( BulkWriteUpsert upsert : result.getUpserts() ) {
+				upserted.add( upsert.getId() );
+			}
+			List<Object> upsertedIds = new ArrayList<>();
+			for ( int i = 0; i < versionedWrites.size(); i++ ) {
+				VersionedWrite versionedWrite = versionedWrites.get( i );
+				if ( upserted.contains( toBsonValue( versionedWrite.getId() ) ) ) {
+					if ( !versionedWrite.isRemoval() ) {
+						upsertedIds.add( versionedWrite.getId() );
+					}
+					rejected = Math.min( rejected, i );
 				}
-				else {
-					throw log.constraintViolationOnFlush( dke.getMessage(), dke );
+			}
+			if ( !upsertedIds.isEmpty() ) {
+				collection.deleteMany( new Document( ID_FIELDNAME, new Document( "$in", upsertedIds ) ) );
+			}
+		}
+
+		int removals = 0;
+		for ( int i = 0; i < appliedModels; i++ ) {
+			if ( models.get( i ) instanceof DeleteOneModel ) {
+				removals++;
+			}
+		}
+		if ( result.getDeletedCount() < removals ) {
+			// Documents updated between their check and their removal
+			Document marked = new Document( REMOVAL_MARKER_FIELDNAME, removalMarker );
+			List<Object> markedIds = new ArrayList<>();
+			for ( Document document : collection.find( marked ).projection( new Document( ID_FIELDNAME, 1 ) ) ) {
+				markedIds.add( document.get( ID_FIELDNAME ) );
+			}
+			collection.updateMany( marked, new Document( "$unset", new Document( REMOVAL_MARKER_FIELDNAME, 1 ) ) );
+			for ( int i = 0; i < versionedWrites.size(); i++ ) {
+				if ( versionedWrites.get( i ).isRemoval() && markedIds.contains( versionedWrites.get( i ).getId() ) ) {
+					rejected = Math.min( rejected, i );
 				}
 			}
 		}
-		inserts.clear();
+
+		return rejected < versionedWrites.size() ? versionedWrites.get( rejected ).getOptimisticLockFailure() : null;
+	}
+
+	private static BsonValue toBsonValue(Object id) {
+		return new Document( ID_FIELDNAME, id ).toBsonDocument( BsonDocument.class, MongoClient.getDefaultCodecRegistry() ).get( ID_FIELDNAME );
+	}
+
+	/**
+	 * This error is used by MongoDB for all the unique indexes violation, not only the primary key, so we determine if
+	 * it concerns the primary key by matching on the message.
+	 */
+	private static boolean isPrimaryKeyConstraintViolation(BulkWriteError error) {
+		return ErrorCategory.fromErrorCode( error.getCode() ) == ErrorCategory.DUPLICATE_KEY
+				&& PRIMARY_KEY_CONSTRAINT_VIOLATION_MESSAGE.matcher( error.getMessage() ).matches();
+	}
+
+	private static RuntimeException toFlushException(BatchWriteTask writesForCollection, int offset, MongoBulkWriteException mbwe) {
+		for ( BulkWriteError error : mbwe.getWriteErrors() ) {
+			if ( isPrimaryKeyConstraintViolation( error ) ) {
+				EntityKey entityKey = writesForCollection.getEntityKey( offset + error.getIndex() );
+				if ( entityKey != null ) {
+					return new TupleAlreadyExistsException( entityKey, mbwe );
+				}
+				return new TupleAlreadyExistsException( writesForCollection.getEntityKeyMetadata(), mbwe );
+			}
+		}
+		return log.constraintViolationOnFlush( mbwe.getMessage(), mbwe );
 	}
 
 	private static WriteConcern getWriteConcern(TupleContext tupleContext) {
-		return tupleContext.getTupleTypeContext().getOptionsContext().getUnique( WriteConcernOption.class );
+		return MongoDBOptionsSnapshot.of( tupleContext.getTupleTypeContext().getOptionsContext() ).getWriteConcern();
 	}
 
 	private static WriteConcern getWriteConcern(AssociationContext associationContext) {
-		return associationContext.getAssociationTypeContext().getOptionsContext().getUnique( WriteConcernOption.class );
+		return MongoDBOptionsSnapshot.of( associationContext.getAssociationTypeContext().getOptionsContext() ).getWriteConcern();
 	}
 
 	/**
@@ -1996,18 +2472,51 @@ public void close() {
 	private static class MongoDBTuplesSupplier implements TuplesSupplier {
 
 		private final MongoCollection<Document> collection;
+		private final Document filter;
 		private final EntityKeyMetadata entityKeyMetadata;
 		private final GridFSStorageManager binaryStorageManager;
 
-		public MongoDBTuplesSupplier(MongoCollection<Document> collection, EntityKeyMetadata entityKeyMetadata, GridFSStorageManager binaryStorageManager) {
+		public MongoDBTuplesSupplier(MongoCollection<Document> collection, Document filter, EntityKeyMetadata entityKeyMetadata, GridFSStorageManager binaryStorageManager) {
 			this.collection = collection;
+			this.filter = filter;
 			this.entityKeyMetadata = entityKeyMetadata;
 			this.binaryStorageManager = binaryStorageManager;
 		}
 
 		@Override
 		public ClosableIterator<Tuple> get(TransactionContext transactionContext) {
-			return new MongoDBResultsCursor( collection.find().iterator(), entityKeyMetadata, binaryStorageManager );
+			return new MongoDBResultsCursor( collection.find( filter ).iterator(), entityKeyMetadata, binaryStorageManager );
+		}
+	}
+
+	/**
+	 * The documents whose {@code _id} is greater than or equal to the lower bound and less than the upper bound; a
+	 * {@code null} bound means the range is open on that side.
+	 */
+	private static class MongoDBIdRange implements TuplePartition {
+
+		private final Object lowerBound;
+		private final Object upperBound;
+
+		public MongoDBIdRange(Object lowerBound, Object upperBound) {
+			this.lowerBound = lowerBound;
+			this.upperBound = upperBound;
+		}
+
+		public Document toFilter() {
+			Document range = new Document();
+			if ( lowerBound != null ) {
+				range.append( "$gte", lowerBound );
+			}
+			if ( upperBound != null ) {
+				range.append( "$lt", upperBound );
+			}
+			return range.isEmpty() ? new Document() : new Document( ID_FIELDNAME, range );
+		}
+
+		@Override
+		public String toString() {
+			return "MongoDBIdRange [" + lowerBound + ", " + upperBound + ")";
 		}
 	}
 
@@ -2089,38 +2598,245 @@ public void close() {
 		}
 	}
 
-	private static class BatchInsertionTask {
+	/**
+	 * An update or removal guarded by an optimistic lock.
+	 */
+	private static class VersionedWrite {
+
+		private final Document filter;
+		private final Document updateStatement;
+		private final Runnable optimisticLockFailure;
+
+		/**
+		 * @param filter the id of the document and the lock state it must have
+		 * @param updateStatement the update, {@code null} for a removal
+		 * @param optimisticLockFailure to invoke if the write has been rejected
+		 */
+		public VersionedWrite(Document filter, Document updateStatement, Runnable optimisticLockFailure) {
+			this.filter = filter;
+			this.updateStatement = updateStatement;
+			this.optimisticLockFailure = optimisticLockFailure;
+		}
+
+		public Object getId() {
+			return filter.get( ID_FIELDNAME );
+		}
+
+		public Document getFilter() {
+			return filter;
+		}
+
+		public Document getUpdateStatement() {
+			return updateStatement;
+		}
+
+		public boolean isRemoval() {
+			return updateStatement == null;
+		}
+
+		public Runnable getOptimisticLockFailure() {
+			return optimisticLockFailure;
+		}
+	}
+
+	/**
+	 * The writes to apply to a given collection during a flush, in the order they have been queued.
+	 * <p>
+	 * The writes can be sent unordered as long as each of them targets a different document. The writes guarded by an
+	 * optimistic lock are kept apart as they are sent first, with the checks telling which of them is rejected.
+	 */
+	private static class BatchWriteTask {
 
 		private final EntityKeyMetadata entityKeyMetadata;
-		private final Map<EntityKey, Document> inserts;
-
-		public BatchInsertionTask(EntityKeyMetadata entityKeyMetadata) {
+		private final List<WriteModel<Document>> writes;
+		private final List<EntityKey> entityKeys;
+		private final Map<EntityKey, Integer> inserts;
+		private final Map<EntityKey, List<Integer>> pendingWrites;
+		private final Map<Document, Integer> associationUpdates = new HashMap<Document, Integer>();
+		private final Set<Object> targets;
+		private final List<Object> removedIds;
+		private final List<VersionedWrite> versionedWrites = new ArrayList<VersionedWrite>();
+		private final List<Runnable> optimisticLockFailures = new ArrayList<Runnable>();
+		private final UpdateOptions upsert = new UpdateOptions().upsert( true );
+		private WriteConcern writeConcern;
+		private boolean ordered;
+		private boolean associationRemovals;
+		private int cancelledWrites;
+
+		public BatchWriteTask(EntityKeyMetadata entityKeyMetadata) {
 			this.entityKeyMetadata = entityKeyMetadata;
-			this.inserts = new HashMap<EntityKey, Document>();
+			this.writes = new ArrayList<WriteModel<Document>>();
+			this.entityKeys = new ArrayList<EntityKey>();
+			this.inserts = new HashMap<EntityKey, Integer>();
+			this.pendingWrites = new HashMap<EntityKey, List<Integer>>();
+			this.targets = new HashSet<Object>();
+			this.removedIds = new ArrayList<Object>();
 		}
 
 		public EntityKeyMetadata getEntityKeyMetadata() {
 			return entityKeyMetadata;
 		}
 
-		public List<Document> getAll() {
-			return new ArrayList<Document>( inserts.values() );
+		public WriteConcern getWriteConcern() {
+			return writeConcern;
+		}
+
+		public void mergeWriteConcern(WriteConcern writeConcern) {
+			this.writeConcern = MongoDBDialect.mergeWriteConcern( this.writeConcern, writeConcern );
+		}
+
+		public boolean isOrdered() {
+			return ordered;
+		}
+
+		public boolean hasAssociationRemovals() {
+			return associationRemovals;
+		}
+
+		public void addInsert(EntityKey entityKey, Document document) {
+			Integer index = inserts.get( entityKey );
+			if ( index != null ) {
+				writes.set( index, new InsertOneModel<Document>( document ) );
+			}
+			else {
+				inserts.put( entityKey, writes.size() );
+				addPending( entityKey, new InsertOneModel<Document>( document ) );
+			}
+		}
+
+		public void addUpdate(EntityKey entityKey, Document documentId, Document updateStatement) {
+			addPending( entityKey, new UpdateOneModel<Document>( documentId, updateStatement, upsert ) );
+		}
+
+		public void addRemove(EntityKey entityKey, Document documentId) {
+			add( entityKey, entityKey, new DeleteOneModel<Document>( documentId ) );
+			removedIds.add( documentId.get( ID_FIELDNAME ) );
 		}
 
-		public boolean containsKey(EntityKey entityKey) {
-			return inserts.containsKey( entityKey );
+		public void addVersionedUpdate(Document documentId, Tuple oldLockState, Document updateStatement, Runnable optimisticLockFailure) {
+			versionedWrites.add( new VersionedWrite( withLockState( documentId, oldLockState ), updateStatement, optimisticLockFailure ) );
 		}
 
-		public Document remove(EntityKey entityKey) {
-			return inserts.remove( entityKey );
+		public void addVersionedRemove(Document documentId, Tuple oldLockState, Runnable optimisticLockFailure) {
+			versionedWrites.add( new VersionedWrite( withLockState( documentId, oldLockState ), null, optimisticLockFailure ) );
 		}
 
-		public void put(EntityKey entityKey, Document object) {
-			inserts.put( entityKey, object );
+		public void addOptimisticLockFailure(Runnable optimisticLockFailure) {
+			optimisticLockFailures.add( optimisticLockFailure );
 		}
 
-		public boolean isEmpty() {
-			return inserts.isEmpty();
+		/**
+		 * Adds the update of an association document; the update replaces the previous one of the same document
+		 * queued since its last removal, if any, as it contains all the changes of the association.
+		 */
+		public void addAssociationUpdate(Document query, Document update) {
+			Integer index = associationUpdates.get( query );
+			if ( index != null ) {
+				writes.set( index, new UpdateOneModel<Document>( query, update, upsert ) );
+			}
+			else {
+				associationUpdates.put( query, writes.size() );
+				add( null, query, new UpdateOneModel<Document>( query, update, upsert ) );
+			}
+		}
+
+		public void addAssociationRemove(Document query) {
+			associationUpdates.remove( query );
+			add( null, query, new DeleteManyModel<Document>( query ) );
+			associationRemovals = true;
+		}
+
+		/**
+		 * Removes the insertion and the updates of the given entity queued since its last removal, if any: they would
+		 * be overridden by the removal anyway.
+		 *
+		 * @return {@code true} if an insertion has been cancelled, meaning that the document does not have to be
+		 * removed, {@code false} otherwise
+		 */
+		public boolean cancelPendingWrites(EntityKey entityKey) {
+			List<Integer> indexes = pendingWrites.remove( entityKey );
+			if ( indexes == null ) {
+				return false;
+			}
+			for ( Integer index : indexes ) {
+				writes.set( index, null );
+				entityKeys.set( index, null );
+			}
+			cancelledWrites += indexes.size();
+			return inserts.remove( entityKey ) != null;
+		}
+
+		/**
+		 * @return the writes to send, the entity key of the i-th write can be obtained via {@link #getEntityKey(int)}
+		 */
+		public List<WriteModel<Document>> getAll() {
+			if ( cancelledWrites > 0 ) {
+				for ( int i = writes.size() - 1; i >= 0; i-- ) {
+					if ( writes.get( i ) == null ) {
+						writes.remove( i );
+						entityKeys.remove( i );
+					}
+				}
+				cancelledWrites = 0;
+			}
+			return writes;
+		}
+
+		public EntityKey getEntityKey(int index) {
+			return entityKeys.get( index );
+		}
+
+		public List<Document> getInsertedDocuments() {
+			List<Document> documents = new ArrayList<Document>( inserts.size() );
+			for ( WriteModel<Document> write : writes ) {
+				if ( write instanceof InsertOneModel ) {
+					documents.add( ( (InsertOneModel<Document>) write ).getDocument() );
+				}
+			}
+			return documents;
+		}
+
+		public List<Object> getRemovedIds() {
+			return removedIds;
+		}
+
+		public boolean hasVersionedWrites() {
+			return !versionedWrites.isEmpty();
+		}
+
+		public List<VersionedWrite> getVersionedWrites() {
+			return versionedWrites;
+		}
+
+		public List<Runnable> getOptimisticLockFailures() {
+			return optimisticLockFailures;
+		}
+
+		private static Document withLockState(Document documentId, Tuple oldLockState) {
+			Document filter = new Document( documentId );
+			for ( String column : oldLockState.getColumnNames() ) {
+				filter.put( column, oldLockState.get( column ) );
+			}
+			return filter;
+		}
+
+		private void addPending(EntityKey entityKey, WriteModel<Document> write) {
+			List<Integer> indexes = pendingWrites.get( entityKey );
+			if ( indexes == null ) {
+				indexes = new ArrayList<Integer>( 2 );
+				pendingWrites.put( entityKey, indexes );
+			}
+			indexes.add( writes.size() );
+			add( entityKey, entityKey, write );
+		}
+
+		private void add(EntityKey entityKey, Object target, WriteModel<Document> write) {
+			writes.add( write );
+			entityKeys.add( entityKey );
+			if ( !targets.add( target ) ) {
+				// several writes on the same document: they must be applied in the order they were queued
+				ordered = true;
+			}
 		}
 	}
 }
@@ -82,6 +82,25 @@ public final class MongoDBProperties implements DocumentStoreProperties {
 	 */
 	public static final String AUTHENTICATION_DATABASE = "hibernate.ogm.mongodb.authentication_database";
 
+	/**
+	 * Configuration property for setting the maximum number of write operations sent to MongoDB in a single
+	 * {@code bulkWrite} request when flushing a batch of changes. Larger batches are split into several requests.
+	 * Must be a positive integer.
+	 * <p>
+	 * Defaults to 1000.
+	 */
+	public static final String BATCH_SIZE = "hibernate.ogm.mongodb.batch_size";
+
+	/**
+	 * Configuration property for setting the number of values of a sequence or table generator reserved with each
+	 * request to MongoDB. When greater than 1, the values are reserved in blocks of {@code increment * prefetch} and
+	 * the next block is reserved in the background before the current one runs out; the values not used before the
+	 * application stops are lost. Must be a positive integer.
+	 * <p>
+	 * Defaults to 1, every value is requested to MongoDB.
+	 */
+	public static final String SEQUENCE_PREFETCH = "hibernate.ogm.mongodb.sequence_prefetch";
+
 	/**
 	 * Property prefix for MongoDB driver settings which needs to be passed on to the driver. Refer to
 	 * the options of {@link com.mongodb.MongoClientOptions.Builder} for a list of available properties.
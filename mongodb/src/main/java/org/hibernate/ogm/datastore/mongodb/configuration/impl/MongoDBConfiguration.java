@@ -45,6 +45,8 @@ public class MongoDBConfiguration extends DocumentStoreConfiguration {
 	public static final String DEFAULT_AUTHENTICATION_DATABASE = "admin";
 
 	private static final int DEFAULT_PORT = 27017;
+	private static final int DEFAULT_BATCH_SIZE = 1000;
+	private static final int DEFAULT_SEQUENCE_PREFETCH = 1;
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
 	private final WriteConcern writeConcern;
@@ -53,6 +55,8 @@ public class MongoDBConfiguration extends DocumentStoreConfiguration {
 	private final AuthenticationMechanismType authenticationMechanism;
 	private final ConfigurationPropertyReader propertyReader;
 	private final String authenticationDatabaseName;
+	private final int batchSize;
+	private final int sequencePrefetch;
 
 	/**
 	 * Creates a new {@link MongoDBConfiguration}.
@@ -70,6 +74,14 @@ public MongoDBConfiguration(ConfigurationPropertyReader propertyReader, OptionsC
 		this.authenticationDatabaseName = propertyReader.property( MongoDBProperties.AUTHENTICATION_DATABASE, String.class )
 				.withDefault( DEFAULT_AUTHENTICATION_DATABASE )
 				.getValue();
+		this.batchSize = propertyReader.property( MongoDBProperties.BATCH_SIZE, int.class )
+				.withDefault( DEFAULT_BATCH_SIZE )
+				.withValidator( MongoDBValidators.BATCH_SIZE )
+				.getValue();
+		this.sequencePrefetch = propertyReader.property( MongoDBProperties.SEQUENCE_PREFETCH, int.class )
+				.withDefault( DEFAULT_SEQUENCE_PREFETCH )
+				.withValidator( MongoDBValidators.SEQUENCE_PREFETCH )
+				.getValue();
 		this.writeConcern = globalOptions.getUnique( WriteConcernOption.class );
 		this.readConcern = globalOptions.getUnique( ReadConcernOption.class );
 		this.readPreference = globalOptions.getUnique( ReadPreferenceOption.class );
@@ -140,6 +152,20 @@ private Map<String, Method> createSettingsMap() {
 		return settingsMap;
 	}
 
+	/**
+	 * @return the maximum number of write operations sent to MongoDB in a single bulk write request
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * @return the number of values of a sequence reserved with each request to MongoDB
+	 */
+	public int getSequencePrefetch() {
+		return sequencePrefetch;
+	}
+
 	private String getAuthenticationDatabaseName() {
 		return authenticationDatabaseName;
 	}
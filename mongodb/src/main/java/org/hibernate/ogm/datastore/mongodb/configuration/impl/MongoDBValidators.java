@@ -0,0 +1,57 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.configuration.impl;
+
+import java.lang.invoke.MethodHandles;
+
+import org.hibernate.HibernateException;
+import org.hibernate.ogm.datastore.mongodb.logging.impl.Log;
+import org.hibernate.ogm.datastore.mongodb.logging.impl.LoggerFactory;
+import org.hibernate.ogm.util.configurationreader.spi.PropertyValidator;
+
+/**
+ * Collects the {@link PropertyValidator}s for the MongoDB configuration.
+ */
+public class MongoDBValidators {
+
+	/**
+	 * A {@link PropertyValidator} which asserts that a given number is a valid batch size.
+	 */
+	public static final PropertyValidator<Integer> BATCH_SIZE = new PropertyValidator<Integer>() {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value == null ) {
+				return;
+			}
+			if ( value < 1 ) {
+				throw log.illegalBatchSizeValue( value );
+			}
+		}
+	};
+
+	/**
+	 * A {@link PropertyValidator} which asserts that a given number is a valid sequence prefetch.
+	 */
+	public static final PropertyValidator<Integer> SEQUENCE_PREFETCH = new PropertyValidator<Integer>() {
+
+		@Override
+		public void validate(Integer value) throws HibernateException {
+			if ( value == null ) {
+				return;
+			}
+			if ( value < 1 ) {
+				throw log.illegalSequencePrefetchValue( value );
+			}
+		}
+	};
+
+	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
+
+	private MongoDBValidators() {
+	};
+}
@@ -60,6 +60,8 @@ public class MongoDBDatastoreProvider extends BaseDatastoreProvider implements S
 
 	private GridFSStorageManager binaryStorageManager;
 
+	private MongoDBSequenceReservations sequenceReservations;
+
 	public MongoDBDatastoreProvider() {
 	}
 
@@ -123,6 +125,10 @@ public void start() {
 			lookupDatabase();
 		}
 
+		if ( config.getSequencePrefetch() > 1 ) {
+			sequenceReservations = new MongoDBSequenceReservations( config.getSequencePrefetch() );
+		}
+
 		// clear resources
 		this.jndiService = null;
 	}
@@ -171,6 +177,9 @@ protected MongoClient createMongoClient(MongoDBConfiguration config) {
 
 	@Override
 	public void stop() {
+		if ( sequenceReservations != null ) {
+			sequenceReservations.stop();
+		}
 		log.disconnectingFromMongo();
 		mongo.close();
 	}
@@ -238,4 +247,18 @@ public void initializeBinaryStorageManager(OptionsService optionsService, Map<St
 	public GridFSStorageManager getBinaryStorageManager() {
 		return binaryStorageManager;
 	}
+
+	/**
+	 * @return the maximum number of write operations sent to MongoDB in a single bulk write request
+	 */
+	public int getBatchSize() {
+		return config.getBatchSize();
+	}
+
+	/**
+	 * @return the reservations of the sequence values, {@code null} if the values are not reserved in blocks
+	 */
+	public MongoDBSequenceReservations getSequenceReservations() {
+		return sequenceReservations;
+	}
 }
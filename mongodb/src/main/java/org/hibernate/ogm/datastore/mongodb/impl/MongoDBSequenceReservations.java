@@ -0,0 +1,161 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import org.hibernate.ogm.datastore.mongodb.logging.impl.Log;
+import org.hibernate.ogm.datastore.mongodb.logging.impl.LoggerFactory;
+import org.hibernate.ogm.dialect.spi.NextValueRequest;
+import org.hibernate.ogm.massindex.impl.Executors;
+import org.hibernate.ogm.model.key.spi.IdSourceKey;
+
+/**
+ * Reserves the values of the sequences in blocks, so that most of the requests for the next value of a sequence are
+ * served without contacting MongoDB.
+ * <p>
+ * A block contains the values of {@code prefetch} requests: it is allocated by incrementing the value stored in the
+ * datastore by {@code increment * prefetch} at once. When half of a block has been used the next one is allocated in
+ * the background, so that the requests don't have to wait for it. A sequence whose block increment does not fit in an
+ * integer is rejected.
+ * <p>
+ * The values stored in the datastore are not affected: other clients, with or without reservations, keep generating
+ * unique values. The values of a block that are not used before the application stops are lost, the sequences
+ * will have gaps.
+ */
+public class MongoDBSequenceReservations {
+
+	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
+
+	private final int prefetch;
+	private final ExecutorService executor;
+	private final ConcurrentMap<ReservationKey, Reservation> reservations = new ConcurrentHashMap<>();
+
+	/**
+	 * @param prefetch the number of requests served by each block
+	 */
+	public MongoDBSequenceReservations(int prefetch) {
+		this.prefetch = prefetch;
+		this.executor = Executors.newFixedThreadPool( 1, "MongoDB sequence prefetch" );
+	}
+
+	/**
+	 * Returns the next value of a sequence, allocating a new block when needed.
+	 *
+	 * @param request the request for the next value
+	 * @param allocator returns the first value of a block, given a request with the increment of the whole block
+	 * @return the next value of the sequence
+	 */
+	public Number nextValue(NextValueRequest request, Function<NextValueRequest, Number> allocator) {
+		ReservationKey reservationKey = new ReservationKey( request.getKey(), request.getIncrement() );
+		Reservation reservation = reservations.get( reservationKey );
+		if ( reservation == null ) {
+			NextValueRequest blockRequest = new NextValueRequest( request.getKey(), blockIncrement( request ), request.getInitialValue() );
+			Reservation newReservation = new Reservation( blockRequest, request.getIncrement(), allocator );
+			reservation = reservations.putIfAbsent( reservationKey, newReservation );
+			if ( reservation == null ) {
+				reservation = newReservation;
+			}
+		}
+		return reservation.nextValue();
+	}
+
+	private int blockIncrement(NextValueRequest request) {
+		long blockIncrement = (long) request.getIncrement() * prefetch;
+		if ( blockIncrement > Integer.MAX_VALUE || blockIncrement < Integer.MIN_VALUE ) {
+			throw log.sequencePrefetchOverflow( request.getKey().getMetadata().getName(), request.getIncrement(), prefetch );
+		}
+		return (int) blockIncrement;
+	}
+
+	public void stop() {
+		executor.shutdownNow();
+	}
+
+	private final class Reservation {
+
+		private final NextValueRequest blockRequest;
+		private final int increment;
+		private final Function<NextValueRequest, Number> allocator;
+
+		private long nextValue;
+		private int remaining;
+		private CompletableFuture<Long> nextBlock;
+
+		private Reservation(NextValueRequest blockRequest, int increment, Function<NextValueRequest, Number> allocator) {
+			this.blockRequest = blockRequest;
+			this.increment = increment;
+			this.allocator = allocator;
+		}
+
+		public synchronized long nextValue() {
+			if ( remaining == 0 ) {
+				nextValue = nextBlock();
+				remaining = prefetch;
+			}
+			long value = nextValue;
+			nextValue += increment;
+			remaining--;
+			if ( nextBlock == null && remaining <= prefetch / 2 ) {
+				nextBlock = CompletableFuture.supplyAsync( this::allocate, executor );
+			}
+			return value;
+		}
+
+		private long nextBlock() {
+			CompletableFuture<Long> pending = nextBlock;
+			nextBlock = null;
+			if ( pending != null ) {
+				try {
+					return pending.join();
+				}
+				catch (CompletionException e) {
+					// Try again and let the caller handle the failure
+				}
+			}
+			return allocate();
+		}
+
+		private long allocate() {
+			return allocator.apply( blockRequest ).longValue();
+		}
+	}
+
+	private static final class ReservationKey {
+
+		private final IdSourceKey key;
+		private final int increment;
+
+		private ReservationKey(IdSourceKey key, int increment) {
+			this.key = key;
+			this.increment = increment;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if ( this == obj ) {
+				return true;
+			}
+			if ( obj == null || getClass() != obj.getClass() ) {
+				return false;
+			}
+			ReservationKey other = (ReservationKey) obj;
+			return increment == other.increment && key.equals( other.key );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * key.hashCode() + increment;
+		}
+	}
+}
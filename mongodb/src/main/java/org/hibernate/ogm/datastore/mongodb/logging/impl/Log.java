@@ -144,4 +144,13 @@ public interface Log extends org.hibernate.ogm.util.impl.Log {
 
 	@Message(id = 1240, value = "Procedures returning muliple documents are not supported. Procedure '%1$s' returned %2$d results")
 	HibernateException multipleDocumentReturnedByStoredProcedure(String storedProcedureName, int size);
+
+	@Message(id = 1241, value = "Illegal value for the MongoDB batch size: %1$d. It must be a positive integer.")
+	HibernateException illegalBatchSizeValue(int value);
+
+	@Message(id = 1242, value = "Illegal value for the MongoDB sequence prefetch: %1$d. It must be a positive integer.")
+	HibernateException illegalSequencePrefetchValue(int value);
+
+	@Message(id = 1243, value = "The sequence %1$s cannot be reserved in blocks of %3$d values: the block increment %2$d * %3$d does not fit in an integer. Reduce the MongoDB sequence prefetch.")
+	HibernateException sequencePrefetchOverflow(String sequence, int increment, int prefetch);
 }
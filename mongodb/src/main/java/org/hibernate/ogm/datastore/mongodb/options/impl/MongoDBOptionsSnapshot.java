@@ -0,0 +1,75 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.options.impl;
+
+import java.util.function.Function;
+
+import org.hibernate.ogm.datastore.document.options.AssociationStorageType;
+import org.hibernate.ogm.datastore.document.options.spi.AssociationStorageOption;
+import org.hibernate.ogm.datastore.mongodb.options.AssociationDocumentStorageType;
+import org.hibernate.ogm.options.spi.OptionsContext;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+
+/**
+ * The MongoDB options effectively applying for an entity type or an association, resolved once from the
+ * corresponding {@link OptionsContext}.
+ */
+public final class MongoDBOptionsSnapshot {
+
+	private static final Function<OptionsContext, MongoDBOptionsSnapshot> FACTORY = MongoDBOptionsSnapshot::new;
+
+	private final WriteConcern writeConcern;
+	private final ReadConcern readConcern;
+	private final ReadPreference readPreference;
+	private final AssociationStorageType associationStorage;
+	private final AssociationDocumentStorageType associationDocumentStorage;
+
+	private MongoDBOptionsSnapshot(OptionsContext context) {
+		this.writeConcern = context.getUnique( WriteConcernOption.class );
+		this.readConcern = context.getUnique( ReadConcernOption.class );
+		this.readPreference = context.getUnique( ReadPreferenceOption.class );
+		this.associationStorage = context.getUnique( AssociationStorageOption.class );
+		this.associationDocumentStorage = context.getUnique( AssociationDocumentStorageOption.class );
+	}
+
+	/**
+	 * @param context the options context of an entity type or an association
+	 * @return the snapshot of the MongoDB options of the given context
+	 */
+	public static MongoDBOptionsSnapshot of(OptionsContext context) {
+		return context.getSnapshot( MongoDBOptionsSnapshot.class, FACTORY );
+	}
+
+	public WriteConcern getWriteConcern() {
+		return writeConcern;
+	}
+
+	public ReadConcern getReadConcern() {
+		return readConcern;
+	}
+
+	public ReadPreference getReadPreference() {
+		return readPreference;
+	}
+
+	public AssociationStorageType getAssociationStorage() {
+		return associationStorage;
+	}
+
+	public AssociationDocumentStorageType getAssociationDocumentStorage() {
+		return associationDocumentStorage;
+	}
+
+	@Override
+	public String toString() {
+		return "MongoDBOptionsSnapshot [writeConcern=" + writeConcern + ", readConcern=" + readConcern + ", readPreference=" + readPreference
+				+ ", associationStorage=" + associationStorage + ", associationDocumentStorage=" + associationDocumentStorage + "]";
+	}
+}
@@ -6,12 +6,17 @@
  */
 package org.hibernate.ogm.datastore.mongodb.query.parsing.impl;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.SessionFactory;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.hql.QueryParser;
 import org.hibernate.hql.ast.spi.EntityNamesResolver;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.ogm.datastore.mongodb.logging.impl.Log;
 import org.hibernate.ogm.datastore.mongodb.logging.impl.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -30,12 +35,34 @@ public class MongoDBBasedQueryParserService extends BaseQueryParserService {
 
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
+	/**
+	 * The maximum number of query templates kept in memory, same as the default size of the query plan cache of
+	 * Hibernate ORM.
+	 */
+	private static final int MAX_TEMPLATES = 2048;
+
 	private volatile SessionFactoryEntityNamesResolver entityNamesResolver;
 
+	/**
+	 * The queries parsed once with placeholders in place of the parameter values, by query string.
+	 */
+	private final ConcurrentMap<String, MongoDBQueryTemplate> templates = new BoundedConcurrentHashMap<String, MongoDBQueryTemplate>(
+			MAX_TEMPLATES,
+			20,
+			BoundedConcurrentHashMap.Eviction.LIRS
+	);
+
 	@Override
 	public QueryParsingResult parseQuery(SessionFactoryImplementor sessionFactory, String queryString, Map<String, Object> namedParameters) {
+		Map<String, Object> parameterValues = unwrap( namedParameters );
+
+		MongoDBQueryTemplate template = getTemplate( sessionFactory, queryString, parameterValues );
+		if ( template.isBindable( parameterValues ) ) {
+			return template.bind( parameterValues, sessionFactory );
+		}
+
 		QueryParser queryParser = new QueryParser();
-		MongoDBProcessingChain processingChain = createProcessingChain( sessionFactory, unwrap( namedParameters ) );
+		MongoDBProcessingChain processingChain = createProcessingChain( sessionFactory, parameterValues );
 
 		MongoDBQueryParsingResult result = queryParser.parseQuery( queryString, processingChain );
 		log.createdQuery( queryString, result );
@@ -43,6 +70,35 @@ public QueryParsingResult parseQuery(SessionFactoryImplementor sessionFactory, S
 		return result;
 	}
 
+	private MongoDBQueryTemplate getTemplate(SessionFactoryImplementor sessionFactory, String queryString, Map<String, Object> parameterValues) {
+		MongoDBQueryTemplate template = templates.get( queryString );
+		if ( template == null ) {
+			template = createTemplate( sessionFactory, queryString, parameterValues.keySet() );
+			MongoDBQueryTemplate cached = templates.putIfAbsent( queryString, template );
+			if ( cached != null ) {
+				template = cached;
+			}
+		}
+		return template;
+	}
+
+	private MongoDBQueryTemplate createTemplate(SessionFactoryImplementor sessionFactory, String queryString, Set<String> parameterNames) {
+		Map<String, Object> placeholders = new HashMap<String, Object>( parameterNames.size() );
+		for ( String parameterName : parameterNames ) {
+			placeholders.put( parameterName, new MongoDBQueryParameter( parameterName ) );
+		}
+
+		QueryParser queryParser = new QueryParser();
+		MongoDBProcessingChain processingChain = createProcessingChain( sessionFactory, placeholders );
+
+		MongoDBQueryParsingResult result = queryParser.parseQuery( queryString, processingChain );
+		if ( processingChain.isBindable() ) {
+			log.createdQuery( queryString, result );
+			return new MongoDBQueryTemplate( result, new HashSet<String>( parameterNames ) );
+		}
+		return new MongoDBQueryTemplate( null, new HashSet<String>( parameterNames ) );
+	}
+
 	@Override
 	public QueryParsingResult parseQuery(SessionFactoryImplementor sessionFactory, String queryString) {
 		throw new UnsupportedOperationException( "MongoDB does not support parameterized queries. Parameter values " +
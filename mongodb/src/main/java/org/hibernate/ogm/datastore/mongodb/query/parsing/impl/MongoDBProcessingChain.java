@@ -54,4 +54,13 @@ public Iterator<AstProcessor> iterator() {
 	public MongoDBQueryParsingResult getResult() {
 		return rendererDelegate.getResult();
 	}
+
+	/**
+	 * @return {@code false} if the parsed query contains parameter placeholders that cannot be replaced by the
+	 * parameter values without parsing the query again, {@code true} otherwise
+	 * @see MongoDBQueryTemplate
+	 */
+	public boolean isBindable() {
+		return rendererDelegate.isBindable();
+	}
 }
@@ -62,6 +62,10 @@ public Object convertToBackendType(String entityType, List<String> propertyPath,
 			propertyType = ( (CollectionType) propertyType ).getElementType( sessionFactory );
 		}
 		GridType ogmType = sessionFactory.getServiceRegistry().getService( TypeTranslator.class ).getType( propertyType );
+		if ( value instanceof MongoDBQueryParameter ) {
+			// The value will be converted when the query template is bound
+			return ( (MongoDBQueryParameter) value ).withGridType( ogmType );
+		}
 		return ogmType.convertToBackendType( value, sessionFactory );
 	}
 
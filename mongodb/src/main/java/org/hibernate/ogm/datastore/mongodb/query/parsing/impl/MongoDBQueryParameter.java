@@ -0,0 +1,58 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.query.parsing.impl;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.ogm.type.spi.GridType;
+
+/**
+ * Placeholder for the value of a named parameter in the query {@link org.bson.Document} of a
+ * {@link MongoDBQueryTemplate}.
+ * <p>
+ * Keeps track of the {@link GridType} of the property compared with the parameter, so that the value can be converted
+ * the same way a literal would be when the template is bound.
+ */
+public class MongoDBQueryParameter {
+
+	private final String name;
+	private final GridType gridType;
+
+	public MongoDBQueryParameter(String name) {
+		this( name, null );
+	}
+
+	private MongoDBQueryParameter(String name, GridType gridType) {
+		this.name = name;
+		this.gridType = gridType;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @param gridType the type of the property the parameter is compared with
+	 * @return a placeholder for the same parameter, converting the bound value using the given type
+	 */
+	public MongoDBQueryParameter withGridType(GridType gridType) {
+		return new MongoDBQueryParameter( name, gridType );
+	}
+
+	/**
+	 * @param value the value of the parameter
+	 * @param sessionFactory the session factory
+	 * @return the value to use in the query sent to MongoDB
+	 */
+	public Object bind(Object value, SessionFactoryImplementor sessionFactory) {
+		return gridType == null ? value : gridType.convertToBackendType( value, sessionFactory );
+	}
+
+	@Override
+	public String toString() {
+		return ":" + name;
+	}
+}
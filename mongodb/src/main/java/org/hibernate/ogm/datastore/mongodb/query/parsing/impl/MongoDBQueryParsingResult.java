@@ -62,6 +62,14 @@ public List<String> getUnwinds() {
 		return unwinds;
 	}
 
+	/**
+	 * @param query the query to use instead of the one of this result
+	 * @return a copy of this result with the given query
+	 */
+	MongoDBQueryParsingResult withQuery(Document query) {
+		return new MongoDBQueryParsingResult( entityType, collectionName, query, projection, orderBy, unwinds, operation, aggregation );
+	}
+
 	@Override
 	public Object getQueryObject() {
 		return new MongoDBQueryDescriptor(
@@ -48,6 +48,13 @@ public class MongoDBQueryRendererDelegate extends SingleEntityQueryRendererDeleg
 	 */
 	private List<String> unwinds;
 
+	private final Map<String, Object> namedParameters;
+
+	/*
+	 * Whether the parameter placeholders in the query can be replaced with the parameter values, see MongoDBQueryTemplate
+	 */
+	private boolean bindable = true;
+
 	public MongoDBQueryRendererDelegate(SessionFactoryImplementor sessionFactory, EntityNamesResolver entityNames, MongoDBPropertyHelper propertyHelper, Map<String, Object> namedParameters) {
 		super(
 				propertyHelper,
@@ -57,6 +64,7 @@ public MongoDBQueryRendererDelegate(SessionFactoryImplementor sessionFactory, En
 
 		this.sessionFactory = sessionFactory;
 		this.propertyHelper = propertyHelper;
+		this.namedParameters = namedParameters;
 	}
 
 	@Override
@@ -196,6 +204,28 @@ private Document getProjectionDocument() {
 		return projectionDocument;
 	}
 
+	@Override
+	public void predicateLike(String patternValue, Character escapeCharacter) {
+		if ( isParameterPlaceholder( patternValue ) ) {
+			// The pattern is converted into a regular expression when the predicate is created, the query must be
+			// parsed again with the actual value
+			bindable = false;
+		}
+		else {
+			super.predicateLike( patternValue, escapeCharacter );
+		}
+	}
+
+	private boolean isParameterPlaceholder(String value) {
+		return namedParameters != null
+				&& value.startsWith( ":" )
+				&& namedParameters.get( value.substring( 1 ) ) instanceof MongoDBQueryParameter;
+	}
+
+	public boolean isBindable() {
+		return bindable;
+	}
+
 	@Override
 	public void activateAggregation(AggregationPropertyPath.Type aggregationType) {
 		if ( aggregationType == Type.COUNT || aggregationType == Type.COUNT_DISTINCT ) {
@@ -0,0 +1,86 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.query.parsing.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.bson.Document;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * The result of parsing a JP-QL query once, with a {@link MongoDBQueryParameter} in place of the value of each named
+ * parameter.
+ * <p>
+ * Binding the template copies the query document, replacing the placeholders with the given values; the query does
+ * not need to be parsed again for each set of parameter values.
+ */
+public class MongoDBQueryTemplate {
+
+	private final MongoDBQueryParsingResult result;
+	private final Set<String> parameterNames;
+
+	/**
+	 * @param result the result of the parsing, {@code null} if the query cannot be bound without parsing it again
+	 * @param parameterNames the names of the parameters of the query
+	 */
+	public MongoDBQueryTemplate(MongoDBQueryParsingResult result, Set<String> parameterNames) {
+		this.result = result;
+		this.parameterNames = parameterNames;
+	}
+
+	/**
+	 * Whether the template can be bound to the given parameters. That's not the case if a parameter is used where
+	 * its value changes the structure of the query (e.g. the pattern of a {@code LIKE} predicate).
+	 *
+	 * @param parameterValues the values of the named parameters
+	 * @return {@code true} if the template can be bound to the given values, {@code false} otherwise
+	 */
+	public boolean isBindable(Map<String, Object> parameterValues) {
+		return result != null && parameterNames.equals( parameterValues.keySet() );
+	}
+
+	/**
+	 * @param parameterValues the values of the named parameters
+	 * @param sessionFactory the session factory
+	 * @return the parsing result of the query with the given parameter values
+	 */
+	public MongoDBQueryParsingResult bind(Map<String, Object> parameterValues, SessionFactoryImplementor sessionFactory) {
+		if ( parameterNames.isEmpty() ) {
+			return result;
+		}
+		Document query = (Document) bind( result.getQuery(), parameterValues, sessionFactory );
+		return result.withQuery( query );
+	}
+
+	private static Object bind(Object node, Map<String, Object> parameterValues, SessionFactoryImplementor sessionFactory) {
+		if ( node instanceof MongoDBQueryParameter ) {
+			MongoDBQueryParameter parameter = (MongoDBQueryParameter) node;
+			return parameter.bind( parameterValues.get( parameter.getName() ), sessionFactory );
+		}
+		else if ( node instanceof Document ) {
+			Document document = (Document) node;
+			Document bound = new Document();
+			for ( Entry<String, Object> entry : document.entrySet() ) {
+				bound.put( entry.getKey(), bind( entry.getValue(), parameterValues, sessionFactory ) );
+			}
+			return bound;
+		}
+		else if ( node instanceof List ) {
+			List<?> list = (List<?>) node;
+			List<Object> bound = new ArrayList<>( list.size() );
+			for ( Object element : list ) {
+				bound.add( bind( element, parameterValues, sessionFactory ) );
+			}
+			return bound;
+		}
+		return node;
+	}
+}
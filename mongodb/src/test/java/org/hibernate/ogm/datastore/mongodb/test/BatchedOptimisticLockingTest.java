@@ -0,0 +1,283 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.Session;
+import org.hibernate.StaleObjectStateException;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.mongodb.MongoDBDialect;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
+import org.hibernate.ogm.utils.OgmTestCase;
+import org.hibernate.resource.transaction.spi.TransactionStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the updates and removals guarded by an optimistic lock are executed as part of the batch, that the stale
+ * entities are still detected and that the writes following a stale entity are not applied.
+ */
+public class BatchedOptimisticLockingTest extends OgmTestCase {
+
+	private static final List<String> IDS = Arrays.asList( "comet-1", "comet-2", "comet-3" );
+
+	private static final String NEW_ID = "comet-4";
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@Before
+	public void persistComets() {
+		LeakingMongoDBDialect.queueSize = 0;
+		inTransaction( session -> {
+			for ( String id : IDS ) {
+				session.persist( new Comet( id, "Comet " + id ) );
+			}
+		} );
+	}
+
+	@After
+	public void removeComets() {
+		executor.shutdownNow();
+		inTransaction( session -> {
+			for ( String id : Arrays.asList( "comet-1", "comet-2", "comet-3", NEW_ID ) ) {
+				Comet comet = session.get( Comet.class, id );
+				if ( comet != null ) {
+					session.delete( comet );
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testUpdatesAreBatched() throws Exception {
+		inTransaction( session -> {
+			for ( String id : IDS ) {
+				session.get( Comet.class, id ).setName( "Halley" );
+			}
+		} );
+
+		assertThat( LeakingMongoDBDialect.queueSize ).isEqualTo( IDS.size() );
+		inTransaction( session -> {
+			for ( String id : IDS ) {
+				Comet comet = session.get( Comet.class, id );
+				assertThat( comet.getName() ).isEqualTo( "Halley" );
+				assertThat( comet.getVersion() ).isEqualTo( 1 );
+			}
+		} );
+	}
+
+	@Test
+	public void testStaleEntityIsDetectedInBatchedUpdates() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( String id : IDS ) {
+			session.get( Comet.class, id ).setName( "Halley" );
+		}
+		session.persist( new Comet( NEW_ID, "Tempel" ) );
+
+		renameInSeparateThread( "comet-2", "Encke" );
+
+		StaleObjectStateException exception = commitAndExpectStaleObjectState( session, transaction );
+		assertThat( exception.getIdentifier() ).isEqualTo( "comet-2" );
+
+		// As without batching, the updates preceding the stale entity have been applied, not the other writes of the
+		// flush; MongoDB stops the ordered bulk at the stale entity, but some test servers apply the following updates
+		inTransaction( check -> {
+			assertThat( check.get( Comet.class, "comet-1" ).getName() ).isEqualTo( "Halley" );
+			assertThat( check.get( Comet.class, "comet-2" ).getName() ).isEqualTo( "Encke" );
+			assertThat( check.get( Comet.class, NEW_ID ) ).isNull();
+		} );
+	}
+
+	@Test
+	public void testUpdateIsRejectedWhenAConcurrentUpdateReachedTheSameVersion() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		session.get( Comet.class, "comet-1" ).setName( "Halley" );
+		session.get( Comet.class, "comet-2" ).setName( "Halley" );
+
+		// Both updates lead to version 1, the document looks like the result of the update of the batch
+		renameInSeparateThread( "comet-1", "Halley" );
+
+		StaleObjectStateException exception = commitAndExpectStaleObjectState( session, transaction );
+		assertThat( exception.getIdentifier() ).isEqualTo( "comet-1" );
+
+		inTransaction( check -> {
+			assertThat( check.get( Comet.class, "comet-1" ).getVersion() ).isEqualTo( 1 );
+		} );
+	}
+
+	@Test
+	public void testStaleEntityIsDetectedInBatchedRemovals() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( String id : IDS ) {
+			session.delete( session.get( Comet.class, id ) );
+		}
+
+		renameInSeparateThread( "comet-3", "Encke" );
+
+		StaleObjectStateException exception = commitAndExpectStaleObjectState( session, transaction );
+		assertThat( exception.getIdentifier() ).isEqualTo( "comet-3" );
+
+		inTransaction( check -> {
+			assertThat( check.get( Comet.class, "comet-1" ) ).isNull();
+			assertThat( check.get( Comet.class, "comet-2" ) ).isNull();
+			assertThat( check.get( Comet.class, "comet-3" ).getName() ).isEqualTo( "Encke" );
+		} );
+	}
+
+	@Test
+	public void testUpdateOfAnEntityRemovedConcurrentlyIsRejected() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( String id : IDS ) {
+			session.get( Comet.class, id ).setName( "Halley" );
+		}
+
+		removeInSeparateThread( "comet-2" );
+
+		StaleObjectStateException exception = commitAndExpectStaleObjectState( session, transaction );
+		assertThat( exception.getIdentifier() ).isEqualTo( "comet-2" );
+
+		// The rejected update must not insert the document again
+		inTransaction( check -> {
+			assertThat( check.get( Comet.class, "comet-1" ).getName() ).isEqualTo( "Halley" );
+			assertThat( check.get( Comet.class, "comet-2" ) ).isNull();
+		} );
+	}
+
+	@Test
+	public void testRemovalOfAnEntityRemovedConcurrentlyIsRejected() throws Exception {
+		Session session = openSession();
+		Transaction transaction = session.beginTransaction();
+		for ( String id : IDS ) {
+			session.delete( session.get( Comet.class, id ) );
+		}
+
+		removeInSeparateThread( "comet-1" );
+
+		StaleObjectStateException exception = commitAndExpectStaleObjectState( session, transaction );
+		assertThat( exception.getIdentifier() ).isEqualTo( "comet-1" );
+
+		inTransaction( check -> {
+			assertThat( check.get( Comet.class, "comet-1" ) ).isNull();
+		} );
+	}
+
+	private void removeInSeparateThread(String id) throws Exception {
+		executor.submit( () -> {
+			inTransaction( session -> session.delete( session.get( Comet.class, id ) ) );
+		} ).get();
+	}
+
+	private void renameInSeparateThread(String id, String name) throws Exception {
+		executor.submit( () -> {
+			inTransaction( session -> session.get( Comet.class, id ).setName( name ) );
+		} ).get();
+	}
+
+	private StaleObjectStateException commitAndExpectStaleObjectState(Session session, Transaction transaction) {
+		try {
+			transaction.commit();
+		}
+		catch (RuntimeException e) {
+			if ( transaction.getStatus() != TransactionStatus.NOT_ACTIVE ) {
+				transaction.rollback();
+			}
+			Throwable cause = e;
+			while ( cause != null && !( cause instanceof StaleObjectStateException ) ) {
+				cause = cause.getCause();
+			}
+			assertThat( cause ).as( "Unexpected exception: " + e ).isNotNull();
+			return (StaleObjectStateException) cause;
+		}
+		finally {
+			session.close();
+		}
+		throw new AssertionError( "The concurrent modification has not been detected" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Comet.class };
+	}
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( OgmProperties.GRID_DIALECT, LeakingMongoDBDialect.class );
+	}
+
+	public static class LeakingMongoDBDialect extends MongoDBDialect {
+
+		static volatile int queueSize = 0;
+
+		public LeakingMongoDBDialect(MongoDBDatastoreProvider provider) {
+			super( provider );
+		}
+
+		@Override
+		public void executeBatch(OperationsQueue queue) {
+			if ( !queue.isClosed() ) {
+				queueSize = queue.size();
+			}
+			super.executeBatch( queue );
+		}
+	}
+
+	@Entity
+	@Table(name = "Comet")
+	public static class Comet {
+
+		@Id
+		private String id;
+
+		private String name;
+
+		@Version
+		private int version;
+
+		Comet() {
+		}
+
+		Comet(String id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getVersion() {
+			return version;
+		}
+	}
+}
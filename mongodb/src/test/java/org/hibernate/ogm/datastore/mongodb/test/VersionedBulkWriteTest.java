@@ -0,0 +1,167 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.hibernate.ogm.datastore.mongodb.utils.MockMongoClientBuilder.mockClient;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.OptimisticLockException;
+
+import org.hibernate.Session;
+import org.hibernate.StaleObjectStateException;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.OgmSessionFactory;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.mongodb.test.BatchedOptimisticLockingTest.Comet;
+import org.hibernate.ogm.datastore.mongodb.utils.MockMongoClientBuilder.MockMongoClient;
+import org.hibernate.ogm.utils.TestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.BsonDocument;
+import org.bson.Document;
+
+/**
+ * Tests that the writes guarded by an optimistic lock are sent as a single {@code bulkWrite} and that the stale
+ * entities are found from the result of this request.
+ */
+public class VersionedBulkWriteTest {
+
+	private MockMongoClient mockClient;
+	private OgmSessionFactory sessions;
+
+	@Before
+	public void setupSessionFactory() {
+		// given three comets
+		mockClient = mockClient()
+				.insert( "Comet", getComet( "comet-1" ) )
+				.insert( "Comet", getComet( "comet-2" ) )
+				.insert( "Comet", getComet( "comet-3" ) )
+				.build();
+
+		Map<String, Object> settings = new HashMap<>();
+		settings.put( OgmProperties.DATASTORE_PROVIDER, new MongoDBDatastoreProvider( mockClient.getClient() ) );
+		sessions = TestHelper.getDefaultTestSessionFactory( settings, Comet.class );
+	}
+
+	@After
+	public void closeSessionFactory() {
+		sessions.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldSendVersionedUpdatesInASingleBulkWrite() {
+		acknowledge( BulkWriteResult.acknowledged( 0, 3, 0, 3, Collections.<BulkWriteUpsert>emptyList() ) );
+
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			for ( String id : new String[] { "comet-1", "comet-2", "comet-3" } ) {
+				session.get( Comet.class, id ).setName( "Halley" );
+			}
+			transaction.commit();
+		}
+
+		List<WriteModel<Document>> writes = getWrites();
+		assertThat( writes ).hasSize( 3 );
+		for ( int i = 0; i < writes.size(); i++ ) {
+			UpdateOneModel<Document> update = (UpdateOneModel<Document>) writes.get( i );
+			assertThat( update.getFilter() ).isEqualTo( new Document( "_id", "comet-" + ( i + 1 ) ).append( "version", 0 ) );
+			assertThat( update.getOptions().isUpsert() ).isTrue();
+		}
+	}
+
+	@Test
+	public void shouldSendVersionedRemovalsWithTheirCheckInASingleBulkWrite() {
+		acknowledge( BulkWriteResult.acknowledged( 0, 2, 2, 2, Collections.<BulkWriteUpsert>emptyList() ) );
+
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			session.delete( session.get( Comet.class, "comet-1" ) );
+			session.delete( session.get( Comet.class, "comet-2" ) );
+			transaction.commit();
+		}
+
+		List<WriteModel<Document>> writes = getWrites();
+		assertThat( writes ).hasSize( 4 );
+		assertThat( writes.get( 0 ) ).isInstanceOf( UpdateOneModel.class );
+		assertThat( writes.get( 1 ) ).isInstanceOf( DeleteOneModel.class );
+		assertThat( writes.get( 2 ) ).isInstanceOf( UpdateOneModel.class );
+		assertThat( writes.get( 3 ) ).isInstanceOf( DeleteOneModel.class );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldReportTheStaleEntityAtTheIndexOfTheDuplicateKey() {
+		// The check of the removal of comet-2 is the third write
+		BulkWriteError duplicateKey = new BulkWriteError( 11000, "E11000 duplicate key error collection: ogm.Comet index: _id_ dup key: { : \"comet-2\" }",
+				new BsonDocument(), 2 );
+		when( mockClient.getCollection( "Comet" ).bulkWrite( anyList(), any( BulkWriteOptions.class ) ) ).thenThrow( new MongoBulkWriteException(
+				BulkWriteResult.acknowledged( 0, 1, 1, 1, Collections.<BulkWriteUpsert>emptyList() ), Collections.singletonList( duplicateKey ), null,
+				new ServerAddress() ) );
+
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			session.delete( session.get( Comet.class, "comet-1" ) );
+			session.delete( session.get( Comet.class, "comet-2" ) );
+			session.delete( session.get( Comet.class, "comet-3" ) );
+			transaction.commit();
+			throw new AssertionError( "The stale entity has not been detected" );
+		}
+		catch (OptimisticLockException e) {
+			assertThat( ( (StaleObjectStateException) e.getCause() ).getIdentifier() ).isEqualTo( "comet-2" );
+		}
+	}
+
+	private void acknowledge(BulkWriteResult result) {
+		when( mockClient.getCollection( "Comet" ).bulkWrite( anyList(), any( BulkWriteOptions.class ) ) ).thenReturn( result );
+	}
+
+	/*
+	 * Returns the writes of the single bulk write sent to the collection of the comets.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<WriteModel<Document>> getWrites() {
+		ArgumentCaptor<List> writes = ArgumentCaptor.forClass( List.class );
+		ArgumentCaptor<BulkWriteOptions> options = ArgumentCaptor.forClass( BulkWriteOptions.class );
+		MongoCollection<Document> collection = mockClient.getCollection( "Comet" );
+		verify( collection, times( 1 ) ).bulkWrite( writes.capture(), options.capture() );
+		assertThat( options.getValue().isOrdered() ).isTrue();
+		return writes.getValue();
+	}
+
+	private Document getComet(String id) {
+		Document comet = new Document();
+		comet.put( "_id", id );
+		comet.put( "name", "Comet " + id );
+		comet.put( "version", 0 );
+		return comet;
+	}
+}
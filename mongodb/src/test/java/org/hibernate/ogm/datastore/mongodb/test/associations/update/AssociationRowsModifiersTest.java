@@ -0,0 +1,208 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.associations.update;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.hibernate.ogm.datastore.mongodb.utils.MockMongoClientBuilder.mockClient;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.OgmSessionFactory;
+import org.hibernate.ogm.cfg.OgmProperties;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.mongodb.utils.MockMongoClientBuilder.MockMongoClient;
+import org.hibernate.ogm.utils.TestHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+
+/**
+ * Tests that the changes of the associations are sent as {@code $addToSet} and {@code $pull} modifiers instead of
+ * rewriting the whole array of rows.
+ */
+public class AssociationRowsModifiersTest {
+
+	private MockMongoClient mockClient;
+	private OgmSessionFactory sessions;
+
+	@Before
+	public void setupSessionFactory() {
+		// given a playlist with two listeners and two subscribers
+		mockClient = mockClient()
+				.insert( "Playlist", getPlaylist() )
+				.insert( "Listener", getListener( "anna", "Anna" ) )
+				.insert( "Listener", getListener( "bob", "Bob" ) )
+				.insert( "Associations", getSubscribers() )
+				.build();
+
+		Map<String, Object> settings = new HashMap<>();
+		settings.put( OgmProperties.DATASTORE_PROVIDER, new MongoDBDatastoreProvider( mockClient.getClient() ) );
+		sessions = TestHelper.getDefaultTestSessionFactory( settings, Playlist.class, Listener.class );
+	}
+
+	@After
+	public void closeSessionFactory() {
+		sessions.close();
+	}
+
+	@Test
+	public void shouldAddElementsWithAddToSet() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getTags().add( "70s" );
+			transaction.commit();
+		}
+
+		assertThat( getUpdate( "Playlist" ) ).isEqualTo( Document.parse( "{ '$addToSet' : { 'tags' : { '$each' : [ '70s' ] } } }" ) );
+	}
+
+	@Test
+	public void shouldRemoveElementWithPull() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getTags().remove( "live" );
+			transaction.commit();
+		}
+
+		assertThat( getUpdate( "Playlist" ) ).isEqualTo( Document.parse( "{ '$pull' : { 'tags' : 'live' } }" ) );
+	}
+
+	@Test
+	public void shouldRemoveSeveralElementsWithPull() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getTags().remove( "rock" );
+			playlist.getTags().remove( "live" );
+			transaction.commit();
+		}
+
+		Document update = getUpdate( "Playlist" );
+		assertThat( update.keySet() ).containsOnly( "$pull" );
+		List<?> removedTags = (List<?>) ( (Document) ( (Document) update.get( "$pull" ) ).get( "tags" ) ).get( "$in" );
+		assertThat( removedTags ).containsOnly( "rock", "live" );
+	}
+
+	@Test
+	public void shouldAddEntityStoredInEntityWithAddToSet() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getListeners().add( session.load( Listener.class, "carl" ) );
+			transaction.commit();
+		}
+
+		assertThat( getUpdate( "Playlist" ) ).isEqualTo( Document.parse( "{ '$addToSet' : { 'listeners' : { '$each' : [ 'carl' ] } } }" ) );
+	}
+
+	@Test
+	public void shouldRemoveEntityStoredInEntityWithPull() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getListeners().remove( session.get( Listener.class, "anna" ) );
+			transaction.commit();
+		}
+
+		assertThat( getUpdate( "Playlist" ) ).isEqualTo( Document.parse( "{ '$pull' : { 'listeners' : 'anna' } }" ) );
+	}
+
+	@Test
+	public void shouldAddEntityStoredInAssociationDocumentWithAddToSet() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getSubscribers().add( session.load( Listener.class, "carl" ) );
+			transaction.commit();
+		}
+
+		assertThat( getUpdate( "Associations" ) ).isEqualTo( Document.parse( "{ '$addToSet' : { 'rows' : { '$each' : [ 'carl' ] } } }" ) );
+	}
+
+	@Test
+	public void shouldRemoveEntityStoredInAssociationDocumentWithPull() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getSubscribers().remove( session.get( Listener.class, "anna" ) );
+			transaction.commit();
+		}
+
+		assertThat( getUpdate( "Associations" ) ).isEqualTo( Document.parse( "{ '$pull' : { 'rows' : 'anna' } }" ) );
+	}
+
+	@Test
+	public void shouldRewriteRowsWhenElementsAreAddedAndRemoved() {
+		try ( Session session = sessions.openSession() ) {
+			Transaction transaction = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getTags().add( "70s" );
+			playlist.getTags().remove( "live" );
+			transaction.commit();
+		}
+
+		// MongoDB doesn't allow two modifiers on the same field
+		Document update = getUpdate( "Playlist" );
+		assertThat( update.keySet() ).containsOnly( "$set" );
+		assertThat( (List<?>) ( (Document) update.get( "$set" ) ).get( "tags" ) ).containsOnly( "rock", "glam", "70s" );
+	}
+
+	/*
+	 * Returns the update statement of the single update sent to the given collection.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Document getUpdate(String collectionName) {
+		ArgumentCaptor<List> writes = ArgumentCaptor.forClass( List.class );
+		verify( mockClient.getCollection( collectionName ) ).bulkWrite( writes.capture(), any( BulkWriteOptions.class ) );
+
+		List<Document> updates = new ArrayList<>();
+		for ( WriteModel<Document> write : (List<WriteModel<Document>>) writes.getValue() ) {
+			assertThat( write ).isInstanceOf( UpdateOneModel.class );
+			updates.add( (Document) ( (UpdateOneModel<Document>) write ).getUpdate() );
+		}
+		assertThat( updates ).hasSize( 1 );
+		return updates.get( 0 );
+	}
+
+	private Document getPlaylist() {
+		Document playlist = new Document();
+		playlist.put( "_id", "playlist-1" );
+		playlist.put( "tags", new ArrayList<>( Arrays.asList( "rock", "live", "glam" ) ) );
+		playlist.put( "listeners", new ArrayList<>( Arrays.asList( "anna", "bob" ) ) );
+		return playlist;
+	}
+
+	private Document getListener(String id, String name) {
+		Document listener = new Document();
+		listener.put( "_id", id );
+		listener.put( "name", name );
+		return listener;
+	}
+
+	private Document getSubscribers() {
+		Document subscribers = new Document();
+		subscribers.put( "_id", new Document( "Playlist_id", "playlist-1" ).append( "table", "Playlist_subscribers" ) );
+		subscribers.put( "rows", new ArrayList<>( Arrays.asList( "anna", "bob" ) ) );
+		return subscribers;
+	}
+}
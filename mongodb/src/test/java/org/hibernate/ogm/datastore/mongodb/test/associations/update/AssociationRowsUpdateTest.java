@@ -0,0 +1,198 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.associations.update;
+
+import static org.hibernate.ogm.datastore.mongodb.utils.MongoDBTestHelper.assertDocument;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the changes of the associations stored in the entity are applied to the existing rows.
+ */
+public class AssociationRowsUpdateTest extends OgmTestCase {
+
+	@Before
+	public void createPlaylist() {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			Playlist playlist = new Playlist( "playlist-1" );
+			playlist.getTags().add( "rock" );
+			playlist.getTags().add( "live" );
+			playlist.getSongs().add( new Song( "Heroes", "David Bowie" ) );
+			playlist.getSongs().add( new Song( "Starman", "David Bowie" ) );
+			Listener anna = new Listener( "anna", "Anna" );
+			session.persist( anna );
+			session.persist( new Listener( "bob", "Bob" ) );
+			session.persist( new Listener( "carl", "Carl" ) );
+			playlist.getListeners().add( anna );
+			playlist.getSubscribers().add( anna );
+			session.persist( playlist );
+			tx.commit();
+		}
+	}
+
+	@After
+	public void deletePlaylist() {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			session.delete( session.get( Playlist.class, "playlist-1" ) );
+			session.delete( session.get( Listener.class, "anna" ) );
+			session.delete( session.get( Listener.class, "bob" ) );
+			session.delete( session.get( Listener.class, "carl" ) );
+			tx.commit();
+		}
+	}
+
+	@Test
+	public void testAddRowsInSeveralFlushes() {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getTags().add( "70s" );
+			playlist.getSongs().add( new Song( "Changes", "David Bowie" ) );
+			session.flush();
+
+			playlist.getTags().add( "glam" );
+			playlist.getSongs().add( new Song( "Life on Mars?", "David Bowie" ) );
+			tx.commit();
+		}
+
+		assertDocument(
+				getSessionFactory(),
+				"Playlist",
+				"{ '_id' : 'playlist-1' }",
+				"{ '_id' : 'playlist-1', 'listeners' : [ 'anna' ], "
+						+ "'tags' : [ 'rock', 'live', '70s', 'glam' ], "
+						+ "'songs' : [ "
+						+ "{ 'title' : 'Heroes', 'artist' : 'David Bowie' }, "
+						+ "{ 'title' : 'Starman', 'artist' : 'David Bowie' }, "
+						+ "{ 'title' : 'Changes', 'artist' : 'David Bowie' }, "
+						+ "{ 'title' : 'Life on Mars?', 'artist' : 'David Bowie' } ] }"
+		);
+	}
+
+	@Test
+	public void testRemoveRows() {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getTags().remove( "live" );
+			playlist.getSongs().remove( new Song( "Heroes", "David Bowie" ) );
+			tx.commit();
+		}
+
+		assertDocument(
+				getSessionFactory(),
+				"Playlist",
+				"{ '_id' : 'playlist-1' }",
+				"{ '_id' : 'playlist-1', 'listeners' : [ 'anna' ], "
+						+ "'tags' : [ 'rock' ], "
+						+ "'songs' : [ { 'title' : 'Starman', 'artist' : 'David Bowie' } ] }"
+		);
+	}
+
+	@Test
+	public void testRemoveSeveralRows() {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			playlist.getTags().add( "70s" );
+			playlist.getSongs().add( new Song( "Changes", "David Bowie" ) );
+			session.flush();
+
+			playlist.getTags().remove( "rock" );
+			playlist.getTags().remove( "70s" );
+			playlist.getSongs().remove( new Song( "Heroes", "David Bowie" ) );
+			playlist.getSongs().remove( new Song( "Changes", "David Bowie" ) );
+			tx.commit();
+		}
+
+		assertDocument(
+				getSessionFactory(),
+				"Playlist",
+				"{ '_id' : 'playlist-1' }",
+				"{ '_id' : 'playlist-1', 'listeners' : [ 'anna' ], "
+						+ "'tags' : [ 'live' ], "
+						+ "'songs' : [ { 'title' : 'Starman', 'artist' : 'David Bowie' } ] }"
+		);
+	}
+
+	@Test
+	public void testAddEntitiesInSeveralFlushes() {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			Listener bob = session.get( Listener.class, "bob" );
+			playlist.getListeners().add( bob );
+			playlist.getSubscribers().add( bob );
+			session.flush();
+
+			Listener carl = session.get( Listener.class, "carl" );
+			playlist.getListeners().add( carl );
+			playlist.getSubscribers().add( carl );
+			tx.commit();
+		}
+
+		assertListeners( "[ 'anna', 'bob', 'carl' ]" );
+		assertSubscribers( "[ 'anna', 'bob', 'carl' ]" );
+	}
+
+	@Test
+	public void testRemoveEntities() {
+		try ( Session session = openSession() ) {
+			Transaction tx = session.beginTransaction();
+			Playlist playlist = session.get( Playlist.class, "playlist-1" );
+			Listener bob = session.get( Listener.class, "bob" );
+			Listener carl = session.get( Listener.class, "carl" );
+			playlist.getListeners().add( bob );
+			playlist.getListeners().add( carl );
+			playlist.getSubscribers().add( bob );
+			playlist.getSubscribers().add( carl );
+			session.flush();
+
+			Listener anna = session.get( Listener.class, "anna" );
+			playlist.getListeners().remove( anna );
+			playlist.getListeners().remove( carl );
+			playlist.getSubscribers().remove( anna );
+			playlist.getSubscribers().remove( carl );
+			tx.commit();
+		}
+
+		assertListeners( "[ 'bob' ]" );
+		assertSubscribers( "[ 'bob' ]" );
+	}
+
+	private void assertListeners(String listeners) {
+		assertDocument(
+				getSessionFactory(),
+				"Playlist",
+				"{ '_id' : 'playlist-1' }",
+				"{ '_id' : 0, 'listeners' : 1 }",
+				"{ 'listeners' : " + listeners + " }"
+		);
+	}
+
+	private void assertSubscribers(String subscribers) {
+		assertDocument(
+				getSessionFactory(),
+				"Associations",
+				"{ '_id.Playlist_id' : 'playlist-1', '_id.table' : 'Playlist_subscribers' }",
+				"{ '_id' : 0, 'rows' : 1 }",
+				"{ 'rows' : " + subscribers + " }"
+		);
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[]{ Playlist.class, Listener.class };
+	}
+}
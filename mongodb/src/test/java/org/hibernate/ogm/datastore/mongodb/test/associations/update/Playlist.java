@@ -0,0 +1,90 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.associations.update;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
+
+import org.hibernate.ogm.datastore.document.options.AssociationStorage;
+import org.hibernate.ogm.datastore.document.options.AssociationStorageType;
+
+@Entity
+public class Playlist {
+
+	@Id
+	private String id;
+
+	@ElementCollection
+	private Set<String> tags = new HashSet<>();
+
+	@ElementCollection
+	private Set<Song> songs = new HashSet<>();
+
+	// A set of entities, stored in the entity
+	@ManyToMany
+	@JoinTable(name = "Playlist_listeners")
+	private Set<Listener> listeners = new HashSet<>();
+
+	// A set of entities, stored in an association document
+	@ManyToMany
+	@JoinTable(name = "Playlist_subscribers")
+	@AssociationStorage(AssociationStorageType.ASSOCIATION_DOCUMENT)
+	private Set<Listener> subscribers = new HashSet<>();
+
+	public Playlist() {
+	}
+
+	public Playlist(String id) {
+		this.id = id;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	public void setTags(Set<String> tags) {
+		this.tags = tags;
+	}
+
+	public Set<Song> getSongs() {
+		return songs;
+	}
+
+	public void setSongs(Set<Song> songs) {
+		this.songs = songs;
+	}
+
+	public Set<Listener> getListeners() {
+		return listeners;
+	}
+
+	public void setListeners(Set<Listener> listeners) {
+		this.listeners = listeners;
+	}
+
+	public Set<Listener> getSubscribers() {
+		return subscribers;
+	}
+
+	public void setSubscribers(Set<Listener> subscribers) {
+		this.subscribers = subscribers;
+	}
+}
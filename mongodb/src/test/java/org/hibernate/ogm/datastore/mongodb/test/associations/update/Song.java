@@ -0,0 +1,64 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.associations.update;
+
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+
+@Embeddable
+public class Song {
+
+	// Hibernate ORM recreates the sets of embeddables with nullable properties at each change
+	@Column(nullable = false)
+	private String title;
+
+	@Column(nullable = false)
+	private String artist;
+
+	public Song() {
+	}
+
+	public Song(String title, String artist) {
+		this.title = title;
+		this.artist = artist;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	public String getArtist() {
+		return artist;
+	}
+
+	public void setArtist(String artist) {
+		this.artist = artist;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if ( this == o ) {
+			return true;
+		}
+		if ( o == null || getClass() != o.getClass() ) {
+			return false;
+		}
+		Song song = (Song) o;
+		return Objects.equals( title, song.title ) && Objects.equals( artist, song.artist );
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash( title, artist );
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.id;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.fest.assertions.Fail;
+import org.hibernate.HibernateException;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBSequenceReservations;
+import org.hibernate.ogm.dialect.spi.NextValueRequest;
+import org.hibernate.ogm.model.impl.DefaultIdSourceKeyMetadata;
+import org.hibernate.ogm.model.key.spi.IdSourceKey;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the reservation of the values of a sequence in blocks.
+ */
+public class MongoDBSequenceReservationsTest {
+
+	private static final IdSourceKey SEQUENCE = IdSourceKey.forSequence( DefaultIdSourceKeyMetadata.forSequence( "seq" ) );
+
+	private final MongoDBSequenceReservations reservations = new MongoDBSequenceReservations( 10 );
+
+	@After
+	public void stop() {
+		reservations.stop();
+	}
+
+	@Test
+	public void testValuesAreTheSameWithoutReservations() {
+		Sequence withReservations = new Sequence();
+		Sequence withoutReservations = new Sequence();
+
+		List<Long> expected = new ArrayList<>();
+		List<Long> actual = new ArrayList<>();
+		for ( int i = 0; i < 100; i++ ) {
+			NextValueRequest request = new NextValueRequest( SEQUENCE, 3, 5 );
+			expected.add( withoutReservations.apply( request ).longValue() );
+			actual.add( reservations.nextValue( request, withReservations ).longValue() );
+		}
+
+		assertThat( actual ).isEqualTo( expected );
+		assertThat( withReservations.requests.get() ).isLessThanOrEqualTo( 11 );
+	}
+
+	@Test
+	public void testReservationsDoNotOverlapWithOtherClients() {
+		Sequence sequence = new Sequence();
+		NextValueRequest request = new NextValueRequest( SEQUENCE, 1, 1 );
+
+		List<Long> values = new ArrayList<>();
+		for ( int i = 0; i < 50; i++ ) {
+			values.add( reservations.nextValue( request, sequence ).longValue() );
+			// A client without reservations
+			values.add( sequence.apply( request ).longValue() );
+		}
+
+		assertThat( values ).hasSize( 100 );
+		assertThat( new HashSet<>( values ) ).hasSize( 100 );
+	}
+
+	@Test
+	public void testBlockIncrementOverflowingAnIntegerIsRejected() {
+		Sequence sequence = new Sequence();
+		NextValueRequest request = new NextValueRequest( SEQUENCE, Integer.MAX_VALUE / 5, 1 );
+
+		try {
+			reservations.nextValue( request, sequence );
+			Fail.fail( "The block increment should have overflowed" );
+		}
+		catch (HibernateException e) {
+			assertThat( e.getMessage() ).startsWith( "OGM001243" );
+		}
+		assertThat( sequence.requests.get() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testNegativeBlockIncrementOverflowingAnIntegerIsRejected() {
+		Sequence sequence = new Sequence();
+		NextValueRequest request = new NextValueRequest( SEQUENCE, Integer.MIN_VALUE / 5, 1 );
+
+		try {
+			reservations.nextValue( request, sequence );
+			Fail.fail( "The block increment should have overflowed" );
+		}
+		catch (HibernateException e) {
+			assertThat( e.getMessage() ).startsWith( "OGM001243" );
+		}
+		assertThat( sequence.requests.get() ).isEqualTo( 0 );
+	}
+
+	@Test
+	public void testLargestBlockIncrementIsAccepted() {
+		Sequence sequence = new Sequence();
+		NextValueRequest request = new NextValueRequest( SEQUENCE, Integer.MAX_VALUE / 10, 1 );
+
+		assertThat( reservations.nextValue( request, sequence ).longValue() ).isEqualTo( 1L );
+		assertThat( reservations.nextValue( request, sequence ).longValue() ).isEqualTo( 1L + Integer.MAX_VALUE / 10 );
+	}
+
+	/**
+	 * Simulates the sequence stored in the datastore.
+	 */
+	private static class Sequence implements Function<NextValueRequest, Number> {
+
+		private final AtomicInteger requests = new AtomicInteger();
+		private Long nextValue;
+
+		@Override
+		public synchronized Number apply(NextValueRequest request) {
+			requests.incrementAndGet();
+			if ( nextValue == null ) {
+				nextValue = (long) request.getInitialValue();
+			}
+			long value = nextValue;
+			nextValue += request.getIncrement();
+			return value;
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.massindex;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.hibernate.ogm.backendtck.simpleentity.Helicopter;
+import org.hibernate.ogm.datastore.mongodb.MongoDBDialect;
+import org.hibernate.ogm.datastore.mongodb.impl.MongoDBDatastoreProvider;
+import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
+import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
+import org.hibernate.ogm.dialect.spi.ModelConsumer;
+import org.hibernate.ogm.dialect.spi.TupleTypeContext;
+import org.hibernate.ogm.dialect.spi.TuplesSupplier;
+import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.utils.GridDialectOperationContexts.TupleTypeContextBuilder;
+import org.hibernate.ogm.utils.OgmTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.mongodb.client.MongoCollection;
+
+/**
+ * Tests the partitions used to load the documents of a collection in parallel during mass indexing.
+ */
+public class TuplePartitionsTest extends OgmTestCase {
+
+	private static final String COLLECTION = "PartitionedDocuments";
+
+	private static final EntityKeyMetadata KEY_METADATA = new DefaultEntityKeyMetadata( COLLECTION, new String[] { "_id" } );
+
+	private MongoDBDialect dialect;
+	private MongoCollection<Document> collection;
+
+	@Before
+	public void setUpDialect() {
+		MongoDBDatastoreProvider provider = (MongoDBDatastoreProvider) getSessionFactory().getServiceRegistry()
+				.getService( DatastoreProvider.class );
+		dialect = new MongoDBDialect( provider );
+		collection = provider.getDatabase().getCollection( COLLECTION );
+	}
+
+	@After
+	public void dropCollection() {
+		collection.drop();
+	}
+
+	@Test
+	public void shouldSplitDocumentsWithIdsOfTheSameType() {
+		List<Object> ids = new ArrayList<>();
+		for ( int i = 0; i < 20; i++ ) {
+			ids.add( "id" + i );
+		}
+		insert( ids );
+
+		List<TuplePartition> partitions = dialect.getTuplePartitions( tupleTypeContext(), KEY_METADATA, 4 );
+
+		assertThat( partitions ).hasSize( 4 );
+		assertThat( readIds( partitions ) ).containsOnly( ids.toArray() );
+	}
+
+	@Test
+	public void shouldSplitDocumentsWithNumericIdsOfDifferentTypes() {
+		List<Object> ids = new ArrayList<>();
+		for ( int i = 0; i < 10; i++ ) {
+			ids.add( i );
+			ids.add( 100L + i );
+		}
+		insert( ids );
+
+		List<TuplePartition> partitions = dialect.getTuplePartitions( tupleTypeContext(), KEY_METADATA, 4 );
+
+		assertThat( partitions ).hasSize( 4 );
+		assertThat( readIds( partitions ) ).containsOnly( ids.toArray() );
+	}
+
+	@Test
+	public void shouldNotSplitDocumentsWithIdsOfDifferentTypes() {
+		List<Object> ids = new ArrayList<>();
+		for ( int i = 0; i < 5; i++ ) {
+			ids.add( i );
+			ids.add( "id" + i );
+			ids.add( new ObjectId() );
+			ids.add( new Document( "part", i ) );
+		}
+		insert( ids );
+
+		List<TuplePartition> partitions = dialect.getTuplePartitions( tupleTypeContext(), KEY_METADATA, 4 );
+
+		assertThat( partitions ).hasSize( 1 );
+		assertThat( readIds( partitions ) ).containsOnly( ids.toArray() );
+	}
+
+	private void insert(List<Object> ids) {
+		for ( Object id : ids ) {
+			collection.insertOne( new Document( "_id", id ).append( "name", String.valueOf( id ) ) );
+		}
+	}
+
+	private List<Object> readIds(List<TuplePartition> partitions) {
+		List<Object> ids = new ArrayList<>();
+		for ( TuplePartition partition : partitions ) {
+			IdCollector collector = new IdCollector();
+			dialect.forEachTuple( collector, tupleTypeContext(), KEY_METADATA, partition );
+			ids.addAll( collector.ids );
+		}
+		// each document belongs to exactly one partition
+		assertThat( new HashSet<>( ids ) ).hasSize( ids.size() );
+		return ids;
+	}
+
+	private static TupleTypeContext tupleTypeContext() {
+		return new TupleTypeContextBuilder().buildTupleTypeContext();
+	}
+
+	private static class IdCollector implements ModelConsumer {
+
+		private final List<Object> ids = new ArrayList<>();
+
+		@Override
+		public void consume(TuplesSupplier supplier) {
+			try ( ClosableIterator<Tuple> tuples = supplier.get( null ) ) {
+				while ( tuples.hasNext() ) {
+					ids.add( tuples.next().get( "_id" ) );
+				}
+			}
+		}
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Helicopter.class };
+	}
+}
@@ -7,6 +7,7 @@
 package org.hibernate.ogm.datastore.mongodb.test.options.writeconcern;
 
 import static org.hibernate.ogm.datastore.mongodb.utils.MockMongoClientBuilder.mockClient;
+import static org.fest.assertions.Assertions.assertThat;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.times;
@@ -31,9 +32,12 @@
 import org.hibernate.ogm.utils.TestHelper;
 import org.junit.After;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import com.mongodb.WriteConcern;
-import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 
 /**
@@ -68,10 +72,11 @@ public void shouldApplyConfiguredWriteConcernForInsertOfTuple() {
 		session.close();
 
 		// then expect one (batched) insert with the configured write concern
-		verify( mockClient.getCollection( "GolfPlayer" ) ).insertMany( any( List.class ) );
+		verify( mockClient.getCollection( "GolfPlayer" ) ).bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForUpdateOfTuple() {
 		// given a database with a golf player
 		MockMongoClient mockClient = mockClient()
@@ -89,12 +94,13 @@ public void shouldApplyConfiguredWriteConcernForUpdateOfTuple() {
 		transaction.commit();
 		session.close();
 
-		// then expect one (batched) insert with the configured write concern
+		// then expect one (batched) update with the configured write concern
 		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.MAJORITY ) )
-				.updateOne( any( Document.class ), any( Document.class ), any( UpdateOptions.class ) );
+				.bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForRemoveTuple() {
 		// given a database with a golf player
 		MockMongoClient mockClient = mockClient()
@@ -114,10 +120,11 @@ public void shouldApplyConfiguredWriteConcernForRemoveTuple() {
 		session.close();
 
 		// then expect a call to remove with the configured write concern
-		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.MAJORITY ) ).findOneAndDelete( any( Document.class ) );
+		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.MAJORITY ) ).bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForCreationOfEmbeddedAssociation() {
 		// given a persisted player and a golf course
 		MockMongoClient mockClient = mockClient()
@@ -139,10 +146,11 @@ public void shouldApplyConfiguredWriteConcernForCreationOfEmbeddedAssociation()
 
 		// then expect one update using the configured write concern for adding the row
 		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.MAJORITY ), times( 1 ) )
-				.updateOne( any( Document.class ), any( Document.class ), any( UpdateOptions.class ) );
+				.bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForCreationOfAssociationStoredAsDocument() {
 		// given an empty database
 		MockMongoClient mockClient = mockClient().build();
@@ -157,10 +165,11 @@ public void shouldApplyConfiguredWriteConcernForCreationOfAssociationStoredAsDoc
 		transaction.commit();
 		session.close();
 		// then expect association operations using the configured write concern
+		// (the mock returns the same collection for the players and the associations, hence the two bulk writes)
 		assertNotNull( mockClient.getCollection( "Associations" ) );
 		assertNotNull( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.MAJORITY ) );
-		verify( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.MAJORITY ) )
-				.updateOne( any( Document.class ), any( Document.class ), any( UpdateOptions.class ) );
+		verify( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.MAJORITY ), times( 2 ) )
+				.bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@SuppressWarnings("unchecked")
@@ -192,11 +201,13 @@ public void shouldApplyWriteConcernConfiguredOnPropertyLevelForCreationOfAssocia
 		session.close();
 
 		// then expect tuple and association operations using the configured write concerns
-		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.REPLICA_ACKNOWLEDGED ) ).insertMany( any( List.class ) );
-		verify( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.ACKNOWLEDGED ) ).updateOne( any( Document.class ), any( Document.class ), any( UpdateOptions.class ) );
+		// (the mock returns the same collection for the players and the associations, hence the two bulk writes)
+		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.REPLICA_ACKNOWLEDGED ), times( 2 ) ).bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
+		verify( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.ACKNOWLEDGED ), times( 2 ) ).bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForUpdateOfEmbeddedAssociation() {
 		// given a persisted player with one associated golf course
 		Document player = getPlayer();
@@ -221,10 +232,11 @@ public void shouldApplyConfiguredWriteConcernForUpdateOfEmbeddedAssociation() {
 
 		// then expect updates to the player document using the configured write concern
 		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.MAJORITY ), times( 1 ) )
-				.updateOne( any( Document.class ), any( Document.class ), any( UpdateOptions.class ) );
+				.bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForUpdateOfAssociationStoredAsDocument() {
 		// given a persisted player with one associated golf course
 		MockMongoClient mockClient = mockClient()
@@ -247,10 +259,11 @@ public void shouldApplyConfiguredWriteConcernForUpdateOfAssociationStoredAsDocum
 
 		// then expect one update to the association collection
 		verify( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.MAJORITY ), times( 1 ) )
-				.updateOne( any( Document.class ), any( Document.class ), any( UpdateOptions.class ) );
+				.bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForRemovalOfEmbeddedAssociation() {
 		// given a persisted player with one associated golf course
 		Document player = getPlayer();
@@ -275,10 +288,45 @@ public void shouldApplyConfiguredWriteConcernForRemovalOfEmbeddedAssociation() {
 
 		// then expect one call to update using the configured write concern
 		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.MAJORITY ) )
-				.updateOne( any( Document.class ), any( Document.class ), any( UpdateOptions.class ) );
+				.bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldOnlyRemoveTupleWhenRemovingEntityWithEmbeddedAssociation() {
+		// given a persisted player with one associated golf course
+		Document player = getPlayer();
+		player.put( "playedCourses", getPlayedCoursesAssociationEmbedded() );
+
+		MockMongoClient mockClient = mockClient()
+				.insert( "GolfPlayer", player )
+				.insert( "GolfCourse", getGolfCourse() )
+				.build();
+
+		setupSessionFactory( new MongoDBDatastoreProvider( mockClient.getClient() ) );
+
+		Session session = sessions.openSession();
+		Transaction transaction = session.beginTransaction();
+
+		// when removing the player, which also removes the association stored in its document
+		GolfPlayer ben = session.get( GolfPlayer.class, 1L );
+		session.delete( ben );
+
+		transaction.commit();
+		session.close();
+
+		// then expect a single batch containing only the removal of the document, the update of the association is useless
+		ArgumentCaptor<List> writes = ArgumentCaptor.forClass( List.class );
+		verify( mockClient.getCollection( "GolfPlayer" ).withWriteConcern( WriteConcern.MAJORITY ) )
+				.bulkWrite( writes.capture(), any( BulkWriteOptions.class ) );
+
+		List<WriteModel<Document>> models = writes.getValue();
+		assertThat( models ).hasSize( 1 );
+		assertThat( models.get( 0 ) ).isInstanceOf( DeleteOneModel.class );
 	}
 
 	@Test
+	@SuppressWarnings("unchecked")
 	public void shouldApplyConfiguredWriteConcernForRemovalOfAssociationStoredAsDocument() {
 		// given a persisted player with one associated golf course
 		MockMongoClient mockClient = mockClient()
@@ -300,7 +348,7 @@ public void shouldApplyConfiguredWriteConcernForRemovalOfAssociationStoredAsDocu
 		session.close();
 
 		// then expect one call to remove with the configured write concern
-		verify( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.MAJORITY ) ).deleteMany( any( Document.class ) );
+		verify( mockClient.getCollection( "Associations" ).withWriteConcern( WriteConcern.MAJORITY ) ).bulkWrite( any( List.class ), any( BulkWriteOptions.class ) );
 	}
 
 	private Class<?>[] getAnnotatedClasses() {
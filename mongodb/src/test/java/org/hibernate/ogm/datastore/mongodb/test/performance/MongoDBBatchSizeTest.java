@@ -0,0 +1,94 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.mongodb.test.performance;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.ogm.backendtck.simpleentity.Helicopter;
+import org.hibernate.ogm.datastore.mongodb.MongoDBProperties;
+import org.hibernate.ogm.utils.BytemanHelper;
+import org.hibernate.ogm.utils.BytemanHelperStateCleanup;
+import org.hibernate.ogm.utils.OgmTestCase;
+import org.jboss.byteman.contrib.bmunit.BMRule;
+import org.jboss.byteman.contrib.bmunit.BMRules;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Test that the writes of a flush are split in bulk writes according to {@link MongoDBProperties#BATCH_SIZE}.
+ */
+public class MongoDBBatchSizeTest extends OgmTestCase {
+
+	private static final String MONGO_COLLECTION = "com.mongodb.client.MongoCollection";
+	private static final String HELPER = "org.hibernate.ogm.utils.BytemanHelper";
+
+	@Rule
+	public BytemanHelperStateCleanup bytemanState = new BytemanHelperStateCleanup();
+
+	@Test
+	@BMRules(rules = {
+			@BMRule(
+					targetClass = MONGO_COLLECTION,
+					isInterface = true,
+					targetMethod = "bulkWrite(java.util.List,com.mongodb.client.model.BulkWriteOptions)",
+					helper = HELPER,
+					action = "countInvocation(\"bulkWrite\")",
+					name = "countBulkWrite")
+	})
+	public void testWritesAreSplitAccordingToBatchSize() throws Exception {
+		Session session = openSession();
+		Transaction tx = session.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			Helicopter helicopter = new Helicopter();
+			helicopter.setName( "H" + i );
+			session.persist( helicopter );
+		}
+		tx.commit();
+		session.clear();
+
+		assertThat( BytemanHelper.getAndResetInvocationCount( "bulkWrite" ) ).isEqualTo( 3 );
+
+		tx = session.beginTransaction();
+		@SuppressWarnings("unchecked")
+		List<Helicopter> helicopters = session.createQuery( "FROM Helicopter" ).list();
+		assertThat( helicopters ).hasSize( 5 );
+		for ( Helicopter helicopter : helicopters ) {
+			helicopter.setName( helicopter.getName() + "-Lama" );
+		}
+		tx.commit();
+		session.clear();
+
+		assertThat( BytemanHelper.getAndResetInvocationCount( "bulkWrite" ) ).isEqualTo( 3 );
+
+		tx = session.beginTransaction();
+		@SuppressWarnings("unchecked")
+		List<Helicopter> updated = session.createQuery( "FROM Helicopter" ).list();
+		for ( Helicopter helicopter : updated ) {
+			assertThat( helicopter.getName() ).endsWith( "-Lama" );
+			session.delete( helicopter );
+		}
+		tx.commit();
+		session.close();
+
+		assertThat( BytemanHelper.getAndResetInvocationCount( "bulkWrite" ) ).isEqualTo( 3 );
+	}
+
+	@Override
+	protected void configure(Map<String, Object> settings) {
+		settings.put( MongoDBProperties.BATCH_SIZE, 2 );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Helicopter.class };
+	}
+}
@@ -38,16 +38,10 @@ public class MongoDBPerformanceTest extends OgmTestCase {
 			@BMRule(
 					targetClass = MONGO_COLLECTION,
 					isInterface = true,
-					targetMethod = "insertMany(java.util.List)",
+					targetMethod = "bulkWrite(java.util.List,com.mongodb.client.model.BulkWriteOptions)",
 					helper = HELPER,
 					action = "countInvocation(\"update\")",
-					name = "countInsertMany"),
-			@BMRule(targetClass = MONGO_COLLECTION,
-					isInterface = true,
-					targetMethod = "updateOne(" + BSON_DOCUMENT + "," + BSON_DOCUMENT + ",com.mongodb.client.model.UpdateOptions)",
-					helper = HELPER,
-					action = "countInvocation(\"update\")",
-					name = "countUpdateOne"),
+					name = "countBulkWrite"),
 			@BMRule(targetClass = MONGO_COLLECTION,
 					isInterface = true,
 					targetMethod = "find(" + BSON_DOCUMENT + ")",
@@ -16,6 +16,7 @@
 import org.hibernate.ogm.datastore.mongodb.logging.impl.Log;
 import org.hibernate.ogm.datastore.mongodb.logging.impl.LoggerFactory;
 import java.lang.invoke.MethodHandles;
+import org.hibernate.ogm.datastore.mongodb.query.parsing.impl.MongoDBBasedQueryParserService;
 import org.hibernate.ogm.datastore.mongodb.query.parsing.impl.MongoDBProcessingChain;
 import org.hibernate.ogm.datastore.mongodb.query.parsing.impl.MongoDBQueryParsingResult;
 import org.hibernate.ogm.datastore.mongodb.test.query.parsing.model.IndexedEntity;
@@ -271,6 +272,63 @@ public void shouldCreateIsNotNullQuery() {
 				" }" );
 	}
 
+	@Test
+	public void shouldBindTemplateToEachSetOfParameterValues() {
+		MongoDBBasedQueryParserService queryParserService = new MongoDBBasedQueryParserService();
+		String queryString = "select e from IndexedEntity e where e.position between :lower and :upper and e.title = :title";
+
+		MongoDBQueryParsingResult first = parseQuery( queryParserService, queryString, "lower", 10L, "upper", 20L, "title", "same" );
+		MongoDBQueryParsingResult second = parseQuery( queryParserService, queryString, "lower", 30L, "upper", 40L, "title", "other" );
+
+		assertThat( first.getEntityType() ).isSameAs( IndexedEntity.class );
+		assertThat( first.getQuery().toJson() ).isEqualTo(
+				"{ \"$and\" : [" +
+					"{ \"$and\" : [" +
+						"{ \"position\" : { \"$gte\" : { \"$numberLong\" : \"10\" } } }, " +
+						"{ \"position\" : { \"$lte\" : { \"$numberLong\" : \"20\" } } }" +
+					"] }, " +
+					"{ \"title\" : \"same\" }" +
+				"] }" );
+		assertThat( second.getQuery().toJson() ).isEqualTo(
+				"{ \"$and\" : [" +
+					"{ \"$and\" : [" +
+						"{ \"position\" : { \"$gte\" : { \"$numberLong\" : \"30\" } } }, " +
+						"{ \"position\" : { \"$lte\" : { \"$numberLong\" : \"40\" } } }" +
+					"] }, " +
+					"{ \"title\" : \"other\" }" +
+				"] }" );
+	}
+
+	@Test
+	public void shouldParseLikeQueryAgainForEachPatternParameterValue() {
+		MongoDBBasedQueryParserService queryParserService = new MongoDBBasedQueryParserService();
+		String queryString = "select e from IndexedEntity e where e.title like :pattern";
+
+		MongoDBQueryParsingResult first = parseQuery( queryParserService, queryString, "pattern", "Ali_e%" );
+		MongoDBQueryParsingResult second = parseQuery( queryParserService, queryString, "pattern", "Bob%" );
+
+		assertThat( first.getQuery().toJson() ).isEqualTo(
+				"{ \"title\" : " +
+					"{ \"$regex\" : \"^\\\\QAli\\\\E.\\\\Qe\\\\E.*$\", " +
+					"\"$options\" : \"s\"" +
+					" }" +
+				" }" );
+		assertThat( second.getQuery().toJson() ).isEqualTo(
+				"{ \"title\" : " +
+					"{ \"$regex\" : \"^\\\\QBob\\\\E.*$\", " +
+					"\"$options\" : \"s\"" +
+					" }" +
+				" }" );
+	}
+
+	private MongoDBQueryParsingResult parseQuery(MongoDBBasedQueryParserService queryParserService, String queryString, Object... parameterNamesAndValues) {
+		Map<String, Object> namedParameters = new HashMap<String, Object>();
+		for ( int i = 0; i < parameterNamesAndValues.length; i += 2 ) {
+			namedParameters.put( (String) parameterNamesAndValues[i], parameterNamesAndValues[i + 1] );
+		}
+		return (MongoDBQueryParsingResult) queryParserService.parseQuery( getSessionFactory(), queryString, namedParameters );
+	}
+
 	private void assertMongoDbQuery(String queryString, String expectedMongoDbQuery) {
 		assertMongoDbQuery( queryString, null, expectedMongoDbQuery );
 	}
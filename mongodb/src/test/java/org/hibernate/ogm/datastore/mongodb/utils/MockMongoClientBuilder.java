@@ -7,11 +7,16 @@
 package org.hibernate.ogm.datastore.mongodb.utils;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -19,11 +24,13 @@
 import com.mongodb.ReadConcern;
 import com.mongodb.ReadPreference;
 import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.MongoIterable;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.Document;
@@ -31,8 +38,8 @@
 /**
  * A builder for mocked {@link MongoClient} instances which return given {@link Document}s for given collections.
  * <p>
- * Note that currently only one {@code Document} is allowed per collection, but this could be expanded into a more
- * general mechanism if required.
+ * Note that currently a lookup returns the first {@code Document} of the collection whatever the query, but this
+ * could be expanded into a more general mechanism if required.
  *
  * @author Gunnar Morling
  */
@@ -50,35 +57,74 @@ public static MockMongoClientBuilderContext mockClient() {
 	public static class MockMongoClientBuilderContext {
 
 		private final Map<String, MongoCollection<Document>> collections = new HashMap<>();
+		private final Map<String, List<Document>> documents = new HashMap<>();
+		private final Map<Document, FindIterable<Document>> findIterables = new IdentityHashMap<>();
 
 		/**
 		 * Registers the given {@link Document} with the specified collection. The object can be retrieved from the
 		 * collection via {@link MongoCollection<Document>#findOne(Document, Document))}.
 		 * <p>
-		 * Note that currently only one {@code Document} is supported per collection, but this could be expanded into a
-		 * more general mechanism if required.
+		 * Note that currently only one {@code Document} is returned by such a lookup: the one having the {@code _id} of
+		 * the query if any, the first one registered with the collection otherwise. All the documents of the collection
+		 * are returned by the iterator of the results, e.g. when several entities are loaded at once.
 		 */
 		public MockMongoClientBuilderContext insert(String collectionName, Document object) {
+			findIterables.put( object, findIterable( collectionName, object ) );
+			List<Document> objects = documents.get( collectionName );
+			if ( objects != null ) {
+				objects.add( object );
+				return this;
+			}
+			objects = new ArrayList<>();
+			objects.add( object );
+			documents.put( collectionName, objects );
+
 			MongoCollection<Document> collection = mock( MongoCollection.class );
 			when( collection.withWriteConcern( any( WriteConcern.class ) ) ).thenReturn( collection );
 			when( collection.withReadConcern( any( ReadConcern.class ) ) ).thenReturn( collection );
 			when( collection.withReadPreference( any( ReadPreference.class ) ) ).thenReturn( collection );
+			when( collection.getWriteConcern() ).thenReturn( WriteConcern.ACKNOWLEDGED );
 			collections.put( collectionName, collection );
 
-			FindIterable<Document> findIterableMock1 = mock( FindIterable.class );
-			FindIterable<Document> findIterableMock2 = mock( FindIterable.class );
-			when( findIterableMock1.projection( any( Document.class ) ) ).thenReturn( findIterableMock2 );
-			when( findIterableMock1.modifiers( any( Document.class ) ) ).thenReturn( findIterableMock1 );
-			when( findIterableMock2.first() ).thenReturn( object );
-			when( collection.find( any( Document.class ) ) ).thenReturn( findIterableMock1 );
+			when( collection.find( any( Document.class ) ) )
+					.thenAnswer( invocation -> find( documents.get( collectionName ), (Document) invocation.getArguments()[0] ) );
 			when( collection.findOneAndUpdate( any( Document.class ), any( Document.class ), any( FindOneAndUpdateOptions.class ) ) ).thenReturn( object );
 
 
 			DeleteResult deleteResult = mock( DeleteResult.class );
 			when( collection.deleteMany( any( Document.class ) ) ).thenReturn( deleteResult );
+			when( collection.bulkWrite( anyList(), any( BulkWriteOptions.class ) ) ).thenReturn( BulkWriteResult.unacknowledged() );
 			return this;
 		}
 
+		private FindIterable<Document> find(List<Document> objects, Document query) {
+			Document object = objects.get( 0 );
+			for ( Document candidate : objects ) {
+				if ( query != null && candidate.get( "_id" ) != null && candidate.get( "_id" ).equals( query.get( "_id" ) ) ) {
+					object = candidate;
+				}
+			}
+			return findIterables.get( object );
+		}
+
+		private FindIterable<Document> findIterable(String collectionName, Document object) {
+			FindIterable<Document> findIterableMock1 = mock( FindIterable.class );
+			FindIterable<Document> findIterableMock2 = mock( FindIterable.class );
+			when( findIterableMock1.projection( any( Document.class ) ) ).thenReturn( findIterableMock2 );
+			when( findIterableMock1.modifiers( any( Document.class ) ) ).thenReturn( findIterableMock1 );
+			when( findIterableMock2.first() ).thenReturn( object );
+			when( findIterableMock2.iterator() ).thenAnswer( invocation -> cursor( documents.get( collectionName ) ) );
+			return findIterableMock1;
+		}
+
+		private static MongoCursor<Document> cursor(List<Document> objects) {
+			Iterator<Document> iterator = objects.iterator();
+			MongoCursor<Document> cursor = mock( MongoCursor.class );
+			when( cursor.hasNext() ).thenAnswer( invocation -> iterator.hasNext() );
+			when( cursor.next() ).thenAnswer( invocation -> iterator.next() );
+			return cursor;
+		}
+
 		/**
 		 * Builds and returns a mock MongoDB client based on the given configuration.
 		 * @see <a href="https://jaihirsch.github.io/straw-in-a-haystack/mongodb/2016/07/25/mocking-the-mongodb-java-driver/">MongoDb Driver mocking</a>
@@ -92,6 +138,8 @@ public MockMongoClient build() {
 			when( defaultCollection.withWriteConcern( any( WriteConcern.class ) ) ).thenReturn( defaultCollection );
 			when( defaultCollection.withReadConcern( any( ReadConcern.class ) ) ).thenReturn( defaultCollection );
 			when( defaultCollection.withReadPreference( any( ReadPreference.class ) ) ).thenReturn( defaultCollection );
+			when( defaultCollection.getWriteConcern() ).thenReturn( WriteConcern.ACKNOWLEDGED );
+			when( defaultCollection.bulkWrite( anyList(), any( BulkWriteOptions.class ) ) ).thenReturn( BulkWriteResult.unacknowledged() );
 
 			for ( Entry<String, MongoCollection<Document>> collection : collections.entrySet() ) {
 				when( database.getCollection( collection.getKey() ) ).thenReturn( collection.getValue() );
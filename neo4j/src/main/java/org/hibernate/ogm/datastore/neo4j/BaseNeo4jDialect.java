@@ -20,6 +20,7 @@
 import java.util.regex.Pattern;
 
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.ogm.datastore.map.impl.MapTupleSnapshot;
 import org.hibernate.ogm.datastore.neo4j.dialect.impl.BaseNeo4jAssociationQueries;
 import org.hibernate.ogm.datastore.neo4j.dialect.impl.BaseNeo4jEntityQueries;
 import org.hibernate.ogm.datastore.neo4j.dialect.impl.BaseNeo4jTypeConverter;
@@ -47,6 +48,7 @@
 import org.hibernate.ogm.model.key.spi.RowKey;
 import org.hibernate.ogm.model.spi.Association;
 import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.model.spi.Tuple.SnapshotType;
 import org.hibernate.ogm.model.spi.TupleSnapshot;
 import org.hibernate.ogm.persister.impl.OgmCollectionPersister;
 import org.hibernate.ogm.persister.impl.OgmEntityPersister;
@@ -117,6 +119,22 @@ public Tuple createTuple(EntityKey key, OperationContext operationContext) {
 		return new Tuple();
 	}
 
+	/**
+	 * When the operations are executed in batch, a node might not exist yet because it is still in the queue.
+	 *
+	 * @return a tuple containing only the key if the entity is going to be inserted with the next batch, {@code null} otherwise
+	 */
+	protected Tuple tupleFromInsertionQueue(EntityKey key, OperationContext operationContext) {
+		if ( isInTheInsertionQueue( key, operationContext ) ) {
+			Map<String, Object> keyValues = new HashMap<>();
+			for ( int i = 0; i < key.getColumnNames().length; i++ ) {
+				keyValues.put( key.getColumnNames()[i], key.getColumnValues()[i] );
+			}
+			return new Tuple( new MapTupleSnapshot( keyValues ), SnapshotType.INSERT );
+		}
+		return null;
+	}
+
 	@Override
 	public Association createAssociation(AssociationKey associationKey, AssociationContext associationContext) {
 		return new Association();
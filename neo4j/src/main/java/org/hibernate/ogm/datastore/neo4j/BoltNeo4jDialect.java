@@ -33,9 +33,20 @@
 import org.hibernate.ogm.datastore.neo4j.remote.bolt.impl.BoltNeo4jDatastoreProvider;
 import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jAssociationPropertiesRow;
 import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jAssociationSnapshot;
+import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jBatch;
+import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jBatch.BatchedStatement;
+import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jBatch.Phase;
 import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jTupleAssociationSnapshot;
 import org.hibernate.ogm.datastore.neo4j.remote.common.util.impl.RemoteNeo4jHelper;
 import org.hibernate.ogm.datastore.spi.DatastoreProvider;
+import org.hibernate.ogm.dialect.batch.spi.BatchableGridDialect;
+import org.hibernate.ogm.dialect.batch.spi.GroupedChangesToEntityOperation;
+import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateTupleOperation;
+import org.hibernate.ogm.dialect.batch.spi.Operation;
+import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.spi.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.spi.RemoveTupleOperation;
 import org.hibernate.ogm.dialect.query.spi.BackendQuery;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.query.spi.QueryParameters;
@@ -87,7 +98,7 @@
  *
  * @author Davide D'Alto &lt;davide@hibernate.org&gt;
  */
-public class BoltNeo4jDialect extends BaseNeo4jDialect<BoltNeo4jEntityQueries, BoltNeo4jAssociationQueries> implements RemoteNeo4jDialect, StoredProcedureAwareGridDialect {
+public class BoltNeo4jDialect extends BaseNeo4jDialect<BoltNeo4jEntityQueries, BoltNeo4jAssociationQueries> implements RemoteNeo4jDialect, StoredProcedureAwareGridDialect, BatchableGridDialect {
 
 	public static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
@@ -211,7 +222,7 @@ public Tuple getTuple(EntityKey key, OperationContext operationContext) {
 		BoltNeo4jEntityQueries queries = getEntityQueries( key.getMetadata(), operationContext );
 		NodeWithEmbeddedNodes owner = queries.findEntity( tx, key.getColumnValues() );
 		if ( owner == null ) {
-			return null;
+			return tupleFromInsertionQueue( key, operationContext );
 		}
 
 		Map<String, Node> toOneEntities = BoltNeo4jAssociatedNodesHelper.findAssociatedNodes( tx, owner, key.getMetadata(),
@@ -235,9 +246,10 @@ public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
 		// We only support one metadata for now
 		EntityKeyMetadata metadata = keys[0].getMetadata();
 		// The result returned by the query might not be in the same order as the keys.
-		ClosableIterator<NodeWithEmbeddedNodes> nodes = getEntityQueries( metadata, tupleContext ).findEntities( keys, transaction( tupleContext ) );
+		BoltNeo4jEntityQueries queries = getEntityQueries( metadata, tupleContext );
+		ClosableIterator<NodeWithEmbeddedNodes> nodes = queries.findEntities( keys, transaction( tupleContext ) );
 		try {
-			return tuplesResult( keys, tupleContext, nodes );
+			return tuplesResult( keys, tupleContext, nodes, queries );
 		}
 		finally {
 			nodes.close();
@@ -248,29 +260,37 @@ public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
 	 * This method assumes that the nodes might not be in the same order as the keys and some keys might not have a
 	 * matching result in the db.
 	 */
-	private List<Tuple> tuplesResult(EntityKey[] keys, TupleContext tupleContext, ClosableIterator<NodeWithEmbeddedNodes> nodes) {
-		// The list is initialized with null because some keys might not have a corresponding node
-		Tuple[] tuples = new Tuple[keys.length];
-		Transaction tx = transaction( tupleContext );
+	private List<Tuple> tuplesResult(EntityKey[] keys, TupleContext tupleContext, ClosableIterator<NodeWithEmbeddedNodes> nodes, BoltNeo4jEntityQueries queries) {
+		// The array is initialized with null because some keys might not have a corresponding node
+		NodeWithEmbeddedNodes[] matchingNodes = new NodeWithEmbeddedNodes[keys.length];
+		List<NodeWithEmbeddedNodes> foundNodes = new ArrayList<>( keys.length );
+		Map<List<Object>, Integer> keyIndex = RemoteNeo4jHelper.indexByColumnValues( keys );
+		String[] keyColumnNames = keys[0].getColumnNames();
 		while ( nodes.hasNext() ) {
 			NodeWithEmbeddedNodes node = nodes.next();
-			for ( int i = 0; i < keys.length; i++ ) {
-				if ( RemoteNeo4jHelper.matches( node.getOwner().asMap(), keys[i].getColumnNames(), keys[i].getColumnValues() ) ) {
-					EntityKeyMetadata metadata = keys[i].getMetadata();
-					EntityKey key = keys[i];
-					BoltNeo4jEntityQueries entityQueries = getEntityQueries( key.getMetadata(), tupleContext );
-					Map<String, Node> toOneEntities = BoltNeo4jAssociatedNodesHelper.findAssociatedNodes( tx, node, metadata,
-							tupleContext.getTupleTypeContext(), entityQueries );
-					tuples[i] = new Tuple(
-							new BoltNeo4jTupleSnapshot(
-									node,
-									metadata,
-									toOneEntities,
-									tupleContext.getTupleTypeContext() ),
-							SnapshotType.UPDATE );
-					// We assume there are no duplicated keys
-					break;
-				}
+			int index = RemoteNeo4jHelper.findKeyIndex( keyIndex, node.getOwner().asMap(), keyColumnNames );
+			if ( index > -1 ) {
+				matchingNodes[index] = node;
+				foundNodes.add( node );
+			}
+		}
+
+		// The to-one associations of all the entities are read with a single query
+		Map<Long, Map<String, Node>> toOneEntities = BoltNeo4jAssociatedNodesHelper.findAssociatedNodes( transaction( tupleContext ), foundNodes,
+				tupleContext.getTupleTypeContext(), queries );
+
+		Tuple[] tuples = new Tuple[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			NodeWithEmbeddedNodes node = matchingNodes[i];
+			if ( node != null ) {
+				Map<String, Node> ownerToOneEntities = toOneEntities.get( node.getOwner().id() );
+				tuples[i] = new Tuple(
+						new BoltNeo4jTupleSnapshot(
+								node,
+								keys[i].getMetadata(),
+								ownerToOneEntities == null ? Collections.<String, Node>emptyMap() : ownerToOneEntities,
+								tupleContext.getTupleTypeContext() ),
+						SnapshotType.UPDATE );
 			}
 		}
 		return Arrays.asList( tuples );
@@ -278,90 +298,157 @@ private List<Tuple> tuplesResult(EntityKey[] keys, TupleContext tupleContext, Cl
 
 	@Override
 	public void insertOrUpdateTuple(EntityKey key, TuplePointer tuplePointer, TupleContext tupleContext) throws TupleAlreadyExistsException {
-		Tuple tuple = tuplePointer.getTuple();
-		final Map<String, EntityKey> toOneAssociations = new HashMap<>();
-		Map<String, Object> properties = new HashMap<>();
-		List<Statement> statements = new ArrayList<>();
-		applyTupleOperations( key, tuple, properties, toOneAssociations, statements, tuple.getOperations(), tupleContext, tupleContext.getTransactionContext() );
-		if ( SnapshotType.INSERT.equals( tuple.getSnapshotType() ) ) {
-			// Insert new node
-			Statement statement = getEntityQueries( key.getMetadata(), tupleContext ).getCreateEntityWithPropertiesQueryStatement( key.getColumnValues(), properties );
-			statements.add( 0, statement );
-		}
-		else {
-			updateTuple( key, statements, properties, tupleContext );
-		}
-		saveToOneAssociations( statements, key, toOneAssociations, tupleContext );
-		try {
-			runAll( transaction( tupleContext ), statements );
-			tuple.setSnapshotType( SnapshotType.UPDATE );
+		RemoteNeo4jBatch<Statement> batch = new RemoteNeo4jBatch<>( Statement::new );
+		batchInsertOrUpdateTuple( batch, key, tuplePointer.getTuple(), tupleContext );
+		execute( transaction( tupleContext ), batch );
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		if ( !queue.isClosed() ) {
+			RemoteNeo4jBatch<Statement> batch = new RemoteNeo4jBatch<>( Statement::new );
+			Transaction tx = null;
+			Operation operation = queue.poll();
+			while ( operation != null ) {
+				if ( operation instanceof GroupedChangesToEntityOperation ) {
+					for ( Operation groupedOperation : ( (GroupedChangesToEntityOperation) operation ).getOperations() ) {
+						tx = batchOperation( batch, groupedOperation );
+					}
+				}
+				else {
+					tx = batchOperation( batch, operation );
+				}
+				operation = queue.poll();
+			}
+			if ( tx != null ) {
+				execute( tx, batch );
+			}
 		}
-		catch (ClientException e) {
-			switch ( e.code() ) {
-				case BaseNeo4jDialect.CONSTRAINT_VIOLATION_CODE:
-					throw extractException( key, e );
-				default:
-					throw new HibernateException( e.getMessage() );
+	}
+
+	private Transaction batchOperation(RemoteNeo4jBatch<Statement> batch, Operation operation) {
+		if ( operation instanceof InsertOrUpdateTupleOperation ) {
+			InsertOrUpdateTupleOperation insertOrUpdateTupleOperation = (InsertOrUpdateTupleOperation) operation;
+			TupleContext tupleContext = insertOrUpdateTupleOperation.getTupleContext();
+			batchInsertOrUpdateTuple( batch, insertOrUpdateTupleOperation.getEntityKey(), insertOrUpdateTupleOperation.getTuplePointer().getTuple(), tupleContext );
+			return transaction( tupleContext );
+		}
+		else if ( operation instanceof RemoveTupleOperation ) {
+			RemoveTupleOperation removeTupleOperation = (RemoveTupleOperation) operation;
+			EntityKey key = removeTupleOperation.getEntityKey();
+			BoltNeo4jEntityQueries queries = getEntityQueries( key.getMetadata(), removeTupleOperation.getTupleContext() );
+			batch.addRow( Phase.REMOVE, queries.getRemoveEntitiesQuery(), RemoteNeo4jBatch.row( key.getColumnValues() ), key );
+			return transaction( removeTupleOperation.getTupleContext() );
+		}
+		else if ( operation instanceof InsertOrUpdateAssociationOperation ) {
+			InsertOrUpdateAssociationOperation insertOrUpdateAssociationOperation = (InsertOrUpdateAssociationOperation) operation;
+			batchInsertOrUpdateAssociation( batch, insertOrUpdateAssociationOperation.getAssociationKey(), insertOrUpdateAssociationOperation.getAssociation(),
+					insertOrUpdateAssociationOperation.getContext() );
+			return transaction( insertOrUpdateAssociationOperation.getContext() );
+		}
+		else if ( operation instanceof RemoveAssociationOperation ) {
+			RemoveAssociationOperation removeAssociationOperation = (RemoveAssociationOperation) operation;
+			AssociationKey associationKey = removeAssociationOperation.getAssociationKey();
+			// If this is the inverse side of a bi-directional association, we don't manage the relationship from this side
+			if ( !associationKey.getMetadata().isInverse() ) {
+				Statement statement = getAssociationQueries( associationKey.getMetadata() ).getRemoveAssociationStatement( associationKey );
+				batch.addStatement( Phase.ASSOCIATION, statement, associationKey.getEntityKey() );
 			}
+			return transaction( removeAssociationOperation.getContext() );
+		}
+		else {
+			throw new UnsupportedOperationException( "Operation not supported: " + operation.getClass().getSimpleName() );
 		}
 	}
 
-	private void runAll(Transaction tx, List<Statement> statements) {
-		for ( Statement statement : statements ) {
-			StatementResult result = tx.run( statement );
-			validate( result );
+	/*
+	 * Runs all the statements and only then reads the results, this way the driver can send the statements to the
+	 * server without waiting for the result of each one of them.
+	 */
+	private void execute(Transaction tx, RemoteNeo4jBatch<Statement> batch) {
+		List<BatchedStatement<Statement>> statements = batch.getStatements();
+		List<StatementResult> results = new ArrayList<>( statements.size() );
+		for ( BatchedStatement<Statement> statement : statements ) {
+			results.add( tx.run( statement.getStatement() ) );
+		}
+		for ( int i = 0; i < results.size(); i++ ) {
+			try {
+				validate( results.get( i ) );
+			}
+			catch (ClientException e) {
+				switch ( e.code() ) {
+					case BaseNeo4jDialect.CONSTRAINT_VIOLATION_CODE:
+						throw extractException( statements.get( i ), e );
+					default:
+						throw new HibernateException( e.getMessage() );
+				}
+			}
 		}
+		batch.updateSnapshotTypes();
 	}
 
 	private void validate(StatementResult result) {
 		result.hasNext();
 	}
 
-	private HibernateException extractException(EntityKey key, ClientException exception) {
+	private HibernateException extractException(BatchedStatement<Statement> statement, ClientException exception) {
+		EntityKey key = statement.getEntityKey();
 		if ( TUPLE_ALREADY_EXISTS_EXCEPTION_PATTERN.matcher( exception.getMessage() ).matches() ) {
 			// This is the exception we expect for this kind of error by the CompensationAPI and some unit tests
-			return new TupleAlreadyExistsException( key, exception.getMessage() );
+			return key == null
+					? new TupleAlreadyExistsException( statement.getEntityKeyMetadata(), exception.getMessage() )
+					: new TupleAlreadyExistsException( key, exception.getMessage() );
 		}
 		else {
 			return log.constraintViolation( key, exception.getMessage(), null );
 		}
 	}
 
-	private void updateTuple(EntityKey key, List<Statement> statements, Map<String, Object> properties, TupleContext tupleContext) {
-		if ( !properties.isEmpty() ) {
-			Statement statement = getEntityQueries( key.getMetadata(), tupleContext ).getUpdateEntityPropertiesStatement( key.getColumnValues(), properties );
-			statements.add( statement );
+	private void batchInsertOrUpdateTuple(RemoteNeo4jBatch<Statement> batch, EntityKey key, Tuple tuple, TupleContext tupleContext) {
+		BoltNeo4jEntityQueries queries = getEntityQueries( key.getMetadata(), tupleContext );
+		final Map<String, EntityKey> toOneAssociations = new HashMap<>();
+		Map<String, Object> properties = new HashMap<>();
+		List<Statement> statements = new ArrayList<>();
+		applyTupleOperations( key, tuple, properties, toOneAssociations, statements, tuple.getOperations(), tupleContext );
+		if ( SnapshotType.INSERT.equals( tuple.getSnapshotType() ) && !batch.isCreated( key ) ) {
+			// Insert new node
+			batch.addRow( Phase.CREATE, queries.getCreateEntitiesWithPropertiesQuery(), properties, key );
+			batch.created( key, tuple );
+		}
+		else if ( !properties.isEmpty() ) {
+			Object[] propertiesValue = { properties };
+			batch.addRow( Phase.UPDATE, queries.getUpdateEntitiesPropertiesQuery(), RemoteNeo4jBatch.row( key.getColumnValues(), propertiesValue ), key );
+		}
+		for ( Statement statement : statements ) {
+			batch.addStatement( Phase.UPDATE, statement, key );
+		}
+		for ( Map.Entry<String, EntityKey> entry : toOneAssociations.entrySet() ) {
+			String query = queries.getUpdateToOneRowsQuery( entry.getKey() );
+			batch.addRow( Phase.TO_ONE_ASSOCIATION, query, RemoteNeo4jBatch.row( key.getColumnValues(), entry.getValue().getColumnValues() ), key );
 		}
 	}
 
-	private void applyTupleOperations(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, List<Statement> statements, Set<TupleOperation> operations, TupleContext tupleContext, TransactionContext transactionContext) {
+	private void applyTupleOperations(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, List<Statement> statements, Set<TupleOperation> operations, TupleContext tupleContext) {
 		Set<String> processedAssociationRoles = new HashSet<String>();
 
 		for ( TupleOperation operation : operations ) {
-			applyOperation( entityKey, tuple, node, toOneAssociations, statements, operation, tupleContext, transactionContext, processedAssociationRoles );
+			applyOperation( entityKey, tuple, node, toOneAssociations, statements, operation, tupleContext, processedAssociationRoles );
 		}
 	}
 
-	private void applyOperation(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, List<Statement> statements, TupleOperation operation, TupleContext tupleContext, TransactionContext transactionContext, Set<String> processedAssociationRoles) {
+	private void applyOperation(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, List<Statement> statements, TupleOperation operation, TupleContext tupleContext, Set<String> processedAssociationRoles) {
 		switch ( operation.getType() ) {
 		case PUT:
 			putTupleOperation( entityKey, tuple, node, toOneAssociations, statements, operation, tupleContext, processedAssociationRoles );
 			break;
 		case PUT_NULL:
 		case REMOVE:
-			removeTupleOperation( entityKey, node, operation, statements, tupleContext, transactionContext, processedAssociationRoles );
+			removeTupleOperation( entityKey, node, operation, statements, tupleContext, processedAssociationRoles );
 			break;
 		}
 	}
 
-	private void saveToOneAssociations(List<Statement> statements, EntityKey key, final Map<String, EntityKey> toOneAssociations, TupleContext tupleContext) {
-		for ( Map.Entry<String, EntityKey> entry : toOneAssociations.entrySet() ) {
-			Statement statement = getEntityQueries( key.getMetadata(), tupleContext ).getUpdateOneToOneAssociationStatement( entry.getKey(), key.getColumnValues(), entry.getValue().getColumnValues() );
-			statements.add( statement );
-		}
-	}
-
-	private void removeTupleOperation(EntityKey entityKey, Map<String, Object> ownerNode, TupleOperation operation, List<Statement> statements, TupleContext tupleContext, TransactionContext transactionContext, Set<String> processedAssociationRoles) {
+	private void removeTupleOperation(EntityKey entityKey, Map<String, Object> ownerNode, TupleOperation operation, List<Statement> statements, TupleContext tupleContext, Set<String> processedAssociationRoles) {
 		if ( !tupleContext.getTupleTypeContext().isPartOfAssociation( operation.getColumn() ) ) {
 			if ( isPartOfRegularEmbedded( entityKey.getColumnNames(), operation.getColumn() ) ) {
 				// Embedded node
@@ -376,8 +463,8 @@ private void removeTupleOperation(EntityKey entityKey, Map<String, Object> owner
 		else {
 			String associationRole = tupleContext.getTupleTypeContext().getRole( operation.getColumn() );
 			if ( !processedAssociationRoles.contains( associationRole ) ) {
-				Transaction tx = (Transaction) transactionContext.getTransactionId();
-				getEntityQueries( entityKey.getMetadata(), tupleContext.getTupleTypeContext() ).removeToOneAssociation( tx, entityKey.getColumnValues(), associationRole );
+				Statement statement = getEntityQueries( entityKey.getMetadata(), tupleContext ).removeToOneAssociationStatement( entityKey.getColumnValues(), associationRole );
+				statements.add( statement );
 			}
 		}
 	}
@@ -473,6 +560,54 @@ public void insertOrUpdateAssociation(AssociationKey key, Association associatio
 		}
 	}
 
+	private void batchInsertOrUpdateAssociation(RemoteNeo4jBatch<Statement> batch, AssociationKey key, Association association, AssociationContext associationContext) {
+		// If this is the inverse side of a bi-directional association, we don't create a relationship for this; this
+		// will happen when updating the main side
+		if ( key.getMetadata().isInverse() ) {
+			return;
+		}
+
+		BoltNeo4jAssociationQueries queries = getAssociationQueries( key.getMetadata() );
+		EntityKey ownerKey = key.getEntityKey();
+		for ( AssociationOperation action : association.getOperations() ) {
+			switch ( action.getType() ) {
+			case CLEAR:
+				batch.addStatement( Phase.ASSOCIATION, queries.getRemoveAssociationStatement( key ), ownerKey );
+				break;
+			case PUT:
+				batchPutAssociationOperation( batch, key, action, associationContext );
+				break;
+			case REMOVE:
+				batch.addStatement( Phase.ASSOCIATION, queries.getRemoveAssociationRowStatement( key, action.getKey() ), ownerKey );
+				break;
+			}
+		}
+	}
+
+	private void batchPutAssociationOperation(RemoteNeo4jBatch<Statement> batch, AssociationKey associationKey, AssociationOperation action, AssociationContext associationContext) {
+		AssociatedEntityKeyMetadata associatedEntityKeyMetadata = associationContext.getAssociationTypeContext().getAssociatedEntityKeyMetadata();
+		BoltNeo4jAssociationQueries queries = getAssociationQueries( associationKey.getMetadata() );
+		EntityKey ownerKey = associationKey.getEntityKey();
+		Tuple associationRow = action.getValue();
+		EntityKey targetKey = getEntityKey( associationRow, associatedEntityKeyMetadata );
+		switch ( associationKey.getMetadata().getAssociationKind() ) {
+			case EMBEDDED_COLLECTION:
+				if ( !emptyNode( targetKey ) ) {
+					Object[] relationshipProperties = relationshipProperties( associationKey, action );
+					Statement statement = queries.getCreateRelationshipForEmbeddedAssociationStatement( associationKey, targetKey, relationshipProperties );
+					batch.addStatement( Phase.ASSOCIATION, statement, ownerKey );
+				}
+				break;
+			case ASSOCIATION:
+				Object[] relationshipProperties = relationshipProperties( associationKey, associationRow );
+				List<Object> row = RemoteNeo4jBatch.row( ownerKey.getColumnValues(), targetKey.getColumnValues(), relationshipProperties );
+				batch.addRow( Phase.ASSOCIATION, queries.getCreateRelationshipsQuery(), row, ownerKey );
+				break;
+			default:
+				throw new AssertionFailure( "Unrecognized associationKind: " + associationKey.getMetadata().getAssociationKind() );
+		}
+	}
+
 	private void applyAssociationOperation(Association association, AssociationKey key, AssociationOperation operation, AssociationContext associationContext) {
 		switch ( operation.getType() ) {
 		case CLEAR:
@@ -9,6 +9,7 @@
 import static org.hibernate.ogm.util.impl.EmbeddedHelper.split;
 import static org.neo4j.graphdb.RelationshipType.withName;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,6 +35,8 @@
 import org.hibernate.ogm.datastore.neo4j.logging.impl.Log;
 import org.hibernate.ogm.datastore.neo4j.logging.impl.LoggerFactory;
 import java.lang.invoke.MethodHandles;
+import org.hibernate.ogm.dialect.partition.spi.PartitionAwareGridDialect;
+import org.hibernate.ogm.dialect.partition.spi.TuplePartition;
 import org.hibernate.ogm.dialect.query.spi.BackendQuery;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.query.spi.QueryParameters;
@@ -83,7 +86,7 @@
  *
  * @author Davide D'Alto &lt;davide@hibernate.org&gt;
  */
-public class EmbeddedNeo4jDialect extends BaseNeo4jDialect<EmbeddedNeo4jEntityQueries, EmbeddedNeo4jAssociationQueries> implements StoredProcedureAwareGridDialect {
+public class EmbeddedNeo4jDialect extends BaseNeo4jDialect<EmbeddedNeo4jEntityQueries, EmbeddedNeo4jAssociationQueries> implements StoredProcedureAwareGridDialect, PartitionAwareGridDialect {
 
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
@@ -536,6 +539,31 @@ public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeConte
 		consumer.consume( new EmbeddedNeo4jTuplesSupplier( queryNodes, tupleTypeContext, entityKeyMetadata ) );
 	}
 
+	/**
+	 * Splits the range of internal ids of the nodes representing the entity into intervals of the same width.
+	 */
+	@Override
+	public List<TuplePartition> getTuplePartitions(TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, int maxPartitions) {
+		long[] idRange = getEntityQueries( entityKeyMetadata, tupleTypeContext ).findEntityIdRange( dataBase );
+		if ( idRange == null ) {
+			return Collections.emptyList();
+		}
+		long min = idRange[0];
+		long width = ( idRange[1] - min ) / maxPartitions + 1;
+		List<TuplePartition> partitions = new ArrayList<>( maxPartitions );
+		for ( long from = min; from <= idRange[1]; from += width ) {
+			partitions.add( new EmbeddedNeo4jIdRange( from, from + width ) );
+		}
+		return partitions;
+	}
+
+	@Override
+	public void forEachTuple(ModelConsumer consumer, TupleTypeContext tupleTypeContext, EntityKeyMetadata entityKeyMetadata, TuplePartition partition) {
+		EmbeddedNeo4jIdRange idRange = (EmbeddedNeo4jIdRange) partition;
+		ResourceIterator<Node> queryNodes = getEntityQueries( entityKeyMetadata, tupleTypeContext ).findEntities( dataBase, idRange.fromId, idRange.toId );
+		consumer.consume( new EmbeddedNeo4jTuplesSupplier( queryNodes, tupleTypeContext, entityKeyMetadata ) );
+	}
+
 	@Override
 	public ClosableIterator<Tuple> callStoredProcedure(String storedProcedureName,
 			ProcedureQueryParameters queryParameters, TupleContext tupleContext) {
@@ -557,6 +585,25 @@ public ClosableIterator<Tuple> callStoredProcedure(String storedProcedureName,
 		}
 	}
 
+	/**
+	 * The nodes with an internal id greater than or equal to {@code fromId} and less than {@code toId}.
+	 */
+	private static class EmbeddedNeo4jIdRange implements TuplePartition {
+
+		private final long fromId;
+		private final long toId;
+
+		public EmbeddedNeo4jIdRange(long fromId, long toId) {
+			this.fromId = fromId;
+			this.toId = toId;
+		}
+
+		@Override
+		public String toString() {
+			return "EmbeddedNeo4jIdRange [" + fromId + ", " + toId + ")";
+		}
+	}
+
 	private static class EmbeddedNeo4jTuplesSupplier implements TuplesSupplier {
 
 		private final ResourceIterator<Node> nodes;
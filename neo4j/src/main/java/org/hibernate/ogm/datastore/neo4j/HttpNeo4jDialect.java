@@ -6,6 +6,7 @@
  */
 package org.hibernate.ogm.datastore.neo4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -21,6 +22,9 @@
 import java.lang.invoke.MethodHandles;
 import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jAssociationPropertiesRow;
 import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jAssociationSnapshot;
+import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jBatch;
+import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jBatch.BatchedStatement;
+import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jBatch.Phase;
 import org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl.RemoteNeo4jTupleAssociationSnapshot;
 import org.hibernate.ogm.datastore.neo4j.remote.common.util.impl.RemoteNeo4jHelper;
 import org.hibernate.ogm.datastore.neo4j.remote.http.dialect.impl.HttpNeo4jAssociatedNodesHelper;
@@ -39,9 +43,17 @@
 import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.Graph.Relationship;
 import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.Row;
 import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.Statement;
-import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.StatementResult;
 import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.Statements;
 import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.StatementsResponse;
+import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.StreamingStatementResult;
+import org.hibernate.ogm.dialect.batch.spi.BatchableGridDialect;
+import org.hibernate.ogm.dialect.batch.spi.GroupedChangesToEntityOperation;
+import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateAssociationOperation;
+import org.hibernate.ogm.dialect.batch.spi.InsertOrUpdateTupleOperation;
+import org.hibernate.ogm.dialect.batch.spi.Operation;
+import org.hibernate.ogm.dialect.batch.spi.OperationsQueue;
+import org.hibernate.ogm.dialect.batch.spi.RemoveAssociationOperation;
+import org.hibernate.ogm.dialect.batch.spi.RemoveTupleOperation;
 import org.hibernate.ogm.dialect.query.spi.BackendQuery;
 import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
 import org.hibernate.ogm.dialect.query.spi.QueryParameters;
@@ -81,7 +93,7 @@
  *
  * @author Davide D'Alto &lt;davide@hibernate.org&gt;
  */
-public class HttpNeo4jDialect extends BaseNeo4jDialect<HttpNeo4jEntityQueries, HttpNeo4jAssociationQueries> implements RemoteNeo4jDialect, StoredProcedureAwareGridDialect {
+public class HttpNeo4jDialect extends BaseNeo4jDialect<HttpNeo4jEntityQueries, HttpNeo4jAssociationQueries> implements RemoteNeo4jDialect, StoredProcedureAwareGridDialect, BatchableGridDialect {
 
 	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
 
@@ -114,7 +126,7 @@ public Tuple getTuple(EntityKey key, OperationContext operationContext) {
 		Long txId = transactionId( operationContext.getTransactionContext() );
 		NodeWithEmbeddedNodes owner = queries.findEntity( client, txId, key.getColumnValues() );
 		if ( owner == null ) {
-			return null;
+			return tupleFromInsertionQueue( key, operationContext );
 		}
 
 		Map<String, Node> toOneEntities = HttpNeo4jAssociatedNodesHelper.findAssociatedNodes( client, txId, owner, key.getMetadata(),
@@ -154,28 +166,36 @@ public List<Tuple> getTuples(EntityKey[] keys, TupleContext tupleContext) {
 	 * matching result in the db.
 	 */
 	private List<Tuple> tuplesResult(EntityKey[] keys, TupleContext tupleContext, ClosableIterator<NodeWithEmbeddedNodes> nodes, Long txId, HttpNeo4jEntityQueries queries) {
-		// The list is initialized with null because some keys might not have a corresponding node
-		Tuple[] tuples = new Tuple[keys.length];
+		// The array is initialized with null because some keys might not have a corresponding node
+		NodeWithEmbeddedNodes[] matchingNodes = new NodeWithEmbeddedNodes[keys.length];
+		List<NodeWithEmbeddedNodes> foundNodes = new ArrayList<>( keys.length );
+		Map<List<Object>, Integer> keyIndex = RemoteNeo4jHelper.indexByColumnValues( keys );
+		String[] keyColumnNames = keys[0].getColumnNames();
 		while ( nodes.hasNext() ) {
 			NodeWithEmbeddedNodes node = nodes.next();
-			for ( int i = 0; i < keys.length; i++ ) {
-				String[] keyNames = keys[i].getColumnNames();
-				Object[] keyValues = keys[i].getColumnValues();
-				Map<String, Object> nodeProperties = node.getOwner().getProperties();
-				if ( RemoteNeo4jHelper.matches( nodeProperties, keyNames, keyValues ) ) {
-					EntityKeyMetadata metadata = keys[i].getMetadata();
-					Map<String, Node> toOneEntities = HttpNeo4jAssociatedNodesHelper.findAssociatedNodes( client, txId, node, metadata,
-							tupleContext.getTupleTypeContext(), queries );
-					tuples[i] = new Tuple(
-							new HttpNeo4jTupleSnapshot(
-									node,
-									metadata,
-									toOneEntities,
-									tupleContext.getTupleTypeContext() ),
-							SnapshotType.UPDATE );
-					// We assume there are no duplicated keys
-					break;
-				}
+			int index = RemoteNeo4jHelper.findKeyIndex( keyIndex, node.getOwner().getProperties(), keyColumnNames );
+			if ( index > -1 ) {
+				matchingNodes[index] = node;
+				foundNodes.add( node );
+			}
+		}
+
+		// The to-one associations of all the entities are read with a single query
+		Map<Long, Map<String, Node>> toOneEntities = HttpNeo4jAssociatedNodesHelper.findAssociatedNodes( client, txId, foundNodes,
+				tupleContext.getTupleTypeContext(), queries );
+
+		Tuple[] tuples = new Tuple[keys.length];
+		for ( int i = 0; i < keys.length; i++ ) {
+			NodeWithEmbeddedNodes node = matchingNodes[i];
+			if ( node != null ) {
+				Map<String, Node> ownerToOneEntities = toOneEntities.get( node.getOwner().getId() );
+				tuples[i] = new Tuple(
+						new HttpNeo4jTupleSnapshot(
+								node,
+								keys[i].getMetadata(),
+								ownerToOneEntities == null ? Collections.<String, Node>emptyMap() : ownerToOneEntities,
+								tupleContext.getTupleTypeContext() ),
+						SnapshotType.UPDATE );
 			}
 		}
 		return Arrays.asList( tuples );
@@ -183,65 +203,139 @@ private List<Tuple> tuplesResult(EntityKey[] keys, TupleContext tupleContext, Cl
 
 	@Override
 	public void insertOrUpdateTuple(EntityKey key, TuplePointer tuplePointer, TupleContext tupleContext) {
-		Tuple tuple = tuplePointer.getTuple();
-		// insert
-		final Map<String, EntityKey> toOneAssociations = new HashMap<>();
-		Statements statements = new Statements();
-		Map<String, Object> properties = new HashMap<>();
-		applyTupleOperations( key, tuple, properties, toOneAssociations, statements, tuple.getOperations(), tupleContext, tupleContext.getTransactionContext() );
-		if ( SnapshotType.INSERT.equals( tuple.getSnapshotType() ) ) {
-			Statement statement = getEntityQueries( key.getMetadata(), tupleContext ).getCreateEntityWithPropertiesQueryStatement( key.getColumnValues(), properties );
-			statements.getStatements().add( 0, statement );
+		RemoteNeo4jBatch<Statement> batch = new RemoteNeo4jBatch<>( Statement::new );
+		batchInsertOrUpdateTuple( batch, key, tuplePointer.getTuple(), tupleContext );
+		execute( transactionId( tupleContext.getTransactionContext() ), batch );
+	}
+
+	@Override
+	public void executeBatch(OperationsQueue queue) {
+		if ( !queue.isClosed() ) {
+			RemoteNeo4jBatch<Statement> batch = new RemoteNeo4jBatch<>( Statement::new );
+			TransactionContext transactionContext = null;
+			Operation operation = queue.poll();
+			while ( operation != null ) {
+				if ( operation instanceof GroupedChangesToEntityOperation ) {
+					for ( Operation groupedOperation : ( (GroupedChangesToEntityOperation) operation ).getOperations() ) {
+						transactionContext = batchOperation( batch, groupedOperation );
+					}
+				}
+				else {
+					transactionContext = batchOperation( batch, operation );
+				}
+				operation = queue.poll();
+			}
+			if ( transactionContext != null ) {
+				execute( transactionId( transactionContext ), batch );
+			}
+		}
+	}
+
+	private TransactionContext batchOperation(RemoteNeo4jBatch<Statement> batch, Operation operation) {
+		if ( operation instanceof InsertOrUpdateTupleOperation ) {
+			InsertOrUpdateTupleOperation insertOrUpdateTupleOperation = (InsertOrUpdateTupleOperation) operation;
+			TupleContext tupleContext = insertOrUpdateTupleOperation.getTupleContext();
+			batchInsertOrUpdateTuple( batch, insertOrUpdateTupleOperation.getEntityKey(), insertOrUpdateTupleOperation.getTuplePointer().getTuple(), tupleContext );
+			return tupleContext.getTransactionContext();
+		}
+		else if ( operation instanceof RemoveTupleOperation ) {
+			RemoveTupleOperation removeTupleOperation = (RemoveTupleOperation) operation;
+			EntityKey key = removeTupleOperation.getEntityKey();
+			HttpNeo4jEntityQueries queries = getEntityQueries( key.getMetadata(), removeTupleOperation.getTupleContext() );
+			batch.addRow( Phase.REMOVE, queries.getRemoveEntitiesQuery(), RemoteNeo4jBatch.row( key.getColumnValues() ), key );
+			return removeTupleOperation.getTupleContext().getTransactionContext();
+		}
+		else if ( operation instanceof InsertOrUpdateAssociationOperation ) {
+			InsertOrUpdateAssociationOperation insertOrUpdateAssociationOperation = (InsertOrUpdateAssociationOperation) operation;
+			batchInsertOrUpdateAssociation( batch, insertOrUpdateAssociationOperation.getAssociationKey(), insertOrUpdateAssociationOperation.getAssociation(),
+					insertOrUpdateAssociationOperation.getContext() );
+			return insertOrUpdateAssociationOperation.getContext().getTransactionContext();
+		}
+		else if ( operation instanceof RemoveAssociationOperation ) {
+			RemoveAssociationOperation removeAssociationOperation = (RemoveAssociationOperation) operation;
+			AssociationKey associationKey = removeAssociationOperation.getAssociationKey();
+			// If this is the inverse side of a bi-directional association, we don't manage the relationship from this side
+			if ( !associationKey.getMetadata().isInverse() ) {
+				Statement statement = getAssociationQueries( associationKey.getMetadata() ).getRemoveAssociationStatement( associationKey );
+				batch.addStatement( Phase.ASSOCIATION, statement, associationKey.getEntityKey() );
+			}
+			return removeAssociationOperation.getContext().getTransactionContext();
 		}
 		else {
-			updateTuple( key, statements, properties, tupleContext.getTupleTypeContext() );
+			throw new UnsupportedOperationException( "Operation not supported: " + operation.getClass().getSimpleName() );
 		}
-		saveToOneAssociations( statements, key, tupleContext.getTupleTypeContext(), toOneAssociations );
-		Long txId = transactionId( tupleContext.getTransactionContext() );
-		StatementsResponse readEntity = client.executeQueriesInOpenTransaction( txId, statements );
-		validate( readEntity, key );
-		tuple.setSnapshotType( SnapshotType.UPDATE );
 	}
 
-	private Long transactionId(TransactionContext context) {
-		return (Long) context.getTransactionId();
+	/*
+	 * Sends all the statements of the batch with a single request.
+	 */
+	private void execute(Long txId, RemoteNeo4jBatch<Statement> batch) {
+		if ( !batch.isEmpty() ) {
+			List<BatchedStatement<Statement>> batchedStatements = batch.getStatements();
+			Statements statements = new Statements();
+			for ( BatchedStatement<Statement> batchedStatement : batchedStatements ) {
+				statements.addStatement( batchedStatement.getStatement() );
+			}
+			StatementsResponse readEntity = client.executeQueriesInOpenTransaction( txId, statements );
+			validate( readEntity, batchedStatements );
+			batch.updateSnapshotTypes();
+		}
 	}
 
-	private void updateTuple(EntityKey key, Statements statements, Map<String, Object> properties, TupleTypeContext tupleTypeContext) {
-		if ( !properties.isEmpty() ) {
-			Statement statement = getEntityQueries( key.getMetadata(), tupleTypeContext ).getUpdateEntityPropertiesStatement( key.getColumnValues(), properties );
-			statements.addStatement( statement );
-		}
+	private Long transactionId(TransactionContext context) {
+		return (Long) context.getTransactionId();
 	}
 
-	private void validate(StatementsResponse readEntity, EntityKey key) {
+	/*
+	 * The server stops at the first failing statement, the response contains only the results of the statements
+	 * executed before it.
+	 */
+	private void validate(StatementsResponse readEntity, List<BatchedStatement<Statement>> statements) {
 		if ( !readEntity.getErrors().isEmpty() ) {
 			ErrorResponse errorResponse = readEntity.getErrors().get( 0 );
 			switch ( errorResponse.getCode() ) {
 				case BaseNeo4jDialect.CONSTRAINT_VIOLATION_CODE:
-					throw extractException( key, errorResponse );
+					int failed = Math.min( readEntity.getResults().size(), statements.size() - 1 );
+					throw extractException( statements.get( failed ), errorResponse );
 				default:
 					throw new HibernateException( String.valueOf( errorResponse ) );
 			}
 		}
 	}
 
-	private HibernateException extractException(EntityKey key, ErrorResponse errorResponse) {
+	private HibernateException extractException(BatchedStatement<Statement> statement, ErrorResponse errorResponse) {
+		EntityKey key = statement.getEntityKey();
 		if ( TUPLE_ALREADY_EXISTS_EXCEPTION_PATTERN.matcher( errorResponse.getMessage() ).matches() ) {
 			// This is the exception we expect for this kind of error by the CompensationAPI and some unit tests
-			return new TupleAlreadyExistsException( key, errorResponse.getMessage() );
+			return key == null
+					? new TupleAlreadyExistsException( statement.getEntityKeyMetadata(), errorResponse.getMessage() )
+					: new TupleAlreadyExistsException( key, errorResponse.getMessage() );
 		}
 		else {
 			return log.constraintViolation( key, errorResponse.getMessage(), null );
 		}
 	}
 
-	private void saveToOneAssociations(Statements statements, EntityKey key, TupleTypeContext tupleTypeContext,
-			final Map<String, EntityKey> toOneAssociations) {
+	private void batchInsertOrUpdateTuple(RemoteNeo4jBatch<Statement> batch, EntityKey key, Tuple tuple, TupleContext tupleContext) {
+		HttpNeo4jEntityQueries queries = getEntityQueries( key.getMetadata(), tupleContext );
+		final Map<String, EntityKey> toOneAssociations = new HashMap<>();
+		Statements statements = new Statements();
+		Map<String, Object> properties = new HashMap<>();
+		applyTupleOperations( key, tuple, properties, toOneAssociations, statements, tuple.getOperations(), tupleContext );
+		if ( SnapshotType.INSERT.equals( tuple.getSnapshotType() ) && !batch.isCreated( key ) ) {
+			batch.addRow( Phase.CREATE, queries.getCreateEntitiesWithPropertiesQuery(), properties, key );
+			batch.created( key, tuple );
+		}
+		else if ( !properties.isEmpty() ) {
+			Object[] propertiesValue = { properties };
+			batch.addRow( Phase.UPDATE, queries.getUpdateEntitiesPropertiesQuery(), RemoteNeo4jBatch.row( key.getColumnValues(), propertiesValue ), key );
+		}
+		for ( Statement statement : statements.getStatements() ) {
+			batch.addStatement( Phase.UPDATE, statement, key );
+		}
 		for ( Map.Entry<String, EntityKey> entry : toOneAssociations.entrySet() ) {
-			Statement statement = getEntityQueries( key.getMetadata(), tupleTypeContext )
-					.getUpdateOneToOneAssociationStatement( entry.getKey(), key.getColumnValues(), entry.getValue().getColumnValues() );
-			statements.addStatement( statement );
+			String query = queries.getUpdateToOneRowsQuery( entry.getKey() );
+			batch.addRow( Phase.TO_ONE_ASSOCIATION, query, RemoteNeo4jBatch.row( key.getColumnValues(), entry.getValue().getColumnValues() ), key );
 		}
 	}
 
@@ -382,6 +476,54 @@ public void removeAssociation(AssociationKey key, AssociationContext association
 		getAssociationQueries( key.getMetadata() ).removeAssociation( client, txId, key );
 	}
 
+	private void batchInsertOrUpdateAssociation(RemoteNeo4jBatch<Statement> batch, AssociationKey key, Association association, AssociationContext associationContext) {
+		// If this is the inverse side of a bi-directional association, we don't create a relationship for this; this
+		// will happen when updating the main side
+		if ( key.getMetadata().isInverse() ) {
+			return;
+		}
+
+		HttpNeo4jAssociationQueries queries = getAssociationQueries( key.getMetadata() );
+		EntityKey ownerKey = key.getEntityKey();
+		for ( AssociationOperation action : association.getOperations() ) {
+			switch ( action.getType() ) {
+			case CLEAR:
+				batch.addStatement( Phase.ASSOCIATION, queries.getRemoveAssociationStatement( key ), ownerKey );
+				break;
+			case PUT:
+				batchPutAssociationOperation( batch, key, action, associationContext );
+				break;
+			case REMOVE:
+				batch.addStatement( Phase.ASSOCIATION, queries.getRemoveAssociationRowStatement( key, action.getKey() ), ownerKey );
+				break;
+			}
+		}
+	}
+
+	private void batchPutAssociationOperation(RemoteNeo4jBatch<Statement> batch, AssociationKey associationKey, AssociationOperation action, AssociationContext associationContext) {
+		AssociatedEntityKeyMetadata associatedEntityKeyMetadata = associationContext.getAssociationTypeContext().getAssociatedEntityKeyMetadata();
+		HttpNeo4jAssociationQueries queries = getAssociationQueries( associationKey.getMetadata() );
+		EntityKey ownerKey = associationKey.getEntityKey();
+		Tuple associationRow = action.getValue();
+		EntityKey targetKey = getEntityKey( associationRow, associatedEntityKeyMetadata );
+		switch ( associationKey.getMetadata().getAssociationKind() ) {
+			case EMBEDDED_COLLECTION:
+				if ( !emptyNode( targetKey ) ) {
+					Object[] relationshipProperties = relationshipProperties( associationKey, action );
+					Statement statement = queries.getCreateRelationshipForEmbeddedAssociationStatement( associationKey, targetKey, relationshipProperties );
+					batch.addStatement( Phase.ASSOCIATION, statement, ownerKey );
+				}
+				break;
+			case ASSOCIATION:
+				Object[] relationshipProperties = relationshipProperties( associationKey, associationRow );
+				List<Object> row = RemoteNeo4jBatch.row( ownerKey.getColumnValues(), targetKey.getColumnValues(), relationshipProperties );
+				batch.addRow( Phase.ASSOCIATION, queries.getCreateRelationshipsQuery(), row, ownerKey );
+				break;
+			default:
+				throw new AssertionFailure( "Unrecognized associationKind: " + associationKey.getMetadata().getAssociationKind() );
+		}
+	}
+
 	private void applyAssociationOperation(Association association, AssociationKey key, AssociationOperation operation, AssociationContext associationContext) {
 		switch ( operation.getType() ) {
 		case CLEAR:
@@ -410,27 +552,27 @@ private void removeAssociationOperation(AssociationKey associationKey, Associati
 		getAssociationQueries( associationKey.getMetadata() ).removeAssociationRow( client, txId, associationKey, action.getKey() );
 	}
 
-	private void applyTupleOperations(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, Statements statements, Set<TupleOperation> operations, TupleContext tupleContext, TransactionContext transactionContext) {
+	private void applyTupleOperations(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, Statements statements, Set<TupleOperation> operations, TupleContext tupleContext) {
 		Set<String> processedAssociationRoles = new HashSet<String>();
 
 		for ( TupleOperation operation : operations ) {
-			applyOperation( entityKey, tuple, node, toOneAssociations, statements, operation, tupleContext, transactionContext, processedAssociationRoles );
+			applyOperation( entityKey, tuple, node, toOneAssociations, statements, operation, tupleContext, processedAssociationRoles );
 		}
 	}
 
-	private void applyOperation(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, Statements statements, TupleOperation operation, TupleContext tupleContext, TransactionContext transactionContext, Set<String> processedAssociationRoles) {
+	private void applyOperation(EntityKey entityKey, Tuple tuple, Map<String, Object> node, Map<String, EntityKey> toOneAssociations, Statements statements, TupleOperation operation, TupleContext tupleContext, Set<String> processedAssociationRoles) {
 		switch ( operation.getType() ) {
 		case PUT:
 			putTupleOperation( entityKey, tuple, node, toOneAssociations, statements, operation, tupleContext, processedAssociationRoles );
 			break;
 		case PUT_NULL:
 		case REMOVE:
-			removeTupleOperation( entityKey, node, operation, statements, tupleContext, transactionContext, processedAssociationRoles );
+			removeTupleOperation( entityKey, node, operation, statements, tupleContext, processedAssociationRoles );
 			break;
 		}
 	}
 
-	private void removeTupleOperation(EntityKey entityKey, Map<String, Object> ownerNode, TupleOperation operation, Statements statements, TupleContext tupleContext, TransactionContext transactionContext, Set<String> processedAssociationRoles) {
+	private void removeTupleOperation(EntityKey entityKey, Map<String, Object> ownerNode, TupleOperation operation, Statements statements, TupleContext tupleContext, Set<String> processedAssociationRoles) {
 		if ( !tupleContext.getTupleTypeContext().isPartOfAssociation( operation.getColumn() ) ) {
 			if ( isPartOfRegularEmbedded( entityKey.getColumnNames(), operation.getColumn() ) ) {
 				// Embedded node
@@ -446,8 +588,8 @@ private void removeTupleOperation(EntityKey entityKey, Map<String, Object> owner
 		else {
 			String associationRole = tupleContext.getTupleTypeContext().getRole( operation.getColumn() );
 			if ( !processedAssociationRoles.contains( associationRole ) ) {
-				Long txId = transactionId( transactionContext );
-				getEntityQueries( entityKey.getMetadata(), tupleContext ).removeToOneAssociation( client, txId, entityKey.getColumnValues(), associationRole );
+				Statement statement = getEntityQueries( entityKey.getMetadata(), tupleContext ).removeToOneAssociationStatement( entityKey.getColumnValues(), associationRole );
+				statements.addStatement( statement );
 			}
 		}
 	}
@@ -495,22 +637,18 @@ public ClosableIterator<Tuple> callStoredProcedure(String storedProcedureName,
 				storedProcedureName, queryParameters );
 		Statement statement = new Statement( queryAndParams.getKey(), queryAndParams.getValue() );
 		statement.setResultDataContents( Collections.singletonList( Statement.AS_ROW ) );
-		Statements statements = new Statements();
-		statements.addStatement( statement );
 		Long txId = transactionId( tupleContext.getTransactionContext() );
-		StatementsResponse response = client.executeQueriesInOpenTransaction( txId, statements );
-		if ( !response.getErrors().isEmpty() ) {
-			ErrorResponse errorResponse = response.getErrors().get( 0 );
+		StreamingStatementResult result = client.executeQueryAndStreamResult( txId, statement, errorResponse -> {
 			switch ( errorResponse.getCode() ) {
 				case BaseNeo4jDialect.PROCEDURE_CALL_FAILED_CODE:
-					throw log.cannotExecuteStoredProcedure( storedProcedureName, null );
+					return log.cannotExecuteStoredProcedure( storedProcedureName, null );
 				case BaseNeo4jDialect.PROCEDURE_NOT_FOUND_CODE:
-					throw log.procedureWithResolvedNameDoesNotExist( storedProcedureName, null );
+					return log.procedureWithResolvedNameDoesNotExist( storedProcedureName, null );
 				default:
-					throw new HibernateException( errorResponse.getMessage() );
+					return new HibernateException( errorResponse.getMessage() );
 			}
-		}
-		return new HttpNeo4jMapsTupleIterator( response.getResults().get( 0 ) );
+		} );
+		return new HttpNeo4jMapsTupleIterator( result );
 	}
 
 	private static class HttpTuplesSupplier implements TuplesSupplier {
@@ -544,39 +682,37 @@ public ClosableIterator<Tuple> executeBackendQuery(BackendQuery<String> backendQ
 		String nativeQuery = buildNativeQuery( backendQuery, queryParameters );
 
 		Statement statement = new Statement( nativeQuery, parameters );
-		Statements statements = new Statements();
-		statements.addStatement( statement );
+		// The entities are loaded with a separate query, the ids in the nodes are enough
+		statement.setResultDataContents( Arrays.asList( Statement.AS_ROW ) );
 
 		Long txId = transactionId( tupleContext.getTransactionContext() );
-		StatementsResponse response = null;
+		StreamingStatementResult result = client.executeQueryAndStreamResult( txId, statement,
+				errorResponse -> log.nativeQueryException( errorResponse.getCode(), errorResponse.getMessage(), null ) );
 		if ( backendQuery.getSingleEntityMetadataInformationOrNull() != null ) {
-			response = client.executeQueriesInOpenTransaction( txId, statements );
-			validate( response, nativeQuery );
 			EntityKeyMetadata entityKeyMetadata = backendQuery.getSingleEntityMetadataInformationOrNull().getEntityKeyMetadata();
 			HttpNeo4jEntityQueries queries = getEntityQueries( entityKeyMetadata, tupleContext );
-			List<StatementResult> results = response.getResults();
-			List<Row> rows = results.get( 0 ).getData();
-			EntityKey[] keys = new EntityKey[ rows.size() ];
-			for ( int i = 0; i < rows.size(); i++ ) {
-				List<Node> nodes = rows.get( i ).getGraph().getNodes();
-
-				if ( nodes.isEmpty() ) {
-					// Projections and addEntities are not allowed in the same query at the same time
-					throw log.addEntityNotAllowedInNativeQueriesUsingProjection( entityKeyMetadata.getTable(), backendQuery.getQuery() );
+			List<EntityKey> keys = new ArrayList<>();
+			try {
+				while ( result.hasNext() ) {
+					Row row = result.next();
+					if ( !row.isNode( 0 ) ) {
+						// Projections and addEntities are not allowed in the same query at the same time
+						throw log.addEntityNotAllowedInNativeQueriesUsingProjection( entityKeyMetadata.getTable(), backendQuery.getQuery() );
+					}
+
+					@SuppressWarnings("unchecked")
+					Object[] values = columnValues( (Map<String, Object>) row.getRow().get( 0 ), entityKeyMetadata );
+					keys.add( new EntityKey( entityKeyMetadata, values ) );
 				}
-
-				Node node = nodes.get( 0 );
-				Object[] values = columnValues( node, entityKeyMetadata );
-				keys[i] = new EntityKey( entityKeyMetadata, values );
 			}
-			ClosableIterator<NodeWithEmbeddedNodes> entities = getEntityQueries( entityKeyMetadata, tupleContext ).findEntities( client, keys, txId );
+			finally {
+				result.close();
+			}
+			ClosableIterator<NodeWithEmbeddedNodes> entities = queries.findEntities( client, keys.toArray( new EntityKey[keys.size()] ), txId );
 			return new HttpNeo4jNodesTupleIterator( client, txId, queries, entityKeyMetadata, tupleContext.getTupleTypeContext(), entities );
 		}
 		else {
-			statement.setResultDataContents( Arrays.asList( Statement.AS_ROW ) );
-			response = client.executeQueriesInOpenTransaction( txId, statements );
-			validate( response, nativeQuery );
-			return new HttpNeo4jMapsTupleIterator( response.getResults().get( 0 ) );
+			return new HttpNeo4jMapsTupleIterator( result );
 		}
 	}
 
@@ -604,10 +740,10 @@ private void validate(StatementsResponse response, String nativeQuery) {
 		}
 	}
 
-	private Object[] columnValues(Node node, EntityKeyMetadata metadata) {
+	private Object[] columnValues(Map<String, Object> nodeProperties, EntityKeyMetadata metadata) {
 		Object[] values = new Object[metadata.getColumnNames().length];
 		for ( int i = 0; i < metadata.getColumnNames().length; i++ ) {
-			values[i] = node.getProperties().get( metadata.getColumnNames()[i] );
+			values[i] = nodeProperties.get( metadata.getColumnNames()[i] );
 		}
 		return values;
 	}
@@ -44,6 +44,7 @@ public abstract class BaseNeo4jAssociationQueries extends BaseNeo4jQueries {
 	protected final String matchOwnerEntityNode;
 	protected final String findRelationshipQuery;
 	protected final String createRelationshipQuery;
+	protected final String createRelationshipsQuery;
 	protected final String removeAssociationQuery;
 	protected final String removeAssociationRowQuery;
 
@@ -52,7 +53,8 @@ public BaseNeo4jAssociationQueries(EntityKeyMetadata ownerEntityKeyMetadata, Ass
 		this.removeAssociationQuery = initRemoveAssociationQuery( ownerEntityKeyMetadata, associationKeyMetadata );
 		this.removeAssociationRowQuery = initRemoveAssociationRowQuery( ownerEntityKeyMetadata, associationKeyMetadata );
 		this.findRelationshipQuery = initFindRelationshipQuery( ownerEntityKeyMetadata, associationKeyMetadata );
-		this.createRelationshipQuery = initCreateRelationshipQuery( ownerEntityKeyMetadata, associationKeyMetadata );
+		this.createRelationshipQuery = initCreateRelationshipQuery( ownerEntityKeyMetadata, associationKeyMetadata, false );
+		this.createRelationshipsQuery = initCreateRelationshipQuery( ownerEntityKeyMetadata, associationKeyMetadata, true );
 		this.matchOwnerEntityNode = initMatchOwnerEntityNode( ownerEntityKeyMetadata );
 	}
 
@@ -106,15 +108,32 @@ private static String initFindRelationshipQuery(EntityKeyMetadata ownerEntityKey
 	 * MATCH (o:ENTITY:table1 {id: {0}}), (t:ENTITY:table2 {id: {1}})
 	 * MERGE (o) -[r:role {props}]-> (t)
 	 * RETURN r
+	 *
+	 * With rowValues = true the relationships are created in batch:
+	 *
+	 * UNWIND {rows} AS row
+	 * MATCH (o:ENTITY:table1 {id: row[0]}), (t:ENTITY:table2 {id: row[1]})
+	 * MERGE (o) -[r:role {index: row[2]}]-> (t)
 	 */
-	private static String initCreateRelationshipQuery(EntityKeyMetadata ownerEntityKeyMetadata, AssociationKeyMetadata associationKeyMetadata) {
+	private static String initCreateRelationshipQuery(EntityKeyMetadata ownerEntityKeyMetadata, AssociationKeyMetadata associationKeyMetadata, boolean rowValues) {
 		EntityKeyMetadata targetEntityKeyMetadata = associationKeyMetadata.getAssociatedEntityKeyMetadata().getEntityKeyMetadata();
 		int offset = 0;
-		StringBuilder queryBuilder = new StringBuilder( "MATCH " );
-		appendEntityNode( "n", ownerEntityKeyMetadata, queryBuilder );
-		queryBuilder.append( ", " );
-		offset += ownerEntityKeyMetadata.getColumnNames().length;
-		appendEntityNode( "t", targetEntityKeyMetadata, queryBuilder, offset );
+		StringBuilder queryBuilder = new StringBuilder();
+		if ( rowValues ) {
+			appendUnwindRows( queryBuilder );
+			queryBuilder.append( "MATCH " );
+			appendRowEntityNode( "n", ownerEntityKeyMetadata, queryBuilder, offset );
+			queryBuilder.append( ", " );
+			offset += ownerEntityKeyMetadata.getColumnNames().length;
+			appendRowEntityNode( "t", targetEntityKeyMetadata, queryBuilder, offset );
+		}
+		else {
+			queryBuilder.append( "MATCH " );
+			appendEntityNode( "n", ownerEntityKeyMetadata, queryBuilder );
+			queryBuilder.append( ", " );
+			offset += ownerEntityKeyMetadata.getColumnNames().length;
+			appendEntityNode( "t", targetEntityKeyMetadata, queryBuilder, offset );
+		}
 		queryBuilder.append( " MERGE (n)" );
 		queryBuilder.append( " -[r" );
 		queryBuilder.append( ":" );
@@ -122,10 +141,12 @@ private static String initCreateRelationshipQuery(EntityKeyMetadata ownerEntityK
 		offset = ownerEntityKeyMetadata.getColumnNames().length;
 		if ( associationKeyMetadata.getRowKeyIndexColumnNames().length > 0 ) {
 			offset += targetEntityKeyMetadata.getColumnNames().length;
-			appendProperties( queryBuilder, associationKeyMetadata.getRowKeyIndexColumnNames(), offset );
+			appendProperties( queryBuilder, associationKeyMetadata.getRowKeyIndexColumnNames(), offset, rowValues );
 		}
 		queryBuilder.append( "]-> (t)" );
-		queryBuilder.append( " RETURN r" );
+		if ( !rowValues ) {
+			queryBuilder.append( " RETURN r" );
+		}
 		return queryBuilder.toString();
 	}
 
@@ -278,6 +299,16 @@ public void removeAssociationRow(GraphDatabaseService executionEngine, Associati
 		executionEngine.execute( removeAssociationRowQuery, params( queryValues ) );
 	}
 
+	/**
+	 * The query creating the relationships between the owners and the targets in batch; each row contains the key of
+	 * the owner, the key of the target and the properties of the relationship.
+	 *
+	 * @return the query creating the relationships listed in the {@code rows} parameter
+	 */
+	public String getCreateRelationshipsQuery() {
+		return createRelationshipsQuery;
+	}
+
 	/**
 	 * Returns the entity key on the other side of association row represented by the given row key.
 	 * <p>
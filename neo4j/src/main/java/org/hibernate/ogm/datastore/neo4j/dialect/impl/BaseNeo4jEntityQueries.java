@@ -14,6 +14,7 @@
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -45,6 +46,12 @@ public abstract class BaseNeo4jEntityQueries extends BaseNeo4jQueries {
 	public static final String FIRST_EMBEDDED_REL_ALIAS = "r";
 	public static final String EMBEDDED_REL_ALIAS = "r2";
 
+	/*
+	 * The aliases of the lowest and highest node id of an entity type
+	 */
+	public static final String MIN_ID_ALIAS = "minId";
+	public static final String MAX_ID_ALIAS = "maxId";
+
 	private static final int CACHE_CAPACITY = 1000;
 	private static final int CACHE_CONCURRENCY_LEVEL = 20;
 
@@ -68,6 +75,8 @@ public abstract class BaseNeo4jEntityQueries extends BaseNeo4jQueries {
 	private final String findEntityQuery;
 	private final String findEntityWithEmbeddedEndNodeQuery;
 	private final String findEntitiesQuery;
+	private final String findEntitiesInIdRangeQuery;
+	private final String findEntityIdRangeQuery;
 	private final String findAssociationPartialQuery;
 	private final String createEntityQuery;
 	private final String createEntityWithPropertiesQuery;
@@ -75,7 +84,12 @@ public abstract class BaseNeo4jEntityQueries extends BaseNeo4jQueries {
 	private final String removeEntityQuery;
 	private final String updateEmbeddedNodeQuery;
 	private final Map<String, String> updateToOneQuery;
+	private final Map<String, String> updateToOneRowsQuery;
+	private final String createEntitiesWithPropertiesQuery;
+	private final String updateEntitiesPropertiesQuery;
+	private final String removeEntitiesQuery;
 	private final Map<String, String> findAssociatedEntityQuery;
+	private final String findAssociatedEntitiesQuery;
 
 	/**
 	 * if {@code true} we are going to return the embedded nodes when an entity node is returned.
@@ -97,13 +111,20 @@ public BaseNeo4jEntityQueries(EntityKeyMetadata entityKeyMetadata, TupleTypeCont
 		this.findEntityQuery = initFindEntityQuery( entityKeyMetadata, includeEmbedded );
 		this.findEntityWithEmbeddedEndNodeQuery = initFindEntityQueryWithEmbeddedEndNode( entityKeyMetadata );
 		this.findEntitiesQuery = initFindEntitiesQuery( entityKeyMetadata, includeEmbedded );
+		this.findEntitiesInIdRangeQuery = initFindEntitiesInIdRangeQuery( entityKeyMetadata, includeEmbedded );
+		this.findEntityIdRangeQuery = initFindEntityIdRangeQuery( entityKeyMetadata );
 		this.createEntityQuery = initCreateEntityQuery( entityKeyMetadata );
 		this.updateEntityProperties = initMatchOwnerEntityNode( entityKeyMetadata );
 		this.createEntityWithPropertiesQuery = initCreateEntityWithPropertiesQuery( entityKeyMetadata );
-		this.removeEntityQuery = initRemoveEntityQuery( entityKeyMetadata );
+		this.removeEntityQuery = initRemoveEntityQuery( entityKeyMetadata, false );
+		this.createEntitiesWithPropertiesQuery = initCreateEntitiesWithPropertiesQuery( entityKeyMetadata );
+		this.updateEntitiesPropertiesQuery = initUpdateEntitiesPropertiesQuery( entityKeyMetadata );
+		this.removeEntitiesQuery = initRemoveEntityQuery( entityKeyMetadata, true );
 		this.updateEmbeddedNodeQuery = initUpdateEmbeddedNodeQuery( entityKeyMetadata );
-		this.updateToOneQuery = initUpdateToOneQuery( entityKeyMetadata, tupleTypeContext );
+		this.updateToOneQuery = initUpdateToOneQuery( entityKeyMetadata, tupleTypeContext, false );
+		this.updateToOneRowsQuery = initUpdateToOneQuery( entityKeyMetadata, tupleTypeContext, true );
 		this.findAssociatedEntityQuery = initFindAssociatedEntityQuery( entityKeyMetadata, tupleTypeContext );
+		this.findAssociatedEntitiesQuery = initFindAssociatedEntitiesQuery( entityKeyMetadata, tupleTypeContext );
 		this.findEmbeddedNodeQueries = initFindEmbeddedNodeQuery( entityKeyMetadata, tupleTypeContext );
 
 		this.multiGetQuery = initMultiGetEntitiesQuery( entityKeyMetadata, includeEmbedded );
@@ -231,7 +252,21 @@ private Map<String, String> initRemoveEmbeddedPropertyQuery(EntityKeyMetadata en
 		return Collections.unmodifiableMap( removeColumn );
 	}
 
-	private Map<String, String> initUpdateToOneQuery(EntityKeyMetadata ownerEntityKeyMetadata, TupleTypeContext tupleTypeContext) {
+	/*
+	 * Example:
+	 *
+	 * MATCH (owner:ENTITY:table {id: {0}}), (target:ENTITY:table2 {id: {1}})
+	 * OPTIONAL MATCH (owner) -[r:role]-> () DELETE r
+	 * CREATE (owner) -[:role]-> (target)
+	 *
+	 * Example with rowValues = true:
+	 *
+	 * UNWIND {rows} AS row
+	 * MATCH (owner:ENTITY:table {id: row[0]}), (target:ENTITY:table2 {id: row[1]})
+	 * OPTIONAL MATCH (owner) -[r:role]-> () DELETE r
+	 * CREATE (owner) -[:role]-> (target)
+	 */
+	private Map<String, String> initUpdateToOneQuery(EntityKeyMetadata ownerEntityKeyMetadata, TupleTypeContext tupleTypeContext, boolean rowValues) {
 		if ( tupleTypeContext != null ) {
 			Map<String, AssociatedEntityKeyMetadata> allAssociatedEntityKeyMetadata = tupleTypeContext.getAllAssociatedEntityKeyMetadata();
 			Map<String, String> queries = new HashMap<>( allAssociatedEntityKeyMetadata.size() );
@@ -239,10 +274,20 @@ private Map<String, String> initUpdateToOneQuery(EntityKeyMetadata ownerEntityKe
 				String associationRole = tupleTypeContext.getRole( entry.getKey() );
 				AssociatedEntityKeyMetadata associatedEntityKeyMetadata = entry.getValue();
 				EntityKeyMetadata targetKeyMetadata = associatedEntityKeyMetadata.getEntityKeyMetadata();
-				StringBuilder queryBuilder = new StringBuilder( "MATCH " );
-				appendEntityNode( ENTITY_ALIAS, ownerEntityKeyMetadata, queryBuilder );
-				queryBuilder.append( ", " );
-				appendEntityNode( "target", targetKeyMetadata, queryBuilder, ownerEntityKeyMetadata.getColumnNames().length );
+				StringBuilder queryBuilder = new StringBuilder();
+				if ( rowValues ) {
+					appendUnwindRows( queryBuilder );
+					queryBuilder.append( "MATCH " );
+					appendRowEntityNode( ENTITY_ALIAS, ownerEntityKeyMetadata, queryBuilder, 0 );
+					queryBuilder.append( ", " );
+					appendRowEntityNode( "target", targetKeyMetadata, queryBuilder, ownerEntityKeyMetadata.getColumnNames().length );
+				}
+				else {
+					queryBuilder.append( "MATCH " );
+					appendEntityNode( ENTITY_ALIAS, ownerEntityKeyMetadata, queryBuilder );
+					queryBuilder.append( ", " );
+					appendEntityNode( "target", targetKeyMetadata, queryBuilder, ownerEntityKeyMetadata.getColumnNames().length );
+				}
 				queryBuilder.append( " OPTIONAL MATCH (" );
 				queryBuilder.append( ENTITY_ALIAS );
 				queryBuilder.append( ")" );
@@ -282,6 +327,43 @@ private Map<String, String> initFindAssociatedEntityQuery(EntityKeyMetadata owne
 		return Collections.emptyMap();
 	}
 
+	/*
+	 * Example:
+	 *
+	 * MATCH (owner:ENTITY:table) -[r:role1]-> (target:ENTITY:table1) WHERE id(owner) IN {0} RETURN r, target
+	 * UNION ALL
+	 * MATCH (owner:ENTITY:table) -[r:role2]-> (target:ENTITY:table2) WHERE id(owner) IN {0} RETURN r, target
+	 */
+	private String initFindAssociatedEntitiesQuery(EntityKeyMetadata ownerEntityKeyMetadata, TupleTypeContext tupleTypeContext) {
+		if ( tupleTypeContext == null ) {
+			return null;
+		}
+		// The columns of the same association have the same role
+		Map<String, EntityKeyMetadata> targetKeyMetadataByRole = new LinkedHashMap<>();
+		for ( Entry<String, AssociatedEntityKeyMetadata> entry : tupleTypeContext.getAllAssociatedEntityKeyMetadata().entrySet() ) {
+			targetKeyMetadataByRole.put( tupleTypeContext.getRole( entry.getKey() ), entry.getValue().getEntityKeyMetadata() );
+		}
+		if ( targetKeyMetadataByRole.isEmpty() ) {
+			return null;
+		}
+		StringBuilder queryBuilder = new StringBuilder();
+		for ( Entry<String, EntityKeyMetadata> entry : targetKeyMetadataByRole.entrySet() ) {
+			if ( queryBuilder.length() > 0 ) {
+				queryBuilder.append( " UNION ALL " );
+			}
+			queryBuilder.append( "MATCH " );
+			appendEntityNode( ENTITY_ALIAS, ownerEntityKeyMetadata, queryBuilder, 0, false );
+			queryBuilder.append( " -[r:" );
+			appendRelationshipType( queryBuilder, entry.getKey() );
+			queryBuilder.append( "]-> " );
+			appendEntityNode( "target", entry.getValue(), queryBuilder, 0, false );
+			queryBuilder.append( " WHERE id(" );
+			queryBuilder.append( ENTITY_ALIAS );
+			queryBuilder.append( ") IN {0} RETURN r, target" );
+		}
+		return queryBuilder.toString();
+	}
+
 	private Map<String, String> initFindEmbeddedNodeQuery(EntityKeyMetadata ownerEntityKeyMetadata, TupleTypeContext tupleTypeContext) {
 		if ( tupleTypeContext != null ) {
 			Map<String, String> queries = new HashMap<>();
@@ -519,6 +601,49 @@ private static String initFindEntitiesQuery(EntityKeyMetadata entityKeyMetadata,
 		return queryBuilder.toString();
 	}
 
+	/*
+	 * Example: MATCH (n:ENTITY:table) WHERE id(n) >= {0} AND id(n) < {1} RETURN n
+	 */
+	private static String initFindEntitiesInIdRangeQuery(EntityKeyMetadata entityKeyMetadata, boolean includeEmbedded) {
+		StringBuilder queryBuilder = new StringBuilder( "MATCH " );
+		queryBuilder.append( "(" );
+		queryBuilder.append( ENTITY_ALIAS );
+		queryBuilder.append( ":" );
+		queryBuilder.append( ENTITY );
+		queryBuilder.append( ":" );
+		appendLabel( entityKeyMetadata, queryBuilder );
+		queryBuilder.append( ") WHERE id(" );
+		queryBuilder.append( ENTITY_ALIAS );
+		queryBuilder.append( ") >= {0} AND id(" );
+		queryBuilder.append( ENTITY_ALIAS );
+		queryBuilder.append( ") < {1}" );
+		appendOptionalMatchOwnerEmbeddedNodes( queryBuilder );
+		appendGetEmbeddedNodesIfNeeded( includeEmbedded, queryBuilder );
+		return queryBuilder.toString();
+	}
+
+	/*
+	 * Example: MATCH (n:ENTITY:table) RETURN min(id(n)) AS minId, max(id(n)) AS maxId
+	 */
+	private static String initFindEntityIdRangeQuery(EntityKeyMetadata entityKeyMetadata) {
+		StringBuilder queryBuilder = new StringBuilder( "MATCH " );
+		queryBuilder.append( "(" );
+		queryBuilder.append( ENTITY_ALIAS );
+		queryBuilder.append( ":" );
+		queryBuilder.append( ENTITY );
+		queryBuilder.append( ":" );
+		appendLabel( entityKeyMetadata, queryBuilder );
+		queryBuilder.append( ") RETURN min(id(" );
+		queryBuilder.append( ENTITY_ALIAS );
+		queryBuilder.append( ")) AS " );
+		queryBuilder.append( MIN_ID_ALIAS );
+		queryBuilder.append( ", max(id(" );
+		queryBuilder.append( ENTITY_ALIAS );
+		queryBuilder.append( ")) AS " );
+		queryBuilder.append( MAX_ID_ALIAS );
+		return queryBuilder.toString();
+	}
+
 	/*
 	 * Example: CREATE (n:ENTITY:table {id: {0}}) RETURN n
 	 */
@@ -545,12 +670,54 @@ private static String initCreateEntityWithPropertiesQuery(EntityKeyMetadata enti
 		return queryBuilder.toString();
 	}
 
+	/*
+	 * Example: UNWIND {rows} AS row CREATE (n:ENTITY:table) SET n = row
+	 *
+	 * Each row is the map of the properties of a new node.
+	 */
+	private static String initCreateEntitiesWithPropertiesQuery(EntityKeyMetadata entityKeyMetadata) {
+		StringBuilder queryBuilder = new StringBuilder();
+		appendUnwindRows( queryBuilder );
+		queryBuilder.append( "CREATE " );
+		appendEntityNode( "n", entityKeyMetadata, queryBuilder, 0, false );
+		queryBuilder.append( " SET n = " );
+		queryBuilder.append( ROW_ALIAS );
+		return queryBuilder.toString();
+	}
+
+	/*
+	 * Example: UNWIND {rows} AS row MATCH (owner:ENTITY:table {id: row[0]}) SET owner += row[1]
+	 *
+	 * Each row contains the values of the key columns followed by the map of the properties to update.
+	 */
+	private static String initUpdateEntitiesPropertiesQuery(EntityKeyMetadata entityKeyMetadata) {
+		StringBuilder queryBuilder = new StringBuilder();
+		appendUnwindRows( queryBuilder );
+		queryBuilder.append( "MATCH " );
+		appendRowEntityNode( ENTITY_ALIAS, entityKeyMetadata, queryBuilder, 0 );
+		queryBuilder.append( " SET " );
+		queryBuilder.append( ENTITY_ALIAS );
+		queryBuilder.append( " += " );
+		appendValue( queryBuilder, entityKeyMetadata.getColumnNames().length, true );
+		return queryBuilder.toString();
+	}
+
 	/*
 	 * Example: MATCH (n:ENTITY:table {id: {0}}) OPTIONAL MATCH (n) - [r] - () DELETE n, r
+	 *
+	 * With rowValues = true the query starts with UNWIND {rows} AS row and each row contains the values of the key columns.
 	 */
-	private static String initRemoveEntityQuery(EntityKeyMetadata entityKeyMetadata) {
-		StringBuilder queryBuilder = new StringBuilder( "MATCH " );
-		appendEntityNode( "n", entityKeyMetadata, queryBuilder );
+	private static String initRemoveEntityQuery(EntityKeyMetadata entityKeyMetadata, boolean rowValues) {
+		StringBuilder queryBuilder = new StringBuilder();
+		if ( rowValues ) {
+			appendUnwindRows( queryBuilder );
+			queryBuilder.append( "MATCH " );
+			appendRowEntityNode( "n", entityKeyMetadata, queryBuilder, 0 );
+		}
+		else {
+			queryBuilder.append( "MATCH " );
+			appendEntityNode( "n", entityKeyMetadata, queryBuilder );
+		}
 		queryBuilder.append( " OPTIONAL MATCH (n)-[r]->(e:EMBEDDED), path=(e)-[*0..]->(:EMBEDDED) " );
 		queryBuilder.append( " DELETE r " );
 		queryBuilder.append( " FOREACH (er IN relationships(path) | DELETE er) " );
@@ -717,6 +884,14 @@ public String getFindEntitiesQuery() {
 		return findEntitiesQuery;
 	}
 
+	public String getFindEntitiesInIdRangeQuery() {
+		return findEntitiesInIdRangeQuery;
+	}
+
+	public String getFindEntityIdRangeQuery() {
+		return findEntityIdRangeQuery;
+	}
+
 	public String getFindAssociationPartialQuery() {
 		return findAssociationPartialQuery;
 	}
@@ -741,6 +916,22 @@ public String getUpdateToOneQuery(String associationRole) {
 		return updateToOneQuery.get( associationRole );
 	}
 
+	public String getUpdateToOneRowsQuery(String associationRole) {
+		return updateToOneRowsQuery.get( associationRole );
+	}
+
+	public String getCreateEntitiesWithPropertiesQuery() {
+		return createEntitiesWithPropertiesQuery;
+	}
+
+	public String getUpdateEntitiesPropertiesQuery() {
+		return updateEntitiesPropertiesQuery;
+	}
+
+	public String getRemoveEntitiesQuery() {
+		return removeEntitiesQuery;
+	}
+
 	public String getFindAssociatedEntityQuery(String associationRole) {
 		return findAssociatedEntityQuery.get( associationRole );
 	}
@@ -772,4 +963,12 @@ public String getUpdateEntityProperties() {
 	public Map<String, String> getFindAssociatedEntityQuery() {
 		return findAssociatedEntityQuery;
 	}
+
+	/**
+	 * @return the query returning the relationship and the target node of the to-one associations of several owners,
+	 * identified by node id; {@code null} if the entity has no to-one associations
+	 */
+	public String getFindAssociatedEntitiesQuery() {
+		return findAssociatedEntitiesQuery;
+	}
 }
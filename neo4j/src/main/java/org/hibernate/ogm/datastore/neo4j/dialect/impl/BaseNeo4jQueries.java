@@ -23,6 +23,16 @@
  */
 class BaseNeo4jQueries {
 
+	/**
+	 * The name of the parameter containing the list of rows of a batched query.
+	 */
+	public static final String ROWS_PARAMETER = "rows";
+
+	/**
+	 * The alias of the current row in a batched query.
+	 */
+	protected static final String ROW_ALIAS = "row";
+
 	protected static void appendLabel(EntityKeyMetadata entityKeyMetadata, StringBuilder queryBuilder) {
 		escapeIdentifier( queryBuilder, entityKeyMetadata.getTable() );
 	}
@@ -32,13 +42,25 @@ protected static void appendProperties(EntityKeyMetadata entityKeyMetadata, Stri
 	}
 
 	protected static void appendProperties(StringBuilder queryBuilder, String[] columnNames, int offset) {
+		appendProperties( queryBuilder, columnNames, offset, false );
+	}
+
+	/*
+	 * Example with rowValues = false:
+	 *
+	 * {id: {0}}
+	 *
+	 * Example with rowValues = true, the values are read from the current row of an UNWIND clause:
+	 *
+	 * {id: row[0]}
+	 */
+	protected static void appendProperties(StringBuilder queryBuilder, String[] columnNames, int offset, boolean rowValues) {
 		if ( columnNames.length > 0 ) {
 			queryBuilder.append( " {" );
 			for ( int i = 0; i < columnNames.length; i++ ) {
 				escapeIdentifier( queryBuilder, columnNames[i] );
-				queryBuilder.append( ": {" );
-				queryBuilder.append( offset + i );
-				queryBuilder.append( "}" );
+				queryBuilder.append( ": " );
+				appendValue( queryBuilder, offset + i, rowValues );
 				if ( i < columnNames.length - 1 ) {
 					queryBuilder.append( ", " );
 				}
@@ -47,6 +69,20 @@ protected static void appendProperties(StringBuilder queryBuilder, String[] colu
 		}
 	}
 
+	protected static void appendValue(StringBuilder queryBuilder, int index, boolean rowValue) {
+		if ( rowValue ) {
+			queryBuilder.append( ROW_ALIAS );
+			queryBuilder.append( "[" );
+			queryBuilder.append( index );
+			queryBuilder.append( "]" );
+		}
+		else {
+			queryBuilder.append( "{" );
+			queryBuilder.append( index );
+			queryBuilder.append( "}" );
+		}
+	}
+
 	protected Map<String, Object> params(Object[] columnValues) {
 		return params( columnValues, 0 );
 	}
@@ -95,6 +131,35 @@ protected static void appendEntityNode(String alias, EntityKeyMetadata entityKey
 		queryBuilder.append( ")" );
 	}
 
+	/*
+	 * Example:
+	 *
+	 * (owner:ENTITY:table {id: row[0]})
+	 */
+	protected static void appendRowEntityNode(String alias, EntityKeyMetadata entityKeyMetadata, StringBuilder queryBuilder, int offset) {
+		queryBuilder.append( "(" );
+		queryBuilder.append( alias );
+		queryBuilder.append( ":" );
+		queryBuilder.append( ENTITY );
+		queryBuilder.append( ":" );
+		appendLabel( entityKeyMetadata, queryBuilder );
+		appendProperties( queryBuilder, entityKeyMetadata.getColumnNames(), offset, true );
+		queryBuilder.append( ")" );
+	}
+
+	/*
+	 * Example:
+	 *
+	 * UNWIND {rows} AS row
+	 */
+	protected static void appendUnwindRows(StringBuilder queryBuilder) {
+		queryBuilder.append( "UNWIND {" );
+		queryBuilder.append( ROWS_PARAMETER );
+		queryBuilder.append( "} AS " );
+		queryBuilder.append( ROW_ALIAS );
+		queryBuilder.append( " " );
+	}
+
 	protected static void appendRelationshipType(StringBuilder queryBuilder, String relationshipType) {
 		escapeIdentifier( queryBuilder, relationshipType );
 	}
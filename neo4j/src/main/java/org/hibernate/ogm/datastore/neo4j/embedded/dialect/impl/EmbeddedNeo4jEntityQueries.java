@@ -145,6 +145,42 @@ public ResourceIterator<Node> findEntities(GraphDatabaseService executionEngine)
 		return result.columnAs( BaseNeo4jEntityQueries.ENTITY_ALIAS );
 	}
 
+	/**
+	 * Find the nodes representing the entity with an internal node id in the given range.
+	 *
+	 * @param executionEngine the {@link GraphDatabaseService} used to run the query
+	 * @param fromId the lower bound of the node ids, inclusive
+	 * @param toId the upper bound of the node ids, exclusive
+	 * @return an iterator over the nodes representing an entity
+	 */
+	public ResourceIterator<Node> findEntities(GraphDatabaseService executionEngine, long fromId, long toId) {
+		Map<String, Object> params = params( new Object[] { fromId, toId } );
+		Result result = executionEngine.execute( getFindEntitiesInIdRangeQuery(), params );
+		return result.columnAs( BaseNeo4jEntityQueries.ENTITY_ALIAS );
+	}
+
+	/**
+	 * Find the lowest and the highest internal node id of the nodes representing the entity.
+	 *
+	 * @param executionEngine the {@link GraphDatabaseService} used to run the query
+	 * @return the lowest and the highest id, or {@code null} if there are no nodes for the entity
+	 */
+	public long[] findEntityIdRange(GraphDatabaseService executionEngine) {
+		Result result = executionEngine.execute( getFindEntityIdRangeQuery() );
+		try {
+			Map<String, Object> row = result.next();
+			Number min = (Number) row.get( BaseNeo4jEntityQueries.MIN_ID_ALIAS );
+			Number max = (Number) row.get( BaseNeo4jEntityQueries.MAX_ID_ALIAS );
+			if ( min == null ) {
+				return null;
+			}
+			return new long[] { min.longValue(), max.longValue() };
+		}
+		finally {
+			result.close();
+		}
+	}
+
 	/**
 	 * Remove the nodes representing the entity and the embedded elements attached to it.
 	 *
@@ -16,6 +16,7 @@
 import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
 import org.hibernate.ogm.model.key.spi.RowKey;
 import org.hibernate.ogm.util.impl.ArrayHelper;
+import org.neo4j.driver.v1.Statement;
 import org.neo4j.driver.v1.StatementResult;
 import org.neo4j.driver.v1.Transaction;
 import org.neo4j.driver.v1.types.Relationship;
@@ -30,7 +31,11 @@ public BoltNeo4jAssociationQueries(EntityKeyMetadata ownerEntityKeyMetadata, Ass
 	}
 
 	public void removeAssociation(Transaction tx, AssociationKey associationKey) {
-		tx.run( removeAssociationQuery, params( associationKey.getEntityKey().getColumnValues() ) );
+		tx.run( getRemoveAssociationStatement( associationKey ) );
+	}
+
+	public Statement getRemoveAssociationStatement(AssociationKey associationKey) {
+		return new Statement( removeAssociationQuery, params( associationKey.getEntityKey().getColumnValues() ) );
 	}
 
 	public Relationship findRelationship(Transaction tx, AssociationKey associationKey, RowKey rowKey) {
@@ -49,10 +54,15 @@ private Relationship relationship(StatementResult result) {
 
 	public Relationship createRelationshipForEmbeddedAssociation(Transaction tx, AssociationKey associationKey, EntityKey embeddedKey,
 			Object[] relationshipProperties) {
+		StatementResult statementResult = tx.run( getCreateRelationshipForEmbeddedAssociationStatement( associationKey, embeddedKey, relationshipProperties ) );
+		return relationship( statementResult );
+	}
+
+	public Statement getCreateRelationshipForEmbeddedAssociationStatement(AssociationKey associationKey, EntityKey embeddedKey,
+			Object[] relationshipProperties) {
 		String query = initCreateEmbeddedAssociationQuery( associationKey, embeddedKey );
 		Object[] queryValues = createRelationshipForEmbeddedQueryValues( associationKey, embeddedKey, relationshipProperties );
-		StatementResult statementResult = tx.run( query, params( queryValues ) );
-		return relationship( statementResult );
+		return new Statement( query, params( queryValues ) );
 	}
 
 	public Relationship createRelationship(Transaction tx, Object[] ownerKeyValues, Object[] targetKeyValues, Object[] relationshipProperties) {
@@ -63,8 +73,12 @@ public Relationship createRelationship(Transaction tx, Object[] ownerKeyValues,
 	}
 
 	public void removeAssociationRow(Transaction tx, AssociationKey associationKey, RowKey rowKey) {
+		tx.run( getRemoveAssociationRowStatement( associationKey, rowKey ) );
+	}
+
+	public Statement getRemoveAssociationRowStatement(AssociationKey associationKey, RowKey rowKey) {
 		Object[] relationshipValues = relationshipValues( associationKey, rowKey );
 		Object[] queryValues = ArrayHelper.concat( associationKey.getEntityKey().getColumnValues(), relationshipValues );
-		tx.run( removeAssociationRowQuery, params( queryValues ) );
+		return new Statement( removeAssociationRowQuery, params( queryValues ) );
 	}
 }
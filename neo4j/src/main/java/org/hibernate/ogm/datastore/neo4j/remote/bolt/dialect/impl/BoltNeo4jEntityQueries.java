@@ -162,8 +162,10 @@ private ClosableIterator<NodeWithEmbeddedNodes> closableIterator(StatementResult
 			}
 			else {
 				NodeWithEmbeddedNodes[] array = new NodeWithEmbeddedNodes[keys.length];
+				Map<List<Object>, Integer> keyIndex = RemoteNeo4jHelper.indexByColumnValues( keys );
+				String[] keyColumnNames = keys[0].getColumnNames();
 				for ( Node owner : owners ) {
-					int index = findKeyIndex( keys, owner );
+					int index = RemoteNeo4jHelper.findKeyIndex( keyIndex, owner.asMap(), keyColumnNames );
 					if ( index > -1 ) {
 						array[index] = new NodeWithEmbeddedNodes( owner, nodes.get( owner.id() ) );
 					}
@@ -206,15 +208,6 @@ private Node asNode(Record record, String alias) {
 		return value.asNode();
 	}
 
-	private int findKeyIndex(EntityKey[] keys, Node owner) {
-		for ( int i = 0; i < keys.length; i++ ) {
-			if ( RemoteNeo4jHelper.matches( owner.asMap(), keys[i].getColumnNames(), keys[i].getColumnValues() ) ) {
-				return i;
-			}
-		}
-		return -1;
-	}
-
 	public Node findAssociatedEntity(Transaction tx, Object[] keyValues, String associationrole) {
 		Map<String, Object> params = params( keyValues );
 		String query = getFindAssociatedEntityQuery( associationrole );
@@ -246,8 +239,12 @@ public Statement removeColumnStatement(Object[] columnValues, String column, Tra
 	}
 
 	public void removeToOneAssociation(Transaction tx, Object[] columnValues, String associationRole) {
+		tx.run( removeToOneAssociationStatement( columnValues, associationRole ) );
+	}
+
+	public Statement removeToOneAssociationStatement(Object[] columnValues, String associationRole) {
 		Map<String, Object> params = params( ArrayHelper.concat( columnValues, associationRole ) );
-		tx.run( getRemoveToOneAssociation(), params );
+		return new Statement( getRemoveToOneAssociation(), params );
 	}
 
 	public Statement getUpdateEntityPropertiesStatement(Object[] columnValues, Map<String, Object> properties) {
@@ -267,6 +264,34 @@ public Statement updateEmbeddedColumnStatement(Object[] keyValues, String column
 		return new Statement( query, params );
 	}
 
+	/**
+	 * Find the nodes associated to several owners via a to-one association, running a single query.
+	 *
+	 * @param tx the transaction used to run the query
+	 * @param ownerIds the ids of the owner nodes
+	 * @return the associated nodes of each owner by association role, by owner id
+	 */
+	public Map<Long, Map<String, Node>> findAssociatedEntities(Transaction tx, Collection<Long> ownerIds) {
+		String query = getFindAssociatedEntitiesQuery();
+		if ( query == null || ownerIds.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+		Map<String, Object> params = Collections.singletonMap( "0", (Object) ownerIds );
+		StatementResult statementResult = tx.run( query, params );
+		Map<Long, Map<String, Node>> associatedNodes = new HashMap<>();
+		while ( statementResult.hasNext() ) {
+			Record record = statementResult.next();
+			Relationship relationship = record.get( 0 ).asRelationship();
+			Map<String, Node> nodesByRole = associatedNodes.get( relationship.startNodeId() );
+			if ( nodesByRole == null ) {
+				nodesByRole = new HashMap<>();
+				associatedNodes.put( relationship.startNodeId(), nodesByRole );
+			}
+			nodesByRole.put( relationship.type(), record.get( 1 ).asNode() );
+		}
+		return associatedNodes;
+	}
+
 	public Node findAssociatedEntity(Driver driver, Object[] keyValues, String associationrole) {
 		return null;
 	}
@@ -0,0 +1,240 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.neo4j.remote.common.dialect.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+import org.hibernate.ogm.datastore.neo4j.dialect.impl.BaseNeo4jEntityQueries;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+import org.hibernate.ogm.model.spi.Tuple;
+import org.hibernate.ogm.model.spi.Tuple.SnapshotType;
+
+/**
+ * Collects the statements required to apply the changes of a flush to a remote Neo4j server.
+ * <p>
+ * Rows added with the same {@code UNWIND} query are collapsed in a single statement, the other statements are kept
+ * as they are. The statements are returned grouped by {@link Phase}, this way all the nodes are created before the
+ * relationships pointing to them and removed after everything else.
+ *
+ * @param <S> the type of statement used by the client
+ */
+public class RemoteNeo4jBatch<S> {
+
+	/**
+	 * The phases of a batch, in order of execution.
+	 */
+	public enum Phase {
+		CREATE( false ),
+		UPDATE( false ),
+		TO_ONE_ASSOCIATION( false ),
+		/*
+		 * The operations on the same association might depend on each other (a clear followed by some additions for
+		 * example), we only collapse rows added one after the other.
+		 */
+		ASSOCIATION( true ),
+		REMOVE( false );
+
+		private final boolean ordered;
+
+		private Phase(boolean ordered) {
+			this.ordered = ordered;
+		}
+	}
+
+	private final BiFunction<String, Map<String, Object>, S> statementFactory;
+	private final Map<Phase, List<Entry>> entries = new EnumMap<>( Phase.class );
+	private final Map<Phase, Map<String, Entry>> rowsEntries = new EnumMap<>( Phase.class );
+	private final Map<EntityKey, Tuple> createdTuples = new HashMap<>();
+
+	/**
+	 * @param statementFactory creates a statement from a query and its parameters
+	 */
+	public RemoteNeo4jBatch(BiFunction<String, Map<String, Object>, S> statementFactory) {
+		this.statementFactory = statementFactory;
+		for ( Phase phase : Phase.values() ) {
+			entries.put( phase, new ArrayList<Entry>() );
+			rowsEntries.put( phase, new HashMap<String, Entry>() );
+		}
+	}
+
+	/**
+	 * Adds a row to the statement running the given {@code UNWIND} query.
+	 *
+	 * @param phase the phase of the batch
+	 * @param query a query starting with {@code UNWIND {rows} AS row}
+	 * @param row the value of the row
+	 * @param entityKey the entity affected by the row
+	 */
+	public void addRow(Phase phase, String query, Object row, EntityKey entityKey) {
+		Entry entry = rowsEntry( phase, query );
+		if ( entry == null ) {
+			entry = new Entry( query );
+			entries.get( phase ).add( entry );
+			rowsEntries.get( phase ).put( query, entry );
+		}
+		entry.rows.add( row );
+		entry.entityKeys.add( entityKey );
+	}
+
+	private Entry rowsEntry(Phase phase, String query) {
+		if ( phase.ordered ) {
+			List<Entry> phaseEntries = entries.get( phase );
+			if ( !phaseEntries.isEmpty() ) {
+				Entry last = phaseEntries.get( phaseEntries.size() - 1 );
+				if ( query.equals( last.query ) ) {
+					return last;
+				}
+			}
+			return null;
+		}
+		return rowsEntries.get( phase ).get( query );
+	}
+
+	/**
+	 * Adds a statement that cannot be collapsed with others.
+	 *
+	 * @param phase the phase of the batch
+	 * @param statement the statement to execute
+	 * @param entityKey the entity affected by the statement
+	 */
+	public void addStatement(Phase phase, S statement, EntityKey entityKey) {
+		Entry entry = new Entry( statement );
+		entry.entityKeys.add( entityKey );
+		entries.get( phase ).add( entry );
+	}
+
+	/**
+	 * Keeps track of the nodes created by this batch, a following update of the same entity must not create it again.
+	 *
+	 * @param entityKey the key of the created node
+	 * @param tuple the tuple of the created node
+	 */
+	public void created(EntityKey entityKey, Tuple tuple) {
+		createdTuples.put( entityKey, tuple );
+	}
+
+	public boolean isCreated(EntityKey entityKey) {
+		return createdTuples.containsKey( entityKey );
+	}
+
+	/**
+	 * Marks the tuples of the nodes created by this batch as persisted; to call after the batch has been executed.
+	 */
+	public void updateSnapshotTypes() {
+		for ( Tuple tuple : createdTuples.values() ) {
+			tuple.setSnapshotType( SnapshotType.UPDATE );
+		}
+	}
+
+	public boolean isEmpty() {
+		for ( List<Entry> phaseEntries : entries.values() ) {
+			if ( !phaseEntries.isEmpty() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates the row of an {@code UNWIND} query concatenating the given values; the query refers to the values of the
+	 * row by position.
+	 *
+	 * @param values the values of the row
+	 * @return the row
+	 */
+	public static List<Object> row(Object[]... values) {
+		List<Object> row = new ArrayList<>();
+		for ( Object[] value : values ) {
+			Collections.addAll( row, value );
+		}
+		return row;
+	}
+
+	/**
+	 * @return the statements of the batch in order of execution
+	 */
+	public List<BatchedStatement<S>> getStatements() {
+		List<BatchedStatement<S>> statements = new ArrayList<>();
+		for ( List<Entry> phaseEntries : entries.values() ) {
+			for ( Entry entry : phaseEntries ) {
+				statements.add( new BatchedStatement<S>( entry.statement(), entry.entityKeys ) );
+			}
+		}
+		return statements;
+	}
+
+	private class Entry {
+
+		private final String query;
+		private final S statement;
+		private final List<Object> rows;
+		private final List<EntityKey> entityKeys = new ArrayList<>();
+
+		Entry(String query) {
+			this.query = query;
+			this.statement = null;
+			this.rows = new ArrayList<>();
+		}
+
+		Entry(S statement) {
+			this.query = null;
+			this.statement = statement;
+			this.rows = null;
+		}
+
+		S statement() {
+			if ( statement != null ) {
+				return statement;
+			}
+			Map<String, Object> params = Collections.<String, Object>singletonMap( BaseNeo4jEntityQueries.ROWS_PARAMETER, rows );
+			return statementFactory.apply( query, params );
+		}
+	}
+
+	/**
+	 * A statement of the batch and the entities it affects.
+	 *
+	 * @param <S> the type of statement used by the client
+	 */
+	public static class BatchedStatement<S> {
+
+		private final S statement;
+		private final List<EntityKey> entityKeys;
+
+		BatchedStatement(S statement, List<EntityKey> entityKeys) {
+			this.statement = statement;
+			this.entityKeys = entityKeys;
+		}
+
+		public S getStatement() {
+			return statement;
+		}
+
+		/**
+		 * @return the key of the entity affected by the statement, {@code null} if the statement affects more than one entity
+		 */
+		public EntityKey getEntityKey() {
+			return entityKeys.size() == 1 ? entityKeys.get( 0 ) : null;
+		}
+
+		public EntityKeyMetadata getEntityKeyMetadata() {
+			return entityKeys.get( 0 ).getMetadata();
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf( statement );
+		}
+	}
+}
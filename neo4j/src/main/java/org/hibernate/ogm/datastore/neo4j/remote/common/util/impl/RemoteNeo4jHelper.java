@@ -6,8 +6,12 @@
  */
 package org.hibernate.ogm.datastore.neo4j.remote.common.util.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.hibernate.ogm.model.key.spi.EntityKey;
 import org.hibernate.ogm.model.key.spi.RowKey;
 
 /**
@@ -44,6 +48,51 @@ else if ( expectedValue != null ) {
 		return true;
 	}
 
+	/**
+	 * Index the position of the keys by column values, so that the key matching a node can be found without comparing
+	 * the node with each key.
+	 *
+	 * @param keys the keys to index, all with the same column names
+	 * @return the position of each key in the array, by column values
+	 * @see #findKeyIndex(Map, Map, String[])
+	 */
+	public static Map<List<Object>, Integer> indexByColumnValues(EntityKey[] keys) {
+		Map<List<Object>, Integer> index = new HashMap<>( keys.length );
+		for ( int i = 0; i < keys.length; i++ ) {
+			// We assume there are no duplicated keys
+			index.put( hashKey( keys[i].getColumnValues() ), i );
+		}
+		return index;
+	}
+
+	/**
+	 * Find the position of the key matching the properties of a node.
+	 * <p>
+	 * The comparison follows the same rules as {@link #matches(Map, String[], Object[])}.
+	 *
+	 * @param index the index returned by {@link #indexByColumnValues(EntityKey[])}
+	 * @param nodeProperties the properties on the node
+	 * @param keyColumnNames the name of the key columns
+	 * @return the position of the key matching the node, -1 if none
+	 */
+	public static int findKeyIndex(Map<List<Object>, Integer> index, Map<String, Object> nodeProperties, String[] keyColumnNames) {
+		Object[] values = new Object[keyColumnNames.length];
+		for ( int i = 0; i < keyColumnNames.length; i++ ) {
+			values[i] = nodeProperties.get( keyColumnNames[i] );
+		}
+		Integer position = index.get( hashKey( values ) );
+		return position == null ? -1 : position;
+	}
+
+	private static List<Object> hashKey(Object[] columnValues) {
+		List<Object> hashKey = new ArrayList<>( columnValues.length );
+		for ( Object value : columnValues ) {
+			// Neo4j remote might not return a number with the same type of the original value, see sameValue()
+			hashKey.add( value instanceof Number ? value.toString() : value );
+		}
+		return hashKey;
+	}
+
 	public static boolean matches(RowKey actual, RowKey expected) {
 		if ( actual.getColumnNames().length != expected.getColumnNames().length ) {
 			return false;
@@ -6,7 +6,11 @@
  */
 package org.hibernate.ogm.datastore.neo4j.remote.http.dialect.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -38,6 +42,24 @@ public static Map<String, Node> findAssociatedNodes(HttpNeo4jClient client, Long
 		return associatedNodes;
 	}
 
+	/**
+	 * Find the nodes associated via a to-one association to several entities, running a single query.
+	 *
+	 * @return the associated nodes by association role, by id of the owner node; owners without associated nodes
+	 * might be missing
+	 */
+	public static Map<Long, Map<String, Node>> findAssociatedNodes(HttpNeo4jClient client, Long txId, Collection<NodeWithEmbeddedNodes> nodes, TupleTypeContext tupleTypeContext,
+			HttpNeo4jEntityQueries queries) {
+		if ( tupleTypeContext.getAllAssociatedEntityKeyMetadata().isEmpty() ) {
+			return Collections.emptyMap();
+		}
+		List<Long> ownerIds = new ArrayList<>( nodes.size() );
+		for ( NodeWithEmbeddedNodes node : nodes ) {
+			ownerIds.add( node.getOwner().getId() );
+		}
+		return queries.findAssociatedEntities( client, txId, ownerIds );
+	}
+
 	private static Object[] keyValues(Node node, EntityKeyMetadata entityKeyMetadata) {
 		Object[] values = new Object[entityKeyMetadata.getColumnNames().length];
 		for ( int i = 0; i < values.length; i++ ) {
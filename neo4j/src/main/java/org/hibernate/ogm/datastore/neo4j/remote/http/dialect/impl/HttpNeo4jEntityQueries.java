@@ -160,6 +160,39 @@ public Node findAssociatedEntity(HttpNeo4jClient neo4jClient, Long txId, Object[
 		return null;
 	}
 
+	/**
+	 * Find the nodes associated to several owners via a to-one association, running a single query.
+	 *
+	 * @param neo4jClient the {@link HttpNeo4jClient} used to run the query
+	 * @param txId the id of the transaction, {@code null} to run the query in a new one
+	 * @param ownerIds the ids of the owner nodes
+	 * @return the associated nodes of each owner by association role, by owner id
+	 */
+	public Map<Long, Map<String, Node>> findAssociatedEntities(HttpNeo4jClient neo4jClient, Long txId, Collection<Long> ownerIds) {
+		String query = getFindAssociatedEntitiesQuery();
+		if ( query == null || ownerIds.isEmpty() ) {
+			return Collections.emptyMap();
+		}
+		Map<String, Object> params = Collections.singletonMap( "0", (Object) ownerIds );
+		List<StatementResult> results = executeQuery( neo4jClient, txId, query, params, Statement.AS_GRAPH );
+		if ( results == null ) {
+			return Collections.emptyMap();
+		}
+		Map<Long, Map<String, Node>> associatedNodes = new HashMap<>();
+		for ( Row row : results.get( 0 ).getData() ) {
+			Graph graph = row.getGraph();
+			for ( Relationship relationship : graph.getRelationships() ) {
+				Map<String, Node> nodesByRole = associatedNodes.get( relationship.getStartNode() );
+				if ( nodesByRole == null ) {
+					nodesByRole = new HashMap<>();
+					associatedNodes.put( relationship.getStartNode(), nodesByRole );
+				}
+				nodesByRole.put( relationship.getType(), findEmbeddedNode( graph.getNodes(), relationship.getEndNode() ) );
+			}
+		}
+		return associatedNodes;
+	}
+
 	public Statement getCreateEntityWithPropertiesQueryStatement(Object[] columnValues, Map<String, Object> properties) {
 		String query = getCreateEntityWithPropertiesQuery();
 		Map<String, Object> params = Collections.singletonMap( "props", (Object) properties );
@@ -267,8 +300,10 @@ private ClosableIterator<NodeWithEmbeddedNodes> closableIterator(List<StatementR
 				}
 				else {
 					NodeWithEmbeddedNodes[] array = new NodeWithEmbeddedNodes[keys.length];
+					Map<List<Object>, Integer> keyIndex = RemoteNeo4jHelper.indexByColumnValues( keys );
+					String[] keyColumnNames = keys[0].getColumnNames();
 					for ( Node owner : owners ) {
-						int index = findKeyIndex( keys, owner );
+						int index = RemoteNeo4jHelper.findKeyIndex( keyIndex, owner.getProperties(), keyColumnNames );
 						if ( index > -1 ) {
 							array[index] = new NodeWithEmbeddedNodes( owner, nodes.get( owner.getId() ) );
 						}
@@ -286,15 +321,6 @@ private ClosableIterator<NodeWithEmbeddedNodes> closableIterator(List<StatementR
 		return EMPTY_NODES;
 	}
 
-	private int findKeyIndex(EntityKey[] keys, Node owner) {
-		for ( int i = 0; i < keys.length; i++ ) {
-			if ( RemoteNeo4jHelper.matches( owner.getProperties(), keys[i].getColumnNames(), keys[i].getColumnValues() ) ) {
-				return i;
-			}
-		}
-		return -1;
-	}
-
 	public Statement getUpdateOneToOneAssociationStatement(String associationRole, Object[] ownerKeyValues, Object[] targetKeyValues) {
 		String query = getUpdateToOneQuery( associationRole );
 		Map<String, Object> params = params( ownerKeyValues );
@@ -455,6 +481,11 @@ public void removeToOneAssociation(HttpNeo4jClient executionEngine, Long txId, O
 		executeQueryAndReturnGraph( executionEngine, txId, getRemoveToOneAssociation(), params );
 	}
 
+	public Statement removeToOneAssociationStatement(Object[] columnValues, String associationRole) {
+		Map<String, Object> params = params( ArrayHelper.concat( columnValues, associationRole ) );
+		return new Statement( getRemoveToOneAssociation(), params );
+	}
+
 	private static class ClosableIteratorAdapter<T> implements ClosableIterator<T> {
 
 		private final Iterator<T> iterator;
@@ -8,6 +8,7 @@
 
 import java.net.URI;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import javax.ws.rs.core.Response;
 
@@ -16,8 +17,11 @@
 import java.lang.invoke.MethodHandles;
 import org.hibernate.ogm.datastore.neo4j.remote.common.impl.RemoteNeo4jConfiguration;
 import org.hibernate.ogm.datastore.neo4j.remote.common.impl.RemoteNeo4jDatabaseIdentifier;
+import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.ErrorResponse;
+import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.Statement;
 import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.Statements;
 import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.StatementsResponse;
+import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.StreamingStatementResult;
 import org.hibernate.ogm.datastore.neo4j.remote.http.request.impl.HttpNeo4jAuthenticationFacade;
 import org.hibernate.ogm.datastore.neo4j.remote.http.request.impl.HttpNeo4jTransactionFacade;
 import org.hibernate.ogm.datastore.neo4j.remote.http.request.impl.XStreamRequestHeaderFilter;
@@ -121,6 +125,25 @@ public StatementsResponse executeQueriesInNewTransaction(Statements statements)
 		}
 	}
 
+	/**
+	 * Execute a single statement, reading the rows of the result while they are received.
+	 * <p>
+	 * The returned result keeps the connection open until it is closed or all the rows have been read.
+	 *
+	 * @param txId the id of the transaction, {@code null} to execute the statement in a new one
+	 * @param statement the statement to execute
+	 * @param errorHandler creates the exception to throw when the server returns an error
+	 * @return the rows of the result
+	 */
+	public StreamingStatementResult executeQueryAndStreamResult(Long txId, Statement statement, Function<ErrorResponse, RuntimeException> errorHandler) {
+		Statements statements = new Statements();
+		statements.addStatement( statement );
+		Response response = txId == null
+				? neo4jFacade.executeQuery( statements )
+				: neo4jFacade.executeQuery( txId, statements );
+		return new StreamingStatementResult( response, errorHandler );
+	}
+
 	public HttpNeo4jTransaction beginTx() {
 		Response response = neo4jFacade.beginTransaction();
 		try {
@@ -19,12 +19,28 @@
  */
 public class Row {
 
+	private static final String NODE_TYPE = "node";
+
 	private List<Object> row;
 
 	private Graph graph;
 
 	private List<Map<String, Object>> meta;
 
+	/**
+	 * Checks the metadata returned by the server with a row: maps and nodes have the same representation in the row.
+	 *
+	 * @param column the index of the column
+	 * @return {@code true} if the value of the column is a node
+	 */
+	public boolean isNode(int column) {
+		if ( meta == null || meta.size() <= column ) {
+			return false;
+		}
+		Map<String, Object> columnMeta = meta.get( column );
+		return columnMeta != null && NODE_TYPE.equals( columnMeta.get( "type" ) );
+	}
+
 	public Graph getGraph() {
 		return graph;
 	}
@@ -0,0 +1,210 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.neo4j.remote.http.json.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import javax.ws.rs.core.Response;
+
+import org.hibernate.ogm.datastore.neo4j.logging.impl.Log;
+import org.hibernate.ogm.datastore.neo4j.logging.impl.LoggerFactory;
+import org.hibernate.ogm.dialect.query.spi.ClosableIterator;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The result of a single {@link Statement}, read from the body of the response while it is downloaded.
+ * <p>
+ * Only the columns are read when the result is created, each {@link Row} is decoded when the iterator reaches it;
+ * the response is closed once the last row has been read or when the result is closed.
+ * <p>
+ * Neo4j sends the errors after the results: an error is reported when the result is created if the statement has
+ * no rows, otherwise only after the last row has been consumed. The rows preceding the error are returned as usual and
+ * closing the result before the last row means that the error is never reported.
+ */
+public class StreamingStatementResult implements ClosableIterator<Row> {
+
+	private static final Log log = LoggerFactory.make( MethodHandles.lookup() );
+
+	private static final ObjectMapper MAPPER = new ObjectMapper().configure( DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false );
+
+	private static final TypeReference<List<String>> COLUMNS_TYPE = new TypeReference<List<String>>() { };
+
+	private static final TypeReference<List<ErrorResponse>> ERRORS_TYPE = new TypeReference<List<ErrorResponse>>() { };
+
+	private final Response response;
+	private final JsonParser parser;
+	private final Function<ErrorResponse, RuntimeException> errorHandler;
+
+	private List<String> columns = Collections.emptyList();
+	private Row next;
+	private boolean closed;
+
+	/**
+	 * @param response the response of the server, it will be closed by this object
+	 * @param errorHandler creates the exception to throw when the server returns an error
+	 */
+	public StreamingStatementResult(Response response, Function<ErrorResponse, RuntimeException> errorHandler) {
+		this.response = response;
+		this.errorHandler = errorHandler;
+		try {
+			this.parser = MAPPER.getFactory().createParser( response.readEntity( InputStream.class ) );
+			if ( !moveToData() ) {
+				// No rows to read
+				finish();
+			}
+		}
+		catch (IOException e) {
+			close();
+			throw log.cannotReadResponse( e );
+		}
+		catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the names of the columns of the result
+	 */
+	public List<String> getColumns() {
+		return columns;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( next == null && !closed ) {
+			next = readRow();
+		}
+		return next != null;
+	}
+
+	@Override
+	public Row next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+		Row row = next;
+		next = null;
+		return row;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public void close() {
+		if ( !closed ) {
+			closed = true;
+			response.close();
+		}
+	}
+
+	/*
+	 * Moves the parser to the first row of the first result.
+	 * Returns false if the body doesn't contain any result.
+	 */
+	private boolean moveToData() throws IOException {
+		expect( parser.nextToken(), JsonToken.START_OBJECT );
+		while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ( "results".equals( field ) && value == JsonToken.START_ARRAY ) {
+				if ( parser.nextToken() != JsonToken.START_OBJECT ) {
+					// No results
+					return false;
+				}
+				while ( parser.nextToken() == JsonToken.FIELD_NAME ) {
+					String resultField = parser.getCurrentName();
+					JsonToken resultValue = parser.nextToken();
+					if ( "columns".equals( resultField ) ) {
+						columns = MAPPER.readValue( parser, COLUMNS_TYPE );
+					}
+					else if ( "data".equals( resultField ) && resultValue == JsonToken.START_ARRAY ) {
+						return true;
+					}
+					else {
+						parser.skipChildren();
+					}
+				}
+				return false;
+			}
+			else {
+				readField( field );
+			}
+		}
+		return false;
+	}
+
+	private Row readRow() {
+		try {
+			if ( parser.nextToken() == JsonToken.START_OBJECT ) {
+				return MAPPER.readValue( parser, Row.class );
+			}
+			// End of the rows, read the errors
+			finish();
+			return null;
+		}
+		catch (IOException e) {
+			close();
+			throw log.cannotReadResponse( e );
+		}
+	}
+
+	/*
+	 * Reads the remaining part of the body, failing if it contains an error.
+	 */
+	private void finish() throws IOException {
+		try {
+			JsonToken token;
+			while ( ( token = parser.nextToken() ) != null ) {
+				if ( token == JsonToken.FIELD_NAME && parser.getParsingContext().getParent().inRoot() ) {
+					String field = parser.getCurrentName();
+					parser.nextToken();
+					readField( field );
+				}
+				else if ( token.isStructStart() ) {
+					// Other results or the remaining fields of the current one
+					parser.skipChildren();
+				}
+			}
+		}
+		finally {
+			close();
+		}
+	}
+
+	private void readField(String field) throws IOException {
+		if ( "errors".equals( field ) ) {
+			List<ErrorResponse> errors = MAPPER.readValue( parser, ERRORS_TYPE );
+			if ( errors != null && !errors.isEmpty() ) {
+				throw errorHandler.apply( errors.get( 0 ) );
+			}
+		}
+		else {
+			parser.skipChildren();
+		}
+	}
+
+	private void expect(JsonToken actual, JsonToken expected) {
+		if ( actual != expected ) {
+			throw log.unexpectedTokenInResponse( String.valueOf( actual ), String.valueOf( expected ) );
+		}
+	}
+}
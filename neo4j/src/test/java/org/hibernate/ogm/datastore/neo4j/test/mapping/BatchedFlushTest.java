@@ -0,0 +1,193 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.neo4j.test.mapping;
+
+import static org.hibernate.ogm.datastore.neo4j.dialect.impl.NodeLabel.ENTITY;
+import static org.hibernate.ogm.datastore.neo4j.test.dsl.GraphAssertions.node;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.ogm.backendtck.associations.collection.manytomany.ClassRoom;
+import org.hibernate.ogm.backendtck.associations.collection.manytomany.Student;
+import org.hibernate.ogm.backendtck.associations.manytoone.SalesForce;
+import org.hibernate.ogm.backendtck.associations.manytoone.SalesGuy;
+import org.hibernate.ogm.datastore.neo4j.test.dsl.NodeForGraphAssertions;
+import org.hibernate.ogm.datastore.neo4j.test.dsl.RelationshipsChainForGraphAssertions;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks the graph resulting from flushes mixing creations, updates and removals of several entities and
+ * associations.
+ * <p>
+ * The remote dialects send all the changes of a flush in a single batch, grouped by kind of operation: the nodes
+ * must still exist when the relationships are created and the relationships must be gone when the nodes are
+ * removed.
+ */
+public class BatchedFlushTest extends Neo4jJpaTestCase {
+
+	private SalesForce redHat;
+	private SalesForce jboss;
+	private SalesGuy eric;
+	private SalesGuy simon;
+	private SalesGuy davide;
+
+	private Student john;
+	private Student kate;
+	private Student mario;
+
+	private ClassRoom math;
+	private ClassRoom english;
+
+	@Before
+	public void prepareDb() throws Exception {
+		final EntityManager em = getFactory().createEntityManager();
+		em.getTransaction().begin();
+
+		redHat = salesForce( "red_hat", "Red Hat" );
+		eric = salesGuy( "eric", "Eric", redHat );
+		simon = salesGuy( "simon", "Simon", redHat );
+
+		john = new Student( "john", "John Doe" );
+		kate = new Student( "kate", "Kate Doe" );
+		mario = new Student( "mario", "Mario Rossi" );
+
+		math = new ClassRoom( 1L, "Math" );
+		math.getStudents().add( john );
+		math.getStudents().add( mario );
+
+		english = new ClassRoom( 2L, "English" );
+		english.getStudents().add( kate );
+		english.getStudents().add( mario );
+
+		persist( em, redHat, eric, simon, john, kate, mario, english, math );
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	@Test
+	public void testCreationsInTheSameFlush() throws Exception {
+		NodeForGraphAssertions redHatNode = salesForceNode( "redHat", redHat );
+		NodeForGraphAssertions ericNode = salesGuyNode( "eric", eric );
+		NodeForGraphAssertions simonNode = salesGuyNode( "simon", simon );
+
+		NodeForGraphAssertions johnNode = studentNode( "john", john );
+		NodeForGraphAssertions kateNode = studentNode( "kate", kate );
+		NodeForGraphAssertions marioNode = studentNode( "mario", mario );
+		NodeForGraphAssertions mathNode = classRoomNode( "math", math );
+		NodeForGraphAssertions englishNode = classRoomNode( "english", english );
+
+		assertThatOnlyTheseNodesExist( redHatNode, ericNode, simonNode, johnNode, kateNode, marioNode, mathNode, englishNode );
+		assertThatOnlyTheseRelationshipsExist(
+				ericNode.relationshipTo( redHatNode, "salesForce" ),
+				simonNode.relationshipTo( redHatNode, "salesForce" ),
+				mathNode.relationshipTo( johnNode, "students" ),
+				mathNode.relationshipTo( marioNode, "students" ),
+				englishNode.relationshipTo( kateNode, "students" ),
+				englishNode.relationshipTo( marioNode, "students" ) );
+	}
+
+	@Test
+	public void testCreationsUpdatesAndRemovalsInTheSameFlush() throws Exception {
+		final EntityManager em = getFactory().createEntityManager();
+		em.getTransaction().begin();
+
+		// A new node referenced by an existing one
+		jboss = salesForce( "jboss", "JBoss" );
+		em.persist( jboss );
+		SalesGuy loadedEric = em.find( SalesGuy.class, eric.getId() );
+		loadedEric.setName( "Eric Smith" );
+		loadedEric.setSalesForce( jboss );
+
+		// A new node referencing an existing one
+		davide = salesGuy( "davide", "Davide", em.find( SalesForce.class, redHat.getId() ) );
+		em.persist( davide );
+
+		// A removed node with a relationship
+		em.remove( em.find( SalesGuy.class, simon.getId() ) );
+
+		// Changes of the rows of existing associations, including the removal of one of the nodes
+		Student loadedJohn = em.find( Student.class, john.getId() );
+		Student loadedKate = em.find( Student.class, kate.getId() );
+		ClassRoom loadedMath = em.find( ClassRoom.class, math.getId() );
+		loadedMath.getStudents().remove( loadedJohn );
+		loadedMath.getStudents().add( loadedKate );
+		loadedMath.setName( "Mathematics" );
+		em.remove( loadedJohn );
+
+		em.getTransaction().commit();
+		em.close();
+
+		eric.setName( "Eric Smith" );
+		math.setName( "Mathematics" );
+
+		NodeForGraphAssertions redHatNode = salesForceNode( "redHat", redHat );
+		NodeForGraphAssertions jbossNode = salesForceNode( "jboss", jboss );
+		NodeForGraphAssertions ericNode = salesGuyNode( "eric", eric );
+		NodeForGraphAssertions davideNode = salesGuyNode( "davide", davide );
+
+		NodeForGraphAssertions kateNode = studentNode( "kate", kate );
+		NodeForGraphAssertions marioNode = studentNode( "mario", mario );
+		NodeForGraphAssertions mathNode = classRoomNode( "math", math );
+		NodeForGraphAssertions englishNode = classRoomNode( "english", english );
+
+		RelationshipsChainForGraphAssertions ericToJBoss = ericNode.relationshipTo( jbossNode, "salesForce" );
+		RelationshipsChainForGraphAssertions davideToRedHat = davideNode.relationshipTo( redHatNode, "salesForce" );
+
+		assertThatOnlyTheseNodesExist( redHatNode, jbossNode, ericNode, davideNode, kateNode, marioNode, mathNode, englishNode );
+		assertThatOnlyTheseRelationshipsExist(
+				ericToJBoss,
+				davideToRedHat,
+				mathNode.relationshipTo( kateNode, "students" ),
+				mathNode.relationshipTo( marioNode, "students" ),
+				englishNode.relationshipTo( kateNode, "students" ),
+				englishNode.relationshipTo( marioNode, "students" ) );
+	}
+
+	private static SalesForce salesForce(String id, String corporation) {
+		SalesForce salesForce = new SalesForce( id );
+		salesForce.setCorporation( corporation );
+		return salesForce;
+	}
+
+	private static SalesGuy salesGuy(String id, String name, SalesForce salesForce) {
+		SalesGuy salesGuy = new SalesGuy( id );
+		salesGuy.setName( name );
+		salesGuy.setSalesForce( salesForce );
+		salesForce.getSalesGuys().add( salesGuy );
+		return salesGuy;
+	}
+
+	private static NodeForGraphAssertions salesForceNode(String alias, SalesForce salesForce) {
+		return node( alias, SalesForce.class.getSimpleName(), ENTITY.name() )
+				.property( "id", salesForce.getId() )
+				.property( "corporation", salesForce.getCorporation() );
+	}
+
+	private static NodeForGraphAssertions salesGuyNode(String alias, SalesGuy salesGuy) {
+		return node( alias, SalesGuy.class.getSimpleName(), ENTITY.name() )
+				.property( "id", salesGuy.getId() )
+				.property( "name", salesGuy.getName() );
+	}
+
+	private static NodeForGraphAssertions studentNode(String alias, Student student) {
+		return node( alias, Student.class.getSimpleName(), ENTITY.name() )
+				.property( "id", student.getId() )
+				.property( "name", student.getName() );
+	}
+
+	private static NodeForGraphAssertions classRoomNode(String alias, ClassRoom classRoom) {
+		return node( alias, ClassRoom.class.getSimpleName(), ENTITY.name() )
+				.property( "id", classRoom.getId() )
+				.property( "name", classRoom.getName() );
+	}
+
+	@Override
+	public Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SalesForce.class, SalesGuy.class, Student.class, ClassRoom.class };
+	}
+}
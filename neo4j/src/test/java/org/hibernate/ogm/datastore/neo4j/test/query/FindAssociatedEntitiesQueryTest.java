@@ -0,0 +1,150 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.neo4j.test.query;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.hibernate.ogm.datastore.neo4j.dialect.impl.BaseNeo4jEntityQueries.ENTITY_ALIAS;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.ogm.datastore.neo4j.remote.bolt.dialect.impl.BoltNeo4jEntityQueries;
+import org.hibernate.ogm.dialect.impl.TupleTypeContextImpl;
+import org.hibernate.ogm.dialect.spi.TupleTypeContext;
+import org.hibernate.ogm.model.impl.DefaultAssociatedEntityKeyMetadata;
+import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
+import org.hibernate.ogm.model.key.spi.AssociatedEntityKeyMetadata;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+import org.hibernate.ogm.options.spi.OptionsContext;
+import org.junit.Test;
+import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.StatementResult;
+import org.neo4j.driver.v1.Transaction;
+import org.neo4j.driver.v1.Value;
+import org.neo4j.driver.v1.types.Node;
+import org.neo4j.driver.v1.types.Relationship;
+
+/**
+ * Tests the query reading the to-one associations of several entities at once, used when several entities are loaded
+ * with a single query on remote Neo4j.
+ */
+public class FindAssociatedEntitiesQueryTest {
+
+	private static final EntityKeyMetadata SALES_GUY = new DefaultEntityKeyMetadata( "SalesGuy", new String[] { "id" } );
+	private static final EntityKeyMetadata SALES_FORCE = new DefaultEntityKeyMetadata( "SalesForce", new String[] { "id" } );
+	private static final EntityKeyMetadata OFFICE = new DefaultEntityKeyMetadata( "Office", new String[] { "office.city", "office.number" } );
+
+	@Test
+	public void testOneUnionPerRole() throws Exception {
+		String expected = "MATCH (" + ENTITY_ALIAS + ":ENTITY:SalesGuy) -[r:salesForce]-> (target:ENTITY:SalesForce) WHERE id(" + ENTITY_ALIAS + ") IN {0} RETURN r, target"
+				+ " UNION ALL "
+				+ "MATCH (" + ENTITY_ALIAS + ":ENTITY:SalesGuy) -[r:office]-> (target:ENTITY:Office) WHERE id(" + ENTITY_ALIAS + ") IN {0} RETURN r, target";
+
+		BoltNeo4jEntityQueries queries = new BoltNeo4jEntityQueries( SALES_GUY, salesGuyContext() );
+
+		assertThat( queries.getFindAssociatedEntitiesQuery() ).isEqualTo( expected );
+	}
+
+	@Test
+	public void testNoQueryWithoutToOneAssociations() throws Exception {
+		BoltNeo4jEntityQueries queries = new BoltNeo4jEntityQueries( SALES_GUY, tupleTypeContext(
+				Collections.<String, AssociatedEntityKeyMetadata>emptyMap(), Collections.<String, String>emptyMap() ) );
+
+		assertThat( queries.getFindAssociatedEntitiesQuery() ).isNull();
+	}
+
+	@Test
+	public void testAssociatedNodesAreReadWithASingleQuery() throws Exception {
+		BoltNeo4jEntityQueries queries = new BoltNeo4jEntityQueries( SALES_GUY, salesGuyContext() );
+		Node redHat = mock( Node.class );
+		Node paris = mock( Node.class );
+		Node jboss = mock( Node.class );
+		List<Record> records = Arrays.asList(
+				record( 1L, "salesForce", redHat ),
+				record( 1L, "office", paris ),
+				record( 2L, "salesForce", jboss ) );
+
+		Transaction tx = transaction( records );
+		List<Long> ownerIds = Arrays.asList( 1L, 2L, 3L );
+		Map<Long, Map<String, Node>> associatedNodes = queries.findAssociatedEntities( tx, ownerIds );
+
+		verify( tx ).run( queries.getFindAssociatedEntitiesQuery(), Collections.<String, Object>singletonMap( "0", ownerIds ) );
+		assertThat( associatedNodes ).hasSize( 2 );
+		assertThat( associatedNodes.get( 1L ) ).hasSize( 2 );
+		assertThat( associatedNodes.get( 1L ).get( "salesForce" ) ).isSameAs( redHat );
+		assertThat( associatedNodes.get( 1L ).get( "office" ) ).isSameAs( paris );
+		assertThat( associatedNodes.get( 2L ) ).hasSize( 1 );
+		assertThat( associatedNodes.get( 2L ).get( "salesForce" ) ).isSameAs( jboss );
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testNoQueryWithoutOwners() throws Exception {
+		BoltNeo4jEntityQueries queries = new BoltNeo4jEntityQueries( SALES_GUY, salesGuyContext() );
+		Transaction tx = mock( Transaction.class );
+
+		assertThat( queries.findAssociatedEntities( tx, Collections.<Long>emptyList() ) ).isEmpty();
+		verify( tx, never() ).run( anyString(), anyMap() );
+	}
+
+	/*
+	 * The columns of the same association share the same role: there is a single union per association.
+	 */
+	private static TupleTypeContext salesGuyContext() {
+		Map<String, AssociatedEntityKeyMetadata> associatedEntities = new LinkedHashMap<>();
+		Map<String, String> roles = new LinkedHashMap<>();
+		associatedEntities.put( "salesForce_id", new DefaultAssociatedEntityKeyMetadata( new String[] { "salesForce_id" }, SALES_FORCE ) );
+		roles.put( "salesForce_id", "salesForce" );
+		String[] officeColumns = { "office_city", "office_number" };
+		for ( String column : officeColumns ) {
+			associatedEntities.put( column, new DefaultAssociatedEntityKeyMetadata( officeColumns, OFFICE ) );
+			roles.put( column, "office" );
+		}
+		return tupleTypeContext( associatedEntities, roles );
+	}
+
+	private static TupleTypeContext tupleTypeContext(Map<String, AssociatedEntityKeyMetadata> associatedEntities, Map<String, String> roles) {
+		return new TupleTypeContextImpl( Collections.<String>emptyList(), Collections.<String>emptySet(), associatedEntities, roles,
+				mock( OptionsContext.class ), null, null );
+	}
+
+	private static Transaction transaction(List<Record> records) {
+		Iterator<Record> iterator = records.iterator();
+		StatementResult result = mock( StatementResult.class );
+		when( result.hasNext() ).thenAnswer( invocation -> iterator.hasNext() );
+		when( result.next() ).thenAnswer( invocation -> iterator.next() );
+
+		Transaction tx = mock( Transaction.class );
+		when( tx.run( anyString(), anyMap() ) ).thenReturn( result );
+		return tx;
+	}
+
+	private static Record record(long ownerId, String role, Node target) {
+		Relationship relationship = mock( Relationship.class );
+		when( relationship.startNodeId() ).thenReturn( ownerId );
+		when( relationship.type() ).thenReturn( role );
+		Value relationshipValue = mock( Value.class );
+		when( relationshipValue.asRelationship() ).thenReturn( relationship );
+		Value targetValue = mock( Value.class );
+		when( targetValue.asNode() ).thenReturn( target );
+
+		Record record = mock( Record.class );
+		when( record.get( 0 ) ).thenReturn( relationshipValue );
+		when( record.get( 1 ) ).thenReturn( targetValue );
+		return record;
+	}
+}
@@ -7,6 +7,7 @@
 package org.hibernate.ogm.datastore.neo4j.test.query;
 
 import static org.hibernate.ogm.datastore.neo4j.dialect.impl.BaseNeo4jEntityQueries.ENTITY_ALIAS;
+import static org.fest.assertions.Assertions.assertThat;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -89,6 +90,26 @@ public void testUpdateNestedEmbeddedColumnQuery() throws Exception {
 		verify( executionEngine ).execute( eq( expected ), anyMap() );
 	}
 
+	@Test
+	public void testCreationOfMultipleEntitiesQuery() throws Exception {
+		String expected = "UNWIND {rows} AS row CREATE (n:ENTITY:Example) SET n = row";
+
+		EmbeddedNeo4jEntityQueries entityQueries = new EmbeddedNeo4jEntityQueries( metadata( "Example", "id" ) );
+
+		assertThat( entityQueries.getCreateEntitiesWithPropertiesQuery() ).isEqualTo( expected );
+	}
+
+	@Test
+	public void testUpdateOfMultipleEntitiesWithCompositeIdQuery() throws Exception {
+		String expected = "UNWIND {rows} AS row "
+						+ "MATCH (" + ENTITY_ALIAS + ":ENTITY:Example {`id.name`: row[0], `id.surname`: row[1]}) "
+						+ "SET " + ENTITY_ALIAS + " += row[2]";
+
+		EmbeddedNeo4jEntityQueries entityQueries = new EmbeddedNeo4jEntityQueries( metadata( "Example", "id.name", "id.surname" ) );
+
+		assertThat( entityQueries.getUpdateEntitiesPropertiesQuery() ).isEqualTo( expected );
+	}
+
 	private EntityKeyMetadata metadata(String tableName, String... columnNames) {
 		EntityKeyMetadata metadata = new DefaultEntityKeyMetadata( tableName, columnNames );
 		return metadata;
@@ -0,0 +1,122 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.neo4j.test.remote;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.ogm.datastore.neo4j.remote.common.util.impl.RemoteNeo4jHelper;
+import org.hibernate.ogm.model.impl.DefaultEntityKeyMetadata;
+import org.hibernate.ogm.model.key.spi.EntityKey;
+import org.hibernate.ogm.model.key.spi.EntityKeyMetadata;
+import org.junit.Test;
+
+/**
+ * Unit test for the matching of the nodes returned by a remote Neo4j server with the requested keys.
+ * <p>
+ * Neo4j does not keep the type of the numbers: Bolt returns all the integral values as {@link Long} and the HTTP
+ * endpoint might return a {@link Long} as an {@link Integer}.
+ */
+public class RemoteNeo4jHelperTest {
+
+	private static final String[] ID = { "id" };
+	private static final String[] COMPOSITE_ID = { "id.name", "id.number" };
+
+	@Test
+	public void testIntegralKeysMatchNodesReturningLongs() {
+		assertKeyIndex( ID, keys( ID, 1, 2, 3 ), node( "id", 2L ), 1 );
+		assertKeyIndex( ID, keys( ID, (short) 1, (short) 2 ), node( "id", 2L ), 1 );
+		assertKeyIndex( ID, keys( ID, (byte) 1, (byte) 2 ), node( "id", 1L ), 0 );
+	}
+
+	@Test
+	public void testLongKeysMatchNodesReturningIntegers() {
+		assertKeyIndex( ID, keys( ID, 1L, 2L, 3L ), node( "id", 3 ), 2 );
+		assertKeyIndex( ID, keys( ID, 1L, 2L, 3L ), node( "id", 3L ), 2 );
+	}
+
+	@Test
+	public void testFloatingPointKeysMatchNodesReturningDoubles() {
+		assertKeyIndex( ID, keys( ID, 1.5d, 2.5d ), node( "id", 2.5d ), 1 );
+		assertKeyIndex( ID, keys( ID, 1.5f, 2.5f ), node( "id", 2.5d ), 1 );
+	}
+
+	@Test
+	public void testStringKeys() {
+		assertKeyIndex( ID, keys( ID, "emmanuel", "davide" ), node( "id", "davide" ), 1 );
+		assertKeyIndex( ID, keys( ID, "emmanuel", "davide" ), node( "id", "gunnar" ), -1 );
+	}
+
+	@Test
+	public void testCompositeKeys() {
+		EntityKey[] keys = new EntityKey[] {
+				key( COMPOSITE_ID, "davide", 1 ),
+				key( COMPOSITE_ID, "davide", 2 ),
+				key( COMPOSITE_ID, "emmanuel", 1 )
+		};
+		assertKeyIndex( COMPOSITE_ID, keys, node( "id.name", "davide", "id.number", 2L ), 1 );
+		assertKeyIndex( COMPOSITE_ID, keys, node( "id.name", "emmanuel", "id.number", 1L ), 2 );
+		assertKeyIndex( COMPOSITE_ID, keys, node( "id.name", "emmanuel", "id.number", 2L ), -1 );
+	}
+
+	@Test
+	public void testNullColumnValuesMatchMissingProperties() {
+		EntityKey[] keys = new EntityKey[] {
+				key( COMPOSITE_ID, "davide", null ),
+				key( COMPOSITE_ID, "davide", 2 )
+		};
+		assertKeyIndex( COMPOSITE_ID, keys, node( "id.name", "davide" ), 0 );
+	}
+
+	@Test
+	public void testNodeWithoutMatchingKey() {
+		assertKeyIndex( ID, keys( ID, 1, 2, 3 ), node( "id", 4L ), -1 );
+		assertKeyIndex( ID, keys( ID, 1, 2, 3 ), Collections.<String, Object>emptyMap(), -1 );
+	}
+
+	/*
+	 * Checks the position found with the index and that the key at that position is the one matched comparing the
+	 * node with each key.
+	 */
+	private static void assertKeyIndex(String[] columnNames, EntityKey[] keys, Map<String, Object> nodeProperties, int expected) {
+		Map<List<Object>, Integer> index = RemoteNeo4jHelper.indexByColumnValues( keys );
+		assertThat( RemoteNeo4jHelper.findKeyIndex( index, nodeProperties, columnNames ) ).isEqualTo( expected );
+
+		int matching = -1;
+		for ( int i = 0; i < keys.length && matching == -1; i++ ) {
+			if ( RemoteNeo4jHelper.matches( nodeProperties, keys[i].getColumnNames(), keys[i].getColumnValues() ) ) {
+				matching = i;
+			}
+		}
+		assertThat( matching ).isEqualTo( expected );
+	}
+
+	private static EntityKey[] keys(String[] columnNames, Object... values) {
+		EntityKey[] keys = new EntityKey[values.length];
+		for ( int i = 0; i < values.length; i++ ) {
+			keys[i] = key( columnNames, values[i] );
+		}
+		return keys;
+	}
+
+	private static EntityKey key(String[] columnNames, Object... values) {
+		EntityKeyMetadata metadata = new DefaultEntityKeyMetadata( "Example", columnNames );
+		return new EntityKey( metadata, values );
+	}
+
+	private static Map<String, Object> node(Object... properties) {
+		Map<String, Object> node = new HashMap<>();
+		for ( int i = 0; i < properties.length; i += 2 ) {
+			node.put( (String) properties[i], properties[i + 1] );
+		}
+		return node;
+	}
+}
@@ -0,0 +1,195 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.datastore.neo4j.test.remote;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.Response;
+
+import org.fest.assertions.Fail;
+import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.ErrorResponse;
+import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.Row;
+import org.hibernate.ogm.datastore.neo4j.remote.http.json.impl.StreamingStatementResult;
+import org.junit.Test;
+
+/**
+ * Unit test for the parsing of the body of the responses of the HTTP endpoint of Neo4j while it is read.
+ * <p>
+ * Neo4j sends the errors after the results: an error is reported only after all the rows have been read.
+ */
+public class StreamingStatementResultTest {
+
+	private static final String ROWS = "{\"row\":[\"Davide\",1],\"meta\":[null,null]},{\"row\":[\"Emmanuel\",2],\"meta\":[null,null]}";
+	private static final String ERROR = "{\"code\":\"Neo.ClientError.Statement.SyntaxError\",\"message\":\"Invalid input\"}";
+
+	@Test
+	public void testRowsAreReadInOrder() {
+		Response response = response( "{\"results\":[{\"columns\":[\"name\",\"id\"],\"data\":[" + ROWS + "]}],\"errors\":[]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		assertThat( result.getColumns() ).containsExactly( "name", "id" );
+		assertThat( names( result ) ).containsExactly( "Davide", "Emmanuel" );
+		verify( response ).close();
+	}
+
+	@Test
+	public void testNoResults() {
+		Response response = response( "{\"results\":[],\"errors\":[]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		assertThat( result.getColumns() ).isEmpty();
+		assertThat( result.hasNext() ).isFalse();
+		verify( response ).close();
+	}
+
+	@Test
+	public void testEmptyData() {
+		Response response = response( "{\"results\":[{\"columns\":[\"name\",\"id\"],\"data\":[]}],\"errors\":[]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		assertThat( result.getColumns() ).containsExactly( "name", "id" );
+		assertThat( result.hasNext() ).isFalse();
+		verify( response ).close();
+	}
+
+	@Test
+	public void testErrorWithoutResultsIsReportedWhenTheResultIsCreated() {
+		Response response = response( "{\"results\":[],\"errors\":[" + ERROR + "]}" );
+
+		try {
+			new StreamingStatementResult( response, ServerError::new );
+			Fail.fail( "The error of the server should have been reported" );
+		}
+		catch (ServerError e) {
+			assertThat( e.getMessage() ).isEqualTo( "Neo.ClientError.Statement.SyntaxError: Invalid input" );
+		}
+		verify( response ).close();
+	}
+
+	@Test
+	public void testErrorAfterTheRowsIsReportedOnceTheRowsHaveBeenRead() {
+		Response response = response( "{\"results\":[{\"columns\":[\"name\",\"id\"],\"data\":[" + ROWS + "]}],\"errors\":[" + ERROR + "]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		assertThat( result.next().getRow().get( 0 ) ).isEqualTo( "Davide" );
+		assertThat( result.next().getRow().get( 0 ) ).isEqualTo( "Emmanuel" );
+		try {
+			result.hasNext();
+			Fail.fail( "The error of the server should have been reported" );
+		}
+		catch (ServerError e) {
+			assertThat( e.getMessage() ).isEqualTo( "Neo.ClientError.Statement.SyntaxError: Invalid input" );
+		}
+		verify( response ).close();
+		assertThat( result.hasNext() ).isFalse();
+	}
+
+	@Test
+	public void testOtherFieldsAreIgnored() {
+		Response response = response( "{\"commit\":\"http://localhost:7474/db/data/transaction/7/commit\","
+				+ "\"results\":[{\"columns\":[\"name\",\"id\"],\"data\":[" + ROWS + "],"
+				+ "\"stats\":{\"contains_updates\":false,\"nodes_created\":0,\"labels\":[\"errors\"]}},"
+				+ "{\"columns\":[\"errors\"],\"data\":[{\"row\":[{\"errors\":[" + ERROR + "]}],\"meta\":[null]}]}],"
+				+ "\"transaction\":{\"expires\":\"Fri, 16 Oct 2026 10:00:00 +0000\"},"
+				+ "\"errors\":[]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		// Only the rows of the first result are returned, the nested "errors" fields are not the errors of the server
+		assertThat( names( result ) ).containsExactly( "Davide", "Emmanuel" );
+		verify( response ).close();
+	}
+
+	@Test
+	public void testOnlyTheTopLevelErrorsAreReported() {
+		Response response = response( "{\"results\":[{\"columns\":[\"name\",\"id\"],\"data\":[" + ROWS + "],\"errors\":[" + ERROR + "]}],\"errors\":[]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		// The fields following the rows are read one by one, but only the ones of the root object are checked
+		assertThat( names( result ) ).containsExactly( "Davide", "Emmanuel" );
+		verify( response ).close();
+	}
+
+	@Test
+	public void testFieldsBeforeTheResultsAreIgnored() {
+		Response response = response( "{\"commit\":\"http://localhost:7474/db/data/transaction/7/commit\",\"transaction\":{\"expires\":\"never\"},"
+				+ "\"results\":[{\"columns\":[\"name\",\"id\"],\"data\":[" + ROWS + "]}],\"errors\":[]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		assertThat( names( result ) ).containsExactly( "Davide", "Emmanuel" );
+	}
+
+	@Test
+	public void testCloseBeforeTheLastRow() {
+		Response response = response( "{\"results\":[{\"columns\":[\"name\",\"id\"],\"data\":[" + ROWS + "]}],\"errors\":[" + ERROR + "]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+		assertThat( result.next().getRow().get( 0 ) ).isEqualTo( "Davide" );
+		result.close();
+		result.close();
+
+		// The remaining rows and the errors are not read
+		assertThat( result.hasNext() ).isFalse();
+		verify( response, times( 1 ) ).close();
+	}
+
+	@Test
+	public void testNodesAreRecognizedUsingTheMetadataOfTheRow() {
+		Response response = response( "{\"results\":[{\"columns\":[\"n\"],\"data\":["
+				+ "{\"row\":[{\"id\":1,\"name\":\"Portia\"}],\"meta\":[{\"id\":0,\"type\":\"node\",\"deleted\":false}]},"
+				+ "{\"row\":[{\"a\":1}],\"meta\":[null]},"
+				+ "{\"row\":[\"Portia\"],\"meta\":[null]}"
+				+ "]}],\"errors\":[]}" );
+
+		StreamingStatementResult result = new StreamingStatementResult( response, ServerError::new );
+
+		// The node and the map have the same representation, as in "RETURN n" and "RETURN {a:1}"
+		assertThat( result.next().isNode( 0 ) ).isTrue();
+		assertThat( result.next().isNode( 0 ) ).isFalse();
+		assertThat( result.next().isNode( 0 ) ).isFalse();
+		assertThat( result.hasNext() ).isFalse();
+	}
+
+	private static List<Object> names(StreamingStatementResult result) {
+		List<Object> names = new ArrayList<>();
+		while ( result.hasNext() ) {
+			Row row = result.next();
+			names.add( row.getRow().get( 0 ) );
+		}
+		return names;
+	}
+
+	private static Response response(String body) {
+		InputStream content = new ByteArrayInputStream( body.getBytes( StandardCharsets.UTF_8 ) );
+		Response response = mock( Response.class );
+		when( response.readEntity( InputStream.class ) ).thenReturn( content );
+		return response;
+	}
+
+	private static class ServerError extends RuntimeException {
+
+		ServerError(ErrorResponse error) {
+			super( error.toString() );
+		}
+	}
+}
@@ -6,6 +6,7 @@
  */
 package org.hibernate.ogm.perftest;
 
+import org.openjdk.jmh.results.format.ResultFormatType;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
@@ -18,8 +19,12 @@
  * <li>Generate the JMH benchmark classes by running {@code mvn compile -pl performance} from the root dir</li>
  * <li>Adapt the settings in {@code persistence.xml} and/or {@code native-settings.properties} as per your environment
  * (both under {@code src/main/resources)}
- * <li>(optional:) Adapt the includes below to run a sub-set of all benchmarks
+ * <li>(optional:) Select a sub-set of all benchmarks with {@code -DbenchmarkIncludes=<regexp>}, e.g.
+ * {@code -DbenchmarkIncludes=multibackend} for the benchmarks running against the map datastore and embedded
+ * Neo4j</li>
  * </ul>
+ * The results are written in JSON format to the file given via {@code -DbenchmarkResults}, {@code jmh-results.json}
+ * by default, so that they can be compared across runs.
  * Refer to the <a href="http://openjdk.java.net/projects/code-tools/jmh/">JMH documentation</a> to learn more about the
  * Java Micro-benchmark Harness in general.
  *
@@ -38,6 +43,16 @@ public class Launcher {
 	 */
 	private static final String BENCHMARK_VM_ARGS_KEY = "benchmarkVmArgs";
 
+	/**
+	 * Property used to specify a regular expression selecting the benchmarks to run.
+	 */
+	private static final String BENCHMARK_INCLUDES_KEY = "benchmarkIncludes";
+
+	/**
+	 * Property used to specify the file the results are written to.
+	 */
+	private static final String BENCHMARK_RESULTS_KEY = "benchmarkResults";
+
 	public static void main(String... args) throws Exception {
 		String benchmarkArgsString = System.getProperty( BENCHMARK_VM_ARGS_KEY );
 		String[] benchMarkArgs;
@@ -50,12 +65,14 @@ public static void main(String... args) throws Exception {
 		}
 
 		Options opts = new OptionsBuilder()
-			.include( ".*" )
+			.include( System.getProperty( BENCHMARK_INCLUDES_KEY, ".*" ) )
 			.warmupIterations( 20 )
 			.measurementIterations( 20 )
 			.jvmArgs( "-server" )
 			.jvmArgsAppend( benchMarkArgs )
 			.forks( 1 )
+			.resultFormat( ResultFormatType.JSON )
+			.result( System.getProperty( BENCHMARK_RESULTS_KEY, "jmh-results.json" ) )
 			.build();
 
 		new Runner( opts ).run();
@@ -0,0 +1,101 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.perftest.infinispan.nativeapi;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.manager.DefaultCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * A JMH benchmark measuring the performance of insert and find-by-id operations using the embedded Infinispan API
+ * directly; it is the baseline of the Hibernate OGM benchmarks running on {@code INFINISPAN_EMBEDDED}.
+ */
+public class NativeApiBenchmark {
+
+	private static final int NUMBER_OF_TEST_ENTITIES = 10000;
+
+	/**
+	 * The number of operations to be performed per invocation, same as for the corresponding Hibernate OGM benchmarks.
+	 */
+	private static final int OPERATIONS_PER_INVOCATION = 100;
+
+	@State(Scope.Benchmark)
+	public static class ClientHolder {
+
+		DefaultCacheManager cacheManager;
+		Cache<Long, Map<String, Object>> authors;
+		AtomicLong sequence;
+		Random rand;
+
+		@Setup
+		public void setupDatastore() throws Exception {
+			cacheManager = new DefaultCacheManager();
+			cacheManager.defineConfiguration( "AuthorWithSequence", new ConfigurationBuilder().build() );
+			authors = cacheManager.getCache( "AuthorWithSequence" );
+			sequence = new AtomicLong();
+			rand = new Random();
+
+			for ( int i = 0; i < NUMBER_OF_TEST_ENTITIES; i++ ) {
+				authors.put( sequence.incrementAndGet(), newAuthor( this ) );
+			}
+		}
+
+		@TearDown
+		public void stopDatastore() {
+			cacheManager.stop();
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+	public void insertEntities(ClientHolder stateHolder) throws Exception {
+		for ( int i = 0; i < OPERATIONS_PER_INVOCATION; i++ ) {
+			stateHolder.authors.put( stateHolder.sequence.incrementAndGet(), newAuthor( stateHolder ) );
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+	public void findEntityById(ClientHolder stateHolder, Blackhole blackhole) throws Exception {
+		for ( int i = 0; i < OPERATIONS_PER_INVOCATION; i++ ) {
+			long id = stateHolder.rand.nextInt( NUMBER_OF_TEST_ENTITIES ) + 1;
+
+			Map<String, Object> author = stateHolder.authors.get( id );
+
+			if ( author == null ) {
+				throw new IllegalArgumentException( "Couldn't find entry with id " + id );
+			}
+
+			blackhole.consume( author.get( "lname" ) );
+		}
+	}
+
+	private static Map<String, Object> newAuthor(ClientHolder stateHolder) {
+		Map<String, Object> author = new HashMap<>();
+
+		author.put( "bio", "This is a decent size bio made of " + stateHolder.rand.nextDouble() + " stuffs" );
+		author.put( "dob", new Date() );
+		author.put( "fname", "Jessie " + stateHolder.rand.nextInt() );
+		author.put( "lname", "Landis " + stateHolder.rand.nextInt() );
+		author.put( "mname", "" + stateHolder.rand.nextInt( 26 ) );
+
+		return author;
+	}
+}
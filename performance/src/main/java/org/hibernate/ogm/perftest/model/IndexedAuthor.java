@@ -0,0 +1,92 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.perftest.model;
+
+import java.util.Date;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.NamedQuery;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.search.annotations.Analyze;
+import org.hibernate.search.annotations.Field;
+import org.hibernate.search.annotations.Indexed;
+
+/**
+ * An author indexed with Hibernate Search, used by the JP-QL query and mass indexing benchmarks; the datastores
+ * without a native query language execute JP-QL queries against the index.
+ */
+@Entity
+@Indexed
+@NamedQuery(name = "indexed_author_by_mname", query = "from IndexedAuthor a where mname = :mname")
+public class IndexedAuthor {
+	@Field(analyze = Analyze.NO)
+	String fname;
+	@Field(analyze = Analyze.NO)
+	String lname;
+	@Field(analyze = Analyze.NO)
+	String mname;
+	Date dob;
+	@Field
+	String bio;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "indexed_auth_seq")
+	@SequenceGenerator(name = "indexed_auth_seq", allocationSize = 100)
+	long a_id;
+
+	public String getFname() {
+		return fname;
+	}
+
+	public void setFname(String fname) {
+		this.fname = fname;
+	}
+
+	public String getLname() {
+		return lname;
+	}
+
+	public void setLname(String lname) {
+		this.lname = lname;
+	}
+
+	public String getMname() {
+		return mname;
+	}
+
+	public void setMname(String mname) {
+		this.mname = mname;
+	}
+
+	public Date getDob() {
+		return dob;
+	}
+
+	public void setDob(Date dob) {
+		this.dob = dob;
+	}
+
+	public String getBio() {
+		return bio;
+	}
+
+	public void setBio(String bio) {
+		this.bio = bio;
+	}
+
+	public long getA_id() {
+		return a_id;
+	}
+
+	public void setA_id(long a_id) {
+		this.a_id = a_id;
+	}
+}
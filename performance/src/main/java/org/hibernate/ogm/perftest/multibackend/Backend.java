@@ -0,0 +1,134 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.perftest.multibackend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The datastores the multi-backend benchmarks can run against.
+ * <p>
+ * The embedded datastores are started within the benchmark JVM. The remote ones expect a server to be running already,
+ * the host is taken from the system property {@code perftest.host} ({@code 127.0.0.1} by default) and the port from
+ * the property specific to each datastore, see {@link #INFINISPAN_REMOTE} and {@link #NEO4J_BOLT}; the credentials are
+ * taken from {@code perftest.username} and {@code perftest.password}.
+ */
+public enum Backend {
+
+	MAP( "map" ),
+
+	INFINISPAN_EMBEDDED( "infinispan_embedded" ),
+
+	/**
+	 * Requires the Infinispan remote dialect on the class path, see the {@code infinispan-remote} profile of this
+	 * module. The port of the Hot Rod server is taken from {@code perftest.infinispan_remote.port}, 11222 by default.
+	 */
+	INFINISPAN_REMOTE( "infinispan_remote" ) {
+
+		@Override
+		protected void addDatastoreProperties(Map<String, Object> properties) {
+			properties.put( "hibernate.ogm.infinispan_remote.client.server_list", host() + ":" + port( "perftest.infinispan_remote.port", 11222 ) );
+		}
+	},
+
+	NEO4J_EMBEDDED( "neo4j_embedded" ) {
+
+		@Override
+		protected void addDatastoreProperties(Map<String, Object> properties) {
+			properties.put( "hibernate.ogm.neo4j.database_path", createTempDirectory( "neo4j-perftest" ).toString() );
+		}
+	},
+
+	/**
+	 * The port of the Bolt server is taken from {@code perftest.neo4j_bolt.port}, 7687 by default.
+	 */
+	NEO4J_BOLT( "neo4j_bolt" ) {
+
+		@Override
+		protected void addDatastoreProperties(Map<String, Object> properties) {
+			properties.put( "hibernate.ogm.datastore.host", host() + ":" + port( "perftest.neo4j_bolt.port", 7687 ) );
+			addCredentials( properties );
+		}
+	};
+
+	private final String datastoreProvider;
+
+	Backend(String datastoreProvider) {
+		this.datastoreProvider = datastoreProvider;
+	}
+
+	/**
+	 * @return the properties overriding the ones of the persistence unit in order to use this backend
+	 */
+	public Map<String, Object> getProperties() {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put( "hibernate.ogm.datastore.provider", datastoreProvider );
+		properties.put( "hibernate.ogm.datastore.create_database", "true" );
+		properties.put( "hibernate.search.default.directory_provider", "local-heap" );
+		addDatastoreProperties( properties );
+		return properties;
+	}
+
+	protected void addDatastoreProperties(Map<String, Object> properties) {
+	}
+
+	/**
+	 * Deletes the files a datastore started within the benchmark JVM may have left behind.
+	 *
+	 * @param properties the properties returned by {@link #getProperties()}
+	 */
+	public void cleanUp(Map<String, Object> properties) {
+		Object databasePath = properties.get( "hibernate.ogm.neo4j.database_path" );
+		if ( databasePath != null ) {
+			delete( Paths.get( (String) databasePath ) );
+		}
+	}
+
+	static String host() {
+		return System.getProperty( "perftest.host", "127.0.0.1" );
+	}
+
+	static int port(String property, int defaultPort) {
+		return Integer.getInteger( property, defaultPort );
+	}
+
+	static void addCredentials(Map<String, Object> properties) {
+		String username = System.getProperty( "perftest.username" );
+		if ( username != null ) {
+			properties.put( "hibernate.ogm.datastore.username", username );
+			properties.put( "hibernate.ogm.datastore.password", System.getProperty( "perftest.password" ) );
+		}
+	}
+
+	public static Path createTempDirectory(String prefix) {
+		try {
+			return Files.createTempDirectory( prefix );
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException( e );
+		}
+	}
+
+	public static void delete(Path directory) {
+		if ( !Files.exists( directory ) ) {
+			return;
+		}
+		try ( Stream<Path> files = Files.walk( directory ) ) {
+			files.sorted( Comparator.reverseOrder() ).forEach( file -> file.toFile().delete() );
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException( e );
+		}
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.perftest.multibackend.ogm;
+
+import java.util.Map;
+import java.util.Random;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.transaction.TransactionManager;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.transaction.jta.platform.spi.JtaPlatform;
+import org.hibernate.ogm.perftest.multibackend.Backend;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Context object controlling the {@link EntityManagerFactory} lifecycle and making it available to the multi-backend
+ * benchmarks.
+ * <p>
+ * By default the benchmarks run against the datastores which can be started within the benchmark JVM on any supported
+ * JDK; the other datastores can be selected with JMH's {@code -p backend=...}, e.g.
+ * {@code -p backend=INFINISPAN_EMBEDDED} on Java 8 (the Infinispan dialects are not on the class path on later JDKs)
+ * or {@code -p backend=NEO4J_BOLT,INFINISPAN_REMOTE} for the remote datastores.
+ */
+@State(Scope.Benchmark)
+public class EntityManagerFactoryHolder {
+
+	@Param({ "MAP", "NEO4J_EMBEDDED" })
+	Backend backend;
+
+	EntityManagerFactory entityManagerFactory;
+	TransactionManager transactionManager;
+	Random rand;
+
+	private Map<String, Object> properties;
+
+	@Setup
+	public void setupEntityManagerFactory() throws Exception {
+		properties = backend.getProperties();
+		entityManagerFactory = Persistence.createEntityManagerFactory( "multiBackendPerfTestPu", properties );
+
+		transactionManager = extractJBossTransactionManager( entityManagerFactory );
+		rand = new Random();
+	}
+
+	@TearDown
+	public void closeEntityManagerFactory() {
+		entityManagerFactory.close();
+		backend.cleanUp( properties );
+	}
+
+	private TransactionManager extractJBossTransactionManager(EntityManagerFactory factory) {
+		SessionFactoryImplementor sessionFactory = (SessionFactoryImplementor) factory;
+		return sessionFactory.getServiceRegistry().getService( JtaPlatform.class ).retrieveTransactionManager();
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.perftest.multibackend.ogm;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+
+import org.hibernate.ogm.perftest.model.IndexedAuthor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * A JMH benchmark measuring performance of find-by-id operations and JP-QL queries using Hibernate OGM on the
+ * different backends.
+ */
+public class HibernateOgmFindBenchmark {
+
+	public static final int NUMBER_OF_TEST_ENTITIES = 10000;
+
+	/**
+	 * The number of operations to be performed with one entity manager. Using an EM only for one op is an anti-pattern,
+	 * but setting the number too high will result in an unrealistic result. Aim for a value to be expected during the
+	 * processing of one web request or similar.
+	 */
+	private static final int OPERATIONS_PER_INVOCATION = 100;
+
+	@State(Scope.Benchmark)
+	public static class TestDataInserter {
+
+		private EntityManagerFactoryHolder stateHolder;
+		private final List<Long> ids = new ArrayList<>( NUMBER_OF_TEST_ENTITIES );
+
+		@Setup
+		public void insertTestData(EntityManagerFactoryHolder stateHolder) throws Exception {
+			this.stateHolder = stateHolder;
+
+			EntityManager entityManager = stateHolder.entityManagerFactory.createEntityManager();
+
+			for ( int i = 0; i < NUMBER_OF_TEST_ENTITIES; i++ ) {
+				if ( i % 1000 == 0 ) {
+					stateHolder.transactionManager.begin();
+					entityManager.joinTransaction();
+				}
+
+				IndexedAuthor author = new IndexedAuthor();
+
+				author.setBio( "This is a decent size bio made of " + stateHolder.rand.nextDouble() + " stuffs" );
+				author.setDob( new Date() );
+				author.setFname( "Jessie " + stateHolder.rand.nextInt() );
+				author.setLname( "Landis " + stateHolder.rand.nextInt() );
+				author.setMname( "" + stateHolder.rand.nextInt( 26 ) );
+
+				entityManager.persist( author );
+				ids.add( author.getA_id() );
+
+				if ( i % 1000 == 999 ) {
+					stateHolder.transactionManager.commit();
+					entityManager.clear();
+					System.out.println( "Inserted " + ( i + 1 ) + " entities" );
+				}
+			}
+
+			entityManager.close();
+		}
+
+		long randomId() {
+			return ids.get( stateHolder.rand.nextInt( ids.size() ) );
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+	public void findEntityById(TestDataInserter inserter, Blackhole blackhole) throws Exception {
+		EntityManagerFactoryHolder stateHolder = inserter.stateHolder;
+
+		EntityManager entityManager = stateHolder.entityManagerFactory.createEntityManager();
+
+		stateHolder.transactionManager.begin();
+		entityManager.joinTransaction();
+
+		for ( int i = 0; i < OPERATIONS_PER_INVOCATION; i++ ) {
+			long id = inserter.randomId();
+
+			IndexedAuthor author = entityManager.find( IndexedAuthor.class, id );
+
+			if ( author == null ) {
+				throw new IllegalArgumentException( "Couldn't find entry with id " + id );
+			}
+
+			blackhole.consume( author.getLname() );
+		}
+
+		stateHolder.transactionManager.commit();
+		entityManager.close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+	public void findEntityByPropertyUsingJpql(TestDataInserter inserter, Blackhole blackhole) throws Exception {
+		EntityManagerFactoryHolder stateHolder = inserter.stateHolder;
+
+		EntityManager entityManager = stateHolder.entityManagerFactory.createEntityManager();
+
+		stateHolder.transactionManager.begin();
+		entityManager.joinTransaction();
+
+		for ( int i = 0; i < OPERATIONS_PER_INVOCATION; i++ ) {
+			int mName = stateHolder.rand.nextInt( 26 );
+
+			TypedQuery<IndexedAuthor> query = entityManager.createNamedQuery( "indexed_author_by_mname", IndexedAuthor.class );
+			query.setMaxResults( 50 );
+			query.setParameter( "mname", "" + mName );
+			List<IndexedAuthor> authors = query.getResultList();
+
+			for ( IndexedAuthor author : authors ) {
+				blackhole.consume( author.getLname() );
+			}
+		}
+
+		stateHolder.transactionManager.commit();
+		entityManager.close();
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.perftest.multibackend.ogm;
+
+import java.util.Date;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.ogm.perftest.model.IndexedAuthor;
+import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.Search;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A JMH benchmark measuring the time needed to rebuild the index of all the entities of a type with the Hibernate OGM
+ * mass indexer on the different backends.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+public class HibernateOgmMassIndexingBenchmark {
+
+	private static final int NUMBER_OF_TEST_ENTITIES = 10000;
+
+	@State(Scope.Benchmark)
+	public static class TestDataInserter {
+
+		private EntityManagerFactoryHolder stateHolder;
+
+		@Setup
+		public void insertTestData(EntityManagerFactoryHolder stateHolder) throws Exception {
+			this.stateHolder = stateHolder;
+
+			EntityManager entityManager = stateHolder.entityManagerFactory.createEntityManager();
+
+			for ( int i = 0; i < NUMBER_OF_TEST_ENTITIES; i++ ) {
+				if ( i % 1000 == 0 ) {
+					stateHolder.transactionManager.begin();
+					entityManager.joinTransaction();
+				}
+
+				IndexedAuthor author = new IndexedAuthor();
+
+				author.setBio( "This is a decent size bio made of " + stateHolder.rand.nextDouble() + " stuffs" );
+				author.setDob( new Date() );
+				author.setFname( "Jessie " + stateHolder.rand.nextInt() );
+				author.setLname( "Landis " + stateHolder.rand.nextInt() );
+				author.setMname( "" + stateHolder.rand.nextInt( 26 ) );
+
+				entityManager.persist( author );
+
+				if ( i % 1000 == 999 ) {
+					stateHolder.transactionManager.commit();
+					entityManager.clear();
+					System.out.println( "Inserted " + ( i + 1 ) + " entities" );
+				}
+			}
+
+			entityManager.close();
+		}
+	}
+
+	@Benchmark
+	public void massIndexEntities(TestDataInserter inserter) throws Exception {
+		EntityManager entityManager = inserter.stateHolder.entityManagerFactory.createEntityManager();
+
+		try {
+			FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager( entityManager );
+			fullTextEntityManager.createIndexer( IndexedAuthor.class ).startAndWait();
+		}
+		finally {
+			entityManager.close();
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Hibernate OGM, Domain model persistence for NoSQL datastores
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.ogm.perftest.neo4j.nativeapi;
+
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.ogm.perftest.multibackend.Backend;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * A JMH benchmark measuring the performance of insert and find-by-id operations using the embedded Neo4j API directly;
+ * it is the baseline of the Hibernate OGM benchmarks running on {@code NEO4J_EMBEDDED}.
+ */
+public class NativeApiBenchmark {
+
+	private static final int NUMBER_OF_TEST_ENTITIES = 10000;
+
+	/**
+	 * The number of operations to be performed per transaction, same as for the corresponding Hibernate OGM benchmarks.
+	 */
+	private static final int OPERATIONS_PER_INVOCATION = 100;
+
+	private static final Label AUTHOR = Label.label( "AuthorWithSequence" );
+
+	@State(Scope.Benchmark)
+	public static class ClientHolder {
+
+		Path databasePath;
+		GraphDatabaseService db;
+		AtomicLong sequence;
+		Random rand;
+
+		@Setup
+		public void setupDatastore() throws Exception {
+			databasePath = Backend.createTempDirectory( "neo4j-native-perftest" );
+			db = new GraphDatabaseFactory().newEmbeddedDatabase( databasePath.toFile() );
+			sequence = new AtomicLong();
+			rand = new Random();
+
+			try ( Transaction tx = db.beginTx() ) {
+				db.schema().constraintFor( AUTHOR ).assertPropertyIsUnique( "a_id" ).create();
+				tx.success();
+			}
+			try ( Transaction tx = db.beginTx() ) {
+				db.schema().awaitIndexesOnline( 1, TimeUnit.MINUTES );
+				tx.success();
+			}
+
+			for ( int i = 0; i < NUMBER_OF_TEST_ENTITIES / OPERATIONS_PER_INVOCATION; i++ ) {
+				insertAuthors( this );
+			}
+		}
+
+		@TearDown
+		public void stopDatastore() {
+			db.shutdown();
+			Backend.delete( databasePath );
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+	public void insertEntities(ClientHolder stateHolder) throws Exception {
+		insertAuthors( stateHolder );
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATIONS_PER_INVOCATION)
+	public void findEntityById(ClientHolder stateHolder, Blackhole blackhole) throws Exception {
+		try ( Transaction tx = stateHolder.db.beginTx() ) {
+			for ( int i = 0; i < OPERATIONS_PER_INVOCATION; i++ ) {
+				long id = stateHolder.rand.nextInt( NUMBER_OF_TEST_ENTITIES ) + 1;
+
+				Node author = stateHolder.db.findNode( AUTHOR, "a_id", id );
+
+				if ( author == null ) {
+					throw new IllegalArgumentException( "Couldn't find entry with id " + id );
+				}
+
+				blackhole.consume( author.getProperty( "lname" ) );
+			}
+			tx.success();
+		}
+	}
+
+	private static void insertAuthors(ClientHolder stateHolder) {
+		try ( Transaction tx = stateHolder.db.beginTx() ) {
+			for ( int i = 0; i < OPERATIONS_PER_INVOCATION; i++ ) {
+				Node author = stateHolder.db.createNode( AUTHOR );
+
+				author.setProperty( "a_id", stateHolder.sequence.incrementAndGet() );
+				author.setProperty( "bio", "This is a decent size bio made of " + stateHolder.rand.nextDouble() + " stuffs" );
+				author.setProperty( "dob", System.currentTimeMillis() );
+				author.setProperty( "fname", "Jessie " + stateHolder.rand.nextInt() );
+				author.setProperty( "lname", "Landis " + stateHolder.rand.nextInt() );
+				author.setProperty( "mname", "" + stateHolder.rand.nextInt( 26 ) );
+			}
+			tx.success();
+		}
+	}
+}